@@ -1,6 +1,13 @@
 package com.jaya.base;
 
 import com.jaya.config.ConfigManager;
+import com.jaya.fault.FaultProxySession;
+import com.jaya.fixtures.FixtureUser;
+import com.jaya.fixtures.SharedFixtures;
+import com.jaya.http.TimingHttpClient;
+import com.jaya.metrics.MetricsExporter;
+import com.jaya.profiling.FlightRecorderSession;
+import com.jaya.scheduling.MethodFixtures;
 import com.jaya.utils.TestListener;
 import com.jaya.utils.TestUserCleanupManager;
 import com.jaya.utils.TokenManager;
@@ -28,8 +35,15 @@ public class BaseTest {
     @BeforeSuite(alwaysRun = true)
     public void suiteSetup() {
         log.info("Initializing test suite...");
+        FaultProxySession.start();
         ConfigManager.printConfiguration();
         configureRestAssured();
+        if (ConfigManager.isConfigWatchEnabled()) {
+            ConfigManager.startWatching();
+        }
+        MetricsExporter.start();
+        FlightRecorderSession.start();
+        TestUserCleanupManager.reapOrphanedUsers();
         log.info("Test suite initialization complete");
     }
 
@@ -42,8 +56,13 @@ public class BaseTest {
     @AfterSuite(alwaysRun = true)
     public void suiteTeardown() {
         log.info("Starting test suite cleanup...");
+        SharedFixtures.tearDownAll();
         TestUserCleanupManager.cleanupAllUsers();
         TokenManager.clearToken();
+        FlightRecorderSession.stop();
+        FaultProxySession.stop();
+        MetricsExporter.stop();
+        ConfigManager.stopWatching();
         RestAssured.reset();
         log.info("Test suite cleanup complete");
     }
@@ -79,6 +98,16 @@ public class BaseTest {
         return new RequestSpecBuilder().addRequestSpecification(requestSpec);
     }
 
+    // ==================== METHOD FIXTURES ====================
+
+    /**
+     * A user of the running test method's own, created on first use; the
+     * method must declare {@code @Resources(ownUser = true)}.
+     */
+    protected FixtureUser ownUser() {
+        return MethodFixtures.ownUser();
+    }
+
     // ==================== CONFIG ACCESSORS ====================
 
     protected String getBaseUrl() {
@@ -95,15 +124,24 @@ public class BaseTest {
 
     // ==================== PRIVATE HELPERS ====================
 
-    private void configureRestAssured() {
+    /**
+     * Global RestAssured settings; also applied by load worker processes,
+     * which run outside TestNG.
+     */
+    public static void configureRestAssured() {
         RestAssured.baseURI = ConfigManager.getBaseUrl();
         RestAssured.config = RestAssuredConfig.config()
                 .httpClient(HttpClientConfig.httpClientConfig()
+                        .httpClientFactory(TimingHttpClient::new)
                         .setParam("http.connection.timeout", ConfigManager.getConnectionTimeout())
                         .setParam("http.socket.timeout", ConfigManager.getResponseTimeout()));
     }
 
-    private RequestSpecification buildBaseRequestSpec() {
+    /**
+     * Fresh base spec (base URI, JSON, Allure filter); also used to build
+     * suite-scoped fixtures outside any test class.
+     */
+    public static RequestSpecification buildBaseRequestSpec() {
         RequestSpecBuilder builder = new RequestSpecBuilder()
                 .setBaseUri(ConfigManager.getBaseUrl())
                 .setContentType(ContentType.JSON)
@@ -0,0 +1,43 @@
+package com.jaya.clients;
+
+import com.jaya.constants.Endpoints;
+import io.qameta.allure.Step;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+public class AnalyticsClient extends BaseClient {
+
+    public AnalyticsClient(RequestSpecification requestSpec) {
+        super(requestSpec);
+    }
+
+    @Step("Get analytics dashboard")
+    public Response getDashboard() {
+        return get(Endpoints.ANALYTICS.DASHBOARD);
+    }
+
+    @Step("Get expense trends")
+    public Response getExpenseTrends() {
+        return get(Endpoints.ANALYTICS.EXPENSE_TRENDS);
+    }
+
+    @Step("Get category breakdown")
+    public Response getCategoryBreakdown() {
+        return get(Endpoints.ANALYTICS.CATEGORY_BREAKDOWN);
+    }
+
+    @Step("Get monthly summary")
+    public Response getMonthlySummary() {
+        return get(Endpoints.ANALYTICS.MONTHLY_SUMMARY);
+    }
+
+    @Step("Get yearly summary")
+    public Response getYearlySummary() {
+        return get(Endpoints.ANALYTICS.YEARLY_SUMMARY);
+    }
+
+    @Step("Get period comparison")
+    public Response getComparison() {
+        return get(Endpoints.ANALYTICS.COMPARISON);
+    }
+}
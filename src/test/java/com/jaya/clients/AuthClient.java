@@ -30,6 +30,14 @@ public class AuthClient extends BaseClient {
         return postWithoutBody(Endpoints.AUTH.REFRESH_TOKEN);
     }
 
+    /**
+     * Refresh token without retry - load tests must see every failure
+     */
+    @Step("Refresh token (no retry)")
+    public Response refreshTokenNoRetry() {
+        return postWithoutBodyNoRetry(Endpoints.AUTH.REFRESH_TOKEN);
+    }
+
     @Step("Refresh token without auth")
     public Response refreshTokenWithoutAuth() {
         return unauthenticatedPost(Endpoints.AUTH.REFRESH_TOKEN, "");
@@ -92,4 +100,12 @@ public class AuthClient extends BaseClient {
     public Response logout() {
         return postWithoutBody(Endpoints.AUTH.LOGOUT);
     }
+
+    /**
+     * Logout without retry - load tests must see every failure
+     */
+    @Step("Logout (no retry)")
+    public Response logoutNoRetry() {
+        return postWithoutBodyNoRetry(Endpoints.AUTH.LOGOUT);
+    }
 }
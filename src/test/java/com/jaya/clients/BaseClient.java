@@ -1,16 +1,29 @@
 package com.jaya.clients;
 
 import com.jaya.config.ConfigManager;
+import com.jaya.config.ConfigSnapshot;
+import com.jaya.constants.HttpStatus;
+import com.jaya.http.ConditionalCache;
+import com.jaya.http.IdempotencyTracker;
+import com.jaya.http.RateLimiter;
+import com.jaya.http.RequestTiming;
+import com.jaya.metrics.MetricsRegistry;
+import com.jaya.metrics.PhaseBreakdown;
+import com.jaya.profiling.RequestEvent;
 import com.jaya.utils.RequestResponseLogger;
 import com.jaya.utils.TestContext;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.RequestSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static io.restassured.RestAssured.given;
@@ -26,62 +39,60 @@ public abstract class BaseClient {
     private static final long RETRY_DELAY_MS = 1000L;
 
     protected RequestSpecification requestSpec;
-    private final int maxRetries;
 
     protected BaseClient(RequestSpecification requestSpec) {
         this.requestSpec = requestSpec;
-        this.maxRetries = ConfigManager.getRetryCount();
     }
 
     // ==================== GET METHODS ====================
 
     @Step("GET {endpoint}")
     protected Response get(String endpoint) {
-        return executeWithLogging("GET", endpoint, null, () -> request().get(endpoint));
+        return executeConditional(endpoint, endpoint, validators -> request().headers(validators).get(endpoint));
     }
 
     @Step("GET {endpoint} with path param {paramName}={paramValue}")
     protected Response getWithPathParam(String endpoint, String paramName, Object paramValue) {
-        return executeWithLogging("GET", endpoint, null,
-                () -> request().pathParam(paramName, paramValue).get(endpoint));
+        return executeConditional(endpoint, replacePath(endpoint, paramName, paramValue),
+                validators -> request().headers(validators).pathParam(paramName, paramValue).get(endpoint));
     }
 
     @Step("GET {endpoint} with path params")
     protected Response getWithPathParams(String endpoint, Map<String, Object> pathParams) {
-        return executeWithLogging("GET", endpoint, null,
-                () -> request().pathParams(pathParams).get(endpoint));
+        return executeConditional(endpoint, endpoint + " " + new TreeMap<>(pathParams),
+                validators -> request().headers(validators).pathParams(pathParams).get(endpoint));
     }
 
     @Step("GET {endpoint} with query param {paramName}={paramValue}")
     protected Response getWithQueryParam(String endpoint, String paramName, Object paramValue) {
-        return executeWithLogging("GET", endpoint, null,
-                () -> request().queryParam(paramName, paramValue).get(endpoint));
+        return executeConditional(endpoint, endpoint + "?" + paramName + "=" + paramValue,
+                validators -> request().headers(validators).queryParam(paramName, paramValue).get(endpoint));
     }
 
     @Step("GET {endpoint} with query params")
     protected Response getWithQueryParams(String endpoint, Map<String, Object> queryParams) {
-        return executeWithLogging("GET", endpoint, null,
-                () -> request().queryParams(queryParams).get(endpoint));
+        return executeConditional(endpoint, endpoint + "?" + new TreeMap<>(queryParams),
+                validators -> request().headers(validators).queryParams(queryParams).get(endpoint));
     }
 
     // ==================== POST METHODS ====================
 
     @Step("POST {endpoint}")
     protected Response post(String endpoint, Object body) {
-        return executeWithLogging("POST", endpoint, body,
-                () -> request().body(body).post(endpoint));
+        return executeWrite("POST", endpoint, body,
+                keyHeaders -> request().headers(keyHeaders).body(body).post(endpoint));
     }
 
     @Step("POST {endpoint}")
     protected Response postWithoutBody(String endpoint) {
-        return executeWithLogging("POST", endpoint, null,
-                () -> request().post(endpoint));
+        return executeWrite("POST", endpoint, null,
+                keyHeaders -> request().headers(keyHeaders).post(endpoint));
     }
 
     @Step("POST {endpoint} with path param {paramName}={paramValue}")
     protected Response postWithPathParam(String endpoint, String paramName, Object paramValue, Object body) {
-        return executeWithLogging("POST", endpoint, body,
-                () -> request().pathParam(paramName, paramValue).body(body).post(endpoint));
+        return executeWrite("POST", endpoint, body,
+                keyHeaders -> request().headers(keyHeaders).pathParam(paramName, paramValue).body(body).post(endpoint));
     }
 
     // ==================== PUT METHODS ====================
@@ -152,6 +163,15 @@ public abstract class BaseClient {
                 () -> request().pathParam(paramName, paramValue).get(endpoint));
     }
 
+    /**
+     * GET with query param without retry - use for tests expecting error responses
+     */
+    @Step("GET {endpoint} with query param {paramName}={paramValue} (no retry)")
+    protected Response getWithQueryParamNoRetry(String endpoint, String paramName, Object paramValue) {
+        return executeWithoutRetry("GET", endpoint, null,
+                () -> request().queryParam(paramName, paramValue).get(endpoint));
+    }
+
     /**
      * PUT with query param without retry - use for tests expecting error responses
      */
@@ -161,37 +181,49 @@ public abstract class BaseClient {
                 () -> request().queryParam(paramName, paramValue).body(body).put(endpoint));
     }
 
+    /**
+     * POST without body and without retry - use when every failure must be counted
+     */
+    @Step("POST {endpoint} (no retry)")
+    protected Response postWithoutBodyNoRetry(String endpoint) {
+        return executeWithoutRetry("POST", endpoint, null, () -> request().post(endpoint));
+    }
+
     // ==================== UNAUTHENTICATED REQUESTS (DRY) ====================
 
     protected Response unauthenticatedGet(String endpoint) {
         String requestId = TestContext.registerRequest();
         log.debug("[{}] Unauthenticated GET {}", requestId, endpoint);
-        return unauthenticatedRequest().get(endpoint).then().log().ifValidationFails().extract().response();
+        return measure("GET", endpoint,
+                () -> unauthenticatedRequest().get(endpoint).then().log().ifValidationFails().extract().response());
     }
 
     protected Response unauthenticatedPost(String endpoint, Object body) {
         String requestId = TestContext.registerRequest();
         log.debug("[{}] Unauthenticated POST {} with body", requestId, endpoint);
-        return unauthenticatedRequest().body(body).post(endpoint).then().log().ifValidationFails().extract().response();
+        return measure("POST", endpoint,
+                () -> unauthenticatedRequest().body(body).post(endpoint).then().log().ifValidationFails().extract().response());
     }
 
     protected Response unauthenticatedPut(String endpoint, Object body) {
         String requestId = TestContext.registerRequest();
         log.debug("[{}] Unauthenticated PUT {} with body", requestId, endpoint);
-        return unauthenticatedRequest().body(body).put(endpoint).then().log().ifValidationFails().extract().response();
+        return measure("PUT", endpoint,
+                () -> unauthenticatedRequest().body(body).put(endpoint).then().log().ifValidationFails().extract().response());
     }
 
     protected Response unauthenticatedDelete(String endpoint) {
         String requestId = TestContext.registerRequest();
         log.debug("[{}] Unauthenticated DELETE {}", requestId, endpoint);
-        return unauthenticatedRequest().delete(endpoint).then().log().ifValidationFails().extract().response();
+        return measure("DELETE", endpoint,
+                () -> unauthenticatedRequest().delete(endpoint).then().log().ifValidationFails().extract().response());
     }
 
     protected Response unauthenticatedPutWithQueryParam(String endpoint, String paramName, Object paramValue) {
         String requestId = TestContext.registerRequest();
         log.debug("[{}] Unauthenticated PUT {} with query param {}={}", requestId, endpoint, paramName, paramValue);
-        return unauthenticatedRequest().queryParam(paramName, paramValue).put(endpoint)
-                .then().log().ifValidationFails().extract().response();
+        return measure("PUT", endpoint, () -> unauthenticatedRequest().queryParam(paramName, paramValue)
+                .put(endpoint).then().log().ifValidationFails().extract().response());
     }
 
     // ==================== UTILITIES ====================
@@ -207,11 +239,51 @@ public abstract class BaseClient {
     // ==================== PRIVATE HELPERS ====================
 
     private RequestSpecification request() {
-        return given().spec(requestSpec).when();
+        return given().spec(requestSpec).header(TestContext.TRACEPARENT_HEADER, TestContext.getTraceparent()).when();
     }
 
     private RequestSpecification unauthenticatedRequest() {
-        return given().contentType("application/json").baseUri(ConfigManager.getBaseUrl()).when();
+        return given().contentType("application/json").baseUri(ConfigManager.getBaseUrl())
+                .header(TestContext.TRACEPARENT_HEADER, TestContext.getTraceparent()).when();
+    }
+
+    /**
+     * Executes a GET through the {@link ConditionalCache} when it is enabled:
+     * cached validators are sent along and a 304 is answered from the cached
+     * body. The cache is keyed by the Authorization header, base URI and
+     * resolved request.
+     */
+    private Response executeConditional(String endpoint, String requestKey,
+            Function<Map<String, String>, Response> call) {
+        if (!ConditionalCache.isEnabled()) {
+            return executeWithLogging("GET", endpoint, null, () -> call.apply(Collections.emptyMap()));
+        }
+        FilterableRequestSpecification spec = (FilterableRequestSpecification) requestSpec;
+        String identity = String.valueOf(spec.getHeaders().getValue("Authorization"));
+        String key = spec.getBaseUri() + requestKey;
+        ConditionalCache.Lookup lookup = ConditionalCache.lookup(identity, key);
+        long start = System.nanoTime();
+        Response response = executeWithLogging("GET", endpoint, null, () -> call.apply(lookup.validators()));
+        return ConditionalCache.resolve(lookup, endpoint, response, System.nanoTime() - start);
+    }
+
+    /**
+     * Executes a write as one logical operation for the {@link IdempotencyTracker}:
+     * every retry reuses the same idempotency key, and the attempts are recorded
+     * once the operation is over.
+     */
+    private Response executeWrite(String method, String endpoint, Object body,
+            Function<Map<String, String>, Response> call) {
+        String key = IdempotencyTracker.nextKey();
+        Map<String, String> keyHeaders = IdempotencyTracker.headers(key);
+        IdempotencyTracker.Attempts attempts = new IdempotencyTracker.Attempts();
+        Response response = null;
+        try {
+            response = executeWithLogging(method, endpoint, body, () -> attempts.track(() -> call.apply(keyHeaders)));
+            return response;
+        } finally {
+            IdempotencyTracker.record(key, method, endpoint, attempts, response);
+        }
     }
 
     /**
@@ -223,23 +295,36 @@ public abstract class BaseClient {
         String requestId = TestContext.registerRequest();
         String operation = method + " " + endpoint;
         long startTime = System.currentTimeMillis();
+        // Read per call so a config reload applies to clients already built
+        ConfigSnapshot config = ConfigManager.current();
+        int maxRetries = config.getRetryCount();
+        int maxThrottledRetries = config.getMaxThrottledRetries();
 
         // Log request details
         RequestResponseLogger.logRequest(requestId, method, endpoint, requestSpec, body);
 
         int attempt = 0;
+        int throttled = 0;
         Response response = null;
         Exception lastException = null;
 
         while (attempt < maxRetries) {
             attempt++;
             try {
-                ValidatableResponse validatable = requestSupplier.get().then();
-                applyLogging(validatable);
-                response = validatable.extract().response();
+                response = measure(method, endpoint, () -> extractLogged(requestSupplier));
 
                 long duration = System.currentTimeMillis() - startTime;
 
+                // Throttled attempts have their own budget; the rate limiter has already paused the group
+                if (response.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS && throttled < maxThrottledRetries) {
+                    throttled++;
+                    attempt--;
+                    log.warn("[{}] {} throttled (429), retrying after pause ({}/{})",
+                            requestId, operation, throttled, maxThrottledRetries);
+                    MetricsRegistry.recordRetry(method, endpoint, "status_429");
+                    continue;
+                }
+
                 if (response.getStatusCode() < 500) {
                     // Log successful response
                     RequestResponseLogger.logResponse(requestId, response, duration);
@@ -260,6 +345,7 @@ public abstract class BaseClient {
                     String errorBody = extractErrorMessage(response);
                     RequestResponseLogger.logRetry(requestId, operation, attempt, maxRetries,
                             response.getStatusCode(), errorBody);
+                    MetricsRegistry.recordRetry(method, endpoint, "status_" + response.getStatusCode());
                     sleep(RETRY_DELAY_MS * attempt);
                 }
             } catch (Exception e) {
@@ -268,6 +354,7 @@ public abstract class BaseClient {
 
                 if (attempt < maxRetries) {
                     log.warn("[{}] Retrying after exception ({}/{})", requestId, attempt, maxRetries);
+                    MetricsRegistry.recordRetry(method, endpoint, e.getClass().getSimpleName());
                     sleep(RETRY_DELAY_MS * attempt);
                 }
             }
@@ -300,9 +387,7 @@ public abstract class BaseClient {
         RequestResponseLogger.logRequest(requestId, method, endpoint, requestSpec, body);
 
         try {
-            ValidatableResponse validatable = requestSupplier.get().then();
-            applyLogging(validatable);
-            Response response = validatable.extract().response();
+            Response response = measure(method, endpoint, () -> extractLogged(requestSupplier));
 
             long duration = System.currentTimeMillis() - startTime;
 
@@ -356,6 +441,58 @@ public abstract class BaseClient {
         return "Status " + response.getStatusCode();
     }
 
+    /**
+     * Runs a single HTTP attempt and feeds its outcome into the live metrics.
+     */
+    private Response measure(String method, String endpoint, Supplier<Response> call) {
+        // Time spent waiting for the rate limiter is not part of the request
+        RateLimiter.acquire(endpoint);
+        long start = System.nanoTime();
+        RequestTiming timing = RequestTiming.begin(method, endpoint);
+        RequestEvent event = new RequestEvent();
+        event.begin();
+        int statusCode = -1;
+        MetricsRegistry.requestStarted();
+        try {
+            Response response = call.get();
+            // RestAssured reads bodies lazily; buffer it here so the read is part of the timed attempt
+            response.asByteArray();
+            statusCode = response.getStatusCode();
+            MetricsRegistry.recordResponse(method, endpoint, statusCode, System.nanoTime() - start);
+            if (statusCode == HttpStatus.TOO_MANY_REQUESTS) {
+                RateLimiter.onThrottled(endpoint, response);
+            }
+            return response;
+        } catch (RuntimeException e) {
+            MetricsRegistry.recordFailure(method, endpoint, e, System.nanoTime() - start);
+            throw e;
+        } finally {
+            MetricsRegistry.requestFinished();
+            timing.finish(statusCode);
+            TestContext.recordTiming(timing);
+            PhaseBreakdown.record(timing);
+            commit(event, timing);
+        }
+    }
+
+    private void commit(RequestEvent event, RequestTiming timing) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = timing.getMethod();
+            event.endpoint = MetricsRegistry.normalizeEndpoint(timing.getEndpoint());
+            event.statusCode = timing.getStatusCode();
+            event.testId = TestContext.getCurrentTestId();
+            event.requestId = timing.getRequestId();
+            event.commit();
+        }
+    }
+
+    private Response extractLogged(Supplier<Response> requestSupplier) {
+        ValidatableResponse validatable = requestSupplier.get().then();
+        applyLogging(validatable);
+        return validatable.extract().response();
+    }
+
     private void applyLogging(ValidatableResponse validatable) {
         if (ConfigManager.isResponseLoggingEnabled()) {
             validatable.log().all();
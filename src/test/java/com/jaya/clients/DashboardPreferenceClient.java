@@ -16,6 +16,14 @@ public class DashboardPreferenceClient extends BaseClient {
         return get(Endpoints.DASHBOARD_PREFERENCE.GET);
     }
 
+    /**
+     * Get dashboard preference without retry - synthetic monitoring must see every failure
+     */
+    @Step("Get dashboard preference (no retry)")
+    public Response getDashboardPreferenceNoRetry() {
+        return getNoRetry(Endpoints.DASHBOARD_PREFERENCE.GET);
+    }
+
     @Step("Save dashboard preference")
     public Response saveDashboardPreference(String layoutConfig) {
         return post(Endpoints.DASHBOARD_PREFERENCE.SAVE, layoutConfig);
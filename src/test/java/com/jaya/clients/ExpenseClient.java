@@ -24,6 +24,14 @@ public class ExpenseClient extends BaseClient {
         return get(Endpoints.EXPENSE.ALL);
     }
 
+    /**
+     * Get all expenses without retry - synthetic monitoring must see every failure
+     */
+    @Step("Get all expenses (no retry)")
+    public Response getAllExpensesNoRetry() {
+        return getNoRetry(Endpoints.EXPENSE.ALL);
+    }
+
     @Step("Get expense by ID: {expenseId}")
     public Response getExpenseById(Long expenseId) {
         return getWithPathParam(Endpoints.EXPENSE.BY_ID, "id", expenseId);
@@ -64,6 +72,14 @@ public class ExpenseClient extends BaseClient {
         return get(Endpoints.EXPENSE.SUMMARY);
     }
 
+    /**
+     * Get expense summary without retry - synthetic monitoring must see every failure
+     */
+    @Step("Get expense summary (no retry)")
+    public Response getExpenseSummaryNoRetry() {
+        return getNoRetry(Endpoints.EXPENSE.SUMMARY);
+    }
+
     @Step("Filter expenses")
     public Response filterExpenses(Map<String, Object> filterCriteria) {
         return getWithQueryParams(Endpoints.EXPENSE.FILTER, filterCriteria);
@@ -0,0 +1,56 @@
+package com.jaya.clients;
+
+import com.jaya.constants.Endpoints;
+import io.qameta.allure.Step;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.Map;
+
+public class FriendshipClient extends BaseClient {
+
+    public FriendshipClient(RequestSpecification requestSpec) {
+        super(requestSpec);
+    }
+
+    @Step("Send friend request to user: {recipientId}")
+    public Response sendRequest(Long recipientId) {
+        return post(Endpoints.FRIENDSHIP.REQUEST, Map.of("recipientId", recipientId));
+    }
+
+    @Step("Accept friend request: {friendshipId}")
+    public Response acceptRequest(Long friendshipId) {
+        return putWithPathParam(Endpoints.FRIENDSHIP.ACCEPT, "id", friendshipId, Map.of());
+    }
+
+    @Step("Reject friend request: {friendshipId}")
+    public Response rejectRequest(Long friendshipId) {
+        return putWithPathParam(Endpoints.FRIENDSHIP.REJECT, "id", friendshipId, Map.of());
+    }
+
+    @Step("Remove friendship: {friendshipId}")
+    public Response removeFriendship(Long friendshipId) {
+        return deleteWithPathParam(Endpoints.FRIENDSHIP.REMOVE, "id", friendshipId);
+    }
+
+    @Step("Get friends")
+    public Response getFriends() {
+        return get(Endpoints.FRIENDSHIP.LIST);
+    }
+
+    @Step("Get pending friend requests")
+    public Response getPendingRequests() {
+        return get(Endpoints.FRIENDSHIP.PENDING);
+    }
+
+    @Step("Search users to befriend: {searchQuery}")
+    public Response searchUsers(String searchQuery) {
+        return getWithQueryParam(Endpoints.FRIENDSHIP.SEARCH_USERS, "query", searchQuery);
+    }
+
+    @Step("Search users to befriend: {searchQuery} (page {page}, size {size})")
+    public Response searchUsers(String searchQuery, int page, int size) {
+        return getWithQueryParams(Endpoints.FRIENDSHIP.SEARCH_USERS,
+                Map.of("query", searchQuery, "page", page, "size", size));
+    }
+}
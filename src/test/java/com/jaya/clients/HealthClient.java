@@ -0,0 +1,50 @@
+package com.jaya.clients;
+
+import com.jaya.constants.Endpoints;
+import io.qameta.allure.Step;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+public class HealthClient extends BaseClient {
+
+    public HealthClient(RequestSpecification requestSpec) {
+        super(requestSpec);
+    }
+
+    @Step("Get health")
+    public Response getHealth() {
+        return get(Endpoints.HEALTH.HEALTH);
+    }
+
+    /**
+     * Get health without retry - synthetic monitoring must see every failure
+     */
+    @Step("Get health (no retry)")
+    public Response getHealthNoRetry() {
+        return getNoRetry(Endpoints.HEALTH.HEALTH);
+    }
+
+    @Step("Get info")
+    public Response getInfo() {
+        return get(Endpoints.HEALTH.INFO);
+    }
+
+    @Step("Get metric names")
+    public Response getMetricNames() {
+        return get(Endpoints.HEALTH.METRICS);
+    }
+
+    /**
+     * Get a single metric without retry - a missing metric (404) is expected
+     * when the backend does not expose it, and scrapers must not back off
+     */
+    @Step("Get metric: {name}")
+    public Response getMetric(String name) {
+        return getWithPathParamNoRetry(Endpoints.HEALTH.METRIC_BY_NAME, "name", name);
+    }
+
+    @Step("Get metric: {name} with tag {tag}")
+    public Response getMetric(String name, String tag) {
+        return getWithQueryParamNoRetry(replacePath(Endpoints.HEALTH.METRIC_BY_NAME, "name", name), "tag", tag);
+    }
+}
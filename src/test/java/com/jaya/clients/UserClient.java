@@ -6,6 +6,8 @@ import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
+import java.util.Map;
+
 public class UserClient extends BaseClient {
 
     public UserClient(RequestSpecification requestSpec) {
@@ -17,6 +19,14 @@ public class UserClient extends BaseClient {
         return get(Endpoints.USER.PROFILE);
     }
 
+    /**
+     * Get current user profile without retry - synthetic monitoring must see every failure
+     */
+    @Step("Get current user profile (no retry)")
+    public Response getUserProfileNoRetry() {
+        return getNoRetry(Endpoints.USER.PROFILE);
+    }
+
     @Step("Get user profile without auth")
     public Response getUserProfileWithoutAuth() {
         return unauthenticatedGet(Endpoints.USER.PROFILE);
@@ -70,6 +80,11 @@ public class UserClient extends BaseClient {
         return getWithQueryParam(Endpoints.USER.SEARCH, "query", searchQuery);
     }
 
+    @Step("Search users: {searchQuery} (page {page}, size {size})")
+    public Response searchUsers(String searchQuery, int page, int size) {
+        return getWithQueryParams(Endpoints.USER.SEARCH, Map.of("query", searchQuery, "page", page, "size", size));
+    }
+
     @Step("Add role {roleId} to user {userId}")
     public Response addRoleToUser(Long userId, Long roleId) {
         return postWithPathParam(replacePath(Endpoints.USER.ADD_ROLE, "userId", userId), "roleId", roleId, "");
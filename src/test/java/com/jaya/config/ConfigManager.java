@@ -6,7 +6,15 @@ import org.slf4j.LoggerFactory;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 public final class ConfigManager {
 
@@ -14,31 +22,33 @@ public final class ConfigManager {
     private static final String CONFIG_FILE_PATH = "src/test/resources/config.properties";
     private static final String CLASSPATH_CONFIG = "/config.properties";
 
-    private static Properties properties;
-    private static volatile boolean initialized = false;
+    // Resolved configuration; replaced atomically on reload
+    private static volatile ConfigSnapshot snapshot;
+    private static boolean loadedFromFile;
+    private static ConfigWatcher watcher;
+    // Set while a fault proxy fronts the configured base URL
+    private static volatile String baseUrlOverride;
 
     private ConfigManager() {
         throw new UnsupportedOperationException("Utility class");
     }
 
     static {
-        loadProperties();
+        snapshot = ConfigSnapshot.resolve(loadProperties());
     }
 
     // ==================== PROPERTY GETTERS ====================
 
-    public static String getProperty(String key) {
-        String value = System.getProperty(key);
-        if (isNotBlank(value))
-            return value.trim();
-
-        String envKey = key.toUpperCase().replace(".", "_").replace("-", "_");
-        value = System.getenv(envKey);
-        if (isNotBlank(value))
-            return value.trim();
+    /**
+     * Returns the current configuration snapshot. Hot paths should read
+     * typed values from it rather than looking keys up by name.
+     */
+    public static ConfigSnapshot current() {
+        return snapshot;
+    }
 
-        value = properties.getProperty(key);
-        return value != null ? value.trim() : null;
+    public static String getProperty(String key) {
+        return snapshot.get(key);
     }
 
     public static String getProperty(String key, String defaultValue) {
@@ -60,15 +70,29 @@ public final class ConfigManager {
         return getProperty("environment", "qa").toLowerCase();
     }
 
+    /**
+     * Base URL clients should use: the configured one, or the fault proxy in
+     * front of it while one is running.
+     */
     public static String getBaseUrl() {
-        String env = System.getProperty("env", getEnvironment());
-        String baseUrlKey = "base.url." + env.toLowerCase();
-        String baseUrl = getProperty(baseUrlKey);
+        String override = baseUrlOverride;
+        return override != null ? override : getTargetBaseUrl();
+    }
 
-        if (!isNotBlank(baseUrl)) {
-            throw new RuntimeException("Base URL not found for environment: " + env);
+    /**
+     * The configured backend base URL, never routed through a fault proxy.
+     */
+    public static String getTargetBaseUrl() {
+        ConfigSnapshot current = snapshot;
+        String baseUrl = current.getTargetBaseUrl();
+        if (baseUrl == null) {
+            throw new RuntimeException("Base URL not found for environment: " + current.getEnvironment());
         }
-        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return baseUrl;
+    }
+
+    public static void setBaseUrlOverride(String baseUrl) {
+        baseUrlOverride = baseUrl;
     }
 
     public static boolean isCI() {
@@ -100,29 +124,133 @@ public final class ConfigManager {
     // ==================== TIMEOUT CONFIG ====================
 
     public static int getConnectionTimeout() {
-        return getIntProperty("connection.timeout", 5000);
+        return snapshot.getConnectionTimeout();
     }
 
     public static int getResponseTimeout() {
-        return getIntProperty("response.timeout", 10000);
+        return snapshot.getResponseTimeout();
     }
 
     public static int getRetryCount() {
-        return getIntProperty("retry.count", 3);
+        return snapshot.getRetryCount();
+    }
+
+    // ==================== RATE LIMIT CONFIG ====================
+
+    public static boolean isRateLimitEnabled() {
+        return getBooleanProperty("ratelimit.enabled", true);
+    }
+
+    /**
+     * Requests per second for endpoints outside every group, 0 for unlimited.
+     */
+    public static double getRateLimitDefaultRps() {
+        return Math.max(0, getDoubleProperty("ratelimit.default.rps", 0));
+    }
+
+    public static int getRateLimitBurst() {
+        return Math.max(1, getIntProperty("ratelimit.burst", 5));
+    }
+
+    public static List<String> getRateLimitGroups() {
+        return getListProperty("ratelimit.groups");
+    }
+
+    public static List<String> getRateLimitGroupPrefixes(String group) {
+        return getListProperty("ratelimit.group." + group + ".prefixes");
+    }
+
+    public static double getRateLimitGroupRps(String group) {
+        return Math.max(0, getDoubleProperty("ratelimit.group." + group + ".rps", 0));
+    }
+
+    public static long getRateLimitRetryAfterDefaultMillis() {
+        return Math.max(0, getIntProperty("ratelimit.retry.after.default.ms", 1000));
+    }
+
+    public static long getRateLimitRetryAfterMaxMillis() {
+        return Math.max(0, getIntProperty("ratelimit.retry.after.max.ms", 60000));
+    }
+
+    /**
+     * Retries allowed for 429 responses, on top of {@link #getRetryCount()}.
+     */
+    public static int getRateLimitMaxThrottledRetries() {
+        return Math.max(0, getIntProperty("ratelimit.max.throttled.retries", 5));
+    }
+
+    // ==================== CONDITIONAL GET CONFIG ====================
+
+    public static boolean isConditionalGetEnabled() {
+        return getBooleanProperty("http.conditional.enabled", false);
+    }
+
+    /**
+     * Cached responses kept for conditional GETs, across all identities.
+     */
+    public static int getConditionalGetMaxEntries() {
+        return Math.max(0, getIntProperty("http.conditional.max.entries", 10000));
+    }
+
+    public static int getConditionalGetReadsPerEndpoint() {
+        return Math.max(1, getIntProperty("http.conditional.reads.per.endpoint", 20));
+    }
+
+    // ==================== IDEMPOTENCY CONFIG ====================
+
+    /**
+     * Whether POSTs carry an idempotency key reused across their retries.
+     */
+    public static boolean isIdempotencyEnabled() {
+        return getBooleanProperty("http.idempotency.enabled", false);
+    }
+
+    public static String getIdempotencyHeader() {
+        return getProperty("http.idempotency.header", "Idempotency-Key");
+    }
+
+    /**
+     * Keys scoped by IdempotencyTracker.withKey whose created id is remembered
+     * for duplicate detection.
+     */
+    public static int getIdempotencyMaxTracked() {
+        return Math.max(0, getIntProperty("http.idempotency.max.tracked", 100000));
+    }
+
+    public static int getIdempotencyReplays() {
+        return Math.max(1, getIntProperty("http.idempotency.replays", 5));
+    }
+
+    /**
+     * Whether the backend is known to honor the idempotency header, so a
+     * replay that creates a duplicate fails the test instead of skipping it.
+     */
+    public static boolean isIdempotencySupported() {
+        return getBooleanProperty("http.idempotency.supported", false);
+    }
+
+    // ==================== SCHEDULER CONFIG ====================
+
+    /**
+     * Whether methods of {@code @ParallelMethods} classes may run concurrently;
+     * when off, every class runs its methods one at a time.
+     */
+    public static boolean isParallelMethodsEnabled() {
+        return getBooleanProperty("scheduler.parallel.methods", true);
     }
 
     // ==================== LOGGING CONFIG ====================
 
     public static boolean isRequestLoggingEnabled() {
-        return getBooleanProperty("enable.request.logging", true);
+        return snapshot.isRequestLoggingEnabled();
     }
 
     public static boolean isResponseLoggingEnabled() {
-        return getBooleanProperty("enable.response.logging", true);
+        return snapshot.isResponseLoggingEnabled();
     }
 
     public static boolean isCleanupLoggingEnabled() {
-        return getBooleanProperty("enable.cleanup.logging", true);
+        return snapshot.isCleanupLoggingEnabled();
     }
 
     public static String getAllureResultsDirectory() {
@@ -133,12 +261,518 @@ public final class ConfigManager {
         return getProperty("database.url");
     }
 
+    // ==================== CLEANUP CONFIG ====================
+
+    public static boolean isCleanupJournalEnabled() {
+        return getBooleanProperty("cleanup.journal.enabled", true);
+    }
+
+    public static String getCleanupJournalDirectory() {
+        return getProperty("cleanup.journal.dir", ".cleanup-journal");
+    }
+
+    public static int getCleanupJournalMaxAttempts() {
+        return Math.max(1, getIntProperty("cleanup.journal.max.attempts", 5));
+    }
+
+    // ==================== METRICS CONFIG ====================
+
+    public static boolean isMetricsEnabled() {
+        return snapshot.isMetricsEnabled();
+    }
+
+    public static int getMetricsPort() {
+        return getIntProperty("metrics.port", 9464);
+    }
+
+    public static String getMetricsFile() {
+        return getProperty("metrics.file", "target/metrics/metrics.prom");
+    }
+
+    public static int getMetricsFlushIntervalSeconds() {
+        return Math.max(1, getIntProperty("metrics.flush.interval.seconds", 15));
+    }
+
+    // ==================== PERFORMANCE CONFIG ====================
+
+    public static int[] getPerfConcurrencyLevels() {
+        return getIntListProperty("perf.concurrency.levels", new int[] { 1, 2, 4, 8 });
+    }
+
+    public static int getConflictWritesPerWriter() {
+        return getIntProperty("perf.conflict.writes.per.writer", 10);
+    }
+
+    public static int getLoadVirtualUsers() {
+        return getIntProperty("load.virtual.users", 50);
+    }
+
+    public static int getLoadIterationsPerUser() {
+        return getIntProperty("load.iterations.per.user", 2);
+    }
+
+    public static int getLoadRampUpSeconds() {
+        return getIntProperty("load.ramp.up.seconds", 10);
+    }
+
+    public static int getLoadMaxThreads() {
+        return getIntProperty("load.max.threads", 200);
+    }
+
+    public static int getLoadThinkTimeMillis() {
+        return getIntProperty("load.think.time.ms", 500);
+    }
+
+    public static double getLoadMaxErrorRate() {
+        return getDoubleProperty("load.max.error.rate", 0.05);
+    }
+
+    /**
+     * New virtual users per second (open model); 0 keeps a fixed population
+     * of {@code load.virtual.users}.
+     */
+    public static double getLoadArrivalRate() {
+        return Math.max(0.0, getDoubleProperty("load.arrival.rate", 0.0));
+    }
+
+    public static int getLoadDurationSeconds() {
+        return Math.max(0, getIntProperty("load.duration.seconds", 60));
+    }
+
+    public static int getLoadWorkers() {
+        return Math.max(0, getIntProperty("load.workers", 2));
+    }
+
+    public static int getLoadRemoteWorkers() {
+        return Math.max(0, getIntProperty("load.remote.workers", 0));
+    }
+
+    public static String getLoadControllerBindAddress() {
+        return getProperty("load.controller.bind.address", "127.0.0.1");
+    }
+
+    public static int getLoadControllerPort() {
+        return getIntProperty("load.controller.port", 0);
+    }
+
+    public static List<String> getLoadWorkerJvmArgs() {
+        return Arrays.stream(getProperty("load.worker.jvm.args", "").trim().split("\\s+"))
+                .filter(arg -> !arg.isEmpty()).collect(Collectors.toList());
+    }
+
+    public static int getLoadWorkerConnectTimeoutSeconds() {
+        return Math.max(1, getIntProperty("load.worker.connect.timeout.seconds", 60));
+    }
+
+    public static String getLoadWorkerLogDir() {
+        return getProperty("load.worker.log.dir", "target/load-workers");
+    }
+
+    public static int getVisibilityTrials() {
+        return Math.max(1, getIntProperty("visibility.trials", 20));
+    }
+
+    public static int getVisibilityTimeoutMillis() {
+        return Math.max(1, getIntProperty("visibility.timeout.ms", 5000));
+    }
+
+    public static int getVisibilityPollIntervalMillis() {
+        return Math.max(0, getIntProperty("visibility.poll.interval.ms", 5));
+    }
+
+    public static int[] getVisibilityBackgroundUsers() {
+        return getIntListProperty("visibility.background.users", new int[] { 0 });
+    }
+
+    public static int[] getSearchCohortSizes() {
+        return getIntListProperty("search.cohort.sizes", new int[] { 1, 5, 20, 50 });
+    }
+
+    public static int getSearchSamples() {
+        return Math.max(1, getIntProperty("search.samples", 20));
+    }
+
+    public static int getSearchPageSize() {
+        return Math.max(1, getIntProperty("search.page.size", 10));
+    }
+
+    public static int getSearchMaxPages() {
+        return Math.max(0, getIntProperty("search.max.pages", 10));
+    }
+
+    public static int getSearchSeedThreads() {
+        return Math.max(1, getIntProperty("search.seed.threads", 8));
+    }
+
+    public static String getSearchOutput() {
+        return getProperty("search.output", "target/search/search-latency.csv");
+    }
+
+    public static int[] getScalingSizes() {
+        return getIntListProperty("scaling.sizes", new int[] { 10, 100, 500 });
+    }
+
+    public static int[] getScalingConcurrency() {
+        return getIntListProperty("scaling.concurrency", new int[] { 1, 8 });
+    }
+
+    public static int getScalingWarmUpWindowSeconds() {
+        return Math.max(1, getIntProperty("scaling.warmup.window.seconds", 1));
+    }
+
+    public static int getScalingMaxWarmUpSeconds() {
+        return Math.max(1, getIntProperty("scaling.warmup.max.seconds", 10));
+    }
+
+    public static int getScalingMeasureSeconds() {
+        return Math.max(1, getIntProperty("scaling.measure.seconds", 5));
+    }
+
+    public static double getScalingSteadyTolerance() {
+        return getDoubleProperty("scaling.steady.tolerance", 0.10);
+    }
+
+    public static int getScalingSeedThreads() {
+        return Math.max(1, getIntProperty("scaling.seed.threads", 8));
+    }
+
+    public static int getScalingExpenseSpanDays() {
+        return Math.max(1, getIntProperty("scaling.expense.span.days", 365));
+    }
+
+    public static String getScalingOutput() {
+        return getProperty("scaling.output", "target/scaling/scaling-report.json");
+    }
+
+    public static List<String> getSaturationOperations() {
+        String operations = getProperty("saturation.operations", "signin,signup");
+        return Arrays.stream(operations.split(",")).map(String::trim).filter(name -> !name.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    public static int[] getSaturationConcurrency() {
+        return getIntListProperty("saturation.concurrency", new int[] { 1, 2, 4, 8, 16, 32 });
+    }
+
+    public static int getSaturationSigninUsers() {
+        return Math.max(1, getIntProperty("saturation.signin.users", 8));
+    }
+
+    public static int getSaturationProbeThreads() {
+        return Math.max(1, getIntProperty("saturation.probe.threads", 2));
+    }
+
+    public static double getSaturationKneeFraction() {
+        return getDoubleProperty("saturation.knee.fraction", 0.9);
+    }
+
+    public static String getSaturationOutput() {
+        return getProperty("saturation.output", "target/scaling/auth-saturation.json");
+    }
+
+    public static String getCapacitySearch() {
+        return getProperty("capacity.search", "binary");
+    }
+
+    public static double getCapacityStartRate() {
+        return getDoubleProperty("capacity.start.rate", 1.0);
+    }
+
+    public static double getCapacityStepRate() {
+        return getDoubleProperty("capacity.step.rate", 2.0);
+    }
+
+    public static double getCapacityMaxRate() {
+        return getDoubleProperty("capacity.max.rate", 64.0);
+    }
+
+    public static double getCapacityResolution() {
+        return getDoubleProperty("capacity.resolution", 1.0);
+    }
+
+    public static int getCapacityWindowSeconds() {
+        return Math.max(1, getIntProperty("capacity.window.seconds", 10));
+    }
+
+    public static int getCapacityMaxWindows() {
+        return Math.max(2, getIntProperty("capacity.max.windows", 4));
+    }
+
+    public static double getCapacitySteadyTolerance() {
+        return getDoubleProperty("capacity.steady.tolerance", 0.15);
+    }
+
+    public static double getCapacitySloP99Millis() {
+        return getDoubleProperty("capacity.slo.p99.ms", 1000);
+    }
+
+    public static double getCapacitySloErrorRate() {
+        return getDoubleProperty("capacity.slo.error.rate", 0.01);
+    }
+
+    public static int getCapacityMaxThreads() {
+        return Math.max(1, getIntProperty("capacity.max.threads", 200));
+    }
+
+    public static double getCapacityGeneratorMaxLagMillis() {
+        return getDoubleProperty("capacity.generator.max.lag.ms", 100);
+    }
+
+    public static double getCapacityGeneratorMaxCpu() {
+        return getDoubleProperty("capacity.generator.max.cpu", 0.9);
+    }
+
+    public static String getCapacityOutput() {
+        return getProperty("capacity.output", "target/scaling/capacity.json");
+    }
+
+    public static int getStormUsers() {
+        return Math.max(1, getIntProperty("storm.users", 20));
+    }
+
+    public static int getStormSessions() {
+        return Math.max(1, getIntProperty("storm.sessions", 1000));
+    }
+
+    public static int getStormThreads() {
+        return Math.max(1, getIntProperty("storm.threads", 64));
+    }
+
+    public static double getStormLogoutFraction() {
+        return getDoubleProperty("storm.logout.fraction", 0.5);
+    }
+
+    public static int getStormExpiryMaxWaitSeconds() {
+        return Math.max(0, getIntProperty("storm.expiry.max.wait.seconds", 0));
+    }
+
+    public static int getStormRefreshLeadSeconds() {
+        return Math.max(0, getIntProperty("storm.refresh.lead.seconds", 30));
+    }
+
+    public static int getStormRevocationTimeoutMillis() {
+        return Math.max(1, getIntProperty("storm.revocation.timeout.ms", 10000));
+    }
+
+    public static int getStormRevocationPollMillis() {
+        return Math.max(1, getIntProperty("storm.revocation.poll.ms", 100));
+    }
+
+    public static boolean isStormRevocationExpected() {
+        return getBooleanProperty("storm.revocation.expected", true);
+    }
+
+    public static double getStormMaxErrorRate() {
+        return getDoubleProperty("storm.max.error.rate", 0.01);
+    }
+
+    public static String getStormOutput() {
+        return getProperty("storm.output", "target/scaling/token-storm.json");
+    }
+
+    public static List<String> getFriendshipGraphShapes() {
+        String shapes = getProperty("friendship.graph.shapes", "uniform,power-law");
+        return Arrays.stream(shapes.split(",")).map(String::trim).filter(name -> !name.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    public static int getFriendshipGraphUsers() {
+        return Math.max(2, getIntProperty("friendship.graph.users", 60));
+    }
+
+    public static int getFriendshipGraphDegree() {
+        return Math.max(1, getIntProperty("friendship.graph.degree", 4));
+    }
+
+    public static double getFriendshipGraphExponent() {
+        return getDoubleProperty("friendship.graph.exponent", 2.2);
+    }
+
+    public static int getFriendshipGraphMaxDegree() {
+        return Math.max(1, getIntProperty("friendship.graph.max.degree", 40));
+    }
+
+    public static double getFriendshipGraphPendingFraction() {
+        return getDoubleProperty("friendship.graph.pending.fraction", 0.2);
+    }
+
+    public static int getFriendshipGraphThreads() {
+        return Math.max(1, getIntProperty("friendship.graph.threads", 8));
+    }
+
+    public static int getFriendshipGraphSeed() {
+        return getIntProperty("friendship.graph.seed", 42);
+    }
+
+    public static int getFriendshipSamples() {
+        return Math.max(1, getIntProperty("friendship.samples", 5));
+    }
+
+    public static String getFriendshipOutput() {
+        return getProperty("friendship.output", "target/scaling/friendship-fanout.json");
+    }
+
+    public static boolean isActuatorScrapeEnabled() {
+        return getBooleanProperty("actuator.scrape.enabled", false);
+    }
+
+    public static int getActuatorScrapeIntervalSeconds() {
+        return Math.max(1, getIntProperty("actuator.scrape.interval.seconds", 5));
+    }
+
+    public static double getActuatorCorrelationFactor() {
+        return getDoubleProperty("actuator.correlation.factor", 2.0);
+    }
+
+    // ==================== MONITOR CONFIG ====================
+
+    public static List<String> getMonitorProbes() {
+        String probes = getProperty("monitor.probes", "health,profile,dashboard,expenses");
+        return Arrays.stream(probes.split(",")).map(String::trim).filter(name -> !name.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    public static int getMonitorIntervalSeconds() {
+        return Math.max(1, getIntProperty("monitor.interval.seconds", 60));
+    }
+
+    public static int getMonitorDurationMinutes() {
+        return Math.max(0, getIntProperty("monitor.duration.minutes", 0));
+    }
+
+    public static int getMonitorLeaseUsers() {
+        return Math.max(0, getIntProperty("monitor.lease.users", 0));
+    }
+
+    /**
+     * Lifetime assumed for leased tokens that carry no JWT exp claim.
+     */
+    public static int getMonitorTokenValidityMinutes() {
+        return Math.max(1, getIntProperty("monitor.token.validity.minutes", 30));
+    }
+
+    public static double getMonitorSloAvailability() {
+        return getDoubleProperty("monitor.slo.availability", 0.99);
+    }
+
+    public static double getMonitorSloP95Millis() {
+        return getDoubleProperty("monitor.slo.p95.ms", 1000);
+    }
+
+    public static int getMonitorSloWindowMinutes() {
+        return Math.max(1, getIntProperty("monitor.slo.window.minutes", 15));
+    }
+
+    public static int getMonitorSloMinSamples() {
+        return Math.max(1, getIntProperty("monitor.slo.min.samples", 5));
+    }
+
+    public static String getMonitorAlertSink() {
+        return getProperty("monitor.alert.sink", "log");
+    }
+
+    public static String getMonitorAlertWebhookUrl() {
+        return getProperty("monitor.alert.webhook.url");
+    }
+
+    public static String getMonitorOutput() {
+        return getProperty("monitor.output", "target/monitor/samples.csv");
+    }
+
+    // ==================== FAULT PROXY CONFIG ====================
+
+    public static boolean isFaultProxyEnabled() {
+        return getBooleanProperty("fault.proxy.enabled", false);
+    }
+
+    public static String getFaultProxyProfile() {
+        return getProperty("fault.proxy.profile", "none");
+    }
+
+    public static int getFaultProxyPort() {
+        return Math.max(0, getIntProperty("fault.proxy.port", 0));
+    }
+
+    public static long getFaultProxySeed() {
+        return getIntProperty("fault.proxy.seed", 0);
+    }
+
+    public static List<String> getFaultSweepProfiles() {
+        String profiles = getProperty("fault.sweep.profiles", "none,slow-network,flaky-network,degraded-api");
+        return Arrays.stream(profiles.split(",")).map(String::trim).filter(name -> !name.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    public static int getFaultSweepUsers() {
+        return Math.max(1, getIntProperty("fault.sweep.users", 4));
+    }
+
+    public static int getFaultSweepRequestsPerUser() {
+        return Math.max(1, getIntProperty("fault.sweep.requests.per.user", 25));
+    }
+
+    // ==================== PROFILING CONFIG ====================
+
+    public static boolean isProfilingEnabled() {
+        return getBooleanProperty("profiling.enabled", false);
+    }
+
+    public static String getProfilingOutput() {
+        return getProperty("profiling.output", "target/profiling/run.jfr");
+    }
+
+    public static int getProfilingSamplePeriodMillis() {
+        return Math.max(1, getIntProperty("profiling.sample.period.ms", 10));
+    }
+
+    public static boolean isConfigWatchEnabled() {
+        return getBooleanProperty("config.watch.enabled", false);
+    }
+
     // ==================== UTILITY METHODS ====================
 
+    /**
+     * Re-reads config.properties and swaps in a new snapshot. Readers see
+     * either the old or the new snapshot, never a mix. If the file cannot be
+     * read the current snapshot is kept.
+     */
     public static synchronized void reloadConfig() {
-        initialized = false;
-        loadProperties();
-        log.info("Configuration reloaded");
+        ConfigSnapshot previous = snapshot;
+        ConfigSnapshot next;
+        try {
+            next = ConfigSnapshot.resolve(loadProperties());
+        } catch (RuntimeException e) {
+            log.warn("Configuration reload failed, keeping current values: {}", e.getMessage());
+            return;
+        }
+        snapshot = next;
+        log.info("Configuration reloaded, changed keys: {}", changedKeys(previous, next));
+    }
+
+    /**
+     * Starts watching config.properties for changes (no-op when the
+     * configuration was loaded from the classpath or already watched).
+     */
+    public static synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        if (!loadedFromFile) {
+            log.info("Configuration loaded from classpath, file watching not available");
+            return;
+        }
+        watcher = ConfigWatcher.start(Paths.get(CONFIG_FILE_PATH));
+    }
+
+    public static synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.stop();
+            watcher = null;
+        }
+    }
+
+    static void onConfigFileChanged() {
+        reloadConfig();
     }
 
     public static void printConfiguration() {
@@ -147,6 +781,9 @@ public final class ConfigManager {
         log.info("=".repeat(60));
         log.info("Environment     : {}", getEnvironment());
         log.info("Base URL        : {}", getBaseUrl());
+        if (baseUrlOverride != null) {
+            log.info("Fault Proxy     : {} -> {}", getFaultProxyProfile(), getTargetBaseUrl());
+        }
         log.info("Username        : {}", getUsername());
         log.info("Conn Timeout    : {}ms", getConnectionTimeout());
         log.info("Resp Timeout    : {}ms", getResponseTimeout());
@@ -157,17 +794,14 @@ public final class ConfigManager {
 
     // ==================== PRIVATE HELPERS ====================
 
-    private static synchronized void loadProperties() {
-        if (initialized && properties != null)
-            return;
-
-        properties = new Properties();
+    private static synchronized Properties loadProperties() {
+        Properties properties = new Properties();
 
         try (FileInputStream fis = new FileInputStream(CONFIG_FILE_PATH)) {
             properties.load(fis);
             log.info("Configuration loaded from: {}", CONFIG_FILE_PATH);
-            initialized = true;
-            return;
+            loadedFromFile = true;
+            return properties;
         } catch (IOException e) {
             log.debug("Config not found at {}, trying classpath", CONFIG_FILE_PATH);
         }
@@ -176,7 +810,8 @@ public final class ConfigManager {
             if (is != null) {
                 properties.load(is);
                 log.info("Configuration loaded from classpath: {}", CLASSPATH_CONFIG);
-                initialized = true;
+                loadedFromFile = false;
+                return properties;
             } else {
                 throw new RuntimeException("Configuration file not found");
             }
@@ -186,18 +821,37 @@ public final class ConfigManager {
     }
 
     private static int getIntProperty(String key, int defaultValue) {
-        try {
-            String value = getProperty(key);
-            return isNotBlank(value) ? Integer.parseInt(value.trim()) : defaultValue;
-        } catch (NumberFormatException e) {
-            log.warn("Invalid integer for '{}', using default: {}", key, defaultValue);
-            return defaultValue;
-        }
+        return snapshot.getInt(key, defaultValue);
+    }
+
+    private static double getDoubleProperty(String key, double defaultValue) {
+        return snapshot.getDouble(key, defaultValue);
+    }
+
+    private static int[] getIntListProperty(String key, int[] defaultValue) {
+        return snapshot.getIntList(key, defaultValue);
+    }
+
+    private static List<String> getListProperty(String key) {
+        String value = getProperty(key, "");
+        return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
     }
 
     private static boolean getBooleanProperty(String key, boolean defaultValue) {
-        String value = getProperty(key);
-        return isNotBlank(value) ? Boolean.parseBoolean(value.trim()) : defaultValue;
+        return snapshot.getBoolean(key, defaultValue);
+    }
+
+    private static Set<String> changedKeys(ConfigSnapshot previous, ConfigSnapshot next) {
+        Set<String> keys = new HashSet<>(previous.asMap().keySet());
+        keys.addAll(next.asMap().keySet());
+        Set<String> changed = new TreeSet<>();
+        for (String key : keys) {
+            if (!Objects.equals(previous.asMap().get(key), next.asMap().get(key))) {
+                changed.add(key);
+            }
+        }
+        return changed;
     }
 
     private static boolean isNotBlank(String value) {
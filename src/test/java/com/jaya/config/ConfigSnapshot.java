@@ -0,0 +1,226 @@
+package com.jaya.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable view of the configuration resolved once, with system properties
+ * and environment variables already applied over config.properties.
+ * Hot-path flags are pre-parsed into fields so readers pay a single volatile
+ * load in {@link ConfigManager} and nothing else.
+ */
+public final class ConfigSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigSnapshot.class);
+
+    private final Map<String, String> values;
+    // Keys absent from the file, empty when not set anywhere
+    private final Map<String, Optional<String>> lateLookups = new ConcurrentHashMap<>();
+    private final long loadedAtMillis;
+
+    private final boolean requestLoggingEnabled;
+    private final boolean responseLoggingEnabled;
+    private final boolean cleanupLoggingEnabled;
+    private final boolean metricsEnabled;
+    private final int connectionTimeout;
+    private final int responseTimeout;
+    private final int retryCount;
+    private final int maxThrottledRetries;
+    private final String environment;
+    private final String targetBaseUrl;
+
+    private ConfigSnapshot(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(values);
+        this.loadedAtMillis = System.currentTimeMillis();
+        this.requestLoggingEnabled = getBoolean("enable.request.logging", true);
+        this.responseLoggingEnabled = getBoolean("enable.response.logging", true);
+        this.cleanupLoggingEnabled = getBoolean("enable.cleanup.logging", true);
+        this.metricsEnabled = getBoolean("metrics.enabled", false);
+        this.connectionTimeout = getInt("connection.timeout", 5000);
+        this.responseTimeout = getInt("response.timeout", 10000);
+        this.retryCount = getInt("retry.count", 3);
+        this.maxThrottledRetries = getBoolean("ratelimit.enabled", true)
+                ? Math.max(0, getInt("ratelimit.max.throttled.retries", 5)) : 0;
+        this.environment = System.getProperty("env", get("environment", "qa")).toLowerCase();
+        this.targetBaseUrl = stripTrailingSlash(get("base.url." + environment));
+    }
+
+    /**
+     * Resolves every file key against system properties and environment
+     * variables (same precedence as before: -D, then env, then file).
+     * System properties not present in the file are included as well.
+     */
+    static ConfigSnapshot resolve(Properties fileProperties) {
+        Map<String, String> resolved = new HashMap<>();
+        for (String key : fileProperties.stringPropertyNames()) {
+            String value = lookupOverride(key);
+            if (value == null) {
+                value = trimToNull(fileProperties.getProperty(key));
+            }
+            if (value != null) {
+                resolved.put(key, value);
+            }
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (!resolved.containsKey(key)) {
+                String value = trimToNull(System.getProperty(key));
+                if (value != null) {
+                    resolved.put(key, value);
+                }
+            }
+        }
+        return new ConfigSnapshot(resolved);
+    }
+
+    // ==================== TYPED HOT-PATH VALUES ====================
+
+    public boolean isRequestLoggingEnabled() {
+        return requestLoggingEnabled;
+    }
+
+    public boolean isResponseLoggingEnabled() {
+        return responseLoggingEnabled;
+    }
+
+    public boolean isCleanupLoggingEnabled() {
+        return cleanupLoggingEnabled;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public int getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public int getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    /**
+     * Retries allowed for 429 responses; zero when rate limiting is disabled.
+     */
+    public int getMaxThrottledRetries() {
+        return maxThrottledRetries;
+    }
+
+    /**
+     * Environment name the base URL was resolved for (-Denv, then environment).
+     */
+    public String getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * Configured base URL for {@link #getEnvironment()}, or null if none is set.
+     */
+    public String getTargetBaseUrl() {
+        return targetBaseUrl;
+    }
+
+    public long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    // ==================== GENERIC LOOKUPS ====================
+
+    /**
+     * Returns the resolved value, or null if the key is not configured.
+     * Keys absent from the file are resolved against -D/env on first use and
+     * remembered for the lifetime of this snapshot.
+     */
+    public String get(String key) {
+        String value = values.get(key);
+        if (value != null) {
+            return value;
+        }
+        return lateLookups.computeIfAbsent(key, k -> Optional.ofNullable(lookupOverride(k))).orElse(null);
+    }
+
+    public String get(String key, String defaultValue) {
+        String value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = get(key);
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            log.warn("Invalid integer for '{}', using default: {}", key, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = get(key);
+        try {
+            return value != null ? Double.parseDouble(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            log.warn("Invalid number for '{}', using default: {}", key, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+
+    public int[] getIntList(String key, int[] defaultValue) {
+        String value = get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                    .mapToInt(Integer::parseInt).toArray();
+        } catch (NumberFormatException e) {
+            log.warn("Invalid integer list for '{}', using default: {}", key, Arrays.toString(defaultValue));
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns the resolved file and system-property keys.
+     */
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static String lookupOverride(String key) {
+        String value = trimToNull(System.getProperty(key));
+        if (value != null) {
+            return value;
+        }
+        String envKey = key.toUpperCase().replace(".", "_").replace("-", "_");
+        return trimToNull(System.getenv(envKey));
+    }
+
+    private static String stripTrailingSlash(String value) {
+        return value != null && value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
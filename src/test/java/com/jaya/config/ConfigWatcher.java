@@ -0,0 +1,103 @@
+package com.jaya.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches config.properties and asks {@link ConfigManager} to swap in a new
+ * snapshot when it changes, so long soak runs can be retuned without a
+ * restart. Editors often write a file in several steps, so events are
+ * debounced before reloading.
+ */
+final class ConfigWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigWatcher.class);
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private final Path file;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private ConfigWatcher(Path file, WatchService watchService) {
+        this.file = file;
+        this.watchService = watchService;
+        this.thread = new Thread(this::watch, "config-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching the given file, or returns null if it cannot be watched.
+     */
+    static ConfigWatcher start(Path file) {
+        Path absolute = file.toAbsolutePath();
+        Path directory = absolute.getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            log.warn("Config watcher not started: {} is not in a watchable directory", absolute);
+            return null;
+        }
+        try {
+            WatchService watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_CREATE);
+            ConfigWatcher watcher = new ConfigWatcher(absolute, watchService);
+            watcher.thread.start();
+            log.info("Watching {} for configuration changes", absolute);
+            return watcher;
+        } catch (IOException e) {
+            log.warn("Config watcher not started: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    void stop() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.debug("Error closing config watch service: {}", e.getMessage());
+        }
+        thread.interrupt();
+    }
+
+    private void watch() {
+        Path fileName = file.getFileName();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    // Coalesce the burst of events from a single save
+                    TimeUnit.MILLISECONDS.sleep(DEBOUNCE_MILLIS);
+                    drain();
+                    ConfigManager.onConfigFileChanged();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            key.pollEvents();
+            key.reset();
+        }
+    }
+}
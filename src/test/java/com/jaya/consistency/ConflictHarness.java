@@ -0,0 +1,194 @@
+package com.jaya.consistency;
+
+import com.jaya.metrics.LatencyHistogram;
+import com.jaya.utils.TestContext;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives N concurrent writers and readers at one {@link MutableResource},
+ * records the operation history and checks it with
+ * {@link ConsistencyChecker}.
+ */
+public class ConflictHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(ConflictHarness.class);
+    private static final String LINE = "-".repeat(100);
+
+    private final MutableResource resource;
+    private final int writesPerWriter;
+
+    public ConflictHarness(MutableResource resource, int writesPerWriter) {
+        this.resource = resource;
+        this.writesPerWriter = writesPerWriter;
+    }
+
+    /**
+     * Runs one round per concurrency level with an equal number of writers and
+     * readers.
+     */
+    public List<ConflictRunResult> sweep(int... concurrencyLevels) {
+        List<ConflictRunResult> results = new ArrayList<>();
+        for (int level : concurrencyLevels) {
+            results.add(run(level, level));
+        }
+        logReport(results);
+        return results;
+    }
+
+    /**
+     * Runs one round: writers each issue a fixed number of writes while readers
+     * poll until all writers are done.
+     */
+    public ConflictRunResult run(int writers, int readers) {
+        String runId = UUID.randomUUID().toString().replace("-", "").substring(0, 6);
+        Pattern markerPattern = Pattern.compile("cw" + runId + "p\\d+n\\d+");
+        OperationHistory history = new OperationHistory();
+        LatencyHistogram writeLatency = new LatencyHistogram();
+        LatencyHistogram readLatency = new LatencyHistogram();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicBoolean writersDone = new AtomicBoolean();
+
+        String initialValue = extractMarker(markerPattern, attempt(resource::read));
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers + readers);
+        TestContext.Snapshot context = TestContext.capture();
+        CountDownLatch startGate = new CountDownLatch(1);
+        CountDownLatch writersFinished = new CountDownLatch(writers);
+        long wallStart = System.nanoTime();
+
+        for (int w = 0; w < writers; w++) {
+            int process = w;
+            pool.submit(context.wrap(() -> {
+                try {
+                    startGate.await();
+                    for (int n = 0; n < writesPerWriter; n++) {
+                        String marker = "cw" + runId + "p" + process + "n" + n;
+                        long invoke = history.now();
+                        int status = statusOf(attempt(() -> resource.write(marker)));
+                        Operation op = history.recordWrite(process, marker, invoke, status);
+                        writeLatency.record(op.latencyMicros());
+                        if (status == 409 || status == 412 || status == 423) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    writersFinished.countDown();
+                }
+                return null;
+            }));
+        }
+        for (int r = 0; r < readers; r++) {
+            int process = writers + r;
+            pool.submit(context.wrap(() -> {
+                startGate.await();
+                while (!writersDone.get()) {
+                    long invoke = history.now();
+                    Response response = attempt(resource::read);
+                    Operation op = history.recordRead(process, extractMarker(markerPattern, response), invoke,
+                            statusOf(response));
+                    readLatency.record(op.latencyMicros());
+                }
+                return null;
+            }));
+        }
+
+        startGate.countDown();
+        awaitQuietly(writersFinished);
+        writersDone.set(true);
+        pool.shutdown();
+        awaitTermination(pool);
+        long wallMicros = (System.nanoTime() - wallStart) / 1000L;
+
+        Response settled = attempt(resource::read);
+        ConsistencyChecker.Report report = statusOf(settled) / 100 == 2
+                ? ConsistencyChecker.check(history, initialValue, extractMarker(markerPattern, settled))
+                : ConsistencyChecker.check(history, initialValue);
+
+        ConflictRunResult result = new ConflictRunResult(resource.getName(), writers, readers, history,
+                wallMicros, conflicts.get(), writeLatency, readLatency, report);
+        log.info("[CONFLICT] {}", result);
+        report.violations.stream().limit(5).forEach(v -> log.warn("[CONFLICT]   {}", v));
+        return result;
+    }
+
+    /**
+     * Logs one table row per concurrency level.
+     */
+    public static void logReport(List<ConflictRunResult> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        log.info("\n{}\nCONCURRENT MUTATION REPORT: {}\n{}", LINE, results.get(0).resource, LINE);
+        log.info(String.format("%-8s %-8s %-8s %-10s %-10s %-10s %-12s %-12s %-10s",
+                "writers", "readers", "ops", "ops/s", "conflict%", "error%", "write p99", "read p99", "violations"));
+        for (ConflictRunResult r : results) {
+            log.info(String.format("%-8d %-8d %-8d %-10.1f %-10.2f %-10.2f %-12s %-12s %-10d",
+                    r.writers, r.readers, r.operations, r.throughputPerSecond, r.conflictRate * 100,
+                    r.errorRate * 100, String.format("%.1fms", r.writeLatency.percentileMillis(99)),
+                    String.format("%.1fms", r.readLatency.percentileMillis(99)), r.report.violations.size()));
+        }
+        log.info(LINE);
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    /**
+     * Executes a call, returning null when it failed without a response.
+     */
+    private static Response attempt(Supplier<Response> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            log.debug("Operation failed without response: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static int statusOf(Response response) {
+        return response != null ? response.getStatusCode() : -1;
+    }
+
+    private static String extractMarker(Pattern markerPattern, Response response) {
+        if (response == null || response.getStatusCode() >= 300) {
+            return null;
+        }
+        Matcher matcher = markerPattern.matcher(response.getBody().asString());
+        return matcher.find() ? matcher.group() : null;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitTermination(ExecutorService pool) {
+        try {
+            if (!pool.awaitTermination(5, TimeUnit.MINUTES)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
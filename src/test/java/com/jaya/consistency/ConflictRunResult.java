@@ -0,0 +1,56 @@
+package com.jaya.consistency;
+
+import com.jaya.metrics.LatencyHistogram;
+
+/**
+ * Outcome of one {@link ConflictHarness} round at a given concurrency.
+ */
+public class ConflictRunResult {
+
+    public final String resource;
+    public final int writers;
+    public final int readers;
+    public final int operations;
+    public final int writes;
+    public final int reads;
+    public final long wallMicros;
+    public final double throughputPerSecond;
+    public final int conflicts;
+    public final int errors;
+    public final double conflictRate;
+    public final double errorRate;
+    public final LatencyHistogram writeLatency;
+    public final LatencyHistogram readLatency;
+    public final ConsistencyChecker.Report report;
+
+    ConflictRunResult(String resource, int writers, int readers, OperationHistory history, long wallMicros,
+            int conflicts, LatencyHistogram writeLatency, LatencyHistogram readLatency,
+            ConsistencyChecker.Report report) {
+        this.resource = resource;
+        this.writers = writers;
+        this.readers = readers;
+        this.operations = history.size();
+        this.writes = history.getWrites().size();
+        this.reads = operations - writes;
+        this.wallMicros = wallMicros;
+        this.throughputPerSecond = wallMicros > 0 ? operations * 1_000_000.0 / wallMicros : 0.0;
+        this.conflicts = conflicts;
+        this.errors = (int) history.getWrites().stream().filter(op -> !op.isOk()).count() - conflicts;
+        this.conflictRate = writes > 0 ? (double) conflicts / writes : 0.0;
+        this.errorRate = writes > 0 ? (double) errors / writes : 0.0;
+        this.writeLatency = writeLatency;
+        this.readLatency = readLatency;
+        this.report = report;
+    }
+
+    public boolean isConsistent() {
+        return report.isConsistent();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s writers=%d readers=%d ops=%d (%.1f ops/s) conflicts=%.2f%% errors=%.2f%% -> %s",
+                resource, writers, readers, operations, throughputPerSecond, conflictRate * 100, errorRate * 100,
+                report);
+    }
+}
@@ -0,0 +1,220 @@
+package com.jaya.consistency;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks a single-register history for linearizability and last-writer-wins
+ * violations.
+ *
+ * Every write must carry a unique value so that each read can be attributed to
+ * the write it observed. The checks are sound (every reported violation is a
+ * real anomaly) but not complete: histories that pass may still be
+ * unlinearizable in ways only an exhaustive search would find.
+ */
+public final class ConsistencyChecker {
+
+    /**
+     * Kinds of anomaly the checker reports.
+     */
+    public enum ViolationType {
+        /** A read returned a value that no write in the history produced. */
+        PHANTOM_READ,
+        /** A read returned the value of a write the server rejected. */
+        REJECTED_WRITE_VISIBLE,
+        /** A read returned a value whose write started after the read finished. */
+        FUTURE_READ,
+        /** A read returned a value already overwritten before the read started. */
+        STALE_READ,
+        /** A later read returned an older value than an earlier, non-overlapping read. */
+        NON_MONOTONIC_READ,
+        /** The settled value is not one of the writes that could have been last. */
+        LOST_UPDATE
+    }
+
+    public static final class Violation {
+        public final ViolationType type;
+        public final String description;
+
+        Violation(ViolationType type, String description) {
+            this.type = type;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return type + ": " + description;
+        }
+    }
+
+    public static final class Report {
+        public final List<Violation> violations;
+
+        Report(List<Violation> violations) {
+            this.violations = Collections.unmodifiableList(violations);
+        }
+
+        public boolean isConsistent() {
+            return violations.isEmpty();
+        }
+
+        public Map<ViolationType, Integer> countByType() {
+            Map<ViolationType, Integer> counts = new EnumMap<>(ViolationType.class);
+            violations.forEach(v -> counts.merge(v.type, 1, Integer::sum));
+            return counts;
+        }
+
+        @Override
+        public String toString() {
+            return isConsistent() ? "consistent" : violations.size() + " violation(s) " + countByType();
+        }
+    }
+
+    private ConsistencyChecker() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Checks the reads of a history without a settled value.
+     */
+    public static Report check(OperationHistory history, String initialValue) {
+        return check(history, initialValue, null, false);
+    }
+
+    /**
+     * Checks the history, including the last-writer-wins rule for the settled
+     * value.
+     *
+     * @param history      recorded operations
+     * @param initialValue value observed before any write started (may be null)
+     * @param settledValue value read after all operations finished (null if it
+     *                     is still the initial value)
+     */
+    public static Report check(OperationHistory history, String initialValue, String settledValue) {
+        return check(history, initialValue, settledValue, true);
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static Report check(OperationHistory history, String initialValue, String settledValue,
+            boolean checkSettled) {
+        List<Violation> violations = new ArrayList<>();
+        List<Operation> writes = history.getWrites();
+        List<Operation> reads = history.getReads();
+
+        Map<String, Operation> writesByValue = new HashMap<>();
+        for (Operation write : writes) {
+            writesByValue.put(write.value, write);
+        }
+
+        Map<Operation, Operation> sourceOf = new HashMap<>();
+        for (Operation read : reads) {
+            if (!read.isOk()) {
+                continue;
+            }
+            Operation source = writesByValue.get(read.value);
+            if (source == null) {
+                if (!isInitial(read.value, initialValue)) {
+                    violations.add(new Violation(ViolationType.PHANTOM_READ, read.toString()));
+                } else {
+                    writes.stream().filter(w -> w.isOk() && w.precedes(read)).findFirst()
+                            .ifPresent(w -> violations.add(new Violation(ViolationType.STALE_READ,
+                                    read + " observed the initial value although " + w + " completed earlier")));
+                }
+                continue;
+            }
+            sourceOf.put(read, source);
+            checkReadAgainstWrites(read, source, writes, violations);
+        }
+
+        checkMonotonicReads(reads, sourceOf, violations);
+
+        if (checkSettled) {
+            checkLastWriterWins(writes, writesByValue, initialValue, settledValue, violations);
+        }
+        return new Report(violations);
+    }
+
+    private static void checkReadAgainstWrites(Operation read, Operation source, List<Operation> writes,
+            List<Violation> violations) {
+        if (source.outcome == Operation.Outcome.REJECTED) {
+            violations.add(new Violation(ViolationType.REJECTED_WRITE_VISIBLE, read + " observed " + source));
+            return;
+        }
+        if (read.precedes(source)) {
+            violations.add(new Violation(ViolationType.FUTURE_READ, read + " observed " + source));
+            return;
+        }
+        for (Operation overwrite : writes) {
+            if (overwrite != source && overwrite.isOk()
+                    && effectiveComplete(source) < overwrite.invokeMicros
+                    && overwrite.precedes(read)) {
+                violations.add(new Violation(ViolationType.STALE_READ,
+                        read + " observed " + source + " although " + overwrite + " completed earlier"));
+                return;
+            }
+        }
+    }
+
+    private static void checkMonotonicReads(List<Operation> reads, Map<Operation, Operation> sourceOf,
+            List<Violation> violations) {
+        for (Operation earlier : reads) {
+            Operation newer = sourceOf.get(earlier);
+            if (newer == null) {
+                continue;
+            }
+            for (Operation later : reads) {
+                Operation older = sourceOf.get(later);
+                if (older == null || older == newer || !earlier.precedes(later)) {
+                    continue;
+                }
+                if (effectiveComplete(older) < newer.invokeMicros) {
+                    violations.add(new Violation(ViolationType.NON_MONOTONIC_READ,
+                            later + " observed " + older + " after " + earlier + " observed " + newer));
+                }
+            }
+        }
+    }
+
+    private static void checkLastWriterWins(List<Operation> writes, Map<String, Operation> writesByValue,
+            String initialValue, String settledValue, List<Violation> violations) {
+        boolean anyApplied = writes.stream().anyMatch(Operation::isOk);
+        Operation settledWrite = writesByValue.get(settledValue);
+
+        if (settledWrite == null) {
+            if (anyApplied || !isInitial(settledValue, initialValue)) {
+                violations.add(new Violation(ViolationType.LOST_UPDATE,
+                        "settled value '" + settledValue + "' is not the result of any applied write"));
+            }
+            return;
+        }
+        if (settledWrite.outcome == Operation.Outcome.REJECTED) {
+            violations.add(new Violation(ViolationType.LOST_UPDATE,
+                    "settled value comes from rejected " + settledWrite));
+            return;
+        }
+        for (Operation later : writes) {
+            if (later != settledWrite && later.isOk() && effectiveComplete(settledWrite) < later.invokeMicros) {
+                violations.add(new Violation(ViolationType.LOST_UPDATE,
+                        "settled value comes from " + settledWrite + " but " + later + " started after it"));
+                return;
+            }
+        }
+    }
+
+    /**
+     * A write without a definite response may take effect at any point after
+     * it was invoked.
+     */
+    private static long effectiveComplete(Operation write) {
+        return write.isOk() ? write.completeMicros : Long.MAX_VALUE;
+    }
+
+    private static boolean isInitial(String value, String initialValue) {
+        return value == null ? initialValue == null : value.equals(initialValue);
+    }
+}
@@ -0,0 +1,92 @@
+package com.jaya.consistency;
+
+import com.jaya.clients.DashboardPreferenceClient;
+import com.jaya.clients.RoleClient;
+import com.jaya.clients.UserClient;
+import com.jaya.payloads.RolePayload;
+import com.jaya.pojo.UserUpdateRequest;
+import io.restassured.response.Response;
+
+/**
+ * A single server-side value that can be written and read back through the
+ * existing API clients. Written values are opaque markers; reads return the
+ * raw response and the harness locates the marker in the body.
+ */
+public interface MutableResource {
+
+    String getName();
+
+    Response write(String marker);
+
+    Response read();
+
+    // ==================== FACTORIES ====================
+
+    /**
+     * The caller's own profile: PUT /api/user, read back via GET
+     * /api/user/profile.
+     */
+    static MutableResource userProfile(UserClient userClient) {
+        return new MutableResource() {
+            @Override
+            public String getName() {
+                return "PUT /api/user";
+            }
+
+            @Override
+            public Response write(String marker) {
+                return userClient.updateUser(new UserUpdateRequest(marker, null));
+            }
+
+            @Override
+            public Response read() {
+                return userClient.getUserProfile();
+            }
+        };
+    }
+
+    /**
+     * The caller's dashboard layout: POST /api/user/dashboard-preferences.
+     */
+    static MutableResource dashboardPreference(DashboardPreferenceClient dashboardClient) {
+        return new MutableResource() {
+            @Override
+            public String getName() {
+                return "POST /api/user/dashboard-preferences";
+            }
+
+            @Override
+            public Response write(String marker) {
+                return dashboardClient.saveDashboardPreference(
+                        "{\"widgets\":[],\"theme\":\"" + marker + "\"}");
+            }
+
+            @Override
+            public Response read() {
+                return dashboardClient.getDashboardPreference();
+            }
+        };
+    }
+
+    /**
+     * An existing role's description: PUT /api/roles/{id} (requires ADMIN).
+     */
+    static MutableResource roleDescription(RoleClient roleClient, Integer roleId, String roleName) {
+        return new MutableResource() {
+            @Override
+            public String getName() {
+                return "PUT /api/roles/{id}";
+            }
+
+            @Override
+            public Response write(String marker) {
+                return roleClient.updateRole(roleId, RolePayload.createUpdateRoleRequest(roleName, marker));
+            }
+
+            @Override
+            public Response read() {
+                return roleClient.getRoleById(roleId);
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.jaya.consistency;
+
+/**
+ * A single completed operation in a concurrent history.
+ * Timestamps are microseconds relative to the start of the history.
+ */
+public final class Operation {
+
+    public enum Type {
+        WRITE, READ
+    }
+
+    /**
+     * Outcome of an operation as seen by the client.
+     */
+    public enum Outcome {
+        /** 2xx response. */
+        OK,
+        /** Rejected by the server (4xx); a write with this outcome never took effect. */
+        REJECTED,
+        /** 5xx or transport failure; a write with this outcome may or may not have taken effect. */
+        INDETERMINATE
+    }
+
+    public final long id;
+    public final int process;
+    public final Type type;
+    public final String value;
+    public final long invokeMicros;
+    public final long completeMicros;
+    public final int statusCode;
+    public final Outcome outcome;
+
+    Operation(long id, int process, Type type, String value, long invokeMicros, long completeMicros,
+            int statusCode, Outcome outcome) {
+        this.id = id;
+        this.process = process;
+        this.type = type;
+        this.value = value;
+        this.invokeMicros = invokeMicros;
+        this.completeMicros = completeMicros;
+        this.statusCode = statusCode;
+        this.outcome = outcome;
+    }
+
+    public boolean isOk() {
+        return outcome == Outcome.OK;
+    }
+
+    /**
+     * True if this operation finished strictly before the other one started.
+     */
+    public boolean precedes(Operation other) {
+        return completeMicros < other.invokeMicros;
+    }
+
+    public long latencyMicros() {
+        return completeMicros - invokeMicros;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s#%d[p%d %s=%s, %d..%dus, %d %s]", type, id, process,
+                type == Type.WRITE ? "w" : "r", value, invokeMicros, completeMicros, statusCode, outcome);
+    }
+}
@@ -0,0 +1,76 @@
+package com.jaya.consistency;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Thread-safe, append-only record of concurrent operations against one
+ * resource, with invoke and complete timestamps on a shared monotonic clock.
+ */
+public final class OperationHistory {
+
+    private final long originNanos = System.nanoTime();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Queue<Operation> operations = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Returns the current time on the history clock, to be passed as the invoke
+     * timestamp of an operation.
+     */
+    public long now() {
+        return (System.nanoTime() - originNanos) / 1000L;
+    }
+
+    public Operation recordWrite(int process, String value, long invokeMicros, int statusCode) {
+        return append(process, Operation.Type.WRITE, value, invokeMicros, statusCode);
+    }
+
+    public Operation recordRead(int process, String observedValue, long invokeMicros, int statusCode) {
+        return append(process, Operation.Type.READ, observedValue, invokeMicros, statusCode);
+    }
+
+    /**
+     * Returns all operations ordered by invoke time.
+     */
+    public List<Operation> getOperations() {
+        List<Operation> sorted = new ArrayList<>(operations);
+        sorted.sort(Comparator.comparingLong((Operation op) -> op.invokeMicros).thenComparingLong(op -> op.id));
+        return sorted;
+    }
+
+    public List<Operation> getWrites() {
+        return getOperations().stream().filter(op -> op.type == Operation.Type.WRITE).collect(Collectors.toList());
+    }
+
+    public List<Operation> getReads() {
+        return getOperations().stream().filter(op -> op.type == Operation.Type.READ).collect(Collectors.toList());
+    }
+
+    public int size() {
+        return operations.size();
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private Operation append(int process, Operation.Type type, String value, long invokeMicros, int statusCode) {
+        Operation operation = new Operation(sequence.incrementAndGet(), process, type, value, invokeMicros, now(),
+                statusCode, outcomeOf(statusCode));
+        operations.add(operation);
+        return operation;
+    }
+
+    private static Operation.Outcome outcomeOf(int statusCode) {
+        if (statusCode >= 200 && statusCode < 300) {
+            return Operation.Outcome.OK;
+        }
+        if (statusCode >= 400 && statusCode < 500) {
+            return Operation.Outcome.REJECTED;
+        }
+        return Operation.Outcome.INDETERMINATE;
+    }
+}
@@ -0,0 +1,210 @@
+package com.jaya.consistency;
+
+import com.jaya.utils.TestContext;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Measures how long a write takes to become visible on one or more read
+ * paths. Each trial performs one write, then every reader polls its endpoint
+ * on its own thread until the response reflects the write or the timeout
+ * elapses.
+ * <p>
+ * Lag is measured from the write's response to the midpoint of the first read
+ * that sees it; the read was linearized somewhere within its own round trip,
+ * so the midpoint is the unbiased estimate and half a read latency is the
+ * error bound.
+ */
+public class VisibilityProbe {
+
+    private static final Logger log = LoggerFactory.getLogger(VisibilityProbe.class);
+
+    /**
+     * Performs the write of one trial; {@code marker} is unique per trial.
+     */
+    @FunctionalInterface
+    public interface Write {
+        Response apply(int trial, String marker);
+    }
+
+    /**
+     * Decides whether a successful read reflects the write of a trial.
+     */
+    @FunctionalInterface
+    public interface Check {
+        boolean isVisible(Response response, int trial, String marker);
+    }
+
+    /** Visible once the marker appears anywhere in the response body */
+    public static final Check CONTAINS_MARKER = (response, trial, marker) ->
+            response.getBody().asString().contains(marker);
+
+    private final String name;
+    private final Write write;
+    private final List<Reader> readers;
+
+    private VisibilityProbe(Builder builder) {
+        this.name = builder.name;
+        this.write = builder.write;
+        this.readers = List.copyOf(builder.readers);
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Runs the trials one after another and returns the lag distribution per
+     * reader. {@code backgroundUsers} only labels the report; the caller is
+     * responsible for generating that load.
+     */
+    public VisibilityReport run(int trials, Duration timeout, long pollIntervalMillis, int backgroundUsers) {
+        String runId = UUID.randomUUID().toString().replace("-", "").substring(0, 6);
+        VisibilityReport report = new VisibilityReport(name, backgroundUsers, trials,
+                readers.stream().map(reader -> reader.name).collect(Collectors.toList()));
+        ExecutorService pool = Executors.newFixedThreadPool(readers.size());
+        TestContext.Snapshot context = TestContext.capture();
+
+        try {
+            for (int trial = 0; trial < trials; trial++) {
+                int current = trial;
+                String marker = "vp" + runId + "t" + trial;
+                long writeStart = System.nanoTime();
+                Response response = attempt(() -> write.apply(current, marker));
+                long acknowledged = System.nanoTime();
+                report.getWriteLatency().recordNanos(acknowledged - writeStart);
+                if (!isSuccess(response)) {
+                    report.recordWriteError();
+                    log.debug("[VISIBILITY] {} write {} failed with status {}", name, trial, statusOf(response));
+                    continue;
+                }
+
+                List<Callable<Void>> polls = new ArrayList<>();
+                for (Reader reader : readers) {
+                    polls.add(context.wrap(() -> {
+                        poll(reader, report.reader(reader.name), current, marker, acknowledged,
+                                acknowledged + timeout.toNanos(), pollIntervalMillis);
+                        return null;
+                    }));
+                }
+                pool.invokeAll(polls);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[VISIBILITY] {} interrupted", name);
+        } finally {
+            pool.shutdownNow();
+        }
+        log.info("[VISIBILITY] {}", report);
+        return report;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static void poll(Reader reader, VisibilityReport.ReaderStats stats, int trial, String marker,
+                             long acknowledged, long deadline, long pollIntervalMillis) throws InterruptedException {
+        int pollCount = 0;
+        while (true) {
+            long invoke = System.nanoTime();
+            Response response = attempt(reader.read);
+            long complete = System.nanoTime();
+            pollCount++;
+            if (isSuccess(response) && reader.check.isVisible(response, trial, marker)) {
+                long midpoint = invoke + (complete - invoke) / 2;
+                stats.recordVisible(Math.max(0, midpoint - acknowledged) / 1000L, pollCount);
+                return;
+            }
+            if (complete >= deadline) {
+                stats.recordTimeout(pollCount);
+                log.debug("[VISIBILITY] {} did not see {} after {} polls", reader.name, marker, pollCount);
+                return;
+            }
+            if (pollIntervalMillis > 0) {
+                Thread.sleep(pollIntervalMillis);
+            }
+        }
+    }
+
+    /**
+     * Executes a call, returning null when it failed without a response.
+     */
+    private static Response attempt(Supplier<Response> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            log.debug("Probe request failed without response: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isSuccess(Response response) {
+        return response != null && response.getStatusCode() / 100 == 2;
+    }
+
+    private static int statusOf(Response response) {
+        return response != null ? response.getStatusCode() : -1;
+    }
+
+    private static final class Reader {
+        final String name;
+        final Supplier<Response> read;
+        final Check check;
+
+        Reader(String name, Supplier<Response> read, Check check) {
+            this.name = name;
+            this.read = read;
+            this.check = check;
+        }
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private final String name;
+        private final List<Reader> readers = new ArrayList<>();
+        private Write write;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder write(Write write) {
+            this.write = write;
+            return this;
+        }
+
+        /**
+         * Adds a read path on which the trial's marker must appear.
+         */
+        public Builder reader(String name, Supplier<Response> read) {
+            return reader(name, read, CONTAINS_MARKER);
+        }
+
+        public Builder reader(String name, Supplier<Response> read, Check check) {
+            readers.add(new Reader(name, read, check));
+            return this;
+        }
+
+        public VisibilityProbe build() {
+            if (write == null || readers.isEmpty()) {
+                throw new IllegalStateException("A write and at least one reader are required");
+            }
+            return new VisibilityProbe(this);
+        }
+    }
+}
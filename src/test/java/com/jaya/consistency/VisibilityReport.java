@@ -0,0 +1,164 @@
+package com.jaya.consistency;
+
+import com.jaya.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outcome of one {@link VisibilityProbe} run: write latency and, per read
+ * path, the distribution of write-to-visibility lag.
+ */
+public class VisibilityReport {
+
+    private static final Logger log = LoggerFactory.getLogger(VisibilityReport.class);
+    private static final String LINE = "-".repeat(120);
+
+    /**
+     * Lag statistics of one read path.
+     */
+    public static class ReaderStats {
+        public final String reader;
+        public final LatencyHistogram lag = new LatencyHistogram();
+        private final AtomicInteger timeouts = new AtomicInteger();
+        private final AtomicInteger visibleOnFirstRead = new AtomicInteger();
+        private final AtomicLong polls = new AtomicLong();
+
+        ReaderStats(String reader) {
+            this.reader = reader;
+        }
+
+        void recordVisible(long lagMicros, int pollCount) {
+            lag.record(lagMicros);
+            polls.addAndGet(pollCount);
+            if (pollCount == 1) {
+                visibleOnFirstRead.incrementAndGet();
+            }
+        }
+
+        void recordTimeout(int pollCount) {
+            timeouts.incrementAndGet();
+            polls.addAndGet(pollCount);
+        }
+
+        public long getVisible() {
+            return lag.getCount();
+        }
+
+        public int getTimeouts() {
+            return timeouts.get();
+        }
+
+        /**
+         * Share of observed writes already visible on the first read.
+         */
+        public double getFirstReadRate() {
+            long observed = getVisible() + getTimeouts();
+            return observed > 0 ? (double) visibleOnFirstRead.get() / observed : 0.0;
+        }
+
+        public double getMeanPolls() {
+            long observed = getVisible() + getTimeouts();
+            return observed > 0 ? (double) polls.get() / observed : 0.0;
+        }
+    }
+
+    private final String write;
+    private final int backgroundUsers;
+    private final int trials;
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+    private final AtomicInteger writeErrors = new AtomicInteger();
+    private final Map<String, ReaderStats> readers = new LinkedHashMap<>();
+
+    VisibilityReport(String write, int backgroundUsers, int trials, List<String> readerNames) {
+        this.write = write;
+        this.backgroundUsers = backgroundUsers;
+        this.trials = trials;
+        for (String reader : readerNames) {
+            readers.put(reader, new ReaderStats(reader));
+        }
+    }
+
+    void recordWriteError() {
+        writeErrors.incrementAndGet();
+    }
+
+    ReaderStats reader(String name) {
+        return readers.get(name);
+    }
+
+    public String getWrite() {
+        return write;
+    }
+
+    public int getBackgroundUsers() {
+        return backgroundUsers;
+    }
+
+    public int getTrials() {
+        return trials;
+    }
+
+    public LatencyHistogram getWriteLatency() {
+        return writeLatency;
+    }
+
+    public int getWriteErrors() {
+        return writeErrors.get();
+    }
+
+    public Map<String, ReaderStats> getReaders() {
+        return Collections.unmodifiableMap(readers);
+    }
+
+    public int getTotalTimeouts() {
+        return readers.values().stream().mapToInt(ReaderStats::getTimeouts).sum();
+    }
+
+    /**
+     * Logs one table row per read path for each report.
+     */
+    public static void logReport(List<VisibilityReport> reports) {
+        if (reports.isEmpty()) {
+            return;
+        }
+        log.info("\n{}\nWRITE-TO-VISIBILITY LAG: {}\n{}", LINE, reports.get(0).write, LINE);
+        log.info(String.format("%-6s %-28s %-7s %-8s %-9s %-9s %-10s %-10s %-10s %-10s %-8s %-10s",
+                "bg VUs", "read path", "trials", "visible", "timeouts", "1st-read", "lag p50", "lag p95", "lag p99",
+                "lag max", "polls", "write p50"));
+        for (VisibilityReport report : reports) {
+            for (ReaderStats stats : report.readers.values()) {
+                log.info(String.format("%-6d %-28s %-7d %-8d %-9d %-9s %-10s %-10s %-10s %-10s %-8.1f %-10s",
+                        report.backgroundUsers, stats.reader, report.trials, stats.getVisible(), stats.getTimeouts(),
+                        String.format("%.0f%%", stats.getFirstReadRate() * 100), millis(stats.lag, 50),
+                        millis(stats.lag, 95), millis(stats.lag, 99),
+                        String.format("%.1fms", stats.lag.getMaxMicros() / 1000.0), stats.getMeanPolls(),
+                        millis(report.writeLatency, 50)));
+            }
+            if (report.getWriteErrors() > 0) {
+                log.warn("[VISIBILITY] {} of {} writes failed and were not probed", report.getWriteErrors(),
+                        report.trials);
+            }
+        }
+        log.info(LINE);
+    }
+
+    private static String millis(LatencyHistogram histogram, double percentile) {
+        return String.format("%.1fms", histogram.percentileMillis(percentile));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format("%s bg=%d trials=%d writeErrors=%d", write,
+                backgroundUsers, trials, getWriteErrors()));
+        readers.values().forEach(stats -> sb.append(String.format(" | %s p99=%.1fms timeouts=%d", stats.reader,
+                stats.lag.percentileMillis(99), stats.getTimeouts())));
+        return sb.toString();
+    }
+}
@@ -142,6 +142,7 @@ public final class Endpoints {
         public static final String HEALTH = BASE + "/health";
         public static final String INFO = BASE + "/info";
         public static final String METRICS = BASE + "/metrics";
+        public static final String METRIC_BY_NAME = METRICS + "/{name}";
     }
     
     public static final class ADMIN {
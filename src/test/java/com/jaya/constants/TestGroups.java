@@ -30,4 +30,5 @@ public final class TestGroups {
     public static final String BOUNDARY = "boundary";
     public static final String SECURITY = "security";
     public static final String PERFORMANCE = "performance";
+    public static final String MONITOR = "monitor";
 }
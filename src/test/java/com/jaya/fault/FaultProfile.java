@@ -0,0 +1,131 @@
+package com.jaya.fault;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * A named set of {@link FaultRule fault rules}, loaded from a properties file:
+ * <pre>
+ * # Applies to every request no route matches
+ * default.latency.ms=100
+ * default.jitter.ms=50
+ *
+ * route.signin.match=POST /auth/signin
+ * route.signin.reset.probability=0.1
+ * </pre>
+ * Routes inherit unset values from {@code default.*}. The route with the
+ * longest matching path prefix wins; on a tie, a route naming the method beats
+ * a {@code *} route.
+ */
+public final class FaultProfile {
+
+    private static final String RESOURCE_DIRECTORY = "/faults/";
+    private static final String DEFAULT_PREFIX = "default.";
+    private static final String ROUTE_PREFIX = "route.";
+
+    /** Forwards every request untouched; measures the proxy's own overhead */
+    public static final FaultProfile NONE = new FaultProfile("none", FaultRule.NONE, List.of());
+
+    private final String name;
+    private final FaultRule defaultRule;
+    private final List<FaultRule> routes;
+
+    private FaultProfile(String name, FaultRule defaultRule, List<FaultRule> routes) {
+        this.name = name;
+        this.defaultRule = defaultRule;
+        this.routes = routes;
+    }
+
+    /**
+     * Loads a profile by name from {@code src/test/resources/faults/<name>.properties}
+     * on the classpath, or from a file path. {@code none} is the pass-through
+     * profile.
+     */
+    public static FaultProfile load(String location) {
+        if (location == null || location.isBlank() || NONE.name.equals(location.trim())) {
+            return NONE;
+        }
+        String trimmed = location.trim();
+        Properties properties = new Properties();
+        Path file = Paths.get(trimmed);
+        try {
+            if (Files.isRegularFile(file)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    properties.load(in);
+                }
+            } else {
+                try (InputStream in = FaultProfile.class.getResourceAsStream(RESOURCE_DIRECTORY + trimmed
+                        + ".properties")) {
+                    if (in == null) {
+                        throw new IllegalArgumentException("Fault profile not found: " + trimmed);
+                    }
+                    properties.load(in);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read fault profile " + trimmed, e);
+        }
+        String name = file.getFileName().toString().replaceFirst("\\.properties$", "");
+        return fromProperties(name, properties);
+    }
+
+    static FaultProfile fromProperties(String name, Properties properties) {
+        FaultRule defaultRule = FaultRule.fromProperties("default", properties, DEFAULT_PREFIX, FaultRule.NONE);
+        TreeSet<String> routeNames = new TreeSet<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(ROUTE_PREFIX) && key.indexOf('.', ROUTE_PREFIX.length()) > 0) {
+                routeNames.add(key.substring(ROUTE_PREFIX.length(), key.indexOf('.', ROUTE_PREFIX.length())));
+            }
+        }
+        List<FaultRule> routes = new ArrayList<>();
+        for (String routeName : routeNames) {
+            String prefix = ROUTE_PREFIX + routeName + ".";
+            if (properties.getProperty(prefix + "match") == null) {
+                throw new IllegalArgumentException("Fault route " + routeName + " has no " + prefix + "match");
+            }
+            routes.add(FaultRule.fromProperties(routeName, properties, prefix, defaultRule));
+        }
+        routes.sort(Comparator.comparingInt((FaultRule rule) -> rule.pathPrefix.length()).reversed()
+                .thenComparing(rule -> FaultRule.ANY_METHOD.equals(rule.method)));
+        return new FaultProfile(name, defaultRule, List.copyOf(routes));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the rule applying to a request, falling back to the default rule.
+     */
+    public FaultRule ruleFor(String method, String path) {
+        for (FaultRule route : routes) {
+            if (route.matches(method, path)) {
+                return route;
+            }
+        }
+        return defaultRule;
+    }
+
+    public List<FaultRule> getRoutes() {
+        return routes;
+    }
+
+    public FaultRule getDefaultRule() {
+        return defaultRule;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(name).append(": ").append(defaultRule);
+        routes.forEach(route -> sb.append("; ").append(route));
+        return sb.toString();
+    }
+}
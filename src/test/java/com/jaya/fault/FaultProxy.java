@@ -0,0 +1,486 @@
+package com.jaya.fault;
+
+import com.jaya.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local TCP proxy that forwards to one plain-HTTP backend and injects the
+ * faults of a {@link FaultProfile} per request.
+ * <p>
+ * The client-to-backend direction is parsed just enough to find request
+ * boundaries (Content-Length or chunked bodies), pick the rule for the
+ * request's route and rewrite the Host header. The backend-to-client
+ * direction is forwarded as raw bytes: clients do not pipeline, so every byte
+ * that arrives after a request was forwarded belongs to that request's
+ * response and is shaped by its rule.
+ */
+public class FaultProxy implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(FaultProxy.class);
+    static final String INJECTIONS_TOTAL = "fault_proxy_injections_total";
+
+    private static final int MAX_HEAD_BYTES = 64 * 1024;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int CONNECT_TIMEOUT_MS = 10_000;
+    private static final byte[] CRLF = { '\r', '\n' };
+
+    private final ServerSocket server;
+    private final String upstreamHost;
+    private final int upstreamPort;
+    private final String basePath;
+    private final FaultProfile profile;
+    private final long seed;
+    private final Stats stats = new Stats();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionIds = new AtomicInteger();
+    private final ExecutorService workers;
+    private volatile boolean running = true;
+
+    private FaultProxy(ServerSocket server, URI target, FaultProfile profile, long seed) {
+        this.server = server;
+        this.upstreamHost = target.getHost();
+        this.upstreamPort = target.getPort() > 0 ? target.getPort() : 80;
+        this.basePath = target.getPath() == null ? "" : target.getPath().replaceAll("/+$", "");
+        this.profile = profile;
+        this.seed = seed;
+        this.workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fault-proxy-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a proxy on the loopback interface in front of {@code targetBaseUrl}.
+     *
+     * @param port local port, or 0 for any free port
+     * @param seed seed for the fault dice, or 0 for a random seed per run
+     */
+    public static FaultProxy start(String targetBaseUrl, FaultProfile profile, int port, long seed)
+            throws IOException {
+        URI target = URI.create(targetBaseUrl);
+        if (!"http".equalsIgnoreCase(target.getScheme())) {
+            throw new IllegalArgumentException("Fault proxy only fronts plain http backends, not " + targetBaseUrl);
+        }
+        ServerSocket server = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        FaultProxy proxy = new FaultProxy(server, target, profile, seed);
+        Thread acceptor = new Thread(proxy::acceptLoop, "fault-proxy-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("[FAULT] Proxy on {} -> {} with profile {}", proxy.getBaseUrl(), targetBaseUrl, profile);
+        return proxy;
+    }
+
+    /**
+     * Base URL that routes through this proxy, keeping the target's path.
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getInetAddress().getHostAddress() + ":" + server.getLocalPort() + basePath;
+    }
+
+    public FaultProfile getProfile() {
+        return profile;
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    /**
+     * Stops accepting and drops every open connection, including half-open ones.
+     */
+    @Override
+    public void close() {
+        running = false;
+        closeQuietly(server);
+        connections.forEach(Connection::close);
+        workers.shutdownNow();
+        log.info("[FAULT] Proxy {} stopped: {}", getBaseUrl(), stats);
+    }
+
+    // ==================== CONNECTIONS ====================
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket client = server.accept();
+                client.setTcpNoDelay(true);
+                Connection connection = new Connection(client, connectionIds.incrementAndGet());
+                connections.add(connection);
+                stats.connections.incrementAndGet();
+                workers.execute(connection::open);
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("[FAULT] Accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * What the response side must do with the next response.
+     */
+    private static final class Pending {
+        final FaultRule rule;
+        final boolean reset;
+        final long delayMillis;
+
+        Pending(FaultRule rule, boolean reset, long delayMillis) {
+            this.rule = rule;
+            this.reset = reset;
+            this.delayMillis = delayMillis;
+        }
+    }
+
+    private final class Connection {
+        private final Socket client;
+        private final Socket upstream = new Socket();
+        private final SplittableRandom random;
+        private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+
+        Connection(Socket client, int id) {
+            this.client = client;
+            this.random = seed != 0 ? new SplittableRandom(seed * 31 + id) : new SplittableRandom();
+        }
+
+        void open() {
+            try {
+                upstream.connect(new InetSocketAddress(upstreamHost, upstreamPort), CONNECT_TIMEOUT_MS);
+                upstream.setTcpNoDelay(true);
+            } catch (IOException e) {
+                stats.upstreamFailures.incrementAndGet();
+                log.warn("[FAULT] Could not connect to {}:{}: {}", upstreamHost, upstreamPort, e.getMessage());
+                close();
+                return;
+            }
+            workers.execute(this::pumpResponses);
+            pumpRequests();
+        }
+
+        /**
+         * Forwards requests one at a time, deciding each request's faults
+         * before it reaches the backend.
+         */
+        private void pumpRequests() {
+            try {
+                InputStream in = new BufferedInputStream(client.getInputStream(), BUFFER_SIZE);
+                OutputStream out = upstream.getOutputStream();
+                while (true) {
+                    RequestHead head = RequestHead.read(in, upstreamHost + ":" + upstreamPort);
+                    if (head == null) {
+                        break;
+                    }
+                    stats.requests.incrementAndGet();
+                    String path = head.path.startsWith(basePath) ? head.path.substring(basePath.length()) : head.path;
+                    FaultRule rule = profile.ruleFor(head.method, path);
+                    if (roll(rule.halfOpenProbability)) {
+                        inject("half_open", stats.halfOpens, head, rule);
+                        // The peer is gone: swallow everything until the client gives up
+                        in.transferTo(OutputStream.nullOutputStream());
+                        break;
+                    }
+                    boolean reset = roll(rule.resetProbability);
+                    pending.add(new Pending(rule, reset, delay(rule)));
+                    out.write(head.bytes);
+                    stats.bytesToUpstream.addAndGet(head.bytes.length);
+                    forwardBody(head, in, out);
+                    out.flush();
+                }
+                upstream.shutdownOutput();
+            } catch (IOException e) {
+                log.debug("[FAULT] Request side closed: {}", e.getMessage());
+                close();
+            }
+        }
+
+        /**
+         * Forwards response bytes, applying the rule of the request they answer.
+         */
+        private void pumpResponses() {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            FaultRule rule = FaultRule.NONE;
+            long responseStart = 0;
+            long responseBytes = 0;
+            try {
+                InputStream in = upstream.getInputStream();
+                OutputStream out = client.getOutputStream();
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    Pending next = pending.poll();
+                    if (next != null) {
+                        rule = next.rule;
+                        if (next.reset) {
+                            inject("reset", stats.resets, null, rule);
+                            reset();
+                            return;
+                        }
+                        if (next.delayMillis > 0) {
+                            stats.delayed.incrementAndGet();
+                            TimeUnit.MILLISECONDS.sleep(next.delayMillis);
+                        }
+                        if (rule.dripBytes > 0) {
+                            stats.dripped.incrementAndGet();
+                        } else if (rule.bandwidthBytesPerSecond > 0) {
+                            stats.throttled.incrementAndGet();
+                        }
+                        responseStart = System.nanoTime();
+                        responseBytes = 0;
+                    }
+                    responseBytes = write(out, buffer, read, rule, responseStart, responseBytes);
+                    stats.bytesToClient.addAndGet(read);
+                }
+            } catch (IOException e) {
+                log.debug("[FAULT] Response side closed: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        /**
+         * Writes one read's worth of response, paced by the rule's drip or
+         * bandwidth limit. Returns the response bytes written so far.
+         */
+        private long write(OutputStream out, byte[] buffer, int length, FaultRule rule, long responseStart,
+                           long responseBytes) throws IOException, InterruptedException {
+            if (rule.dripBytes <= 0 && rule.bandwidthBytesPerSecond <= 0) {
+                out.write(buffer, 0, length);
+                out.flush();
+                return responseBytes + length;
+            }
+            int chunk = rule.dripBytes > 0 ? rule.dripBytes
+                    : (int) Math.max(1, Math.min(BUFFER_SIZE, rule.bandwidthBytesPerSecond / 20));
+            long written = responseBytes;
+            for (int offset = 0; offset < length; offset += chunk) {
+                if (rule.dripBytes > 0 && written > 0) {
+                    TimeUnit.MILLISECONDS.sleep(rule.dripIntervalMillis);
+                }
+                int size = Math.min(chunk, length - offset);
+                out.write(buffer, offset, size);
+                out.flush();
+                written += size;
+                if (rule.dripBytes <= 0) {
+                    long due = responseStart + written * 1_000_000_000L / rule.bandwidthBytesPerSecond;
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                }
+            }
+            return written;
+        }
+
+        private boolean roll(double probability) {
+            return probability > 0 && random.nextDouble() < probability;
+        }
+
+        private long delay(FaultRule rule) {
+            long jitter = rule.jitterMillis > 0 ? random.nextLong(-rule.jitterMillis, rule.jitterMillis + 1) : 0;
+            return Math.max(0, rule.latencyMillis + jitter);
+        }
+
+        /**
+         * Aborts the client connection with a TCP RST instead of a FIN.
+         */
+        private void reset() {
+            try {
+                client.setSoLinger(true, 0);
+            } catch (SocketException e) {
+                log.debug("[FAULT] Could not arm reset: {}", e.getMessage());
+            }
+            close();
+        }
+
+        void close() {
+            closeQuietly(client);
+            closeQuietly(upstream);
+            connections.remove(this);
+        }
+    }
+
+    private void inject(String fault, AtomicLong counter, RequestHead head, FaultRule rule) {
+        counter.incrementAndGet();
+        MetricsRegistry.incrementCounter(INJECTIONS_TOTAL, "fault", fault, "route", rule.name);
+        log.debug("[FAULT] Injected {} on {}{}", fault, rule.name, head != null ? " for " + head.path : "");
+    }
+
+    private static void forwardBody(RequestHead head, InputStream in, OutputStream out) throws IOException {
+        if (head.chunked) {
+            while (true) {
+                String sizeLine = readLine(in);
+                writeLine(out, sizeLine);
+                int semicolon = sizeLine.indexOf(';');
+                int size = Integer.parseInt((semicolon >= 0 ? sizeLine.substring(0, semicolon) : sizeLine).trim(), 16);
+                if (size == 0) {
+                    String trailer;
+                    do {
+                        trailer = readLine(in);
+                        writeLine(out, trailer);
+                    } while (!trailer.isEmpty());
+                    return;
+                }
+                copy(in, out, size);
+                readLine(in);
+                out.write(CRLF);
+            }
+        }
+        copy(in, out, head.contentLength);
+    }
+
+    private static void copy(InputStream in, OutputStream out, long length) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = length;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read == -1) {
+                throw new EOFException("Request body ended early");
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new EOFException("Connection closed mid-request");
+            }
+            line.write(b);
+        }
+        String value = line.toString(StandardCharsets.ISO_8859_1);
+        return value.endsWith("\r") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    private static void writeLine(OutputStream out, String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.ISO_8859_1));
+        out.write(CRLF);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.trace("Close failed: {}", e.getMessage());
+        }
+    }
+
+    // ==================== REQUEST PARSING ====================
+
+    /**
+     * Request line and headers of one request, re-serialized with the Host
+     * header pointing at the backend.
+     */
+    private static final class RequestHead {
+        final String method;
+        final String path;
+        final long contentLength;
+        final boolean chunked;
+        final byte[] bytes;
+
+        private RequestHead(String method, String path, long contentLength, boolean chunked, byte[] bytes) {
+            this.method = method;
+            this.path = path;
+            this.contentLength = contentLength;
+            this.chunked = chunked;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Reads the next request head, or returns null when the client closed
+         * the connection between requests.
+         */
+        static RequestHead read(InputStream in, String host) throws IOException {
+            in.mark(1);
+            if (in.read() == -1) {
+                return null;
+            }
+            in.reset();
+            String requestLine = readLine(in);
+            String[] parts = requestLine.split(" ");
+            if (parts.length < 3) {
+                throw new IOException("Malformed request line: " + requestLine);
+            }
+            ByteArrayOutputStream head = new ByteArrayOutputStream();
+            writeLine(head, requestLine);
+            long contentLength = 0;
+            boolean chunked = false;
+            String line;
+            while (!(line = readLine(in)).isEmpty()) {
+                if (head.size() > MAX_HEAD_BYTES) {
+                    throw new IOException("Request head exceeds " + MAX_HEAD_BYTES + " bytes");
+                }
+                int colon = line.indexOf(':');
+                String name = colon > 0 ? line.substring(0, colon).trim().toLowerCase(Locale.ROOT) : "";
+                String value = colon > 0 ? line.substring(colon + 1).trim() : "";
+                if ("host".equals(name)) {
+                    line = "Host: " + host;
+                } else if ("content-length".equals(name)) {
+                    contentLength = Long.parseLong(value);
+                } else if ("transfer-encoding".equals(name)) {
+                    chunked = value.toLowerCase(Locale.ROOT).contains("chunked");
+                }
+                writeLine(head, line);
+            }
+            head.write(CRLF);
+            int query = parts[1].indexOf('?');
+            String path = query >= 0 ? parts[1].substring(0, query) : parts[1];
+            return new RequestHead(parts[0], path, contentLength, chunked, head.toByteArray());
+        }
+    }
+
+    // ==================== STATS ====================
+
+    /**
+     * Running totals of traffic and injected faults.
+     */
+    public static final class Stats {
+        public final AtomicLong connections = new AtomicLong();
+        public final AtomicLong requests = new AtomicLong();
+        public final AtomicLong delayed = new AtomicLong();
+        public final AtomicLong throttled = new AtomicLong();
+        public final AtomicLong dripped = new AtomicLong();
+        public final AtomicLong resets = new AtomicLong();
+        public final AtomicLong halfOpens = new AtomicLong();
+        public final AtomicLong upstreamFailures = new AtomicLong();
+        public final AtomicLong bytesToUpstream = new AtomicLong();
+        public final AtomicLong bytesToClient = new AtomicLong();
+
+        @Override
+        public String toString() {
+            return String.format("connections=%d requests=%d delayed=%d throttled=%d dripped=%d resets=%d "
+                            + "halfOpen=%d upstreamFailures=%d up=%dB down=%dB", connections.get(), requests.get(),
+                    delayed.get(), throttled.get(), dripped.get(), resets.get(), halfOpens.get(),
+                    upstreamFailures.get(), bytesToUpstream.get(), bytesToClient.get());
+        }
+    }
+}
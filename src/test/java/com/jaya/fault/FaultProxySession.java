@@ -0,0 +1,51 @@
+package com.jaya.fault;
+
+import com.jaya.config.ConfigManager;
+
+import java.io.IOException;
+
+/**
+ * Opt-in {@link FaultProxy} in front of the configured base URL for the whole
+ * suite run ({@code -Dfault.proxy.enabled=true -Dfault.proxy.profile=<name>}).
+ * While it runs, {@link ConfigManager#getBaseUrl()} returns the proxy's URL,
+ * so every client, token request and load run goes through it; test data
+ * cleanup keeps talking to the backend directly.
+ */
+public final class FaultProxySession {
+
+    private static FaultProxy proxy;
+
+    private FaultProxySession() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static synchronized void start() {
+        if (!ConfigManager.isFaultProxyEnabled() || proxy != null) {
+            return;
+        }
+        FaultProfile profile = FaultProfile.load(ConfigManager.getFaultProxyProfile());
+        try {
+            proxy = FaultProxy.start(ConfigManager.getTargetBaseUrl(), profile, ConfigManager.getFaultProxyPort(),
+                    ConfigManager.getFaultProxySeed());
+            ConfigManager.setBaseUrlOverride(proxy.getBaseUrl());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start fault proxy: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stops the proxy and points the base URL back at the backend.
+     */
+    public static synchronized void stop() {
+        if (proxy == null) {
+            return;
+        }
+        ConfigManager.setBaseUrlOverride(null);
+        proxy.close();
+        proxy = null;
+    }
+
+    public static synchronized FaultProxy current() {
+        return proxy;
+    }
+}
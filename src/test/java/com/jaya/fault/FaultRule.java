@@ -0,0 +1,144 @@
+package com.jaya.fault;
+
+import java.util.Properties;
+
+/**
+ * Faults injected into the requests of one route. A rule matches requests
+ * whose method equals {@link #method} (or any method for {@code *}) and whose
+ * path starts with {@link #pathPrefix}.
+ * <p>
+ * Latency, bandwidth and slow drip shape the response; resets and half-open
+ * connections break it. A reset is sent once the backend starts answering, so
+ * the backend has handled the request; a half-open connection swallows the
+ * request and never answers, leaving the client to its socket timeout.
+ */
+public final class FaultRule {
+
+    static final String ANY_METHOD = "*";
+
+    /** Forwards everything untouched */
+    public static final FaultRule NONE = new FaultRule("none", ANY_METHOD, "/", 0, 0, 0, 0.0, 0.0, 0, 0);
+
+    public final String name;
+    public final String method;
+    public final String pathPrefix;
+    public final long latencyMillis;
+    public final long jitterMillis;
+    /** Response bytes per second, 0 for unlimited */
+    public final long bandwidthBytesPerSecond;
+    public final double resetProbability;
+    public final double halfOpenProbability;
+    /** Response chunk size when dripping, 0 to disable */
+    public final int dripBytes;
+    public final long dripIntervalMillis;
+
+    private FaultRule(String name, String method, String pathPrefix, long latencyMillis, long jitterMillis,
+                      long bandwidthBytesPerSecond, double resetProbability, double halfOpenProbability,
+                      int dripBytes, long dripIntervalMillis) {
+        this.name = name;
+        this.method = method;
+        this.pathPrefix = pathPrefix;
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.bandwidthBytesPerSecond = bandwidthBytesPerSecond;
+        this.resetProbability = resetProbability;
+        this.halfOpenProbability = halfOpenProbability;
+        this.dripBytes = dripBytes;
+        this.dripIntervalMillis = dripIntervalMillis;
+    }
+
+    /**
+     * Reads the rule stored under {@code prefix} (e.g. {@code route.signin.}),
+     * taking unset values from {@code defaults}.
+     */
+    static FaultRule fromProperties(String name, Properties properties, String prefix, FaultRule defaults) {
+        String method = ANY_METHOD;
+        String pathPrefix = "/";
+        String match = properties.getProperty(prefix + "match");
+        if (match != null && !match.isBlank()) {
+            String[] parts = match.trim().split("\\s+", 2);
+            if (parts.length == 2) {
+                method = parts[0].toUpperCase();
+                pathPrefix = parts[1];
+            } else {
+                pathPrefix = parts[0];
+            }
+        }
+        if (!pathPrefix.startsWith("/")) {
+            throw new IllegalArgumentException("Fault route " + name + " must match a path starting with '/': "
+                    + match);
+        }
+        return new FaultRule(name, method, pathPrefix,
+                getLong(properties, prefix + "latency.ms", defaults.latencyMillis),
+                getLong(properties, prefix + "jitter.ms", defaults.jitterMillis),
+                getLong(properties, prefix + "bandwidth.kbps", defaults.bandwidthBytesPerSecond / 1024) * 1024,
+                getProbability(properties, prefix + "reset.probability", defaults.resetProbability),
+                getProbability(properties, prefix + "half.open.probability", defaults.halfOpenProbability),
+                (int) getLong(properties, prefix + "drip.bytes", defaults.dripBytes),
+                getLong(properties, prefix + "drip.interval.ms", defaults.dripIntervalMillis));
+    }
+
+    boolean matches(String requestMethod, String path) {
+        return (ANY_METHOD.equals(method) || method.equalsIgnoreCase(requestMethod)) && path.startsWith(pathPrefix);
+    }
+
+    boolean shapesResponse() {
+        return latencyMillis > 0 || jitterMillis > 0 || bandwidthBytesPerSecond > 0 || dripBytes > 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(name).append(" [").append(method).append(' ').append(pathPrefix)
+                .append(']');
+        if (latencyMillis > 0 || jitterMillis > 0) {
+            sb.append(String.format(" latency=%d±%dms", latencyMillis, jitterMillis));
+        }
+        if (bandwidthBytesPerSecond > 0) {
+            sb.append(String.format(" bandwidth=%dKB/s", bandwidthBytesPerSecond / 1024));
+        }
+        if (dripBytes > 0) {
+            sb.append(String.format(" drip=%dB/%dms", dripBytes, dripIntervalMillis));
+        }
+        if (resetProbability > 0) {
+            sb.append(String.format(" reset=%.1f%%", resetProbability * 100));
+        }
+        if (halfOpenProbability > 0) {
+            sb.append(String.format(" halfOpen=%.1f%%", halfOpenProbability * 100));
+        }
+        return sb.toString();
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static long getLong(Properties properties, String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            long parsed = Long.parseLong(value.trim());
+            if (parsed < 0) {
+                throw new IllegalArgumentException("Fault setting " + key + " must not be negative: " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid fault setting " + key + ": " + value, e);
+        }
+    }
+
+    private static double getProbability(Properties properties, String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            double parsed = Double.parseDouble(value.trim());
+            if (parsed < 0 || parsed > 1) {
+                throw new IllegalArgumentException("Fault setting " + key + " must be between 0 and 1: " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid fault setting " + key + ": " + value, e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.jaya.fixtures;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * A suite-scoped fixture: how to build its shared read-only value, how to
+ * copy it for a test that needs to change it, and how to tear either down.
+ * Values are looked up through {@link SharedFixtures} by this key.
+ *
+ * @param <T> fixture value; should be immutable, as it is shared across threads
+ */
+public final class Fixture<T> {
+
+    private final String key;
+    private final Supplier<T> factory;
+    private final UnaryOperator<T> copier;
+    private final Consumer<T> teardown;
+
+    private Fixture(Builder<T> builder) {
+        this.key = builder.key;
+        this.factory = builder.factory;
+        this.copier = builder.copier;
+        this.teardown = builder.teardown;
+    }
+
+    public static <T> Builder<T> builder(String key, Supplier<T> factory) {
+        return new Builder<>(key, factory);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    T build() {
+        return factory.get();
+    }
+
+    T copy(T shared) {
+        return copier.apply(shared);
+    }
+
+    void tearDown(T value) {
+        teardown.accept(value);
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder<T> {
+        private final String key;
+        private final Supplier<T> factory;
+        private UnaryOperator<T> copier;
+        private Consumer<T> teardown = value -> { };
+
+        private Builder(String key, Supplier<T> factory) {
+            this.key = key;
+            this.factory = factory;
+        }
+
+        /**
+         * Makes a private copy from the shared value. Defaults to building a
+         * new value, for state that cannot be cloned (e.g. a server-side
+         * user).
+         */
+        public Builder<T> copier(UnaryOperator<T> copier) {
+            this.copier = copier;
+            return this;
+        }
+
+        /**
+         * Releases a value at the end of the suite; applied to the shared
+         * value and to every copy.
+         */
+        public Builder<T> teardown(Consumer<T> teardown) {
+            this.teardown = teardown;
+            return this;
+        }
+
+        public Fixture<T> build() {
+            if (key == null || key.isEmpty() || factory == null) {
+                throw new IllegalStateException("A fixture needs a key and a factory");
+            }
+            if (copier == null) {
+                copier = shared -> factory.get();
+            }
+            return new Fixture<>(this);
+        }
+    }
+}
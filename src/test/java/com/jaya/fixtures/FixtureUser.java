@@ -0,0 +1,25 @@
+package com.jaya.fixtures;
+
+/**
+ * A signed-up user held by a fixture. Immutable, so one instance can be
+ * shared by every class and thread.
+ */
+public final class FixtureUser {
+
+    public final Long id;
+    public final String email;
+    public final String password;
+    public final String token;
+
+    FixtureUser(Long id, String email, String password, String token) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.token = token;
+    }
+
+    @Override
+    public String toString() {
+        return "FixtureUser{id=" + id + ", email='" + email + "'}";
+    }
+}
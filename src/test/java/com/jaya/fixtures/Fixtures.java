@@ -0,0 +1,44 @@
+package com.jaya.fixtures;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.AuthClient;
+import com.jaya.payloads.AuthPayload;
+import com.jaya.pojo.SignupRequest;
+import com.jaya.utils.TestUserCleanupManager;
+import io.restassured.response.Response;
+
+/**
+ * Fixtures shared across the suite through {@link SharedFixtures}.
+ */
+public final class Fixtures {
+
+    /**
+     * A plain user for tests that only read with its token or identity.
+     * Copies are new users; all of them are deleted by
+     * {@link TestUserCleanupManager} with the rest of the suite's users.
+     */
+    public static final Fixture<FixtureUser> USER = Fixture.builder("user", Fixtures::newUser).build();
+
+    private Fixtures() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    private static FixtureUser newUser() {
+        AuthClient authClient = new AuthClient(BaseTest.buildBaseRequestSpec());
+        SignupRequest signupRequest = AuthPayload.createDefaultSignupRequest();
+        Response signupResponse = authClient.signup(signupRequest);
+        if (signupResponse.getStatusCode() != 201) {
+            throw new IllegalStateException("Signup failed with status " + signupResponse.getStatusCode());
+        }
+        String token = signupResponse.jsonPath().getString("jwt");
+
+        Long userId = null;
+        Response userResponse = authClient.getUserByEmail(signupRequest.getEmail());
+        if (userResponse.getStatusCode() == 200) {
+            userId = userResponse.jsonPath().getLong("id");
+        }
+        TestUserCleanupManager.registerUserForCleanup(userId, signupRequest.getEmail(), signupRequest.getPassword(),
+                token);
+        return new FixtureUser(userId, signupRequest.getEmail(), signupRequest.getPassword(), token);
+    }
+}
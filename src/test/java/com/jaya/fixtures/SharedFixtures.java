@@ -0,0 +1,137 @@
+package com.jaya.fixtures;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suite-scoped registry of {@link Fixture} values. Each fixture is built on
+ * first use, once, even when many threads ask at the same time; the value is
+ * then shared read-only by every class and thread. A test that needs to
+ * change it takes a {@link #copyOf copy} instead. Everything built is torn
+ * down once, in reverse order, by {@link #tearDownAll()} at the end of the
+ * suite.
+ */
+public final class SharedFixtures {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedFixtures.class);
+
+    private static final Map<String, Entry<?>> ENTRIES = new ConcurrentHashMap<>();
+    // Shared values and copies in creation order, for teardown in reverse
+    private static final ConcurrentLinkedDeque<Runnable> TEARDOWNS = new ConcurrentLinkedDeque<>();
+
+    private SharedFixtures() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Shared value of one fixture; builds happen under the entry's own lock,
+     * so a slow fixture never blocks lookups of the others.
+     */
+    private static final class Entry<T> {
+        final Fixture<T> fixture;
+        final LongAdder reads = new LongAdder();
+        final LongAdder copies = new LongAdder();
+        private boolean built;
+        private T value;
+        private RuntimeException failure;
+        private long buildMillis;
+
+        Entry(Fixture<T> fixture) {
+            this.fixture = fixture;
+        }
+
+        synchronized T get() {
+            if (!built) {
+                built = true;
+                long start = System.currentTimeMillis();
+                try {
+                    value = fixture.build();
+                    T shared = value;
+                    TEARDOWNS.push(() -> fixture.tearDown(shared));
+                    log.info("[FIXTURES] Built {}: {}", fixture, value);
+                } catch (RuntimeException e) {
+                    // Remembered, so every class fails fast instead of rebuilding
+                    failure = new IllegalStateException("Fixture " + fixture + " could not be built", e);
+                } finally {
+                    buildMillis = System.currentTimeMillis() - start;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * The shared value of {@code fixture}, built on first use. It must not be
+     * changed, directly or through the API; use {@link #copyOf} for that.
+     */
+    public static <T> T get(Fixture<T> fixture) {
+        Entry<T> entry = entry(fixture);
+        T value = entry.get();
+        entry.reads.increment();
+        return value;
+    }
+
+    /**
+     * A private copy of {@code fixture} for a test that changes it, torn
+     * down with the shared value at the end of the suite.
+     */
+    public static <T> T copyOf(Fixture<T> fixture) {
+        Entry<T> entry = entry(fixture);
+        T copy = fixture.copy(entry.get());
+        entry.copies.increment();
+        TEARDOWNS.push(() -> fixture.tearDown(copy));
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Entry<T> entry(Fixture<T> fixture) {
+        Entry<?> entry = ENTRIES.computeIfAbsent(fixture.getKey(), key -> new Entry<>(fixture));
+        if (entry.fixture != fixture) {
+            throw new IllegalStateException("Two different fixtures use the key " + fixture.getKey());
+        }
+        return (Entry<T>) entry;
+    }
+
+    /**
+     * Tears down every copy and shared value, newest first, logs how often
+     * each fixture was reused, and forgets them all.
+     */
+    public static void tearDownAll() {
+        Runnable teardown;
+        while ((teardown = TEARDOWNS.poll()) != null) {
+            try {
+                teardown.run();
+            } catch (RuntimeException e) {
+                log.warn("[FIXTURES] Teardown failed: {}", e.getMessage());
+            }
+        }
+        logSummary();
+        ENTRIES.clear();
+    }
+
+    private static void logSummary() {
+        List<String> keys = new ArrayList<>(ENTRIES.keySet());
+        Collections.sort(keys);
+        for (String key : keys) {
+            Entry<?> entry = ENTRIES.get(key);
+            if (entry.failure != null) {
+                log.warn("[FIXTURES] {}: failed to build in {}ms", key, entry.buildMillis);
+                continue;
+            }
+            long reads = entry.reads.sum();
+            log.info("[FIXTURES] {}: built once in {}ms, read {} times ({} setups saved), {} copies", key,
+                    entry.buildMillis, reads, Math.max(0, reads - 1), entry.copies.sum());
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.jaya.http;
+
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.HttpStatus;
+import com.jaya.metrics.MetricsRegistry;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.time.TimingFilter;
+import io.restassured.internal.RestAssuredResponseImpl;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in validator cache for GETs made through {@code BaseClient}
+ * ({@code http.conditional.enabled}). The last 200 response of every
+ * request is kept per identity (Authorization header), so one user's body is
+ * never served to another. The next GET for it carries
+ * {@code If-None-Match}/{@code If-Modified-Since}; a 304 is answered from the
+ * cached body, so callers always see a 200 with the full body, timed as the
+ * revalidation that produced it.
+ * <p>
+ * Per endpoint, it counts the bytes and milliseconds saved by 304s. It also
+ * counts 200s whose body was identical to the cached one: the transfer that
+ * conditional requests would save if the backend sent validators.
+ */
+public final class ConditionalCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ConditionalCache.class);
+    private static final String LINE = "-".repeat(130);
+    static final String NOT_MODIFIED_TOTAL = "api_conditional_not_modified_total";
+    static final String SAVED_BYTES_TOTAL = "api_conditional_saved_bytes_total";
+    static final String SAVED_MILLIS_TOTAL = "api_conditional_saved_milliseconds_total";
+
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static final Map<String, EndpointStats> STATS = new ConcurrentHashMap<>();
+    private static final AtomicBoolean CAPACITY_WARNED = new AtomicBoolean();
+    // Set by tests that measure conditional requests regardless of configuration
+    private static volatile Boolean enabledOverride;
+
+    private ConditionalCache() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Last full response of one request for one identity.
+     */
+    private static final class Entry {
+        final String etag;
+        final String lastModified;
+        final Response response;
+        final byte[] body;
+        final long fetchNanos;
+
+        Entry(String etag, String lastModified, Response response, byte[] body, long fetchNanos) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.response = response;
+            this.body = body;
+            this.fetchNanos = fetchNanos;
+        }
+    }
+
+    /**
+     * Conditional GET outcomes of one endpoint.
+     */
+    public static final class EndpointStats {
+        private final LongAdder fullResponses = new LongAdder();
+        private final LongAdder withValidators = new LongAdder();
+        private final LongAdder conditionalRequests = new LongAdder();
+        private final LongAdder notModified = new LongAdder();
+        private final LongAdder savedBytes = new LongAdder();
+        private final LongAdder savedMillis = new LongAdder();
+        private final LongAdder unchangedResponses = new LongAdder();
+        private final LongAdder unchangedBytes = new LongAdder();
+
+        public long getFullResponses() {
+            return fullResponses.sum();
+        }
+
+        public long getWithValidators() {
+            return withValidators.sum();
+        }
+
+        public long getConditionalRequests() {
+            return conditionalRequests.sum();
+        }
+
+        public long getNotModified() {
+            return notModified.sum();
+        }
+
+        public double getHitRate() {
+            long conditional = getConditionalRequests();
+            return conditional > 0 ? (double) getNotModified() / conditional : 0.0;
+        }
+
+        public long getSavedBytes() {
+            return savedBytes.sum();
+        }
+
+        public long getSavedMillis() {
+            return savedMillis.sum();
+        }
+
+        /**
+         * Full responses identical to the previous one for the same request.
+         */
+        public long getUnchangedResponses() {
+            return unchangedResponses.sum();
+        }
+
+        public long getUnchangedBytes() {
+            return unchangedBytes.sum();
+        }
+    }
+
+    public static boolean isEnabled() {
+        Boolean override = enabledOverride;
+        return override != null ? override : ConfigManager.isConditionalGetEnabled();
+    }
+
+    /**
+     * Forces the cache on or off; {@code null} goes back to configuration.
+     */
+    public static void setEnabledOverride(Boolean enabled) {
+        enabledOverride = enabled;
+    }
+
+    // ==================== REQUEST HOOKS ====================
+
+    /**
+     * The cached entry of one request, captured with the validator headers
+     * sent for it, so a 304 is answered from the version it confirms even if
+     * the entry is replaced or evicted meanwhile.
+     */
+    public static final class Lookup {
+        private final String key;
+        private final Entry entry;
+        private final Map<String, String> validators;
+
+        private Lookup(String key, Entry entry, Map<String, String> validators) {
+            this.key = key;
+            this.entry = entry;
+            this.validators = validators;
+        }
+
+        /**
+         * Validator headers to send, empty if nothing is cached.
+         */
+        public Map<String, String> validators() {
+            return validators;
+        }
+    }
+
+    /**
+     * Captures the cached entry of a request and the validators to send for it.
+     */
+    public static Lookup lookup(String identity, String requestKey) {
+        String key = key(identity, requestKey);
+        Entry entry = ENTRIES.get(key);
+        if (entry == null || (entry.etag == null && entry.lastModified == null)) {
+            return new Lookup(key, entry, Collections.emptyMap());
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (entry.etag != null) {
+            headers.put("If-None-Match", entry.etag);
+        }
+        if (entry.lastModified != null) {
+            headers.put("If-Modified-Since", entry.lastModified);
+        }
+        return new Lookup(key, entry, Collections.unmodifiableMap(headers));
+    }
+
+    /**
+     * Records the outcome of a GET sent with the {@link Lookup#validators()}
+     * and returns what the caller should see: a copy of the captured response
+     * for a 304, the response itself otherwise.
+     */
+    public static Response resolve(Lookup lookup, String endpoint, Response response, long elapsedNanos) {
+        String path = MetricsRegistry.normalizeEndpoint(endpoint);
+        String operation = "GET " + path;
+        EndpointStats stats = STATS.computeIfAbsent(operation, k -> new EndpointStats());
+        boolean conditional = !lookup.validators.isEmpty();
+        if (conditional) {
+            stats.conditionalRequests.increment();
+        }
+        int statusCode = response.getStatusCode();
+        Entry entry = lookup.entry;
+
+        if (statusCode == HttpStatus.NOT_MODIFIED && conditional) {
+            long savedMillis = Math.max(0, TimeUnit.NANOSECONDS.toMillis(entry.fetchNanos - elapsedNanos));
+            stats.notModified.increment();
+            stats.savedBytes.add(entry.body.length);
+            stats.savedMillis.add(savedMillis);
+            MetricsRegistry.incrementCounter(NOT_MODIFIED_TOTAL, "endpoint", path);
+            MetricsRegistry.addToCounter(SAVED_BYTES_TOTAL, entry.body.length, "endpoint", path);
+            MetricsRegistry.addToCounter(SAVED_MILLIS_TOTAL, savedMillis, "endpoint", path);
+            return revalidated(entry, response.getTime());
+        }
+        if (statusCode != HttpStatus.OK) {
+            ENTRIES.remove(lookup.key);
+            return response;
+        }
+
+        byte[] body = response.asByteArray();
+        String etag = response.getHeader("ETag");
+        String lastModified = response.getHeader("Last-Modified");
+        stats.fullResponses.increment();
+        if (etag != null || lastModified != null) {
+            stats.withValidators.increment();
+        }
+        if (entry != null && Arrays.equals(entry.body, body)) {
+            stats.unchangedResponses.increment();
+            stats.unchangedBytes.add(body.length);
+        }
+        store(lookup.key, new Entry(etag, lastModified, response, body, elapsedNanos));
+        return response;
+    }
+
+    /**
+     * Copy of the cached response whose {@code getTime()} is the 304 round
+     * trip rather than the original fetch.
+     */
+    private static Response revalidated(Entry entry, long revalidationMillis) {
+        Response copy = new ResponseBuilder().clone(entry.response).build();
+        if (copy instanceof RestAssuredResponseImpl) {
+            Map<String, Object> properties = new LinkedHashMap<>();
+            properties.put(TimingFilter.RESPONSE_TIME_MILLISECONDS, revalidationMillis);
+            ((RestAssuredResponseImpl) copy).setFilterContextProperties(properties);
+        }
+        return copy;
+    }
+
+    private static void store(String key, Entry entry) {
+        if (ENTRIES.size() >= ConfigManager.getConditionalGetMaxEntries() && !ENTRIES.containsKey(key)) {
+            if (CAPACITY_WARNED.compareAndSet(false, true)) {
+                log.warn("Conditional GET cache is full ({} entries), not caching new requests", ENTRIES.size());
+            }
+            return;
+        }
+        ENTRIES.put(key, entry);
+    }
+
+    private static String key(String identity, String requestKey) {
+        return identity + '\n' + requestKey;
+    }
+
+    // ==================== REPORTING ====================
+
+    public static Map<String, EndpointStats> getStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(STATS));
+    }
+
+    public static void reset() {
+        ENTRIES.clear();
+        STATS.clear();
+        CAPACITY_WARNED.set(false);
+    }
+
+    /**
+     * Logs per endpoint how often validators were sent and answered with 304,
+     * the bytes and time that saved, and the unchanged full responses.
+     */
+    public static void logSummary() {
+        if (STATS.isEmpty()) {
+            return;
+        }
+        log.info("\n{}\nCONDITIONAL GET SUMMARY\n{}", LINE, LINE);
+        log.info(String.format("%-40s %8s %11s %12s %8s %7s %10s %9s %10s %11s", "ENDPOINT", "200s",
+                "validators", "conditional", "304s", "hit%", "savedKB", "savedMs", "unchanged", "unchangedKB"));
+        getStats().forEach((operation, stats) -> log.info(String.format(
+                "%-40s %8d %11d %12d %8d %6.1f%% %10.1f %9d %10d %11.1f", operation, stats.getFullResponses(),
+                stats.getWithValidators(), stats.getConditionalRequests(), stats.getNotModified(),
+                stats.getHitRate() * 100, stats.getSavedBytes() / 1024.0, stats.getSavedMillis(),
+                stats.getUnchangedResponses(), stats.getUnchangedBytes() / 1024.0)));
+        log.info(LINE);
+    }
+}
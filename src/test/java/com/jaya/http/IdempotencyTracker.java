@@ -0,0 +1,323 @@
+package com.jaya.http;
+
+import com.jaya.config.ConfigManager;
+import com.jaya.metrics.MetricsRegistry;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency keys for POSTs made through {@code BaseClient}. Every logical
+ * write gets one key, reused by all of its retries; with
+ * {@code http.idempotency.enabled} it is sent as the
+ * {@code http.idempotency.header} header, so a server that has already
+ * committed a timed-out attempt can answer the retry with the same resource.
+ * <p>
+ * Writes are tracked either way. A retry after an exception or a 5xx is
+ * ambiguous: the server may have committed the previous attempt. The id
+ * created under a key scoped by {@link #withKey} is remembered, so replaying
+ * that key and getting a different id is reported as a duplicate. Random
+ * per-write keys can never be replayed and are not remembered.
+ */
+public final class IdempotencyTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyTracker.class);
+    private static final String LINE = "-".repeat(110);
+    static final String WRITES_TOTAL = "api_writes_total";
+    static final String AMBIGUOUS_RETRIES_TOTAL = "api_write_ambiguous_retries_total";
+    static final String DUPLICATES_TOTAL = "api_write_duplicates_total";
+
+    private static final ThreadLocal<String> SCOPED_KEY = new ThreadLocal<>();
+    private static final Map<String, String> CREATED_IDS = new ConcurrentHashMap<>();
+    private static final Map<String, EndpointStats> STATS = new ConcurrentHashMap<>();
+    private static final List<Duplicate> DUPLICATES = new CopyOnWriteArrayList<>();
+    private static final AtomicBoolean CAPACITY_WARNED = new AtomicBoolean();
+    // Set by tests that probe idempotency regardless of configuration
+    private static volatile Boolean enabledOverride;
+
+    private IdempotencyTracker() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Attempts of one logical write, fed by the retry loop.
+     */
+    public static final class Attempts {
+        private int count;
+        private int ambiguousRetries;
+        private boolean lastAmbiguous;
+
+        /**
+         * Runs one attempt; a 5xx or an exception makes the next one an
+         * ambiguous retry.
+         */
+        public Response track(Supplier<Response> attempt) {
+            if (lastAmbiguous) {
+                ambiguousRetries++;
+            }
+            count++;
+            lastAmbiguous = true;
+            Response response = attempt.get();
+            lastAmbiguous = response.getStatusCode() >= 500;
+            return response;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getAmbiguousRetries() {
+            return ambiguousRetries;
+        }
+    }
+
+    /**
+     * A key that created two different resources.
+     */
+    public static final class Duplicate {
+        public final String operation;
+        public final String key;
+        public final String originalId;
+        public final String duplicateId;
+
+        Duplicate(String operation, String key, String originalId, String duplicateId) {
+            this.operation = operation;
+            this.key = key;
+            this.originalId = originalId;
+            this.duplicateId = duplicateId;
+        }
+
+        @Override
+        public String toString() {
+            return operation + " key " + key + ": " + originalId + " and " + duplicateId;
+        }
+    }
+
+    /**
+     * Write outcomes of one endpoint.
+     */
+    public static final class EndpointStats {
+        private final LongAdder writes = new LongAdder();
+        private final LongAdder retriedWrites = new LongAdder();
+        private final LongAdder ambiguousRetries = new LongAdder();
+        private final LongAdder failedWrites = new LongAdder();
+        private final LongAdder replays = new LongAdder();
+        private final LongAdder duplicates = new LongAdder();
+
+        public long getWrites() {
+            return writes.sum();
+        }
+
+        /**
+         * Writes that needed more than one attempt, for any reason.
+         */
+        public long getRetriedWrites() {
+            return retriedWrites.sum();
+        }
+
+        public long getAmbiguousRetries() {
+            return ambiguousRetries.sum();
+        }
+
+        /**
+         * Writes that ended with an exception or a 5xx after all retries.
+         */
+        public long getFailedWrites() {
+            return failedWrites.sum();
+        }
+
+        /**
+         * Writes sent with a key that had already created a resource.
+         */
+        public long getReplays() {
+            return replays.sum();
+        }
+
+        public long getDuplicates() {
+            return duplicates.sum();
+        }
+    }
+
+    public static boolean isEnabled() {
+        Boolean override = enabledOverride;
+        return override != null ? override : ConfigManager.isIdempotencyEnabled();
+    }
+
+    /**
+     * Forces the header on or off; {@code null} goes back to configuration.
+     */
+    public static void setEnabledOverride(Boolean enabled) {
+        enabledOverride = enabled;
+    }
+
+    // ==================== KEYS ====================
+
+    public static String newKey() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Runs {@code call} with every POST on this thread using {@code key},
+     * e.g. to replay a logical operation the way a client would after
+     * losing its response.
+     */
+    public static <T> T withKey(String key, Supplier<T> call) {
+        String previous = SCOPED_KEY.get();
+        SCOPED_KEY.set(key);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                SCOPED_KEY.set(previous);
+            } else {
+                SCOPED_KEY.remove();
+            }
+        }
+    }
+
+    /**
+     * Key of the next logical write: the scoped one, otherwise a new one.
+     */
+    public static String nextKey() {
+        String scoped = SCOPED_KEY.get();
+        return scoped != null ? scoped : newKey();
+    }
+
+    /**
+     * Headers carrying {@code key}, empty when idempotency keys are disabled.
+     */
+    public static Map<String, String> headers(String key) {
+        return isEnabled() ? Collections.singletonMap(ConfigManager.getIdempotencyHeader(), key)
+                : Collections.emptyMap();
+    }
+
+    // ==================== TRACKING ====================
+
+    /**
+     * Records a finished logical write; {@code response} is null when every
+     * attempt failed with an exception.
+     */
+    public static void record(String key, String method, String endpoint, Attempts attempts, Response response) {
+        String path = MetricsRegistry.normalizeEndpoint(endpoint);
+        String operation = method + " " + path;
+        EndpointStats stats = STATS.computeIfAbsent(operation, k -> new EndpointStats());
+        stats.writes.increment();
+        MetricsRegistry.incrementCounter(WRITES_TOTAL, "method", method, "endpoint", path);
+        if (attempts.getCount() > 1) {
+            stats.retriedWrites.increment();
+        }
+        if (attempts.getAmbiguousRetries() > 0) {
+            stats.ambiguousRetries.add(attempts.getAmbiguousRetries());
+            MetricsRegistry.addToCounter(AMBIGUOUS_RETRIES_TOTAL, attempts.getAmbiguousRetries(),
+                    "method", method, "endpoint", path);
+        }
+        if (response == null || response.getStatusCode() >= 500) {
+            stats.failedWrites.increment();
+            return;
+        }
+
+        // Only a scoped key can be sent again; record() runs on the thread that made the write
+        if (!key.equals(SCOPED_KEY.get())) {
+            return;
+        }
+        String id = createdId(response);
+        if (id == null) {
+            return;
+        }
+        String original = CREATED_IDS.get(key);
+        if (original == null) {
+            remember(key, id);
+            return;
+        }
+        stats.replays.increment();
+        if (!original.equals(id)) {
+            stats.duplicates.increment();
+            MetricsRegistry.incrementCounter(DUPLICATES_TOTAL, "method", method, "endpoint", path);
+            DUPLICATES.add(new Duplicate(operation, key, original, id));
+            log.warn("[IDEMPOTENCY] {} created {} for key {} that already created {}", operation, id, key,
+                    original);
+        }
+    }
+
+    private static void remember(String key, String id) {
+        if (CREATED_IDS.size() >= ConfigManager.getIdempotencyMaxTracked()) {
+            if (CAPACITY_WARNED.compareAndSet(false, true)) {
+                log.warn("Idempotency tracker is full ({} keys), not tracking created ids", CREATED_IDS.size());
+            }
+            return;
+        }
+        CREATED_IDS.put(key, id);
+    }
+
+    /**
+     * The {@code id} of a 2xx JSON object response, null when there is none.
+     */
+    static String createdId(Response response) {
+        if (response.getStatusCode() < 200 || response.getStatusCode() >= 300) {
+            return null;
+        }
+        try {
+            Object id = response.jsonPath().get("id");
+            return id != null ? String.valueOf(id) : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // ==================== REPORTING ====================
+
+    public static Map<String, EndpointStats> getStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(STATS));
+    }
+
+    /**
+     * Keys that created more than one resource, so the extra ones can be
+     * deleted.
+     */
+    public static List<Duplicate> getDuplicates() {
+        return Collections.unmodifiableList(new ArrayList<>(DUPLICATES));
+    }
+
+    public static void reset() {
+        CREATED_IDS.clear();
+        STATS.clear();
+        DUPLICATES.clear();
+        CAPACITY_WARNED.set(false);
+    }
+
+    /**
+     * Logs per endpoint the writes, how many were retried and how often
+     * ambiguously, and the replays and duplicates seen. Silent when no write
+     * was retried or replayed.
+     */
+    public static void logSummary() {
+        if (STATS.values().stream().allMatch(stats -> stats.getRetriedWrites() == 0 && stats.getReplays() == 0)) {
+            return;
+        }
+        log.info("\n{}\nWRITE RETRY SUMMARY (idempotency keys {})\n{}", LINE, isEnabled() ? "sent" : "not sent",
+                LINE);
+        log.info(String.format("%-40s %8s %9s %10s %8s %9s %11s", "ENDPOINT", "writes", "retried", "ambiguous",
+                "failed", "replays", "duplicates"));
+        getStats().forEach((operation, stats) -> log.info(String.format("%-40s %8d %9d %10d %8d %9d %11d",
+                operation, stats.getWrites(), stats.getRetriedWrites(), stats.getAmbiguousRetries(),
+                stats.getFailedWrites(), stats.getReplays(), stats.getDuplicates())));
+        if (!isEnabled() && STATS.values().stream().anyMatch(stats -> stats.getAmbiguousRetries() > 0)) {
+            log.warn("  Writes were retried after ambiguous failures without idempotency keys: "
+                    + "the server may hold duplicates");
+        }
+        DUPLICATES.forEach(duplicate -> log.warn("  Duplicate: {}", duplicate));
+        log.info(LINE);
+    }
+}
@@ -0,0 +1,168 @@
+package com.jaya.http;
+
+import com.jaya.config.ConfigManager;
+import com.jaya.metrics.MetricsRegistry;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suite-wide client-side rate limiting, shared by every {@code BaseClient}.
+ * Endpoints are mapped to groups by path prefix
+ * ({@code ratelimit.group.<name>.prefixes}); each group has its own
+ * {@link TokenBucket}, and endpoints outside every group share the default
+ * bucket.
+ * <p>
+ * When the backend answers 429, the bucket of that endpoint's group is paused
+ * for the {@code Retry-After} delay, so every thread backs off together
+ * instead of each discovering the limit on its own.
+ */
+public final class RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+    static final String WAIT_MILLIS_TOTAL = "api_rate_limit_wait_milliseconds_total";
+    static final String THROTTLED_TOTAL = "api_rate_limit_throttled_total";
+    static final String DEFAULT_GROUP = "default";
+
+    private static volatile Groups groups;
+
+    private RateLimiter() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Waits until the endpoint's group allows another request.
+     */
+    public static void acquire(String endpoint) {
+        if (!ConfigManager.isRateLimitEnabled()) {
+            return;
+        }
+        TokenBucket bucket = groups().bucketFor(endpoint);
+        long waited = bucket.acquire();
+        if (waited > 0) {
+            MetricsRegistry.addToCounter(WAIT_MILLIS_TOTAL, TimeUnit.NANOSECONDS.toMillis(waited),
+                    "group", bucket.getName());
+            log.trace("Rate limiter held {} for {}ms", endpoint, TimeUnit.NANOSECONDS.toMillis(waited));
+        }
+    }
+
+    /**
+     * Pauses the endpoint's group after a 429 for the response's
+     * {@code Retry-After} delay (or the configured default when absent).
+     *
+     * @return the pause in milliseconds
+     */
+    public static long onThrottled(String endpoint, Response response) {
+        long delayMillis = retryAfterMillis(response.getHeader("Retry-After"));
+        if (!ConfigManager.isRateLimitEnabled()) {
+            return delayMillis;
+        }
+        TokenBucket bucket = groups().bucketFor(endpoint);
+        bucket.pauseUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis));
+        MetricsRegistry.incrementCounter(THROTTLED_TOTAL, "group", bucket.getName());
+        log.warn("Throttled on {} (429), pausing group {} for {}ms", endpoint, bucket.getName(), delayMillis);
+        return delayMillis;
+    }
+
+    /**
+     * Drops the configured groups so the next request rebuilds them from the
+     * current configuration.
+     */
+    public static void reset() {
+        groups = null;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    /**
+     * Parses a Retry-After value (delta seconds or an HTTP date), capped at
+     * {@code ratelimit.retry.after.max.ms}.
+     */
+    static long retryAfterMillis(String retryAfter) {
+        long delayMillis = ConfigManager.getRateLimitRetryAfterDefaultMillis();
+        if (retryAfter != null && !retryAfter.isBlank()) {
+            String value = retryAfter.trim();
+            try {
+                delayMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                try {
+                    ZonedDateTime until = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                    delayMillis = Duration.between(ZonedDateTime.now(until.getZone()), until).toMillis();
+                } catch (DateTimeParseException ignored) {
+                    log.debug("Unparseable Retry-After '{}', using default", value);
+                }
+            }
+        }
+        return Math.min(Math.max(0, delayMillis), ConfigManager.getRateLimitRetryAfterMaxMillis());
+    }
+
+    private static Groups groups() {
+        Groups current = groups;
+        if (current == null) {
+            synchronized (RateLimiter.class) {
+                if (groups == null) {
+                    groups = Groups.fromConfig();
+                }
+                current = groups;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Prefix-to-bucket mapping; lookups are cached per endpoint template.
+     */
+    private static final class Groups {
+        private final List<Map.Entry<String, TokenBucket>> prefixes;
+        private final TokenBucket defaultBucket;
+        private final Map<String, TokenBucket> byEndpoint = new ConcurrentHashMap<>();
+
+        private Groups(List<Map.Entry<String, TokenBucket>> prefixes, TokenBucket defaultBucket) {
+            this.prefixes = prefixes;
+            this.defaultBucket = defaultBucket;
+        }
+
+        static Groups fromConfig() {
+            int burst = ConfigManager.getRateLimitBurst();
+            Map<String, TokenBucket> buckets = new LinkedHashMap<>();
+            List<Map.Entry<String, TokenBucket>> prefixes = new ArrayList<>();
+            for (String group : ConfigManager.getRateLimitGroups()) {
+                TokenBucket bucket = new TokenBucket(group, ConfigManager.getRateLimitGroupRps(group), burst);
+                buckets.put(group, bucket);
+                for (String prefix : ConfigManager.getRateLimitGroupPrefixes(group)) {
+                    prefixes.add(Map.entry(prefix, bucket));
+                }
+            }
+            prefixes.sort(Comparator.comparingInt((Map.Entry<String, TokenBucket> entry) -> entry.getKey().length())
+                    .reversed());
+            TokenBucket defaultBucket = new TokenBucket(DEFAULT_GROUP, ConfigManager.getRateLimitDefaultRps(), burst);
+            log.info("Rate limiter groups: {}, {}", buckets.values(), defaultBucket);
+            return new Groups(List.copyOf(prefixes), defaultBucket);
+        }
+
+        TokenBucket bucketFor(String endpoint) {
+            return byEndpoint.computeIfAbsent(MetricsRegistry.normalizeEndpoint(endpoint), this::match);
+        }
+
+        private TokenBucket match(String endpoint) {
+            for (Map.Entry<String, TokenBucket> prefix : prefixes) {
+                if (endpoint.startsWith(prefix.getKey())) {
+                    return prefix.getValue();
+                }
+            }
+            return defaultBucket;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.jaya.http;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Phase breakdown of a single HTTP attempt. A timing is bound to the calling
+ * thread for the duration of the attempt so the instrumented HttpClient
+ * components ({@link TimingHttpClient}) can stamp it; RestAssured executes
+ * requests synchronously on that thread.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    public enum Phase {
+        /** Client-side preparation and connection lease before any network work */
+        ACQUIRE,
+        DNS,
+        CONNECT,
+        TLS,
+        /** Writing request headers and body */
+        WRITE,
+        /** Waiting for the response headers after the request was written */
+        TTFB,
+        /** Reading the response body */
+        DOWNLOAD,
+        /** Client-side response handling (filters, parsing, logging) */
+        PROCESS,
+        /** Server-reported processing time from Server-Timing (0 without the header) */
+        SERVER,
+        /** Time on the wire not accounted for by the server: DNS through body read minus SERVER */
+        NETWORK,
+        TOTAL
+    }
+
+    private final String method;
+    private final String endpoint;
+    private final long startNanos;
+    private volatile String requestId;
+    private volatile int statusCode = -1;
+    private volatile long dnsNanos;
+    private volatile long connectNanos;
+    private volatile long tlsNanos;
+    private volatile long writeStartNanos;
+    private volatile long writeEndNanos;
+    private volatile long headersNanos;
+    private volatile long bodyEndNanos;
+    private volatile long endNanos;
+    private volatile Map<String, Double> serverTimings = Collections.emptyMap();
+
+    private RequestTiming(String method, String endpoint) {
+        this.method = method;
+        this.endpoint = endpoint;
+        this.startNanos = System.nanoTime();
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    /**
+     * Starts timing an attempt on the current thread.
+     */
+    public static RequestTiming begin(String method, String endpoint) {
+        RequestTiming timing = new RequestTiming(method, endpoint);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Returns the timing of the attempt in progress on this thread, or null.
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Completes the attempt and unbinds it from the current thread.
+     */
+    public void finish(int statusCode) {
+        this.statusCode = statusCode;
+        this.endNanos = System.nanoTime();
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    // ==================== STAMPS ====================
+
+    void addDns(long nanos) {
+        dnsNanos += nanos;
+    }
+
+    void addConnect(long nanos) {
+        connectNanos += nanos;
+    }
+
+    void addTls(long nanos) {
+        tlsNanos += nanos;
+    }
+
+    void markWriteStart() {
+        if (writeStartNanos == 0) {
+            writeStartNanos = System.nanoTime();
+        }
+    }
+
+    void markWriteEnd() {
+        writeEndNanos = System.nanoTime();
+    }
+
+    void markHeaders() {
+        headersNanos = System.nanoTime();
+    }
+
+    void markBodyEnd() {
+        if (bodyEndNanos == 0) {
+            bodyEndNanos = System.nanoTime();
+        }
+    }
+
+    void setServerTimings(Map<String, Double> serverTimings) {
+        this.serverTimings = Collections.unmodifiableMap(serverTimings);
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    // ==================== ACCESSORS ====================
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Server-Timing metrics reported by the backend, in milliseconds.
+     */
+    public Map<String, Double> getServerTimings() {
+        return serverTimings;
+    }
+
+    public boolean hasServerTiming() {
+        return !serverTimings.isEmpty();
+    }
+
+    /**
+     * True if the attempt opened a new connection rather than reusing one.
+     */
+    public boolean isNewConnection() {
+        return connectNanos > 0;
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        long headers = headersNanos != 0 ? headersNanos : writeEndNanos;
+        long bodyEnd = bodyEndNanos != 0 ? bodyEndNanos : headers;
+        switch (phase) {
+            case ACQUIRE:
+                return writeStartNanos == 0 ? 0
+                        : Math.max(0, writeStartNanos - startNanos - dnsNanos - connectNanos - tlsNanos);
+            case DNS:
+                return dnsNanos;
+            case CONNECT:
+                return connectNanos;
+            case TLS:
+                return tlsNanos;
+            case WRITE:
+                return writeEndNanos == 0 ? 0 : writeEndNanos - writeStartNanos;
+            case TTFB:
+                return headersNanos == 0 ? 0 : headersNanos - writeEndNanos;
+            case DOWNLOAD:
+                return headersNanos == 0 ? 0 : Math.max(0, bodyEnd - headersNanos);
+            case PROCESS:
+                return headers == 0 ? 0 : Math.max(0, end - bodyEnd);
+            case SERVER:
+                return Math.min(serverNanos(), getPhaseNanos(Phase.TTFB));
+            case NETWORK:
+                return wireNanos() - getPhaseNanos(Phase.SERVER);
+            case TOTAL:
+                return end - startNanos;
+            default:
+                return 0;
+        }
+    }
+
+    private long serverNanos() {
+        return (long) (ServerTiming.serverMillis(serverTimings) * 1_000_000);
+    }
+
+    private long wireNanos() {
+        return dnsNanos + connectNanos + tlsNanos + getPhaseNanos(Phase.WRITE) + getPhaseNanos(Phase.TTFB)
+                + getPhaseNanos(Phase.DOWNLOAD);
+    }
+
+    public double getPhaseMillis(Phase phase) {
+        return getPhaseNanos(phase) / 1_000_000.0;
+    }
+
+    public Map<Phase, Double> getPhasesMillis() {
+        Map<Phase, Double> phases = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, getPhaseMillis(phase));
+        }
+        return phases;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append(requestId != null ? requestId : "-").append(' ')
+                .append(method).append(' ').append(endpoint).append(' ').append(statusCode);
+        for (Phase phase : Phase.values()) {
+            if ((phase == Phase.SERVER || phase == Phase.NETWORK) && !hasServerTiming()) {
+                continue;
+            }
+            sb.append(' ').append(phase.name().toLowerCase()).append('=')
+                    .append(String.format("%.1f", getPhaseMillis(phase)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,119 @@
+package com.jaya.http;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser for the W3C Server-Timing response header, e.g.
+ * {@code db;dur=53, app;dur=47.2, cache;desc="Cache Read";dur=23.2}.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    /** Metric names treated as the server's own end-to-end time, in order of preference */
+    private static final String[] TOTAL_METRICS = { "total", "app" };
+
+    private ServerTiming() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Parses one or more header values into metric name to duration in
+     * milliseconds. Metrics without a dur parameter are ignored; repeated
+     * metrics are summed.
+     */
+    public static Map<String, Double> parse(List<String> headerValues) {
+        if (headerValues == null || headerValues.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        for (String headerValue : headerValues) {
+            for (String entry : split(headerValue, ',')) {
+                List<String> parts = split(entry, ';');
+                if (parts.isEmpty() || parts.get(0).isEmpty()) {
+                    continue;
+                }
+                Double duration = null;
+                for (int i = 1; i < parts.size(); i++) {
+                    String param = parts.get(i);
+                    int eq = param.indexOf('=');
+                    if (eq > 0 && param.substring(0, eq).trim().equalsIgnoreCase("dur")) {
+                        duration = parseDuration(unquote(param.substring(eq + 1).trim()));
+                    }
+                }
+                if (duration != null) {
+                    metrics.merge(parts.get(0), duration, Double::sum);
+                }
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Server-side time for a request: the "total" (or "app") metric when
+     * present, otherwise the sum of all reported durations.
+     */
+    public static double serverMillis(Map<String, Double> metrics) {
+        for (String name : TOTAL_METRICS) {
+            Double total = metrics.get(name);
+            if (total != null) {
+                return total;
+            }
+        }
+        double sum = 0;
+        for (double duration : metrics.values()) {
+            sum += duration;
+        }
+        return sum;
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    /**
+     * Splits on a delimiter outside double quotes and trims each part.
+     */
+    private static List<String> split(String value, char delimiter) {
+        List<String> parts = new ArrayList<>();
+        if (value == null) {
+            return parts;
+        }
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '\\' && quoted && i + 1 < value.length()) {
+                current.append(c).append(value.charAt(++i));
+                continue;
+            } else if (c == delimiter && !quoted) {
+                parts.add(current.toString().trim());
+                current.setLength(0);
+                continue;
+            }
+            current.append(c);
+        }
+        parts.add(current.toString().trim());
+        return parts;
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    private static Double parseDuration(String value) {
+        try {
+            double duration = Double.parseDouble(value);
+            return duration >= 0 && !Double.isInfinite(duration) ? duration : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
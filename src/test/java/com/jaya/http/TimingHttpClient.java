@@ -0,0 +1,230 @@
+package com.jaya.http;
+
+import org.apache.http.Header;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.BasicClientConnectionManager;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The HttpClient RestAssured creates by default, instrumented to stamp the
+ * {@link RequestTiming} bound to the calling thread with DNS, connect, TLS,
+ * request write, time-to-first-byte and body read times, plus any
+ * Server-Timing metrics the backend reports.
+ * Install with {@code HttpClientConfig.httpClientFactory(TimingHttpClient::new)}.
+ */
+@SuppressWarnings("deprecation")
+public class TimingHttpClient extends DefaultHttpClient {
+
+    @Override
+    protected ClientConnectionManager createClientConnectionManager() {
+        return new BasicClientConnectionManager(SchemeRegistryFactory.createDefault()) {
+            @Override
+            protected ClientConnectionOperator createConnectionOperator(SchemeRegistry registry) {
+                return new TimingConnectionOperator(registry);
+            }
+        };
+    }
+
+    @Override
+    protected HttpRequestExecutor createRequestExecutor() {
+        return new TimingRequestExecutor();
+    }
+
+    // ==================== CONNECTION SETUP ====================
+
+    /**
+     * Same as the default operator, except that TLS schemes are connected in
+     * two steps (plain connect, then layering) so the handshake can be timed
+     * separately from the TCP connect.
+     */
+    private static final class TimingConnectionOperator extends DefaultClientConnectionOperator {
+
+        TimingConnectionOperator(SchemeRegistry registry) {
+            super(registry);
+        }
+
+        @Override
+        protected InetAddress[] resolveHostname(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            try {
+                return super.resolveHostname(host);
+            } finally {
+                RequestTiming timing = RequestTiming.current();
+                if (timing != null) {
+                    timing.addDns(System.nanoTime() - start);
+                }
+            }
+        }
+
+        @Override
+        public void openConnection(OperatedClientConnection conn, HttpHost target, InetAddress local,
+                                   HttpContext context, HttpParams params) throws IOException {
+            Scheme scheme = schemeRegistry.getScheme(target.getSchemeName());
+            SchemeSocketFactory factory = scheme.getSchemeSocketFactory();
+            boolean layered = factory instanceof SchemeLayeredSocketFactory;
+            SchemeSocketFactory connectFactory = layered ? PlainSocketFactory.getSocketFactory() : factory;
+            RequestTiming timing = RequestTiming.current();
+
+            InetAddress[] addresses = resolveHostname(target.getHostName());
+            int port = scheme.resolvePort(target.getPort());
+            for (int i = 0; i < addresses.length; i++) {
+                boolean last = i == addresses.length - 1;
+                Socket socket = connectFactory.createSocket(params);
+                conn.opening(socket, target);
+                InetSocketAddress remoteAddress = new HttpInetSocketAddress(target, addresses[i], port);
+                InetSocketAddress localAddress = local != null ? new InetSocketAddress(local, 0) : null;
+                try {
+                    long connectStart = System.nanoTime();
+                    Socket connected = connectFactory.connectSocket(socket, remoteAddress, localAddress, params);
+                    if (timing != null) {
+                        timing.addConnect(System.nanoTime() - connectStart);
+                    }
+                    if (layered) {
+                        long tlsStart = System.nanoTime();
+                        connected = ((SchemeLayeredSocketFactory) factory)
+                                .createLayeredSocket(connected, target.getHostName(), port, params);
+                        if (timing != null) {
+                            timing.addTls(System.nanoTime() - tlsStart);
+                        }
+                    }
+                    if (connected != socket) {
+                        conn.opening(connected, target);
+                    }
+                    prepareSocket(connected, context, params);
+                    conn.openCompleted(factory.isSecure(connected), params);
+                    return;
+                } catch (ConnectException | ConnectTimeoutException e) {
+                    if (last) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    // ==================== REQUEST / RESPONSE ====================
+
+    private static final class TimingRequestExecutor extends HttpRequestExecutor {
+
+        @Override
+        protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws IOException, HttpException {
+            RequestTiming timing = RequestTiming.current();
+            if (timing != null) {
+                timing.markWriteStart();
+            }
+            HttpResponse response = super.doSendRequest(request, conn, context);
+            if (timing != null) {
+                timing.markWriteEnd();
+            }
+            return response;
+        }
+
+        @Override
+        protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws HttpException, IOException {
+            HttpResponse response = super.doReceiveResponse(request, conn, context);
+            RequestTiming timing = RequestTiming.current();
+            if (timing != null) {
+                timing.markHeaders();
+                Header[] serverTimingHeaders = response.getHeaders(ServerTiming.HEADER);
+                if (serverTimingHeaders.length > 0) {
+                    List<String> values = new ArrayList<>(serverTimingHeaders.length);
+                    for (Header header : serverTimingHeaders) {
+                        values.add(header.getValue());
+                    }
+                    timing.setServerTimings(ServerTiming.parse(values));
+                }
+                HttpEntity entity = response.getEntity();
+                if (entity != null) {
+                    response.setEntity(new TimedEntity(entity, timing));
+                }
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Marks the end of the body read when the content stream hits EOF or is
+     * closed, whichever happens first.
+     */
+    private static final class TimedEntity extends HttpEntityWrapper {
+        private final RequestTiming timing;
+
+        TimedEntity(HttpEntity entity, RequestTiming timing) {
+            super(entity);
+            this.timing = timing;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try {
+                super.writeTo(out);
+            } finally {
+                timing.markBodyEnd();
+            }
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b < 0) {
+                        timing.markBodyEnd();
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int n = super.read(buffer, offset, length);
+                    if (n < 0) {
+                        timing.markBodyEnd();
+                    }
+                    return n;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    timing.markBodyEnd();
+                    super.close();
+                }
+            };
+        }
+    }
+}
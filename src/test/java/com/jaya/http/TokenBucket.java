@@ -0,0 +1,128 @@
+package com.jaya.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as a generic cell rate algorithm: the
+ * only state is the theoretical arrival time of the next request, advanced
+ * with one CAS per request. Callers that are over the rate sleep outside of
+ * any lock until their slot comes up, so waiting threads are released in
+ * reservation order at exactly the configured rate.
+ * <p>
+ * A rate of 0 means unlimited; such a bucket costs one volatile read per
+ * request and only makes callers wait while {@link #pauseUntil(long) paused}.
+ */
+public final class TokenBucket {
+
+    private final String name;
+    private final double permitsPerSecond;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    private final AtomicLong pausedUntil;
+
+    public TokenBucket(String name, double permitsPerSecond, int burst) {
+        if (permitsPerSecond < 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be >= 0 and burst >= 1 for bucket " + name);
+        }
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - toleranceNanos);
+        this.pausedUntil = new AtomicLong(System.nanoTime());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * Reserves the next slot and sleeps until it is due and no pause is in
+     * effect.
+     *
+     * @return nanoseconds spent waiting
+     */
+    public long acquire() {
+        long waited = reserve(System.nanoTime());
+        if (!sleep(waited)) {
+            return waited;
+        }
+        // A slot reserved before a pause started must still wait the pause out
+        long remaining;
+        while ((remaining = pausedUntil.get() - System.nanoTime()) > 0) {
+            waited += remaining;
+            if (!sleep(remaining)) {
+                break;
+            }
+        }
+        return waited;
+    }
+
+    /**
+     * Holds every caller until {@code untilNanos} (a {@link System#nanoTime()}
+     * value); afterwards requests resume at the configured rate without a
+     * burst. Overlapping pauses extend to the latest deadline.
+     */
+    public void pauseUntil(long untilNanos) {
+        pausedUntil.accumulateAndGet(untilNanos, TokenBucket::later);
+        theoreticalArrival.accumulateAndGet(untilNanos + toleranceNanos, TokenBucket::later);
+    }
+
+    /**
+     * Nanoseconds until the bucket would let a request through, 0 if now.
+     */
+    public long getDelayNanos() {
+        long now = System.nanoTime();
+        return Math.max(0, Math.max(theoreticalArrival.get() - toleranceNanos, pausedUntil.get()) - now);
+    }
+
+    /**
+     * Returns how long the caller must wait for its reserved slot.
+     */
+    long reserve(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            if (intervalNanos == 0 && current - now <= 0) {
+                return 0;
+            }
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return Math.max(0, current - toleranceNanos - now);
+            }
+        }
+    }
+
+    /**
+     * The later of two {@link System#nanoTime()} values, safe across overflow.
+     */
+    private static long later(long current, long candidate) {
+        return candidate - current > 0 ? candidate : current;
+    }
+
+    /**
+     * Returns false when interrupted, leaving the interrupt flag set.
+     */
+    private static boolean sleep(long nanos) {
+        if (nanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return permitsPerSecond > 0 ? String.format("%s (%.1f/s)", name, permitsPerSecond) : name + " (unlimited)";
+    }
+}
@@ -0,0 +1,369 @@
+package com.jaya.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Searches for the highest arrival rate a scenario mix sustains within its
+ * SLOs. Every probed rate runs as consecutive open-model {@link LoadRunner}
+ * windows (one journey per arriving virtual user) until the p50 step latency
+ * of two windows in a row agrees within the steady-state tolerance; a rate
+ * whose latency never settles is not sustainable. The last window is then
+ * checked against the SLOs (step p99, step error rate).
+ * <p>
+ * A window in which the generator fell behind its own schedule (late
+ * arrivals, fewer arrivals than the rate asks for, or a busy client CPU) is
+ * reported as generator-limited rather than as a failure of the server, and
+ * the search does not go above it.
+ * <p>
+ * {@link Search#STEP} raises the rate by a fixed step until a rate fails;
+ * {@link Search#BINARY} doubles it until one fails, then bisects between the
+ * last passing and the first failing rate down to the resolution.
+ */
+public class CapacityFinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CapacityFinder.class);
+    // Poisson arrivals fall this many standard deviations short of the target only when the generator lags
+    private static final double ARRIVAL_SHORTFALL_SIGMAS = 3.0;
+
+    public enum Search {
+        STEP, BINARY
+    }
+
+    /**
+     * Outcome of one probed rate.
+     */
+    public enum Verdict {
+        PASS, FAIL, GENERATOR_LIMITED
+    }
+
+    private final List<Scenario> scenarios;
+    private final Search search;
+    private final double startRate;
+    private final double stepRate;
+    private final double maxRate;
+    private final double resolution;
+    private final Duration window;
+    private final int maxWindows;
+    private final double steadyTolerance;
+    private final double maxP99Millis;
+    private final double maxErrorRate;
+    private final int maxThreads;
+    private final double maxArrivalLagMillis;
+    private final double maxClientCpu;
+
+    private CapacityFinder(Builder builder) {
+        this.scenarios = builder.scenarios;
+        this.search = builder.search;
+        this.startRate = builder.startRate;
+        this.stepRate = builder.stepRate;
+        this.maxRate = builder.maxRate;
+        this.resolution = builder.resolution;
+        this.window = builder.window;
+        this.maxWindows = builder.maxWindows;
+        this.steadyTolerance = builder.steadyTolerance;
+        this.maxP99Millis = builder.maxP99Millis;
+        this.maxErrorRate = builder.maxErrorRate;
+        this.maxThreads = builder.maxThreads;
+        this.maxArrivalLagMillis = builder.maxArrivalLagMillis;
+        this.maxClientCpu = builder.maxClientCpu;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public CapacityReport run() {
+        CapacityReport report = new CapacityReport(search, maxP99Millis, maxErrorRate);
+        if (search == Search.STEP) {
+            for (double rate = startRate; rate <= maxRate + 1e-9; rate += stepRate) {
+                if (probe(rate, report) != Verdict.PASS) {
+                    break;
+                }
+            }
+            return report;
+        }
+
+        // Bracket the capacity by doubling, then bisect
+        double passing = 0.0;
+        double failing = Double.NaN;
+        for (double rate = startRate; rate <= maxRate + 1e-9; rate = Math.min(rate * 2, maxRate)) {
+            if (probe(rate, report) == Verdict.PASS) {
+                passing = rate;
+                if (rate >= maxRate) {
+                    return report;
+                }
+            } else {
+                failing = rate;
+                break;
+            }
+        }
+        if (Double.isNaN(failing)) {
+            return report;
+        }
+        while (failing - passing > resolution && !Thread.currentThread().isInterrupted()) {
+            double rate = (passing + failing) / 2;
+            if (probe(rate, report) == Verdict.PASS) {
+                passing = rate;
+            } else {
+                failing = rate;
+            }
+        }
+        return report;
+    }
+
+    private Verdict probe(double rate, CapacityReport report) {
+        List<LoadReport> windows = new ArrayList<>();
+        double cpu = 0.0;
+        boolean steady = false;
+        for (int i = 0; i < maxWindows && !Thread.currentThread().isInterrupted(); i++) {
+            CpuSampler sampler = new CpuSampler();
+            LoadRunner.Builder runner = LoadRunner.builder()
+                    .arrivalRate(rate)
+                    .duration(window)
+                    .iterationsPerUser(1)
+                    .maxThreads(maxThreads);
+            scenarios.forEach(runner::scenario);
+            LoadReport current;
+            try {
+                current = runner.build().run();
+            } finally {
+                // Only the deciding window counts: the first ones also pay for class loading and JIT
+                cpu = sampler.stop();
+            }
+            windows.add(current);
+            if (windows.size() > 1) {
+                double previous = windows.get(windows.size() - 2).getOverallStepLatency().percentileMillis(50);
+                double latest = current.getOverallStepLatency().percentileMillis(50);
+                if (previous > 0 && Math.abs(latest - previous) <= steadyTolerance * previous) {
+                    steady = true;
+                    break;
+                }
+            }
+        }
+        if (windows.isEmpty()) {
+            return Verdict.FAIL;
+        }
+
+        LoadReport evidence = windows.get(windows.size() - 1);
+        List<String> reasons = new ArrayList<>();
+        double p99 = evidence.getOverallStepLatency().percentileMillis(99);
+        double errorRate = evidence.getStepErrorRate();
+        double arrivalLag = evidence.getArrivalLag().percentileMillis(99);
+        double expectedArrivals = rate * window.toNanos() / 1e9;
+        long arrivals = evidence.getArrivalLag().getCount();
+
+        List<String> generator = new ArrayList<>();
+        if (arrivalLag > maxArrivalLagMillis) {
+            generator.add(String.format("arrivals up to %.0fms late (p99)", arrivalLag));
+        }
+        if (arrivals < expectedArrivals - ARRIVAL_SHORTFALL_SIGMAS * Math.sqrt(expectedArrivals)) {
+            generator.add(String.format("only %d of %.0f arrivals started", arrivals, expectedArrivals));
+        }
+        if (cpu > maxClientCpu) {
+            generator.add(String.format("client CPU at %.0f%%", cpu * 100));
+        }
+        if (p99 > maxP99Millis) {
+            reasons.add(String.format("p99 %.0fms > %.0fms", p99, maxP99Millis));
+        }
+        if (errorRate > maxErrorRate) {
+            reasons.add(String.format("error rate %.2f%% > %.2f%%", errorRate * 100, maxErrorRate * 100));
+        }
+        if (!steady) {
+            reasons.add(String.format("latency did not settle in %d windows", windows.size()));
+        }
+
+        Verdict verdict;
+        if (!generator.isEmpty() && (reasons.isEmpty() || cpu > maxClientCpu)) {
+            // A lagging or CPU-bound generator under-reports latency: its numbers prove nothing about the server
+            verdict = Verdict.GENERATOR_LIMITED;
+            reasons.addAll(0, generator);
+        } else {
+            verdict = reasons.isEmpty() ? Verdict.PASS : Verdict.FAIL;
+            reasons.addAll(generator);
+        }
+        log.info("[CAPACITY] {} virtual users/s: {} after {} window(s){}", String.format("%.1f", rate), verdict,
+                windows.size(), reasons.isEmpty() ? "" : " - " + String.join(", ", reasons));
+        report.add(new CapacityReport.Step(rate, verdict, reasons, windows.size(), steady, evidence, cpu,
+                window.toNanos() / 1e9));
+        return verdict;
+    }
+
+    /**
+     * Mean process CPU load while a window runs, sampled twice a second; 0
+     * when the JVM does not report it.
+     */
+    private static final class CpuSampler {
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "capacity-cpu-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private final DoubleAdder total = new DoubleAdder();
+        private final LongAdder samples = new LongAdder();
+
+        CpuSampler() {
+            OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+            if (os instanceof com.sun.management.OperatingSystemMXBean) {
+                com.sun.management.OperatingSystemMXBean bean = (com.sun.management.OperatingSystemMXBean) os;
+                sampler.scheduleAtFixedRate(() -> {
+                    double load = bean.getProcessCpuLoad();
+                    if (load >= 0) {
+                        total.add(load);
+                        samples.increment();
+                    }
+                }, 500, 500, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        double stop() {
+            sampler.shutdownNow();
+            long count = samples.sum();
+            return count > 0 ? total.sum() / count : 0.0;
+        }
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private final List<Scenario> scenarios = new ArrayList<>();
+        private Search search = Search.BINARY;
+        private double startRate = 1.0;
+        private double stepRate = 1.0;
+        private double maxRate = 100.0;
+        private double resolution = 1.0;
+        private Duration window = Duration.ofSeconds(10);
+        private int maxWindows = 4;
+        private double steadyTolerance = 0.15;
+        private double maxP99Millis = 1000;
+        private double maxErrorRate = 0.01;
+        private int maxThreads = 200;
+        private double maxArrivalLagMillis = 100;
+        private double maxClientCpu = 0.9;
+
+        private Builder() {
+        }
+
+        public Builder scenario(Scenario scenario) {
+            scenarios.add(scenario);
+            return this;
+        }
+
+        public Builder search(Search search) {
+            this.search = search;
+            return this;
+        }
+
+        /**
+         * First arrival rate probed, in virtual users (journeys) per second.
+         */
+        public Builder startRate(double startRate) {
+            this.startRate = startRate;
+            return this;
+        }
+
+        /**
+         * Increment between rates for {@link Search#STEP}.
+         */
+        public Builder stepRate(double stepRate) {
+            this.stepRate = stepRate;
+            return this;
+        }
+
+        public Builder maxRate(double maxRate) {
+            this.maxRate = maxRate;
+            return this;
+        }
+
+        /**
+         * Gap between passing and failing rate at which
+         * {@link Search#BINARY} stops.
+         */
+        public Builder resolution(double resolution) {
+            this.resolution = resolution;
+            return this;
+        }
+
+        /**
+         * Length of one measurement window.
+         */
+        public Builder window(Duration window) {
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Most windows run at one rate while waiting for latency to settle.
+         */
+        public Builder maxWindows(int maxWindows) {
+            this.maxWindows = maxWindows;
+            return this;
+        }
+
+        public Builder steadyTolerance(double steadyTolerance) {
+            this.steadyTolerance = steadyTolerance;
+            return this;
+        }
+
+        public Builder sloP99Millis(double maxP99Millis) {
+            this.maxP99Millis = maxP99Millis;
+            return this;
+        }
+
+        public Builder sloErrorRate(double maxErrorRate) {
+            this.maxErrorRate = maxErrorRate;
+            return this;
+        }
+
+        /**
+         * Worker threads of the generator, i.e. requests it can keep in
+         * flight.
+         */
+        public Builder maxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+            return this;
+        }
+
+        /**
+         * p99 arrival lateness above which the generator counts as
+         * saturated.
+         */
+        public Builder maxArrivalLagMillis(double maxArrivalLagMillis) {
+            this.maxArrivalLagMillis = maxArrivalLagMillis;
+            return this;
+        }
+
+        /**
+         * Mean process CPU load (0..1, all cores) above which the generator counts as
+         * saturated.
+         */
+        public Builder maxClientCpu(double maxClientCpu) {
+            this.maxClientCpu = maxClientCpu;
+            return this;
+        }
+
+        public CapacityFinder build() {
+            if (scenarios.isEmpty()) {
+                throw new IllegalStateException("At least one scenario is required");
+            }
+            if (startRate <= 0 || maxRate < startRate || stepRate <= 0 || resolution <= 0) {
+                throw new IllegalStateException("Rates must be positive, with startRate <= maxRate");
+            }
+            if (window.isZero() || window.isNegative() || maxWindows < 2) {
+                throw new IllegalStateException("A positive window and at least two windows per rate are required");
+            }
+            return new CapacityFinder(this);
+        }
+    }
+}
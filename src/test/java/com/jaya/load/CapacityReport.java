@@ -0,0 +1,190 @@
+package com.jaya.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Every rate {@link CapacityFinder} probed, in the order it probed them, with
+ * the measurement window that decided each verdict.
+ */
+public class CapacityReport {
+
+    private static final Logger log = LoggerFactory.getLogger(CapacityReport.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String LINE = "-".repeat(120);
+
+    /**
+     * One probed arrival rate and the evidence for its verdict.
+     */
+    public static class Step {
+        public final double rate;
+        public final CapacityFinder.Verdict verdict;
+        public final List<String> reasons;
+        public final int windows;
+        public final boolean steady;
+        public final LoadReport evidence;
+        public final double clientCpu;
+        private final double windowSeconds;
+
+        Step(double rate, CapacityFinder.Verdict verdict, List<String> reasons, int windows, boolean steady,
+             LoadReport evidence, double clientCpu, double windowSeconds) {
+            this.rate = rate;
+            this.verdict = verdict;
+            this.reasons = Collections.unmodifiableList(reasons);
+            this.windows = windows;
+            this.steady = steady;
+            this.evidence = evidence;
+            this.clientCpu = clientCpu;
+            this.windowSeconds = windowSeconds;
+        }
+
+        /**
+         * Virtual users that actually arrived per second of the deciding
+         * window.
+         */
+        public double getAchievedRate() {
+            return evidence.getArrivalLag().getCount() / windowSeconds;
+        }
+    }
+
+    public final CapacityFinder.Search search;
+    private final double maxP99Millis;
+    private final double maxErrorRate;
+    private final List<Step> steps = new ArrayList<>();
+
+    CapacityReport(CapacityFinder.Search search, double maxP99Millis, double maxErrorRate) {
+        this.search = search;
+        this.maxP99Millis = maxP99Millis;
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    void add(Step step) {
+        steps.add(step);
+    }
+
+    public List<Step> getSteps() {
+        return Collections.unmodifiableList(steps);
+    }
+
+    /**
+     * The highest rate that met the SLOs; null when none did.
+     */
+    public Step getCapacity() {
+        return steps.stream().filter(step -> step.verdict == CapacityFinder.Verdict.PASS)
+                .max(Comparator.comparingDouble(step -> step.rate)).orElse(null);
+    }
+
+    /**
+     * The lowest rate the generator could not deliver; null when it kept up
+     * at every rate. The server's real capacity may lie above it.
+     */
+    public Step getGeneratorLimit() {
+        return steps.stream().filter(step -> step.verdict == CapacityFinder.Verdict.GENERATOR_LIMITED)
+                .min(Comparator.comparingDouble(step -> step.rate)).orElse(null);
+    }
+
+    /**
+     * The lowest rate the server failed its SLOs at; null when it never did.
+     */
+    public Step getFirstFailure() {
+        return steps.stream().filter(step -> step.verdict == CapacityFinder.Verdict.FAIL)
+                .min(Comparator.comparingDouble(step -> step.rate)).orElse(null);
+    }
+
+    // ==================== REPORTING ====================
+
+    public void logReport() {
+        log.info("\n{}\nCAPACITY ({} search, SLO p99 <= {}ms, errors <= {}%)\n{}", LINE, search,
+                String.format("%.0f", maxP99Millis), String.format("%.2f", maxErrorRate * 100), LINE);
+        log.info(String.format("%9s %9s %8s %8s %10s %10s %8s %10s %6s %-18s %s", "target/s", "actual/s", "steps",
+                "error%", "p50", "p99", "windows", "lag p99", "cpu", "verdict", "reasons"));
+        for (Step step : steps) {
+            LoadReport evidence = step.evidence;
+            log.info(String.format("%9.1f %9.1f %8d %8.2f %8.1fms %8.1fms %8d %8.1fms %5.0f%% %-18s %s", step.rate,
+                    step.getAchievedRate(), evidence.getTotalSteps(), evidence.getStepErrorRate() * 100,
+                    evidence.getOverallStepLatency().percentileMillis(50),
+                    evidence.getOverallStepLatency().percentileMillis(99), step.windows,
+                    evidence.getArrivalLag().percentileMillis(99), step.clientCpu * 100, step.verdict,
+                    String.join(", ", step.reasons)));
+        }
+        log.info(LINE);
+        Step capacity = getCapacity();
+        Step failure = getFirstFailure();
+        Step generatorLimit = getGeneratorLimit();
+        if (capacity != null) {
+            log.info(String.format("  Capacity: %.1f virtual users/s within the SLOs (p99 %.1fms, %.2f%% errors)",
+                    capacity.rate, capacity.evidence.getOverallStepLatency().percentileMillis(99),
+                    capacity.evidence.getStepErrorRate() * 100));
+        } else {
+            log.warn("  No probed rate met the SLOs");
+        }
+        if (failure != null) {
+            log.info(String.format("  First SLO failure at %.1f virtual users/s: %s", failure.rate,
+                    String.join(", ", failure.reasons)));
+        }
+        if (generatorLimit != null) {
+            log.warn("  The load generator could not deliver {} virtual users/s ({}); the server's capacity "
+                            + "may be higher - add threads or distribute the load",
+                    String.format("%.1f", generatorLimit.rate), String.join(", ", generatorLimit.reasons));
+        }
+        log.info(LINE);
+    }
+
+    /**
+     * Writes the result and the evidence of every probed rate as JSON.
+     */
+    public void writeJson(Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        Step capacity = getCapacity();
+        Step failure = getFirstFailure();
+        Step generatorLimit = getGeneratorLimit();
+        document.put("search", search.name());
+        document.put("sloP99Ms", maxP99Millis);
+        document.put("sloErrorRate", maxErrorRate);
+        document.put("capacityRate", capacity != null ? capacity.rate : null);
+        document.put("firstFailureRate", failure != null ? failure.rate : null);
+        document.put("generatorLimitRate", generatorLimit != null ? generatorLimit.rate : null);
+        document.put("steps", steps.stream().map(CapacityReport::toMap).collect(Collectors.toList()));
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), document);
+        log.info("[CAPACITY] Wrote {}", output);
+    }
+
+    private static Map<String, Object> toMap(Step step) {
+        LoadReport evidence = step.evidence;
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("targetRate", round(step.rate));
+        map.put("achievedRate", round(step.getAchievedRate()));
+        map.put("verdict", step.verdict.name());
+        map.put("reasons", step.reasons);
+        map.put("windows", step.windows);
+        map.put("steady", step.steady);
+        map.put("steps", evidence.getTotalSteps());
+        map.put("failedSteps", evidence.getFailedSteps());
+        map.put("throughput", round(evidence.getThroughputPerSecond()));
+        map.put("p50Ms", round(evidence.getOverallStepLatency().percentileMillis(50)));
+        map.put("p95Ms", round(evidence.getOverallStepLatency().percentileMillis(95)));
+        map.put("p99Ms", round(evidence.getOverallStepLatency().percentileMillis(99)));
+        map.put("arrivalLagP99Ms", round(evidence.getArrivalLag().percentileMillis(99)));
+        map.put("clientCpu", round(step.clientCpu));
+        return map;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,304 @@
+package com.jaya.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.jaya.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller of a load run spread over several JVMs, for loads a single
+ * process cannot generate without becoming the bottleneck itself (client CPU,
+ * GC pauses, connection pool).
+ * <p>
+ * The controller starts {@code workers} local {@link LoadWorker} processes
+ * with the same classpath and its load settings, and also waits for
+ * {@code remoteWorkers} started by hand on other hosts. Once all are
+ * connected, each gets its {@link LoadPlan#share(int, int) share} of the plan
+ * at the same moment; their reports are merged losslessly (raw histogram
+ * buckets, exact counts) into one {@link LoadReport}, whose elapsed time and
+ * throughput are measured by the controller.
+ */
+public class DistributedLoadRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DistributedLoadRunner.class);
+    private static final String LINE = "-".repeat(110);
+    private static final long EXIT_TIMEOUT_SECONDS = 120;
+    // Keys shipped to workers: target, timeouts and load settings, never credentials
+    private static final List<String> WORKER_CONFIG_PREFIXES = List.of("environment", "base.url.",
+            "connection.timeout", "response.timeout", "retry.", "ratelimit.", "http.", "enable.", "load.",
+            "cleanup.");
+
+    private final LoadPlan plan;
+    private final int workers;
+    private final int remoteWorkers;
+
+    private DistributedLoadRunner(Builder builder) {
+        this.plan = builder.plan;
+        this.workers = builder.workers;
+        this.remoteWorkers = builder.remoteWorkers;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs the plan on all workers and returns the merged report.
+     *
+     * @throws IllegalStateException if a worker does not connect, fails or
+     *                               disconnects before reporting
+     */
+    public LoadReport run() {
+        int total = workers + remoteWorkers;
+        List<Process> processes = new ArrayList<>();
+        List<Connection> connections = new ArrayList<>();
+        try (ServerSocket server = new ServerSocket(ConfigManager.getLoadControllerPort(), total,
+                InetAddress.getByName(ConfigManager.getLoadControllerBindAddress()))) {
+            log.info("[LOAD] Controller listening on {}:{}, starting {} local workers{}",
+                    server.getInetAddress().getHostAddress(), server.getLocalPort(), workers,
+                    remoteWorkers > 0 ? ", waiting for " + remoteWorkers + " remote workers" : "");
+            for (int i = 0; i < workers; i++) {
+                processes.add(launch(i, server.getLocalPort()));
+            }
+            accept(server, total, processes, connections);
+
+            LoadPlan base = withControllerConfig(plan);
+            LoadReport merged = new LoadReport();
+            for (int i = 0; i < total; i++) {
+                connections.get(i).send(base.share(i, total));
+            }
+            List<WorkerReport> reports = new ArrayList<>();
+            for (Connection connection : connections) {
+                WorkerReport report = connection.receiveReport();
+                report.mergeInto(merged);
+                reports.add(report);
+            }
+            merged.finish();
+            logWorkers(connections, reports);
+            return merged;
+        } catch (IOException e) {
+            throw new IllegalStateException("Distributed load run failed: " + e.getMessage(), e);
+        } finally {
+            connections.forEach(Connection::close);
+            awaitExit(processes);
+        }
+    }
+
+    // ==================== WORKER PROCESSES ====================
+
+    private Process launch(int index, int port) throws IOException {
+        File logDir = new File(ConfigManager.getLoadWorkerLogDir());
+        if (!logDir.isDirectory() && !logDir.mkdirs()) {
+            throw new IOException("Could not create worker log directory " + logDir);
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ConfigManager.getLoadWorkerJvmArgs());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadWorker.class.getName());
+        command.add(InetAddress.getLoopbackAddress().getHostAddress());
+        command.add(String.valueOf(port));
+        File logFile = new File(logDir, "worker-" + (index + 1) + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile)
+                .start();
+        log.debug("[LOAD] Started worker {} (pid {}), output in {}", index + 1, process.pid(), logFile);
+        return process;
+    }
+
+    /**
+     * Accepts workers until all have connected, failing fast if a local
+     * worker dies first.
+     */
+    private void accept(ServerSocket server, int total, List<Process> processes, List<Connection> connections)
+            throws IOException {
+        int timeoutSeconds = ConfigManager.getLoadWorkerConnectTimeoutSeconds();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        server.setSoTimeout(1000);
+        while (connections.size() < total) {
+            for (Process process : processes) {
+                if (!process.isAlive() && process.exitValue() != 0) {
+                    throw new IllegalStateException("Worker process " + process.pid() + " exited with "
+                            + process.exitValue() + " before connecting, see " + ConfigManager.getLoadWorkerLogDir());
+                }
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException(String.format("Only %d of %d workers connected within %ds",
+                        connections.size(), total, timeoutSeconds));
+            }
+            try {
+                connections.add(new Connection(connections.size(), server.accept()));
+            } catch (SocketTimeoutException e) {
+                // Re-check processes and deadline
+            }
+        }
+    }
+
+    private static void awaitExit(List<Process> processes) {
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("[LOAD] Worker {} did not exit, killing it", process.pid());
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Copies the plan with the base URL and the resolved settings workers
+     * need (including -D overrides). The plan travels as plaintext, so
+     * credentials stay out of it: workers sign in with their local config.
+     */
+    private static LoadPlan withControllerConfig(LoadPlan plan) {
+        LoadPlan copy = plan.share(0, 1);
+        copy.baseUrl = ConfigManager.getBaseUrl();
+        ConfigManager.current().asMap().forEach((key, value) -> {
+            if (WORKER_CONFIG_PREFIXES.stream().anyMatch(key::startsWith)) {
+                copy.config.put(key, value);
+            }
+        });
+        return copy;
+    }
+
+    private void logWorkers(List<Connection> connections, List<WorkerReport> reports) {
+        log.info("\n{}\nDISTRIBUTED LOAD: {} workers, {}\n{}", LINE, reports.size(), plan, LINE);
+        log.info(String.format("%-8s %-30s %8s %10s %8s %8s %10s", "worker", "host", "pid", "steps", "failed",
+                "err%", "req/s"));
+        for (int i = 0; i < reports.size(); i++) {
+            WorkerReport report = reports.get(i);
+            Connection connection = connections.get(i);
+            long steps = report.getTotalSteps();
+            log.info(String.format("%-8d %-30s %8d %10d %8d %7.2f%% %10.1f", i + 1, connection.host,
+                    connection.pid, steps, report.getFailedSteps(),
+                    steps > 0 ? 100.0 * report.getFailedSteps() / steps : 0.0,
+                    report.elapsedSeconds > 0 ? steps / report.elapsedSeconds : 0.0));
+        }
+        log.info(LINE);
+    }
+
+    // ==================== CONNECTION ====================
+
+    /**
+     * Line-delimited JSON channel to one worker.
+     */
+    private static final class Connection implements Closeable {
+        private final int index;
+        private final Socket socket;
+        private final BufferedReader in;
+        private final BufferedWriter out;
+        private final String host;
+        private final long pid;
+
+        Connection(int index, Socket socket) throws IOException {
+            this.index = index;
+            this.socket = socket;
+            socket.setSoTimeout(0);
+            this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            Map<String, Object> hello = LoadWorker.MAPPER.readValue(readLine(),
+                    new TypeReference<Map<String, Object>>() { });
+            this.host = String.valueOf(hello.get("host"));
+            this.pid = ((Number) hello.get("pid")).longValue();
+            log.info("[LOAD] Worker {} connected from {} (pid {})", index + 1, host, pid);
+        }
+
+        void send(LoadPlan share) throws IOException {
+            LoadWorker.send(out, share);
+        }
+
+        WorkerReport receiveReport() throws IOException {
+            WorkerReport report = LoadWorker.MAPPER.readValue(readLine(), WorkerReport.class);
+            if (report.error != null) {
+                throw new IllegalStateException("Worker " + (index + 1) + " on " + host + " failed: " + report.error);
+            }
+            return report;
+        }
+
+        private String readLine() throws IOException {
+            String line = in.readLine();
+            if (line == null) {
+                throw new IOException("Worker " + (index + 1) + " disconnected");
+            }
+            return line;
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Nothing left to do with this worker
+            }
+        }
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private LoadPlan plan;
+        private int workers = ConfigManager.getLoadWorkers();
+        private int remoteWorkers = ConfigManager.getLoadRemoteWorkers();
+
+        private Builder() {
+        }
+
+        public Builder plan(LoadPlan plan) {
+            this.plan = plan;
+            return this;
+        }
+
+        /**
+         * Worker processes started on this host.
+         */
+        public Builder workers(int workers) {
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * Workers started by hand on other hosts; requires a reachable
+         * {@code load.controller.bind.address} and a fixed
+         * {@code load.controller.port}.
+         */
+        public Builder remoteWorkers(int remoteWorkers) {
+            this.remoteWorkers = remoteWorkers;
+            return this;
+        }
+
+        public DistributedLoadRunner build() {
+            if (plan == null || plan.scenarios.isEmpty()) {
+                throw new IllegalStateException("A plan with at least one scenario is required");
+            }
+            if (workers < 0 || remoteWorkers < 0 || workers + remoteWorkers == 0) {
+                throw new IllegalStateException("At least one worker is required");
+            }
+            // Fail here rather than in every worker
+            plan.toRunner();
+            return new DistributedLoadRunner(this);
+        }
+    }
+}
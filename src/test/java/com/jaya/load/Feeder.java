@@ -0,0 +1,10 @@
+package com.jaya.load;
+
+/**
+ * Supplies test data to a virtual user at the start of each journey.
+ */
+@FunctionalInterface
+public interface Feeder<T> {
+
+    T next(VirtualUser user);
+}
@@ -0,0 +1,61 @@
+package com.jaya.load;
+
+import com.jaya.payloads.DashboardPreferencePayload;
+import com.jaya.payloads.ExpensePayload;
+import com.jaya.pojo.Expense;
+import com.jaya.pojo.SignupRequest;
+import com.jaya.utils.TestDataFactory;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ready-made feeders backed by {@link TestDataFactory} and the payload
+ * builders.
+ */
+public final class Feeders {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final String[] CATEGORIES = { "Food", "Travel", "Utilities", "Shopping", "Health" };
+
+    private Feeders() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Unique signup requests; the email also embeds the virtual user id.
+     */
+    public static Feeder<SignupRequest> uniqueSignups() {
+        return user -> TestDataFactory.createSignupRequest(
+                "vu" + user.getId() + "_" + SEQUENCE.incrementAndGet() + "_" + TestDataFactory.generateUniqueEmail());
+    }
+
+    /**
+     * Random expenses owned by the virtual user's current account.
+     */
+    public static Feeder<Expense> expenses() {
+        return user -> ExpensePayload.createExpense(
+                TestDataFactory.generateExpenseDescription(),
+                TestDataFactory.generateRandomAmount(1, 500),
+                CATEGORIES[ThreadLocalRandom.current().nextInt(CATEGORIES.length)],
+                TestDataFactory.getPastDate(ThreadLocalRandom.current().nextInt(30)),
+                user.getUserId());
+    }
+
+    public static Feeder<String> dashboardLayouts() {
+        List<String> layouts = List.of(
+                DashboardPreferencePayload.createDefaultLayoutConfig(),
+                DashboardPreferencePayload.createCustomLayoutConfig(),
+                DashboardPreferencePayload.createComplexLayoutConfig());
+        return user -> layouts.get(ThreadLocalRandom.current().nextInt(layouts.size()));
+    }
+
+    /**
+     * Cycles through a fixed list of values shared by all virtual users.
+     */
+    public static <T> Feeder<T> circular(List<T> values) {
+        AtomicLong index = new AtomicLong();
+        return user -> values.get((int) (index.getAndIncrement() % values.size()));
+    }
+}
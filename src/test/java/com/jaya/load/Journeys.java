@@ -0,0 +1,141 @@
+package com.jaya.load;
+
+import com.jaya.clients.AuthClient;
+import com.jaya.clients.DashboardPreferenceClient;
+import com.jaya.clients.ExpenseClient;
+import com.jaya.clients.RoleClient;
+import com.jaya.clients.UserClient;
+import com.jaya.pojo.Expense;
+import com.jaya.pojo.LoginRequest;
+import com.jaya.pojo.SignupRequest;
+import com.jaya.utils.TestUserCleanupManager;
+import io.restassured.response.Response;
+
+/**
+ * Common journeys built on the existing API clients.
+ */
+public final class Journeys {
+
+    public static final String SIGNUP_KEY = "signup";
+    public static final String EXPENSE_KEY = "expense";
+    public static final String LAYOUT_KEY = "layout";
+    public static final int ONBOARDING_EXPENSES = 3;
+
+    private static final Feeder<Expense> EXPENSES = Feeders.expenses();
+
+    private Journeys() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * signup -> signin -> save dashboard preferences -> fetch profile ->
+     * create expenses -> logout, with a brand-new account per journey.
+     */
+    public static Scenario newUserOnboarding(int weight, ThinkTime thinkTime, int expensesPerJourney) {
+        Scenario.Builder builder = Scenario.named("new-user-onboarding")
+                .weight(weight)
+                .freshUserPerJourney()
+                .defaultThinkTime(thinkTime)
+                .feed(SIGNUP_KEY, Feeders.uniqueSignups())
+                .feed(LAYOUT_KEY, Feeders.dashboardLayouts());
+
+        signupAndSignin(builder)
+                .step("save dashboard preferences", vu -> dashboard(vu).saveDashboardPreference(vu.get(LAYOUT_KEY)))
+                .step("fetch profile", vu -> users(vu).getUserProfile())
+                .extract((vu, response) -> vu.setUserId(response.jsonPath().getLong("id")));
+
+        for (int i = 1; i <= expensesPerJourney; i++) {
+            builder.step("create expense", vu -> expenses(vu).createExpense(EXPENSES.next(vu)))
+                    .extract((vu, response) -> vu.addCreatedId(EXPENSE_KEY, response.jsonPath().get("id")));
+        }
+
+        return builder
+                .step("logout", vu -> auth(vu).logout())
+                .build();
+    }
+
+    /**
+     * A returning user who signs up once, then keeps reading profile, roles
+     * and dashboard state on every following journey.
+     */
+    public static Scenario returningUserBrowse(int weight, ThinkTime thinkTime) {
+        return Scenario.named("returning-user-browse")
+                .weight(weight)
+                .defaultThinkTime(thinkTime)
+                .feed(SIGNUP_KEY, Feeders.uniqueSignups())
+                .step("ensure account", vu -> vu.getToken() != null
+                        ? users(vu).getUserProfile()
+                        : signup(vu))
+                .extract((vu, response) -> {
+                    String jwt = response.jsonPath().getString("jwt");
+                    if (jwt != null) {
+                        vu.setToken(jwt);
+                    }
+                })
+                .step("fetch profile", vu -> users(vu).getUserProfile())
+                .step("get dashboard preferences", vu -> dashboard(vu).getDashboardPreference()).expect(200, 404)
+                .step("list roles", vu -> roles(vu).getAllRoles()).expect(200, 403)
+                .step("list expenses", vu -> expenses(vu).getAllExpenses()).expect(200, 404)
+                .build();
+    }
+
+    /**
+     * Looks a journey up by its scenario name, for runs described as data
+     * (e.g. a {@link LoadPlan} shipped to worker processes).
+     */
+    public static Scenario named(String name, int weight, ThinkTime thinkTime) {
+        switch (name) {
+            case "new-user-onboarding":
+                return newUserOnboarding(weight, thinkTime, ONBOARDING_EXPENSES);
+            case "returning-user-browse":
+                return returningUserBrowse(weight, thinkTime);
+            default:
+                throw new IllegalArgumentException("Unknown journey: " + name);
+        }
+    }
+
+    // ==================== REUSABLE STEPS ====================
+
+    /**
+     * Adds signup (registering the account for cleanup) and signin steps.
+     */
+    public static Scenario.Builder signupAndSignin(Scenario.Builder builder) {
+        return builder
+                .step("signup", Journeys::signup).expect(201)
+                .step("signin", vu -> auth(vu).signin(new LoginRequest(vu.getEmail(), vu.getPassword())))
+                .expect(200)
+                .extract((vu, response) -> vu.setToken(response.jsonPath().getString("jwt")));
+    }
+
+    private static Response signup(VirtualUser vu) {
+        SignupRequest request = vu.get(SIGNUP_KEY);
+        vu.setCredentials(request.getEmail(), request.getPassword());
+        Response response = auth(vu).signup(request);
+        if (response.getStatusCode() == 201) {
+            TestUserCleanupManager.registerUserForCleanup(request.getEmail(), request.getPassword());
+        }
+        return response;
+    }
+
+    // ==================== CLIENT ACCESSORS ====================
+
+    public static AuthClient auth(VirtualUser vu) {
+        return vu.client(AuthClient.class, AuthClient::new);
+    }
+
+    public static UserClient users(VirtualUser vu) {
+        return vu.client(UserClient.class, UserClient::new);
+    }
+
+    public static DashboardPreferenceClient dashboard(VirtualUser vu) {
+        return vu.client(DashboardPreferenceClient.class, DashboardPreferenceClient::new);
+    }
+
+    public static ExpenseClient expenses(VirtualUser vu) {
+        return vu.client(ExpenseClient.class, ExpenseClient::new);
+    }
+
+    public static RoleClient roles(VirtualUser vu) {
+        return vu.client(RoleClient.class, RoleClient::new);
+    }
+}
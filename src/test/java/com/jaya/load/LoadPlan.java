@@ -0,0 +1,116 @@
+package com.jaya.load;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load run described as data, so it can be sent to worker processes as JSON.
+ * Journeys are referenced by scenario name (see {@link Journeys#named}).
+ * {@link #share(int, int)} splits users and arrival rate between workers;
+ * {@code maxThreads} applies to each worker.
+ */
+public class LoadPlan {
+
+    public Map<String, Integer> scenarios = new LinkedHashMap<>();
+    public long thinkTimeMillis;
+    public int virtualUsers = 1;
+    public double arrivalRate;
+    public int iterationsPerUser = 1;
+    public long durationSeconds;
+    public long rampUpSeconds;
+    public int maxThreads = 200;
+
+    // Set per worker by the controller
+    public int workerIndex;
+    public int workerCount = 1;
+    public String baseUrl;
+    public Map<String, String> config = new LinkedHashMap<>();
+
+    public LoadPlan scenario(String name, int weight) {
+        scenarios.put(name, weight);
+        return this;
+    }
+
+    public LoadPlan thinkTimeMillis(long thinkTimeMillis) {
+        this.thinkTimeMillis = thinkTimeMillis;
+        return this;
+    }
+
+    public LoadPlan virtualUsers(int virtualUsers) {
+        this.virtualUsers = virtualUsers;
+        return this;
+    }
+
+    /**
+     * New virtual users per second across all workers; 0 for a fixed
+     * population of {@code virtualUsers}.
+     */
+    public LoadPlan arrivalRate(double arrivalRate) {
+        this.arrivalRate = arrivalRate;
+        return this;
+    }
+
+    public LoadPlan iterationsPerUser(int iterationsPerUser) {
+        this.iterationsPerUser = iterationsPerUser;
+        return this;
+    }
+
+    public LoadPlan durationSeconds(long durationSeconds) {
+        this.durationSeconds = durationSeconds;
+        return this;
+    }
+
+    public LoadPlan rampUpSeconds(long rampUpSeconds) {
+        this.rampUpSeconds = rampUpSeconds;
+        return this;
+    }
+
+    public LoadPlan maxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+        return this;
+    }
+
+    /**
+     * The part of this plan worker {@code index} of {@code count} runs: an
+     * even split of the users (the first workers take the remainder) and of
+     * the arrival rate.
+     */
+    public LoadPlan share(int index, int count) {
+        LoadPlan share = new LoadPlan();
+        share.scenarios = new LinkedHashMap<>(scenarios);
+        share.thinkTimeMillis = thinkTimeMillis;
+        share.virtualUsers = virtualUsers / count + (index < virtualUsers % count ? 1 : 0);
+        share.arrivalRate = arrivalRate / count;
+        share.iterationsPerUser = iterationsPerUser;
+        share.durationSeconds = durationSeconds;
+        share.rampUpSeconds = rampUpSeconds;
+        share.maxThreads = maxThreads;
+        share.workerIndex = index;
+        share.workerCount = count;
+        share.baseUrl = baseUrl;
+        share.config = new LinkedHashMap<>(config);
+        return share;
+    }
+
+    LoadRunner toRunner() {
+        ThinkTime thinkTime = ThinkTime.exponential(thinkTimeMillis);
+        LoadRunner.Builder builder = LoadRunner.builder()
+                .virtualUsers(virtualUsers)
+                .iterationsPerUser(iterationsPerUser)
+                .rampUp(Duration.ofSeconds(rampUpSeconds))
+                .maxThreads(maxThreads)
+                .arrivalRate(arrivalRate);
+        scenarios.forEach((name, weight) -> builder.scenario(Journeys.named(name, weight, thinkTime)));
+        if (durationSeconds > 0) {
+            builder.duration(Duration.ofSeconds(durationSeconds));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        String load = arrivalRate > 0 ? String.format("%.2f users/s", arrivalRate) : virtualUsers + " users";
+        return String.format("%s x %d iterations, %s", load, iterationsPerUser, scenarios);
+    }
+}
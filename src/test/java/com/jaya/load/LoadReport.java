@@ -0,0 +1,187 @@
+package com.jaya.load;
+
+import com.jaya.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-step and per-journey latency and outcome counts collected by
+ * {@link LoadRunner}.
+ */
+public class LoadReport {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadReport.class);
+    private static final String LINE = "-".repeat(110);
+
+    private final Map<String, Stats> steps = new ConcurrentHashMap<>();
+    private final Map<String, Stats> journeys = new ConcurrentHashMap<>();
+    // Client-side counters of worker processes (requests, retries, ...), empty for local runs
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    // Open-model runs only: how late each virtual user arrived against the Poisson schedule
+    private final LatencyHistogram arrivalLag = new LatencyHistogram();
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    /**
+     * Latency histogram plus success and failure counts for one step or
+     * journey.
+     */
+    public static final class Stats {
+        public final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        void record(long nanos, boolean ok) {
+            latency.recordNanos(nanos);
+            (ok ? succeeded : failed).increment();
+        }
+
+        void merge(long[] bucketCounts, long totalMicros, long minMicros, long maxMicros, long succeeded,
+                   long failed) {
+            latency.mergeBucketCounts(bucketCounts, totalMicros, minMicros, maxMicros);
+            this.succeeded.add(succeeded);
+            this.failed.add(failed);
+        }
+
+        public long getSucceeded() {
+            return succeeded.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        public long getTotal() {
+            return getSucceeded() + getFailed();
+        }
+
+        public double getErrorRate() {
+            long total = getTotal();
+            return total == 0 ? 0.0 : (double) getFailed() / total;
+        }
+    }
+
+    // ==================== RECORDING ====================
+
+    void recordStep(String scenario, String step, long nanos, boolean ok) {
+        steps.computeIfAbsent(scenario + " / " + step, k -> new Stats()).record(nanos, ok);
+    }
+
+    void recordJourney(String scenario, long nanos, boolean ok) {
+        journeys.computeIfAbsent(scenario, k -> new Stats()).record(nanos, ok);
+    }
+
+    Stats stepStats(String name) {
+        return steps.computeIfAbsent(name, k -> new Stats());
+    }
+
+    Stats journeyStats(String name) {
+        return journeys.computeIfAbsent(name, k -> new Stats());
+    }
+
+    void recordArrival(long lagNanos) {
+        arrivalLag.recordNanos(lagNanos);
+    }
+
+    void addCounter(String name, long amount) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).add(amount);
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Step statistics keyed by "scenario / step".
+     */
+    public Map<String, Stats> getSteps() {
+        return Collections.unmodifiableMap(new TreeMap<>(steps));
+    }
+
+    public Map<String, Stats> getJourneys() {
+        return Collections.unmodifiableMap(new TreeMap<>(journeys));
+    }
+
+    public Map<String, Long> getCounters() {
+        Map<String, Long> totals = new TreeMap<>();
+        counters.forEach((name, total) -> totals.put(name, total.sum()));
+        return Collections.unmodifiableMap(totals);
+    }
+
+    /**
+     * Lateness of each arrival in an open-model run (its count is the number
+     * of virtual users that arrived); empty for fixed populations.
+     */
+    public LatencyHistogram getArrivalLag() {
+        return arrivalLag;
+    }
+
+    public long getTotalSteps() {
+        return steps.values().stream().mapToLong(Stats::getTotal).sum();
+    }
+
+    public long getFailedSteps() {
+        return steps.values().stream().mapToLong(Stats::getFailed).sum();
+    }
+
+    public double getStepErrorRate() {
+        long total = getTotalSteps();
+        return total == 0 ? 0.0 : (double) getFailedSteps() / total;
+    }
+
+    public double getElapsedSeconds() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1_000_000_000.0;
+    }
+
+    /**
+     * Steps (requests) completed per second over the whole run.
+     */
+    public double getThroughputPerSecond() {
+        double elapsed = getElapsedSeconds();
+        return elapsed > 0 ? getTotalSteps() / elapsed : 0.0;
+    }
+
+    /**
+     * Merged latency of all steps.
+     */
+    public LatencyHistogram getOverallStepLatency() {
+        LatencyHistogram overall = new LatencyHistogram();
+        steps.values().forEach(stats -> overall.merge(stats.latency));
+        return overall;
+    }
+
+    // ==================== REPORTING ====================
+
+    public void logSummary(String title) {
+        log.info("\n{}\nLOAD REPORT: {}\n{}", LINE, title, LINE);
+        log.info("  Duration: {}s | Steps: {} | Failed: {} ({}%) | Throughput: {} req/s",
+                String.format("%.1f", getElapsedSeconds()), getTotalSteps(), getFailedSteps(),
+                String.format("%.2f", getStepErrorRate() * 100), String.format("%.1f", getThroughputPerSecond()));
+        logTable("JOURNEY", getJourneys());
+        logTable("STEP", getSteps());
+        if (!counters.isEmpty()) {
+            log.info(LINE);
+            getCounters().forEach((name, total) -> log.info(String.format("%-45s %8d", name, total)));
+        }
+        log.info(LINE);
+    }
+
+    private void logTable(String kind, Map<String, Stats> rows) {
+        log.info(LINE);
+        log.info(String.format("%-45s %8s %8s %9s %9s %9s %9s", kind, "count", "error%", "mean", "p50", "p95",
+                "p99"));
+        rows.forEach((name, stats) -> log.info(String.format("%-45s %8d %8.2f %8.1fms %8.1fms %8.1fms %8.1fms",
+                name, stats.getTotal(), stats.getErrorRate() * 100, stats.latency.getMeanMillis(),
+                stats.latency.percentileMillis(50), stats.latency.percentileMillis(95),
+                stats.latency.percentileMillis(99))));
+    }
+}
@@ -0,0 +1,421 @@
+package com.jaya.load;
+
+import com.jaya.metrics.MetricsRegistry;
+import com.jaya.utils.TestContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a weighted mix of {@link Scenario journeys} with many concurrent
+ * virtual users.
+ *
+ * Virtual users do not own a thread: each step is a task on a shared
+ * scheduler and think time is a scheduling delay, so thousands of users only
+ * need as many threads as there are requests in flight.
+ *
+ * By default a fixed population of users loops through journeys (closed
+ * model). With an {@link Builder#arrivalRate(double) arrival rate}, new users
+ * instead arrive as a Poisson process for the duration of the run, each
+ * running {@code iterationsPerUser} journeys (open model), so the offered load
+ * does not drop when the backend slows down.
+ */
+public class LoadRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadRunner.class);
+    private static final String ACTIVE_USERS_GAUGE = "load_virtual_users_active";
+    private static final String POOL_ACTIVE_GAUGE = "load_worker_pool_active";
+    private static final String POOL_QUEUE_GAUGE = "load_worker_pool_queued";
+
+    private final List<Scenario> scenarios;
+    private final int[] cumulativeWeights;
+    private final int virtualUsers;
+    private final int iterationsPerUser;
+    private final Duration duration;
+    private final Duration rampUp;
+    private final int maxThreads;
+    private final double arrivalRate;
+
+    private LoadRunner(Builder builder) {
+        this.scenarios = List.copyOf(builder.scenarios);
+        this.virtualUsers = builder.virtualUsers;
+        this.iterationsPerUser = builder.iterationsPerUser;
+        this.duration = builder.duration;
+        this.rampUp = builder.rampUp;
+        this.arrivalRate = builder.arrivalRate;
+        this.maxThreads = arrivalRate > 0 ? Math.max(1, builder.maxThreads)
+                : Math.max(1, Math.min(builder.maxThreads, builder.virtualUsers));
+        this.cumulativeWeights = new int[scenarios.size()];
+        int total = 0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            total += scenarios.get(i).getWeight();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs all virtual users to completion and returns the collected report.
+     */
+    public LoadReport run() {
+        LoadReport report = new LoadReport();
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(maxThreads, runnable -> {
+            Thread thread = new Thread(runnable, "vu-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Completion finished = new Completion();
+        TestContext.Snapshot context = TestContext.capture();
+        AtomicInteger active = new AtomicInteger();
+        long deadline = duration != null ? System.nanoTime() + duration.toNanos() : Long.MAX_VALUE;
+
+        MetricsRegistry.registerGauge(ACTIVE_USERS_GAUGE, active::get);
+        MetricsRegistry.registerGauge(POOL_ACTIVE_GAUGE, scheduler::getActiveCount);
+        MetricsRegistry.registerGauge(POOL_QUEUE_GAUGE, () -> scheduler.getQueue().size());
+
+        if (arrivalRate > 0) {
+            log.info("[LOAD] Starting {} virtual users/s for {}s on {} threads, scenarios: {}",
+                    String.format("%.2f", arrivalRate), duration.toSeconds(), maxThreads, scenarios);
+            Arrivals arrivals = new Arrivals(scheduler, context, report, deadline, active, finished);
+            scheduler.execute(context.wrap(arrivals::next));
+        } else {
+            log.info("[LOAD] Starting {} virtual users on {} threads, scenarios: {}", virtualUsers, maxThreads,
+                    scenarios);
+            long rampStepNanos = virtualUsers > 1 ? rampUp.toNanos() / (virtualUsers - 1) : 0;
+            for (int i = 0; i < virtualUsers; i++) {
+                finished.register();
+                Session session = new Session(new VirtualUser(i + 1), scheduler, context, report, deadline, active,
+                        finished);
+                scheduler.schedule(context.wrap(session::start), rampStepNanos * i, TimeUnit.NANOSECONDS);
+            }
+            finished.close();
+        }
+
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[LOAD] Interrupted, stopping virtual users");
+        } finally {
+            scheduler.shutdownNow();
+            MetricsRegistry.unregisterGauge(ACTIVE_USERS_GAUGE);
+            MetricsRegistry.unregisterGauge(POOL_ACTIVE_GAUGE);
+            MetricsRegistry.unregisterGauge(POOL_QUEUE_GAUGE);
+            report.finish();
+        }
+        return report;
+    }
+
+    /**
+     * Starts the run on a background thread, e.g. as load behind a probe.
+     * {@link Background#stop()} stops the virtual users and returns the report.
+     */
+    public Background start() {
+        Background background = new Background();
+        Runnable task = () -> background.report = run();
+        Thread thread = new Thread(TestContext.capture().wrap(task), "load-background");
+        thread.setDaemon(true);
+        background.thread = thread;
+        thread.start();
+        return background;
+    }
+
+    /**
+     * Handle on a run started with {@link #start()}.
+     */
+    public static final class Background {
+        private Thread thread;
+        private volatile LoadReport report;
+
+        private Background() {
+        }
+
+        public LoadReport stop() {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return report;
+        }
+    }
+
+    private Scenario pickScenario() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return scenarios.get(i);
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    // ==================== ARRIVALS ====================
+
+    /**
+     * Counts sessions still running; done once no more sessions can be added
+     * and the last one has finished.
+     */
+    private static final class Completion {
+        private final AtomicInteger running = new AtomicInteger();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile boolean closed;
+
+        void register() {
+            running.incrementAndGet();
+        }
+
+        void sessionFinished() {
+            if (running.decrementAndGet() == 0 && closed) {
+                done.countDown();
+            }
+        }
+
+        void close() {
+            closed = true;
+            if (running.get() == 0) {
+                done.countDown();
+            }
+        }
+
+        void await() throws InterruptedException {
+            done.await();
+        }
+    }
+
+    /**
+     * Starts a new virtual user at exponentially distributed intervals until
+     * the deadline. Arrivals that run late are started at once, so the rate
+     * is kept as long as the generator can catch up; how late each one was is
+     * recorded in the report.
+     */
+    private final class Arrivals {
+        private final ScheduledThreadPoolExecutor scheduler;
+        private final TestContext.Snapshot context;
+        private final LoadReport report;
+        private final long deadline;
+        private final AtomicInteger active;
+        private final Completion finished;
+        private final long meanIntervalNanos;
+        private int arrived;
+        // When the next arrival is due; delays are drawn from this timeline, not from when next() ran
+        private long dueNanos;
+
+        Arrivals(ScheduledThreadPoolExecutor scheduler, TestContext.Snapshot context, LoadReport report,
+                 long deadline, AtomicInteger active, Completion finished) {
+            this.scheduler = scheduler;
+            this.context = context;
+            this.report = report;
+            this.deadline = deadline;
+            this.active = active;
+            this.finished = finished;
+            this.meanIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / arrivalRate);
+        }
+
+        void next() {
+            long now = System.nanoTime();
+            if (now >= deadline) {
+                log.info("[LOAD] Arrivals closed after {} virtual users", arrived);
+                finished.close();
+                return;
+            }
+            if (dueNanos == 0) {
+                dueNanos = now;
+            }
+            // Lateness means every worker thread was busy: the generator, not the server, set the pace
+            report.recordArrival(now - dueNanos);
+            arrived++;
+            finished.register();
+            Session session = new Session(new VirtualUser(arrived), scheduler, context, report, deadline, active,
+                    finished);
+            dueNanos += (long) (-meanIntervalNanos * Math.log(1.0 - ThreadLocalRandom.current().nextDouble()));
+            scheduler.schedule(context.wrap(this::next), Math.max(0, dueNanos - now), TimeUnit.NANOSECONDS);
+            session.start();
+        }
+    }
+
+    // ==================== VIRTUAL USER SESSION ====================
+
+    /**
+     * Drives one virtual user through consecutive journeys, one step per task.
+     */
+    private final class Session {
+        private final VirtualUser user;
+        private final ScheduledThreadPoolExecutor scheduler;
+        private final TestContext.Snapshot context;
+        private final LoadReport report;
+        private final long deadline;
+        private final AtomicInteger active;
+        private final Completion finished;
+
+        private Scenario scenario;
+        private int stepIndex;
+        private int iteration;
+        private long journeyStart;
+
+        Session(VirtualUser user, ScheduledThreadPoolExecutor scheduler, TestContext.Snapshot context,
+                LoadReport report, long deadline, AtomicInteger active, Completion finished) {
+            this.user = user;
+            this.scheduler = scheduler;
+            this.context = context;
+            this.report = report;
+            this.deadline = deadline;
+            this.active = active;
+            this.finished = finished;
+        }
+
+        void start() {
+            active.incrementAndGet();
+            nextJourney();
+        }
+
+        private void nextJourney() {
+            boolean iterationsDone = iterationsPerUser > 0 && iteration >= iterationsPerUser;
+            if (iterationsDone || System.nanoTime() >= deadline) {
+                active.decrementAndGet();
+                finished.sessionFinished();
+                return;
+            }
+            iteration++;
+            scenario = pickScenario();
+            stepIndex = 0;
+            journeyStart = System.nanoTime();
+            try {
+                scenario.beginJourney(user);
+            } catch (RuntimeException e) {
+                log.debug("[LOAD] {} could not start {}: {}", user, scenario.getName(), e.getMessage());
+                schedule(() -> endJourney(false), 0);
+                return;
+            }
+            schedule(this::runStep, 0);
+        }
+
+        private void runStep() {
+            Step step = scenario.getSteps().get(stepIndex);
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = step.run(user);
+            } catch (RuntimeException e) {
+                log.debug("[LOAD] {} step {} failed: {}", user, step.getName(), e.getMessage());
+                ok = false;
+            }
+            report.recordStep(scenario.getName(), step.getName(), System.nanoTime() - start, ok);
+
+            if (!ok) {
+                endJourney(false);
+                return;
+            }
+            stepIndex++;
+            if (stepIndex >= scenario.getSteps().size()) {
+                endJourney(true);
+                return;
+            }
+            schedule(this::runStep, step.getThinkTimeAfter().nextMillis());
+        }
+
+        private void endJourney(boolean ok) {
+            report.recordJourney(scenario.getName(), System.nanoTime() - journeyStart, ok);
+            nextJourney();
+        }
+
+        private void schedule(Runnable task, long delayMillis) {
+            if (delayMillis <= 0) {
+                scheduler.execute(context.wrap(task));
+            } else {
+                scheduler.schedule(context.wrap(task), delayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private final List<Scenario> scenarios = new ArrayList<>();
+        private int virtualUsers = 1;
+        private int iterationsPerUser = 1;
+        private Duration duration;
+        private Duration rampUp = Duration.ZERO;
+        private int maxThreads = 200;
+        private double arrivalRate;
+
+        private Builder() {
+        }
+
+        public Builder scenario(Scenario scenario) {
+            scenarios.add(scenario);
+            return this;
+        }
+
+        public Builder virtualUsers(int virtualUsers) {
+            this.virtualUsers = virtualUsers;
+            return this;
+        }
+
+        /**
+         * Journeys per virtual user; 0 means run until the duration elapses.
+         */
+        public Builder iterationsPerUser(int iterationsPerUser) {
+            this.iterationsPerUser = iterationsPerUser;
+            return this;
+        }
+
+        /**
+         * Stops starting new journeys after this duration.
+         */
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder rampUp(Duration rampUp) {
+            this.rampUp = rampUp;
+            return this;
+        }
+
+        /**
+         * Upper bound on worker threads, i.e. on requests in flight.
+         */
+        public Builder maxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+            return this;
+        }
+
+        /**
+         * New virtual users per second (open model); requires a duration and
+         * replaces {@link #virtualUsers(int)} and {@link #rampUp(Duration)}.
+         */
+        public Builder arrivalRate(double usersPerSecond) {
+            this.arrivalRate = usersPerSecond;
+            return this;
+        }
+
+        public LoadRunner build() {
+            if (scenarios.isEmpty()) {
+                throw new IllegalStateException("At least one scenario is required");
+            }
+            if (iterationsPerUser <= 0 && duration == null) {
+                throw new IllegalStateException("Unbounded run: set iterationsPerUser or duration");
+            }
+            if (arrivalRate < 0 || (arrivalRate > 0 && duration == null)) {
+                throw new IllegalStateException("An arrival rate must be positive and needs a duration");
+            }
+            if (arrivalRate > 0 && iterationsPerUser <= 0) {
+                throw new IllegalStateException("Arriving users need a bounded iterationsPerUser");
+            }
+            return new LoadRunner(this);
+        }
+    }
+}
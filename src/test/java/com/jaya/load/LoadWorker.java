@@ -0,0 +1,98 @@
+package com.jaya.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaya.base.BaseTest;
+import com.jaya.config.ConfigManager;
+import com.jaya.utils.TestUserCleanupManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Worker process of a {@link DistributedLoadRunner}: connects to the
+ * controller, receives its {@link LoadPlan} share, runs it with a local
+ * {@link LoadRunner} and sends back a {@link WorkerReport}. Users created by
+ * the journeys are cleaned up by the worker itself after reporting.
+ * <p>
+ * The controller starts local workers itself; on another host, start one
+ * with the test classpath:
+ * {@code java -cp <classpath> com.jaya.load.LoadWorker <controller-host> <port>}.
+ */
+public final class LoadWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadWorker.class);
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private LoadWorker() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: LoadWorker <controller-host> <controller-port>");
+            System.exit(2);
+        }
+        boolean ok = false;
+        try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]));
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            send(out, Map.of("host", InetAddress.getLocalHost().getHostName(), "pid", ProcessHandle.current().pid()));
+            String planLine = in.readLine();
+            if (planLine == null) {
+                throw new IOException("Controller closed the connection before sending a plan");
+            }
+            LoadPlan plan = MAPPER.readValue(planLine, LoadPlan.class);
+            WorkerReport report = run(plan);
+            send(out, report);
+            ok = report.error == null;
+        } catch (IOException | RuntimeException e) {
+            log.error("[WORKER] Failed: {}", e.getMessage(), e);
+        } finally {
+            TestUserCleanupManager.cleanupAllUsers();
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * Applies the controller's configuration (keys this JVM does not set
+     * itself), then runs the plan.
+     */
+    static WorkerReport run(LoadPlan plan) {
+        plan.config.forEach((key, value) -> {
+            if (System.getProperty(key) == null) {
+                System.setProperty(key, value);
+            }
+        });
+        try {
+            if (plan.baseUrl != null && !plan.baseUrl.equals(ConfigManager.getTargetBaseUrl())) {
+                ConfigManager.setBaseUrlOverride(plan.baseUrl);
+            }
+            BaseTest.configureRestAssured();
+            log.info("[WORKER {}/{}] Running {} against {}", plan.workerIndex + 1, plan.workerCount, plan,
+                    ConfigManager.getBaseUrl());
+            LoadReport report = plan.toRunner().run();
+            report.logSummary("Worker " + (plan.workerIndex + 1) + "/" + plan.workerCount);
+            return WorkerReport.of(plan.workerIndex, report);
+        } catch (RuntimeException e) {
+            log.error("[WORKER {}] Run failed: {}", plan.workerIndex + 1, e.getMessage(), e);
+            return WorkerReport.failed(plan.workerIndex, e.toString());
+        }
+    }
+
+    static void send(BufferedWriter out, Object message) throws IOException {
+        out.write(MAPPER.writeValueAsString(message));
+        out.newLine();
+        out.flush();
+    }
+}
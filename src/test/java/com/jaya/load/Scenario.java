@@ -0,0 +1,170 @@
+package com.jaya.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * A weighted, multi-step journey run by virtual users.
+ *
+ * <pre>
+ * Scenario.named("browse").weight(3)
+ *         .feed("signup", Feeders.uniqueSignups())
+ *         .step("signup", vu -> authClient(vu).signup(vu.get("signup"))).expect(201)
+ *         .think(ThinkTime.uniform(500, 1500))
+ *         .step("profile", vu -> userClient(vu).getUserProfile())
+ *         .build();
+ * </pre>
+ */
+public final class Scenario {
+
+    private final String name;
+    private final int weight;
+    private final boolean resetUserBeforeJourney;
+    private final Map<String, Feeder<?>> feeders;
+    private final List<Step> steps;
+
+    private Scenario(Builder builder) {
+        this.name = builder.name;
+        this.weight = builder.weight;
+        this.resetUserBeforeJourney = builder.resetUserBeforeJourney;
+        this.feeders = Collections.unmodifiableMap(new LinkedHashMap<>(builder.feeders));
+        List<Step> built = new ArrayList<>();
+        for (StepSpec spec : builder.steps) {
+            built.add(new Step(spec.name, spec.action, spec.extractor, spec.expectedStatus,
+                    spec.thinkTime != null ? spec.thinkTime : builder.defaultThinkTime));
+        }
+        this.steps = Collections.unmodifiableList(built);
+    }
+
+    public static Builder named(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Prepares the virtual user for a new journey and applies the feeders.
+     */
+    void beginJourney(VirtualUser user) {
+        if (resetUserBeforeJourney) {
+            user.reset();
+        }
+        feeders.forEach((key, feeder) -> user.set(key, feeder.next(user)));
+    }
+
+    @Override
+    public String toString() {
+        return name + " (weight " + weight + ", " + steps.size() + " steps)";
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private final String name;
+        private final Map<String, Feeder<?>> feeders = new LinkedHashMap<>();
+        private final List<StepSpec> steps = new ArrayList<>();
+        private int weight = 1;
+        private boolean resetUserBeforeJourney;
+        private ThinkTime defaultThinkTime = ThinkTime.none();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder weight(int weight) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("Scenario weight must be positive: " + weight);
+            }
+            this.weight = weight;
+            return this;
+        }
+
+        /**
+         * Starts every journey with a fresh account-less virtual user.
+         */
+        public Builder freshUserPerJourney() {
+            this.resetUserBeforeJourney = true;
+            return this;
+        }
+
+        public Builder defaultThinkTime(ThinkTime thinkTime) {
+            this.defaultThinkTime = thinkTime;
+            return this;
+        }
+
+        /**
+         * Stores the feeder's next value under the given key at journey start.
+         */
+        public Builder feed(String key, Feeder<?> feeder) {
+            feeders.put(key, feeder);
+            return this;
+        }
+
+        public Builder step(String stepName, Step.Action action) {
+            steps.add(new StepSpec(stepName, action));
+            return this;
+        }
+
+        /**
+         * Expected status codes for the previous step (default: 2xx/3xx).
+         */
+        public Builder expect(int... statuses) {
+            lastStep().expectedStatus = Step.statusIn(statuses);
+            return this;
+        }
+
+        public Builder extract(Step.Extractor extractor) {
+            lastStep().extractor = extractor;
+            return this;
+        }
+
+        /**
+         * Pause after the previous step.
+         */
+        public Builder think(ThinkTime thinkTime) {
+            lastStep().thinkTime = thinkTime;
+            return this;
+        }
+
+        public Scenario build() {
+            if (steps.isEmpty()) {
+                throw new IllegalStateException("Scenario '" + name + "' has no steps");
+            }
+            return new Scenario(this);
+        }
+
+        private StepSpec lastStep() {
+            if (steps.isEmpty()) {
+                throw new IllegalStateException("Declare a step before configuring it");
+            }
+            return steps.get(steps.size() - 1);
+        }
+    }
+
+    private static final class StepSpec {
+        final String name;
+        final Step.Action action;
+        Step.Extractor extractor;
+        IntPredicate expectedStatus = Step.successful();
+        ThinkTime thinkTime;
+
+        StepSpec(String name, Step.Action action) {
+            this.name = name;
+            this.action = action;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.jaya.load;
+
+import io.restassured.response.Response;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * One request in a journey, executed with the virtual user's state.
+ */
+public final class Step {
+
+    /**
+     * The request a step sends.
+     */
+    @FunctionalInterface
+    public interface Action {
+        Response execute(VirtualUser user);
+    }
+
+    /**
+     * Optional hook that copies data out of a successful response into the
+     * virtual user (tokens, created ids, ...).
+     */
+    @FunctionalInterface
+    public interface Extractor {
+        void extract(VirtualUser user, Response response);
+    }
+
+    private final String name;
+    private final Action action;
+    private final Extractor extractor;
+    private final IntPredicate expectedStatus;
+    private final ThinkTime thinkTimeAfter;
+
+    Step(String name, Action action, Extractor extractor, IntPredicate expectedStatus, ThinkTime thinkTimeAfter) {
+        this.name = name;
+        this.action = action;
+        this.extractor = extractor;
+        this.expectedStatus = expectedStatus;
+        this.thinkTimeAfter = thinkTimeAfter;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ThinkTime getThinkTimeAfter() {
+        return thinkTimeAfter;
+    }
+
+    /**
+     * Runs the step and returns true if the response had an expected status.
+     */
+    boolean run(VirtualUser user) {
+        Response response = action.execute(user);
+        if (!expectedStatus.test(response.getStatusCode())) {
+            return false;
+        }
+        if (extractor != null) {
+            extractor.extract(user, response);
+        }
+        return true;
+    }
+
+    static IntPredicate statusIn(int... statuses) {
+        return status -> Arrays.stream(statuses).anyMatch(s -> s == status);
+    }
+
+    static IntPredicate successful() {
+        return status -> status >= 200 && status < 400;
+    }
+}
@@ -0,0 +1,42 @@
+package com.jaya.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Pause a virtual user takes between two steps of a journey.
+ */
+@FunctionalInterface
+public interface ThinkTime {
+
+    /**
+     * Returns the next pause in milliseconds.
+     */
+    long nextMillis();
+
+    static ThinkTime none() {
+        return () -> 0L;
+    }
+
+    static ThinkTime constant(long millis) {
+        return () -> millis;
+    }
+
+    static ThinkTime uniform(long minMillis, long maxMillis) {
+        return () -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+    }
+
+    /**
+     * Exponentially distributed pauses (memoryless users, Poisson arrivals).
+     */
+    static ThinkTime exponential(long meanMillis) {
+        return () -> (long) (-meanMillis * Math.log(1.0 - ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * Normally distributed pauses, truncated at zero.
+     */
+    static ThinkTime gaussian(long meanMillis, long stdDevMillis) {
+        return () -> Math.max(0L,
+                Math.round(meanMillis + stdDevMillis * ThreadLocalRandom.current().nextGaussian()));
+    }
+}
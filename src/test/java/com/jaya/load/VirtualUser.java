@@ -0,0 +1,135 @@
+package com.jaya.load;
+
+import com.jaya.clients.BaseClient;
+import com.jaya.config.ConfigManager;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * State of one simulated user: credentials, token, ids of created resources
+ * and fed data. A virtual user only ever runs one step at a time, so its
+ * state needs no synchronization.
+ */
+public class VirtualUser {
+
+    private final int id;
+    private final RequestSpecification baseSpec;
+    private final Map<String, Object> attributes = new HashMap<>();
+    private final Map<String, List<Object>> createdIds = new HashMap<>();
+    private final Map<Class<?>, BaseClient> clients = new HashMap<>();
+
+    private String email;
+    private String password;
+    private String token;
+    private Long userId;
+
+    public VirtualUser(int id) {
+        this.id = id;
+        this.baseSpec = new RequestSpecBuilder()
+                .setBaseUri(ConfigManager.getBaseUrl())
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .build();
+    }
+
+    // ==================== CLIENTS ====================
+
+    /**
+     * Returns a client bound to the current token (or unauthenticated), cached
+     * until the token changes.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends BaseClient> T client(Class<T> type, Function<RequestSpecification, T> factory) {
+        return (T) clients.computeIfAbsent(type, t -> factory.apply(currentSpec()));
+    }
+
+    private RequestSpecification currentSpec() {
+        if (token == null) {
+            return baseSpec;
+        }
+        return new RequestSpecBuilder()
+                .addRequestSpecification(baseSpec)
+                .addHeader("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    // ==================== IDENTITY ====================
+
+    public int getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setCredentials(String email, String password) {
+        this.email = email;
+        this.password = password;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+        clients.clear();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    // ==================== STATE ====================
+
+    public void set(String key, Object value) {
+        attributes.put(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key) {
+        return (T) attributes.get(key);
+    }
+
+    public void addCreatedId(String resource, Object id) {
+        createdIds.computeIfAbsent(resource, k -> new ArrayList<>()).add(id);
+    }
+
+    public List<Object> getCreatedIds(String resource) {
+        return Collections.unmodifiableList(createdIds.getOrDefault(resource, Collections.emptyList()));
+    }
+
+    /**
+     * Forgets the signed-in account so the next journey starts fresh.
+     */
+    public void reset() {
+        setToken(null);
+        email = null;
+        password = null;
+        userId = null;
+        attributes.clear();
+        createdIds.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "VU-" + id + (email != null ? "(" + email + ")" : "");
+    }
+}
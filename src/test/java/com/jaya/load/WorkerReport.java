@@ -0,0 +1,96 @@
+package com.jaya.load;
+
+import com.jaya.metrics.LatencyHistogram;
+import com.jaya.metrics.MetricsRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What a worker process sends back to the controller: raw histogram buckets
+ * plus exact counts, min, max and totals for every step and journey, so
+ * merged percentiles are the same as if one process had recorded everything.
+ */
+class WorkerReport {
+
+    // Client-side counters shipped along with the latencies
+    static final List<String> COUNTERS = List.of(MetricsRegistry.REQUESTS_TOTAL,
+            MetricsRegistry.REQUEST_ERRORS_TOTAL, MetricsRegistry.RETRIES_TOTAL,
+            MetricsRegistry.TOKEN_REFRESHES_TOTAL);
+
+    public int workerIndex;
+    public double elapsedSeconds;
+    public Map<String, StatsData> steps = new TreeMap<>();
+    public Map<String, StatsData> journeys = new TreeMap<>();
+    public Map<String, Long> counters = new LinkedHashMap<>();
+    public String error;
+
+    /**
+     * One {@link LoadReport.Stats}, with only the non-empty buckets.
+     */
+    static class StatsData {
+        public long succeeded;
+        public long failed;
+        public long totalMicros;
+        public long minMicros;
+        public long maxMicros;
+        public Map<Integer, Long> buckets = new TreeMap<>();
+
+        static StatsData of(LoadReport.Stats stats) {
+            StatsData data = new StatsData();
+            data.succeeded = stats.getSucceeded();
+            data.failed = stats.getFailed();
+            data.totalMicros = stats.latency.getTotalMicros();
+            data.minMicros = stats.latency.getMinMicros();
+            data.maxMicros = stats.latency.getMaxMicros();
+            long[] counts = stats.latency.getBucketCounts();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    data.buckets.put(i, counts[i]);
+                }
+            }
+            return data;
+        }
+
+        void mergeInto(LoadReport.Stats stats) {
+            long[] counts = new long[LatencyHistogram.BUCKET_COUNT];
+            buckets.forEach((index, count) -> counts[index] = count);
+            stats.merge(counts, totalMicros, minMicros, maxMicros, succeeded, failed);
+        }
+    }
+
+    static WorkerReport of(int workerIndex, LoadReport report) {
+        WorkerReport result = new WorkerReport();
+        result.workerIndex = workerIndex;
+        result.elapsedSeconds = report.getElapsedSeconds();
+        report.getSteps().forEach((name, stats) -> result.steps.put(name, StatsData.of(stats)));
+        report.getJourneys().forEach((name, stats) -> result.journeys.put(name, StatsData.of(stats)));
+        for (String counter : COUNTERS) {
+            result.counters.put(counter, MetricsRegistry.getCounterTotal(counter));
+        }
+        return result;
+    }
+
+    static WorkerReport failed(int workerIndex, String error) {
+        WorkerReport result = new WorkerReport();
+        result.workerIndex = workerIndex;
+        result.error = error;
+        return result;
+    }
+
+    void mergeInto(LoadReport merged) {
+        steps.forEach((name, data) -> data.mergeInto(merged.stepStats(name)));
+        journeys.forEach((name, data) -> data.mergeInto(merged.journeyStats(name)));
+        counters.forEach(merged::addCounter);
+    }
+
+    long getTotalSteps() {
+        return steps.values().stream().mapToLong(data -> data.succeeded + data.failed).sum();
+    }
+
+    long getFailedSteps() {
+        return steps.values().stream().mapToLong(data -> data.failed).sum();
+    }
+}
@@ -0,0 +1,240 @@
+package com.jaya.metrics;
+
+import com.jaya.clients.HealthClient;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background poller for a fixed set of Spring Boot actuator metrics (heap,
+ * GC pauses, Hikari pool, http.server.requests). Samples are timestamped on
+ * the same wall clock as {@link LatencyTimeline} so the two can be correlated.
+ * Metrics the backend does not expose (404) are dropped after the first poll.
+ */
+public class ActuatorScraper implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ActuatorScraper.class);
+
+    // Sample keys
+    public static final String HEAP_USED = "heap.used";
+    public static final String HEAP_MAX = "heap.max";
+    public static final String GC_PAUSE_COUNT = "gc.pause.count";
+    public static final String GC_PAUSE_SECONDS = "gc.pause.seconds";
+    public static final String GC_PAUSE_MAX = "gc.pause.max";
+    public static final String POOL_ACTIVE = "hikari.active";
+    public static final String POOL_PENDING = "hikari.pending";
+    public static final String POOL_MAX = "hikari.max";
+    public static final String POOL_TIMEOUTS = "hikari.timeouts";
+    public static final String SERVER_REQUESTS = "server.requests.count";
+    public static final String SERVER_SECONDS = "server.requests.seconds";
+    public static final String SERVER_MAX = "server.requests.max";
+
+    private static final int MAX_SAMPLES = 2000;
+
+    /**
+     * A single actuator metric and the statistics mapped to sample keys.
+     */
+    private static final class Probe {
+        final String metric;
+        final String tag;
+        final Map<String, String> statistics;
+
+        Probe(String metric, String tag, String... statisticKeyPairs) {
+            this.metric = metric;
+            this.tag = tag;
+            this.statistics = new LinkedHashMap<>();
+            for (int i = 0; i + 1 < statisticKeyPairs.length; i += 2) {
+                statistics.put(statisticKeyPairs[i], statisticKeyPairs[i + 1]);
+            }
+        }
+    }
+
+    private static final List<Probe> PROBES = List.of(
+            new Probe("jvm.memory.used", "area:heap", "VALUE", HEAP_USED),
+            new Probe("jvm.memory.max", "area:heap", "VALUE", HEAP_MAX),
+            new Probe("jvm.gc.pause", null, "COUNT", GC_PAUSE_COUNT, "TOTAL_TIME", GC_PAUSE_SECONDS,
+                    "MAX", GC_PAUSE_MAX),
+            new Probe("hikaricp.connections.active", null, "VALUE", POOL_ACTIVE),
+            new Probe("hikaricp.connections.pending", null, "VALUE", POOL_PENDING),
+            new Probe("hikaricp.connections.max", null, "VALUE", POOL_MAX),
+            new Probe("hikaricp.connections.timeout", null, "COUNT", POOL_TIMEOUTS),
+            new Probe("http.server.requests", null, "COUNT", SERVER_REQUESTS, "TOTAL_TIME", SERVER_SECONDS,
+                    "MAX", SERVER_MAX));
+
+    /**
+     * Values read in one scrape, keyed by the constants above.
+     */
+    public static final class ServerSample {
+        private final long timestampMillis;
+        private final Map<String, Double> values;
+
+        ServerSample(long timestampMillis, Map<String, Double> values) {
+            this.timestampMillis = timestampMillis;
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        public long getTimestampMillis() {
+            return timestampMillis;
+        }
+
+        public Map<String, Double> getValues() {
+            return values;
+        }
+
+        public boolean has(String key) {
+            return values.containsKey(key);
+        }
+
+        public double get(String key) {
+            return values.getOrDefault(key, 0.0);
+        }
+
+        /**
+         * Difference of a cumulative value against an earlier sample.
+         */
+        public double delta(ServerSample earlier, String key) {
+            if (earlier == null || !has(key) || !earlier.has(key)) {
+                return 0.0;
+            }
+            return Math.max(0.0, get(key) - earlier.get(key));
+        }
+    }
+
+    private final HealthClient healthClient;
+    private final long intervalMillis;
+    private final ConcurrentSkipListMap<Long, ServerSample> samples = new ConcurrentSkipListMap<>();
+    private final Set<String> unsupported = ConcurrentHashMap.newKeySet();
+    private volatile ServerSample latest;
+    private ScheduledExecutorService scheduler;
+
+    public ActuatorScraper(HealthClient healthClient, long intervalMillis) {
+        this.healthClient = healthClient;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "actuator-scraper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::scrapeQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        registerGauges();
+        log.info("Actuator scraper started (interval {}ms)", intervalMillis);
+    }
+
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+        scrapeQuietly();
+        for (Probe probe : PROBES) {
+            probe.statistics.values().forEach(key -> MetricsRegistry.unregisterGauge(gaugeName(key)));
+        }
+        log.info("Actuator scraper stopped after {} samples", samples.size());
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    /**
+     * Polls every supported metric once and stores the resulting sample.
+     */
+    public ServerSample scrapeOnce() {
+        long timestamp = System.currentTimeMillis();
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (Probe probe : PROBES) {
+            if (unsupported.contains(probe.metric)) {
+                continue;
+            }
+            Response response = probe.tag == null
+                    ? healthClient.getMetric(probe.metric)
+                    : healthClient.getMetric(probe.metric, probe.tag);
+            if (response.getStatusCode() == 404) {
+                unsupported.add(probe.metric);
+                log.info("Actuator metric {} not exposed - skipping", probe.metric);
+                continue;
+            }
+            if (response.getStatusCode() != 200) {
+                continue;
+            }
+            List<Map<String, Object>> measurements = response.jsonPath().getList("measurements");
+            if (measurements == null) {
+                continue;
+            }
+            for (Map<String, Object> measurement : measurements) {
+                String key = probe.statistics.get(String.valueOf(measurement.get("statistic")));
+                Object value = measurement.get("value");
+                if (key != null && value instanceof Number) {
+                    values.put(key, ((Number) value).doubleValue());
+                }
+            }
+        }
+        ServerSample sample = new ServerSample(timestamp, values);
+        samples.put(timestamp, sample);
+        while (samples.size() > MAX_SAMPLES) {
+            samples.pollFirstEntry();
+        }
+        latest = sample;
+        return sample;
+    }
+
+    /**
+     * Returns the samples keyed by their scrape time in epoch milliseconds.
+     */
+    public NavigableMap<Long, ServerSample> getSamples() {
+        return Collections.unmodifiableNavigableMap(samples);
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public Set<String> getUnsupportedMetrics() {
+        return Collections.unmodifiableSet(unsupported);
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void scrapeQuietly() {
+        try {
+            scrapeOnce();
+        } catch (Exception e) {
+            log.warn("Actuator scrape failed: {}", e.getMessage());
+        }
+    }
+
+    private void registerGauges() {
+        for (Probe probe : PROBES) {
+            for (String key : probe.statistics.values()) {
+                MetricsRegistry.registerGauge(gaugeName(key), () -> {
+                    ServerSample sample = latest;
+                    return sample != null && sample.has(key) ? sample.get(key) : null;
+                });
+            }
+        }
+    }
+
+    private static String gaugeName(String key) {
+        return "actuator_" + key.replace('.', '_');
+    }
+}
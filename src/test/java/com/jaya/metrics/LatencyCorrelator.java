@@ -0,0 +1,230 @@
+package com.jaya.metrics;
+
+import com.jaya.metrics.ActuatorScraper.ServerSample;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Lines client latency windows up with actuator samples and attributes
+ * windows whose client p99 rose above the run's baseline to a likely cause.
+ */
+public final class LatencyCorrelator {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyCorrelator.class);
+    private static final String LINE = "-".repeat(110);
+
+    /** Fraction of a window spent in GC pauses that counts as GC pressure. */
+    private static final double GC_TIME_FRACTION = 0.05;
+    /** Windows with fewer client requests are too noisy to judge. */
+    private static final int MIN_REQUESTS_PER_WINDOW = 5;
+
+    public enum Cause {
+        NONE,
+        GC,
+        DATABASE,
+        SERVER,
+        NETWORK,
+        UNKNOWN
+    }
+
+    /**
+     * One timeline window with its client and server figures.
+     */
+    public static final class Window {
+        private final long startMillis;
+        private final long requests;
+        private final double clientP99Millis;
+        private final double gcPauseMillis;
+        private final double poolActive;
+        private final double poolPending;
+        private final double poolMax;
+        private final double poolTimeouts;
+        private final double serverMeanMillis;
+        private final boolean serverSampled;
+        private Cause cause = Cause.NONE;
+
+        Window(long startMillis, LatencyHistogram client, ServerSample sample, ServerSample previous) {
+            this.startMillis = startMillis;
+            this.requests = client.getCount();
+            this.clientP99Millis = client.percentileMillis(99);
+            this.serverSampled = sample != null && previous != null;
+            this.gcPauseMillis = serverSampled ? sample.delta(previous, ActuatorScraper.GC_PAUSE_SECONDS) * 1000 : 0;
+            this.poolActive = sample != null ? sample.get(ActuatorScraper.POOL_ACTIVE) : 0;
+            this.poolPending = sample != null ? sample.get(ActuatorScraper.POOL_PENDING) : 0;
+            this.poolMax = sample != null ? sample.get(ActuatorScraper.POOL_MAX) : 0;
+            this.poolTimeouts = serverSampled ? sample.delta(previous, ActuatorScraper.POOL_TIMEOUTS) : 0;
+            double serverRequests = serverSampled ? sample.delta(previous, ActuatorScraper.SERVER_REQUESTS) : 0;
+            this.serverMeanMillis = serverRequests > 0
+                    ? sample.delta(previous, ActuatorScraper.SERVER_SECONDS) * 1000 / serverRequests
+                    : 0;
+        }
+
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public double getClientP99Millis() {
+            return clientP99Millis;
+        }
+
+        public double getGcPauseMillis() {
+            return gcPauseMillis;
+        }
+
+        public double getServerMeanMillis() {
+            return serverMeanMillis;
+        }
+
+        public boolean isPoolExhausted() {
+            return poolPending > 0 || poolTimeouts > 0 || (poolMax > 0 && poolActive >= poolMax);
+        }
+
+        public Cause getCause() {
+            return cause;
+        }
+
+        public boolean isFlagged() {
+            return cause != Cause.NONE;
+        }
+    }
+
+    /**
+     * Correlation result for a whole run.
+     */
+    public static final class Report {
+        private final List<Window> windows;
+        private final double baselineP99Millis;
+        private final double baselineServerMeanMillis;
+        private final long windowMillis;
+
+        Report(List<Window> windows, double baselineP99Millis, double baselineServerMeanMillis, long windowMillis) {
+            this.windows = Collections.unmodifiableList(windows);
+            this.baselineP99Millis = baselineP99Millis;
+            this.baselineServerMeanMillis = baselineServerMeanMillis;
+            this.windowMillis = windowMillis;
+        }
+
+        public List<Window> getWindows() {
+            return windows;
+        }
+
+        public List<Window> getFlaggedWindows() {
+            List<Window> flagged = new ArrayList<>();
+            for (Window window : windows) {
+                if (window.isFlagged()) {
+                    flagged.add(window);
+                }
+            }
+            return flagged;
+        }
+
+        public double getBaselineP99Millis() {
+            return baselineP99Millis;
+        }
+
+        public Map<Cause, Integer> countByCause() {
+            Map<Cause, Integer> counts = new EnumMap<>(Cause.class);
+            for (Window window : windows) {
+                if (window.isFlagged()) {
+                    counts.merge(window.cause, 1, Integer::sum);
+                }
+            }
+            return counts;
+        }
+
+        public void logReport(String title) {
+            log.info("\n{}\nLATENCY CORRELATION: {}\n{}", LINE, title, LINE);
+            log.info("  Windows: {} x {}ms | Baseline p99: {}ms | Baseline server mean: {}ms | Flagged: {}",
+                    windows.size(), windowMillis, String.format("%.1f", baselineP99Millis),
+                    String.format("%.1f", baselineServerMeanMillis), countByCause());
+            log.info(String.format("%-14s %8s %10s %10s %10s %8s %-10s", "window", "requests", "client-p99",
+                    "server-avg", "gc-pause", "pool", "cause"));
+            for (Window window : windows) {
+                log.info(String.format("%-14d %8d %8.1fms %8.1fms %8.1fms %8s %-10s", window.startMillis,
+                        window.requests, window.clientP99Millis, window.serverMeanMillis, window.gcPauseMillis,
+                        window.isPoolExhausted() ? "EXHAUST" : "ok", window.cause));
+            }
+            log.info(LINE);
+        }
+    }
+
+    private LatencyCorrelator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Flags windows whose client p99 exceeds {@code factor} times the median
+     * window p99 and attributes each one to GC, DATABASE (pool exhaustion),
+     * SERVER (server-side mean rose by the same factor) or NETWORK (client
+     * slow while the server looked healthy).
+     */
+    public static Report correlate(LatencyTimeline timeline, NavigableMap<Long, ServerSample> samples,
+                                   double factor) {
+        long windowMillis = timeline.getWindowMillis();
+        List<Window> windows = new ArrayList<>();
+        for (Map.Entry<Long, LatencyHistogram> entry : timeline.getWindows().entrySet()) {
+            if (entry.getValue().getCount() < MIN_REQUESTS_PER_WINDOW) {
+                continue;
+            }
+            // The first scrape at or after the window end covers it
+            Map.Entry<Long, ServerSample> covering = samples.ceilingEntry(entry.getKey() + windowMillis);
+            ServerSample sample = covering != null ? covering.getValue() : null;
+            Map.Entry<Long, ServerSample> before = covering != null ? samples.lowerEntry(covering.getKey()) : null;
+            windows.add(new Window(entry.getKey(), entry.getValue(), sample, before != null ? before.getValue() : null));
+        }
+
+        double baselineP99 = median(windows, true);
+        double baselineServer = median(windows, false);
+        for (Window window : windows) {
+            if (window.clientP99Millis > baselineP99 * factor) {
+                window.cause = classify(window, baselineServer, factor, windowMillis);
+            }
+        }
+        return new Report(windows, baselineP99, baselineServer, windowMillis);
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static Cause classify(Window window, double baselineServer, double factor, long windowMillis) {
+        if (!window.serverSampled) {
+            return Cause.UNKNOWN;
+        }
+        if (window.gcPauseMillis >= windowMillis * GC_TIME_FRACTION) {
+            return Cause.GC;
+        }
+        if (window.isPoolExhausted()) {
+            return Cause.DATABASE;
+        }
+        if (baselineServer > 0 && window.serverMeanMillis > baselineServer * factor) {
+            return Cause.SERVER;
+        }
+        return Cause.NETWORK;
+    }
+
+    private static double median(List<Window> windows, boolean client) {
+        List<Double> values = new ArrayList<>();
+        for (Window window : windows) {
+            if (client) {
+                values.add(window.clientP99Millis);
+            } else if (window.serverMeanMillis > 0) {
+                values.add(window.serverMeanMillis);
+            }
+        }
+        if (values.isEmpty()) {
+            return 0;
+        }
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+}
@@ -0,0 +1,203 @@
+package com.jaya.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear latency histogram recorded in microseconds.
+ * Each power of two is split into 32 linear sub-buckets (~3% relative error),
+ * so histograms can be recorded from many threads and merged without loss.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    public static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong minMicros = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxMicros = new AtomicLong(0);
+
+    // ==================== RECORDING ====================
+
+    public void recordNanos(long nanos) {
+        record(nanos / 1000L);
+    }
+
+    public void recordMillis(long millis) {
+        record(millis * 1000L);
+    }
+
+    /**
+     * Records a single latency value in microseconds.
+     */
+    public void record(long micros) {
+        long value = Math.max(0L, micros);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalMicros.add(value);
+        minMicros.accumulateAndGet(value, Math::min);
+        maxMicros.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Adds all recorded values of another histogram into this one.
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        totalMicros.add(other.totalMicros.sum());
+        if (other.getCount() > 0) {
+            minMicros.accumulateAndGet(other.minMicros.get(), Math::min);
+            maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+        }
+    }
+
+    /**
+     * Adds a histogram shipped from another process as
+     * {@link #getBucketCounts()} plus its exact total, min and max, with the
+     * same result as {@link #merge(LatencyHistogram)} on the original.
+     */
+    public void mergeBucketCounts(long[] bucketCounts, long totalMicros, long minMicros, long maxMicros) {
+        if (bucketCounts.length != BUCKET_COUNT) {
+            throw new IllegalArgumentException("Expected " + BUCKET_COUNT + " buckets, got " + bucketCounts.length);
+        }
+        long added = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (bucketCounts[i] > 0) {
+                counts.addAndGet(i, bucketCounts[i]);
+                added += bucketCounts[i];
+            }
+        }
+        totalCount.add(added);
+        this.totalMicros.add(totalMicros);
+        if (added > 0) {
+            this.minMicros.accumulateAndGet(minMicros, Math::min);
+            this.maxMicros.accumulateAndGet(maxMicros, Math::max);
+        }
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalMicros.reset();
+        minMicros.set(Long.MAX_VALUE);
+        maxMicros.set(0);
+    }
+
+    // ==================== QUERIES ====================
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    public long getMinMicros() {
+        return getCount() == 0 ? 0 : minMicros.get();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMillis() {
+        long count = getCount();
+        return count == 0 ? 0.0 : totalMicros.sum() / (count * 1000.0);
+    }
+
+    /**
+     * Returns the value (in microseconds) at the given percentile (0-100).
+     */
+    public long valueAtPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1L, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= target) {
+                return Math.min(highestEquivalentValue(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+    public double percentileMillis(double percentile) {
+        return valueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Counts recorded values less than or equal to the given bound (in
+     * microseconds), at bucket resolution.
+     */
+    public long countAtOrBelow(long micros) {
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (highestEquivalentValue(i) > micros) {
+                break;
+            }
+            cumulative += counts.get(i);
+        }
+        return cumulative;
+    }
+
+    /**
+     * Raw bucket counts, suitable for shipping a histogram between processes.
+     */
+    public long[] getBucketCounts() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.1fms, p50=%.1fms, p95=%.1fms, p99=%.1fms, max=%.1fms",
+                getCount(), getMeanMillis(), percentileMillis(50), percentileMillis(95),
+                percentileMillis(99), getMaxMicros() / 1000.0);
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int group = exponent - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+        return group * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long highestEquivalentValue(int index) {
+        int group = index / SUB_BUCKET_COUNT;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        if (group == 0) {
+            return subBucket;
+        }
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << (group - 1)) - 1;
+    }
+}
@@ -0,0 +1,66 @@
+package com.jaya.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Client-side latency bucketed into fixed wall-clock windows, so it can be
+ * lined up with server samples taken on the same clock. Only the most recent
+ * windows are retained.
+ */
+public class LatencyTimeline implements MetricsRegistry.LatencyListener {
+
+    private final long windowMillis;
+    private final int maxWindows;
+    private final Predicate<String> endpointFilter;
+    private final ConcurrentSkipListMap<Long, LatencyHistogram> windows = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param windowMillis   width of each window
+     * @param maxWindows     number of windows retained
+     * @param endpointFilter endpoints to include (e.g. exclude /actuator)
+     */
+    public LatencyTimeline(long windowMillis, int maxWindows, Predicate<String> endpointFilter) {
+        this.windowMillis = windowMillis;
+        this.maxWindows = maxWindows;
+        this.endpointFilter = endpointFilter;
+    }
+
+    @Override
+    public void onResponse(String method, String endpoint, int statusCode, long durationNanos) {
+        if (!endpointFilter.test(endpoint)) {
+            return;
+        }
+        long windowStart = System.currentTimeMillis() / windowMillis * windowMillis;
+        windows.computeIfAbsent(windowStart, k -> new LatencyHistogram()).recordNanos(durationNanos);
+        while (windows.size() > maxWindows) {
+            windows.pollFirstEntry();
+        }
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Returns the windows keyed by their start time in epoch milliseconds.
+     */
+    public NavigableMap<Long, LatencyHistogram> getWindows() {
+        return Collections.unmodifiableNavigableMap(windows);
+    }
+
+    /**
+     * Merges all windows overlapping [fromMillis, toMillis).
+     */
+    public LatencyHistogram between(long fromMillis, long toMillis) {
+        LatencyHistogram merged = new LatencyHistogram();
+        long firstWindow = fromMillis / windowMillis * windowMillis;
+        for (Map.Entry<Long, LatencyHistogram> entry : windows.subMap(firstWindow, true, toMillis, false).entrySet()) {
+            merged.merge(entry.getValue());
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,151 @@
+package com.jaya.metrics;
+
+import com.jaya.config.ConfigManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes {@link MetricsRegistry} while a suite is running: an embedded
+ * loopback HTTP endpoint serving Prometheus text format, plus a periodic
+ * snapshot file. Controlled by the 'metrics.*' config properties.
+ */
+public final class MetricsExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsExporter.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static HttpServer server;
+    // HttpServer.stop does not shut down the executor it was given
+    private static ExecutorService serverExecutor;
+    private static ScheduledExecutorService scheduler;
+
+    private MetricsExporter() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Starts the HTTP endpoint and the file writer if metrics are enabled.
+     */
+    public static synchronized void start() {
+        if (!ConfigManager.isMetricsEnabled() || scheduler != null) {
+            return;
+        }
+        MetricsRegistry.reset();
+
+        try {
+            server = HttpServer.create(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), ConfigManager.getMetricsPort()), 0);
+            server.createContext("/metrics", MetricsExporter::handleScrape);
+            serverExecutor = Executors.newSingleThreadExecutor(daemon("metrics-http"));
+            server.setExecutor(serverExecutor);
+            server.start();
+            log.info("Metrics endpoint: http://{}:{}/metrics",
+                    server.getAddress().getHostString(), server.getAddress().getPort());
+        } catch (IOException e) {
+            server = null;
+            shutdownServerExecutor();
+            log.warn("Could not start metrics endpoint on port {}: {}", ConfigManager.getMetricsPort(),
+                    e.getMessage());
+        }
+
+        int interval = ConfigManager.getMetricsFlushIntervalSeconds();
+        scheduler = Executors.newSingleThreadScheduledExecutor(daemon("metrics-writer"));
+        scheduler.scheduleAtFixedRate(MetricsExporter::writeSnapshot, interval, interval, TimeUnit.SECONDS);
+        log.info("Metrics snapshot file: {} (every {}s)", ConfigManager.getMetricsFile(), interval);
+    }
+
+    /**
+     * Writes a final snapshot and stops the endpoint and file writer.
+     */
+    public static synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+        writeSnapshot();
+
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        shutdownServerExecutor();
+        log.info("Metrics exporter stopped");
+    }
+
+    /**
+     * Returns the port the endpoint is bound to, or -1 when it is not running.
+     */
+    public static synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : -1;
+    }
+
+    /**
+     * Writes the current metrics atomically to the configured snapshot file.
+     */
+    public static void writeSnapshot() {
+        Path target = Paths.get(ConfigManager.getMetricsFile());
+        try {
+            Path parent = target.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            Files.writeString(temp, MetricsRegistry.renderPrometheus(), StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.warn("Could not write metrics snapshot to {}: {}", target, e.getMessage());
+        }
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static void handleScrape(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = MetricsRegistry.renderPrometheus().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void shutdownServerExecutor() {
+        if (serverExecutor != null) {
+            serverExecutor.shutdownNow();
+            serverExecutor = null;
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
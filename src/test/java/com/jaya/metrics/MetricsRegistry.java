@@ -0,0 +1,298 @@
+package com.jaya.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Suite-wide live metrics fed by BaseClient and TokenManager.
+ * Counters, gauges and latency histograms are kept per series and rendered in
+ * Prometheus text format by {@link MetricsExporter} while the run is going.
+ */
+public final class MetricsRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    // Metric names
+    public static final String REQUESTS_TOTAL = "api_requests_total";
+    public static final String REQUEST_ERRORS_TOTAL = "api_request_errors_total";
+    public static final String RETRIES_TOTAL = "api_request_retries_total";
+    public static final String TOKEN_REFRESHES_TOTAL = "api_token_refreshes_total";
+    public static final String REQUEST_DURATION = "api_request_duration_seconds";
+    public static final String IN_FLIGHT = "api_requests_in_flight";
+    public static final String IN_FLIGHT_PEAK = "api_requests_in_flight_peak";
+
+    // Prometheus histogram bucket bounds in seconds
+    private static final double[] DURATION_BUCKETS = {
+            0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0, 10.0 };
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/-?\\d+(?=/|$)");
+
+    private static final Map<String, Map<String, LongAdder>> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> LATENCIES = new ConcurrentHashMap<>();
+    private static final Map<String, Supplier<? extends Number>> GAUGES = new ConcurrentHashMap<>();
+    private static final Map<String, String> HELP = new ConcurrentHashMap<>();
+
+    private static final List<LatencyListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger peakInFlight = new AtomicInteger();
+
+    static {
+        HELP.put(REQUESTS_TOTAL, "HTTP requests sent, by method, endpoint and status");
+        HELP.put(REQUEST_ERRORS_TOTAL, "HTTP requests that failed without a response");
+        HELP.put(RETRIES_TOTAL, "HTTP request retries, by method, endpoint and reason");
+        HELP.put(TOKEN_REFRESHES_TOTAL, "Authentication token refreshes, by result");
+        HELP.put(REQUEST_DURATION, "HTTP request latency per attempt");
+        HELP.put(IN_FLIGHT, "HTTP requests currently in flight");
+        HELP.put(IN_FLIGHT_PEAK, "Highest number of concurrent in-flight HTTP requests");
+        registerGauge(IN_FLIGHT, inFlight::get);
+        registerGauge(IN_FLIGHT_PEAK, peakInFlight::get);
+    }
+
+    private MetricsRegistry() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Receives every completed HTTP attempt, e.g. to build a latency timeline.
+     */
+    @FunctionalInterface
+    public interface LatencyListener {
+        void onResponse(String method, String endpoint, int statusCode, long durationNanos);
+    }
+
+    // ==================== REQUEST METRICS ====================
+
+    /**
+     * Marks an HTTP attempt as in flight.
+     */
+    public static void requestStarted() {
+        int current = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(current, Math::max);
+    }
+
+    /**
+     * Marks an HTTP attempt as no longer in flight.
+     */
+    public static void requestFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Records a completed HTTP attempt with its status code and latency.
+     */
+    public static void recordResponse(String method, String endpoint, int statusCode, long durationNanos) {
+        String path = normalizeEndpoint(endpoint);
+        increment(REQUESTS_TOTAL, labels("method", method, "endpoint", path, "status", String.valueOf(statusCode)));
+        latency(method, path).recordNanos(durationNanos);
+        for (LatencyListener listener : LISTENERS) {
+            listener.onResponse(method, path, statusCode, durationNanos);
+        }
+    }
+
+    /**
+     * Records an HTTP attempt that produced no response (timeout, connection
+     * reset, ...).
+     */
+    public static void recordFailure(String method, String endpoint, Throwable error, long durationNanos) {
+        String path = normalizeEndpoint(endpoint);
+        increment(REQUEST_ERRORS_TOTAL, labels("method", method, "endpoint", path,
+                "exception", error.getClass().getSimpleName()));
+        latency(method, path).recordNanos(durationNanos);
+    }
+
+    public static void recordRetry(String method, String endpoint, String reason) {
+        increment(RETRIES_TOTAL, labels("method", method, "endpoint", normalizeEndpoint(endpoint),
+                "reason", reason));
+    }
+
+    public static void recordTokenRefresh(boolean success) {
+        increment(TOKEN_REFRESHES_TOTAL, labels("result", success ? "success" : "failure"));
+    }
+
+    // ==================== GENERIC API ====================
+
+    /**
+     * Increments a counter series. Labels are given as alternating name/value
+     * pairs.
+     */
+    public static void incrementCounter(String name, String... labelPairs) {
+        increment(name, labels(labelPairs));
+    }
+
+    public static void addToCounter(String name, long amount, String... labelPairs) {
+        counter(name, labels(labelPairs)).add(amount);
+    }
+
+    /**
+     * Registers a gauge sampled at render time, e.g. pool usage of a load
+     * executor.
+     */
+    public static void registerGauge(String name, Supplier<? extends Number> supplier) {
+        GAUGES.put(name, supplier);
+    }
+
+    public static void unregisterGauge(String name) {
+        GAUGES.remove(name);
+    }
+
+    public static void addLatencyListener(LatencyListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeLatencyListener(LatencyListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    public static void describe(String name, String help) {
+        HELP.put(name, help);
+    }
+
+    public static int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the latency histograms keyed by "METHOD endpoint".
+     */
+    public static Map<String, LatencyHistogram> getLatencyHistograms() {
+        return Collections.unmodifiableMap(new TreeMap<>(LATENCIES));
+    }
+
+    public static long getCounterTotal(String name) {
+        Map<String, LongAdder> series = COUNTERS.get(name);
+        if (series == null) {
+            return 0;
+        }
+        return series.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Replaces numeric path segments with {id} so that concrete resource ids do
+     * not explode series cardinality.
+     */
+    public static String normalizeEndpoint(String endpoint) {
+        if (endpoint == null) {
+            return "unknown";
+        }
+        return NUMERIC_SEGMENT.matcher(endpoint).replaceAll("/{id}");
+    }
+
+    /**
+     * Clears all counters and histograms (typically called at suite start).
+     */
+    public static void reset() {
+        COUNTERS.clear();
+        LATENCIES.clear();
+        peakInFlight.set(inFlight.get());
+        log.debug("Metrics registry reset");
+    }
+
+    // ==================== PROMETHEUS RENDERING ====================
+
+    /**
+     * Renders every series in Prometheus text exposition format (0.0.4).
+     */
+    public static String renderPrometheus() {
+        StringBuilder sb = new StringBuilder(4096);
+
+        new TreeMap<>(COUNTERS).forEach((name, series) -> {
+            writeHeader(sb, name, "counter");
+            new TreeMap<>(series).forEach((labelString, adder) -> sb.append(name).append(labelString)
+                    .append(' ').append(adder.sum()).append('\n'));
+        });
+
+        new TreeMap<>(GAUGES).forEach((name, supplier) -> {
+            Number value = sampleGauge(name, supplier);
+            if (value != null) {
+                writeHeader(sb, name, "gauge");
+                sb.append(name).append(' ').append(value).append('\n');
+            }
+        });
+
+        if (!LATENCIES.isEmpty()) {
+            writeHeader(sb, REQUEST_DURATION, "histogram");
+            new TreeMap<>(LATENCIES).forEach((operation, histogram) -> {
+                int space = operation.indexOf(' ');
+                String baseLabels = "method=\"" + escape(operation.substring(0, space))
+                        + "\",endpoint=\"" + escape(operation.substring(space + 1)) + "\"";
+                for (double bound : DURATION_BUCKETS) {
+                    sb.append(REQUEST_DURATION).append("_bucket{").append(baseLabels)
+                            .append(",le=\"").append(bound).append("\"} ")
+                            .append(histogram.countAtOrBelow((long) (bound * 1_000_000))).append('\n');
+                }
+                sb.append(REQUEST_DURATION).append("_bucket{").append(baseLabels).append(",le=\"+Inf\"} ")
+                        .append(histogram.getCount()).append('\n');
+                sb.append(REQUEST_DURATION).append("_sum{").append(baseLabels).append("} ")
+                        .append(histogram.getTotalMicros() / 1_000_000.0).append('\n');
+                sb.append(REQUEST_DURATION).append("_count{").append(baseLabels).append("} ")
+                        .append(histogram.getCount()).append('\n');
+            });
+        }
+        return sb.toString();
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static void increment(String name, String labelString) {
+        counter(name, labelString).increment();
+    }
+
+    private static LongAdder counter(String name, String labelString) {
+        return COUNTERS.computeIfAbsent(name, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(labelString, k -> new LongAdder());
+    }
+
+    private static LatencyHistogram latency(String method, String path) {
+        return LATENCIES.computeIfAbsent(method + " " + path, k -> new LatencyHistogram());
+    }
+
+    private static String labels(String... pairs) {
+        if (pairs == null || pairs.length == 0) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i + 1 < pairs.length; i += 2) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(pairs[i]).append("=\"").append(escape(pairs[i + 1])).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void writeHeader(StringBuilder sb, String name, String type) {
+        String help = HELP.get(name);
+        if (help != null) {
+            sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        }
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static Number sampleGauge(String name, Supplier<? extends Number> supplier) {
+        try {
+            return supplier.get();
+        } catch (Exception e) {
+            log.trace("Gauge {} could not be sampled: {}", name, e.getMessage());
+            return null;
+        }
+    }
+}
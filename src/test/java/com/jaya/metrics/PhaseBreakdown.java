@@ -0,0 +1,105 @@
+package com.jaya.metrics;
+
+import com.jaya.http.RequestTiming;
+import com.jaya.http.RequestTiming.Phase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suite-wide roll-up of request phase timings per "METHOD endpoint", showing
+ * where each endpoint's time goes (connect, TLS, server wait, download, ...).
+ */
+public final class PhaseBreakdown {
+
+    private static final Logger log = LoggerFactory.getLogger(PhaseBreakdown.class);
+    private static final String LINE = "-".repeat(130);
+
+    private static final Map<String, Map<Phase, LatencyHistogram>> PHASES = new ConcurrentHashMap<>();
+
+    private PhaseBreakdown() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void record(RequestTiming timing) {
+        String operation = timing.getMethod() + " " + MetricsRegistry.normalizeEndpoint(timing.getEndpoint());
+        Map<Phase, LatencyHistogram> phases = PHASES.computeIfAbsent(operation, k -> newPhaseMap());
+        for (Phase phase : Phase.values()) {
+            if (isServerSplit(phase) && !timing.hasServerTiming()) {
+                continue;
+            }
+            phases.get(phase).recordNanos(timing.getPhaseNanos(phase));
+        }
+    }
+
+    /**
+     * Returns the phase histograms keyed by "METHOD endpoint".
+     */
+    public static Map<String, Map<Phase, LatencyHistogram>> getBreakdown() {
+        return Collections.unmodifiableMap(new TreeMap<>(PHASES));
+    }
+
+    public static void reset() {
+        PHASES.clear();
+    }
+
+    /**
+     * Share of wire time spent in the server for an endpoint, from requests
+     * that carried a Server-Timing header, or -1 if none did.
+     */
+    public static double getServerShare(String operation) {
+        Map<Phase, LatencyHistogram> phases = PHASES.get(operation);
+        if (phases == null || phases.get(Phase.SERVER).getCount() == 0) {
+            return -1;
+        }
+        double server = phases.get(Phase.SERVER).getTotalMicros();
+        double network = phases.get(Phase.NETWORK).getTotalMicros();
+        return server + network > 0 ? server / (server + network) : -1;
+    }
+
+    /**
+     * Logs mean and p95 per phase for every endpoint, with the server's share
+     * of wire time where the backend sends Server-Timing.
+     */
+    public static void logSummary() {
+        if (PHASES.isEmpty()) {
+            return;
+        }
+        log.info("\n{}\nREQUEST PHASE BREAKDOWN (mean / p95 ms)\n{}", LINE, LINE);
+        StringBuilder header = new StringBuilder(String.format("%-40s %6s", "ENDPOINT", "count"));
+        for (Phase phase : Phase.values()) {
+            header.append(String.format(" %11s", phase.name().toLowerCase()));
+        }
+        header.append(String.format(" %8s", "server%"));
+        log.info(header.toString());
+        new TreeMap<>(PHASES).forEach((operation, phases) -> {
+            StringBuilder row = new StringBuilder(String.format("%-40s %6d", operation,
+                    phases.get(Phase.TOTAL).getCount()));
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = phases.get(phase);
+                row.append(String.format(" %5.1f/%5.1f", histogram.getMeanMillis(), histogram.percentileMillis(95)));
+            }
+            double serverShare = getServerShare(operation);
+            row.append(serverShare >= 0 ? String.format(" %7.1f%%", serverShare * 100) : String.format(" %8s", "-"));
+            log.info(row.toString());
+        });
+        log.info(LINE);
+    }
+
+    private static boolean isServerSplit(Phase phase) {
+        return phase == Phase.SERVER || phase == Phase.NETWORK;
+    }
+
+    private static Map<Phase, LatencyHistogram> newPhaseMap() {
+        Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+        return phases;
+    }
+}
@@ -0,0 +1,62 @@
+package com.jaya.monitor;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An SLO breach starting (FIRING) or ending (RESOLVED) for one probe.
+ */
+public final class Alert {
+
+    public enum Objective { AVAILABILITY, LATENCY_P95 }
+
+    public enum State { FIRING, RESOLVED }
+
+    public final String environment;
+    public final String probe;
+    public final Objective objective;
+    public final State state;
+    public final double observed;
+    public final double threshold;
+    public final int samples;
+    public final long windowMillis;
+    public final Instant timestamp;
+
+    Alert(String environment, String probe, Objective objective, State state, double observed, double threshold,
+          int samples, long windowMillis) {
+        this.environment = environment;
+        this.probe = probe;
+        this.objective = objective;
+        this.state = state;
+        this.observed = observed;
+        this.threshold = threshold;
+        this.samples = samples;
+        this.windowMillis = windowMillis;
+        this.timestamp = Instant.now();
+    }
+
+    /**
+     * Flat representation for sinks that serialize alerts.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("environment", environment);
+        map.put("probe", probe);
+        map.put("objective", objective.name());
+        map.put("state", state.name());
+        map.put("observed", observed);
+        map.put("threshold", threshold);
+        map.put("samples", samples);
+        map.put("windowSeconds", windowMillis / 1000);
+        map.put("timestamp", timestamp.toString());
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        String unit = objective == Objective.AVAILABILITY ? "" : "ms";
+        return String.format("[%s] %s %s %s: observed %.3f%s, threshold %.3f%s (%d samples in %ds)", state,
+                environment, probe, objective, observed, unit, threshold, unit, samples, windowMillis / 1000);
+    }
+}
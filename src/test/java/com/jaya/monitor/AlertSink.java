@@ -0,0 +1,33 @@
+package com.jaya.monitor;
+
+import com.jaya.config.ConfigManager;
+
+/**
+ * Destination for SLO alerts. Select one with {@code monitor.alert.sink}:
+ * {@code log}, {@code webhook} (JSON POST to {@code monitor.alert.webhook.url})
+ * or the class name of an implementation with a public no-arg constructor.
+ */
+public interface AlertSink {
+
+    /**
+     * Delivers an alert. Implementations should not throw: a failing sink
+     * must not stop the monitor.
+     */
+    void send(Alert alert);
+
+    static AlertSink fromConfig() {
+        String sink = ConfigManager.getMonitorAlertSink();
+        switch (sink) {
+            case "log":
+                return new LoggingAlertSink();
+            case "webhook":
+                return new WebhookAlertSink(ConfigManager.getMonitorAlertWebhookUrl());
+            default:
+                try {
+                    return (AlertSink) Class.forName(sink).getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | ClassCastException e) {
+                    throw new IllegalArgumentException("Invalid monitor.alert.sink '" + sink + "'", e);
+                }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.jaya.monitor;
+
+import com.jaya.clients.AuthClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.metrics.MetricsRegistry;
+import com.jaya.payloads.AuthPayload;
+import com.jaya.pojo.LoginRequest;
+import com.jaya.pojo.SignupRequest;
+import com.jaya.utils.TestUserCleanupManager;
+import com.jaya.utils.TokenManager;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Users leased to probes across monitor iterations. Each lease signs in once
+ * and keeps its token until it nears expiry or the backend rejects it, so a
+ * probe normally costs exactly one request.
+ */
+public class LeasePool {
+
+    private static final Logger log = LoggerFactory.getLogger(LeasePool.class);
+    static final String SIGNINS_TOTAL = "monitor_lease_signins_total";
+
+    private static final long TOKEN_BUFFER_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final RequestSpecification baseSpec;
+    private final List<Lease> leases;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private LeasePool(RequestSpecification baseSpec, List<Lease> leases) {
+        this.baseSpec = baseSpec;
+        this.leases = leases;
+    }
+
+    /**
+     * A pool of one lease on an existing account, e.g. the configured
+     * {@code auth.username} in environments where creating users is not
+     * allowed.
+     */
+    public static LeasePool ofAccount(RequestSpecification baseSpec, String email, String password) {
+        List<Lease> leases = new ArrayList<>();
+        LeasePool pool = new LeasePool(baseSpec, leases);
+        leases.add(pool.new Lease(email, password));
+        return pool;
+    }
+
+    /**
+     * Signs up dedicated users, registered for cleanup at the end of the run.
+     */
+    public static LeasePool ofNewUsers(RequestSpecification baseSpec, int users) {
+        List<Lease> leases = new ArrayList<>();
+        LeasePool pool = new LeasePool(baseSpec, leases);
+        AuthClient authClient = new AuthClient(baseSpec);
+        for (int i = 0; i < users; i++) {
+            SignupRequest signupRequest = AuthPayload.createDefaultSignupRequest();
+            Response response = authClient.signup(signupRequest);
+            if (response.getStatusCode() != 201) {
+                throw new IllegalStateException("Could not sign up monitor user: status " + response.getStatusCode());
+            }
+            TestUserCleanupManager.registerUserForCleanup(signupRequest.getEmail(), signupRequest.getPassword());
+            Lease lease = pool.new Lease(signupRequest.getEmail(), signupRequest.getPassword());
+            lease.accept(response.jsonPath().getString("jwt"));
+            leases.add(lease);
+        }
+        log.info("[MONITOR] Leased {} new user(s)", users);
+        return pool;
+    }
+
+    /**
+     * Returns the next lease in round-robin order.
+     */
+    public Lease acquire() {
+        return leases.get(Math.floorMod(next.getAndIncrement(), leases.size()));
+    }
+
+    public int size() {
+        return leases.size();
+    }
+
+    /**
+     * One leased identity with its cached token and authenticated spec.
+     */
+    public final class Lease {
+        private final String email;
+        private final String password;
+        private volatile RequestSpecification spec;
+        private volatile long expiresAtNanos;
+
+        private Lease(String email, String password) {
+            this.email = email;
+            this.password = password;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        /**
+         * Authenticated spec for this lease, signing in first if there is no
+         * usable token.
+         */
+        public RequestSpecification spec() {
+            RequestSpecification current = spec;
+            if (current != null && System.nanoTime() < expiresAtNanos) {
+                return current;
+            }
+            synchronized (this) {
+                if (spec == null || System.nanoTime() >= expiresAtNanos) {
+                    signin();
+                }
+                return spec;
+            }
+        }
+
+        /**
+         * Drops the token after the backend rejected it; the next probe signs in again.
+         */
+        public void invalidate() {
+            spec = null;
+        }
+
+        private void signin() {
+            Response response = new AuthClient(baseSpec).signin(new LoginRequest(email, password));
+            boolean success = response.getStatusCode() == 200;
+            MetricsRegistry.incrementCounter(SIGNINS_TOTAL, "result", success ? "success" : "failure");
+            if (!success) {
+                throw new IllegalStateException("Lease signin failed for " + email + ": status "
+                        + response.getStatusCode());
+            }
+            accept(response.jsonPath().getString("jwt"));
+            log.debug("[MONITOR] Lease {} signed in", email);
+        }
+
+        private void accept(String token) {
+            spec = new RequestSpecBuilder()
+                    .addRequestSpecification(baseSpec)
+                    .addHeader("Authorization", "Bearer " + token)
+                    .build();
+            long validityNanos = validityNanos(token);
+            expiresAtNanos = System.nanoTime() + validityNanos - Math.min(TOKEN_BUFFER_NANOS, validityNanos / 2);
+        }
+
+        /**
+         * Remaining lifetime of the token from its exp claim, or the
+         * configured validity when the token does not carry one.
+         */
+        private long validityNanos(String token) {
+            long expiresAt = TokenManager.getExpiryEpochSeconds(token);
+            if (expiresAt <= 0) {
+                return TimeUnit.MINUTES.toNanos(ConfigManager.getMonitorTokenValidityMinutes());
+            }
+            return Math.max(0, TimeUnit.SECONDS.toNanos(expiresAt)
+                    - TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.jaya.monitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes alerts to the log: firing alerts at ERROR, resolutions at INFO.
+ */
+public class LoggingAlertSink implements AlertSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingAlertSink.class);
+
+    @Override
+    public void send(Alert alert) {
+        if (alert.state == Alert.State.FIRING) {
+            log.error("[ALERT] {}", alert);
+        } else {
+            log.info("[ALERT] {}", alert);
+        }
+    }
+}
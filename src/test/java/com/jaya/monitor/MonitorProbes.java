@@ -0,0 +1,64 @@
+package com.jaya.monitor;
+
+import com.jaya.clients.DashboardPreferenceClient;
+import com.jaya.clients.ExpenseClient;
+import com.jaya.clients.HealthClient;
+import com.jaya.clients.UserClient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Named probes selectable with {@code monitor.probes}: cheap, read-only
+ * versions of the smoke checks that reuse a leased token.
+ */
+public final class MonitorProbes {
+
+    private static final Map<String, Supplier<Probe>> PROBES = new LinkedHashMap<>();
+
+    static {
+        PROBES.put("health", () -> Probe.unauthenticated("health",
+                spec -> new HealthClient(spec).getHealthNoRetry(),
+                response -> response.getStatusCode() == 200 && "UP".equals(response.jsonPath().getString("status"))));
+        PROBES.put("profile", () -> Probe.authenticated("profile",
+                spec -> new UserClient(spec).getUserProfileNoRetry(),
+                Probe.status(200)));
+        PROBES.put("dashboard", () -> Probe.authenticated("dashboard",
+                spec -> new DashboardPreferenceClient(spec).getDashboardPreferenceNoRetry(),
+                Probe.status(200, 404)));
+        PROBES.put("expenses", () -> Probe.authenticated("expenses",
+                spec -> new ExpenseClient(spec).getAllExpensesNoRetry(),
+                Probe.status(200)));
+        PROBES.put("expense-summary", () -> Probe.authenticated("expense-summary",
+                spec -> new ExpenseClient(spec).getExpenseSummaryNoRetry(),
+                Probe.status(200)));
+    }
+
+    private MonitorProbes() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Resolves probe names, failing on unknown ones so a typo in the
+     * configuration does not silently shrink coverage.
+     */
+    public static List<Probe> named(List<String> names) {
+        List<Probe> probes = new ArrayList<>();
+        for (String name : names) {
+            Supplier<Probe> probe = PROBES.get(name.trim());
+            if (probe == null) {
+                throw new IllegalArgumentException("Unknown monitor probe '" + name + "', available: "
+                        + PROBES.keySet());
+            }
+            probes.add(probe.get());
+        }
+        return probes;
+    }
+
+    public static List<String> available() {
+        return new ArrayList<>(PROBES.keySet());
+    }
+}
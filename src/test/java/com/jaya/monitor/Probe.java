@@ -0,0 +1,70 @@
+package com.jaya.monitor;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * One synthetic check: a single client call and the condition its response
+ * must meet to count as available.
+ */
+public final class Probe {
+
+    private final String name;
+    private final boolean authenticated;
+    private final Function<RequestSpecification, Response> call;
+    private final Predicate<Response> check;
+
+    private Probe(String name, boolean authenticated, Function<RequestSpecification, Response> call,
+                  Predicate<Response> check) {
+        this.name = name;
+        this.authenticated = authenticated;
+        this.call = call;
+        this.check = check;
+    }
+
+    /**
+     * A probe that runs with a leased user's token.
+     */
+    public static Probe authenticated(String name, Function<RequestSpecification, Response> call,
+                                      Predicate<Response> check) {
+        return new Probe(name, true, call, check);
+    }
+
+    public static Probe unauthenticated(String name, Function<RequestSpecification, Response> call,
+                                        Predicate<Response> check) {
+        return new Probe(name, false, call, check);
+    }
+
+    /**
+     * Check that passes for any of the given status codes.
+     */
+    public static Predicate<Response> status(Integer... statusCodes) {
+        Set<Integer> expected = Set.of(statusCodes);
+        return response -> expected.contains(response.getStatusCode());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    Response execute(RequestSpecification spec) {
+        return call.apply(spec);
+    }
+
+    boolean check(Response response) {
+        return check.test(response);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,128 @@
+package com.jaya.monitor;
+
+import com.jaya.metrics.LatencyHistogram;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Availability and latency time series of one probe. Samples are kept for a
+ * retention period (at least the SLO window) so a monitor running for days
+ * holds a bounded amount of memory; all-time totals are kept separately.
+ */
+public final class ProbeSeries {
+
+    /**
+     * One probe execution.
+     */
+    public static final class Sample {
+        public final long timestampMillis;
+        public final boolean available;
+        public final int statusCode;
+        public final long latencyMicros;
+
+        Sample(long timestampMillis, boolean available, int statusCode, long latencyMicros) {
+            this.timestampMillis = timestampMillis;
+            this.available = available;
+            this.statusCode = statusCode;
+            this.latencyMicros = latencyMicros;
+        }
+    }
+
+    /**
+     * Statistics over the samples of a trailing window.
+     */
+    public static final class WindowStats {
+        public final int samples;
+        public final int available;
+        public final LatencyHistogram latency;
+
+        WindowStats(int samples, int available, LatencyHistogram latency) {
+            this.samples = samples;
+            this.available = available;
+            this.latency = latency;
+        }
+
+        public double getAvailability() {
+            return samples > 0 ? (double) available / samples : 1.0;
+        }
+    }
+
+    private final String probe;
+    private final long retentionMillis;
+    private final Deque<Sample> samples = new ArrayDeque<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private long total;
+    private long failures;
+
+    ProbeSeries(String probe, long retentionMillis) {
+        this.probe = probe;
+        this.retentionMillis = retentionMillis;
+    }
+
+    public String getProbe() {
+        return probe;
+    }
+
+    synchronized void record(Sample sample) {
+        samples.addLast(sample);
+        total++;
+        if (sample.available) {
+            latency.record(sample.latencyMicros);
+        } else {
+            failures++;
+        }
+        long horizon = sample.timestampMillis - retentionMillis;
+        while (!samples.isEmpty() && samples.peekFirst().timestampMillis < horizon) {
+            samples.removeFirst();
+        }
+    }
+
+    /**
+     * Stats over samples newer than {@code windowMillis} before {@code nowMillis}.
+     * Latency covers successful probes only, so an outage shows up as lost
+     * availability rather than as fast failures improving the percentiles.
+     */
+    public synchronized WindowStats window(long nowMillis, long windowMillis) {
+        long start = nowMillis - windowMillis;
+        int count = 0;
+        int available = 0;
+        LatencyHistogram windowLatency = new LatencyHistogram();
+        for (Sample sample : samples) {
+            if (sample.timestampMillis < start) {
+                continue;
+            }
+            count++;
+            if (sample.available) {
+                available++;
+                windowLatency.record(sample.latencyMicros);
+            }
+        }
+        return new WindowStats(count, available, windowLatency);
+    }
+
+    public synchronized List<Sample> getSamples() {
+        return new ArrayList<>(samples);
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    public synchronized double getAvailability() {
+        return total > 0 ? (double) (total - failures) / total : 1.0;
+    }
+
+    /**
+     * Latency of all successful probes since the monitor started.
+     */
+    public synchronized LatencyHistogram getLatency() {
+        return latency.copy();
+    }
+}
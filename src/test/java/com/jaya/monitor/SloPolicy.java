@@ -0,0 +1,66 @@
+package com.jaya.monitor;
+
+import com.jaya.config.ConfigManager;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Per-probe service level objectives evaluated over a trailing window:
+ * minimum availability and maximum p95 latency.
+ */
+public final class SloPolicy {
+
+    private final double availabilityTarget;
+    private final double p95Millis;
+    private final long windowMillis;
+    private final int minSamples;
+
+    public SloPolicy(double availabilityTarget, double p95Millis, long windowMillis, int minSamples) {
+        this.availabilityTarget = availabilityTarget;
+        this.p95Millis = p95Millis;
+        this.windowMillis = windowMillis;
+        this.minSamples = minSamples;
+    }
+
+    public static SloPolicy fromConfig() {
+        return new SloPolicy(ConfigManager.getMonitorSloAvailability(), ConfigManager.getMonitorSloP95Millis(),
+                ConfigManager.getMonitorSloWindowMinutes() * 60_000L, ConfigManager.getMonitorSloMinSamples());
+    }
+
+    /**
+     * Objectives breached by a window; none until the window holds enough
+     * samples to judge, so one failed probe after startup does not page.
+     */
+    public Set<Alert.Objective> breaches(ProbeSeries.WindowStats stats) {
+        Set<Alert.Objective> breached = EnumSet.noneOf(Alert.Objective.class);
+        if (stats.samples < minSamples) {
+            return breached;
+        }
+        if (stats.getAvailability() < availabilityTarget) {
+            breached.add(Alert.Objective.AVAILABILITY);
+        }
+        if (stats.latency.getCount() > 0 && stats.latency.percentileMillis(95) > p95Millis) {
+            breached.add(Alert.Objective.LATENCY_P95);
+        }
+        return breached;
+    }
+
+    public double observed(Alert.Objective objective, ProbeSeries.WindowStats stats) {
+        return objective == Alert.Objective.AVAILABILITY ? stats.getAvailability() : stats.latency.percentileMillis(95);
+    }
+
+    public double threshold(Alert.Objective objective) {
+        return objective == Alert.Objective.AVAILABILITY ? availabilityTarget : p95Millis;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("availability >= %.2f%%, p95 <= %.0fms over %ds (min %d samples)",
+                availabilityTarget * 100, p95Millis, windowMillis / 1000, minSamples);
+    }
+}
@@ -0,0 +1,342 @@
+package com.jaya.monitor;
+
+import com.jaya.metrics.LatencyHistogram;
+import com.jaya.metrics.MetricsRegistry;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a fixed set of {@link Probe probes} on a schedule against one
+ * environment, recording availability and latency per probe and raising
+ * {@link Alert alerts} when an {@link SloPolicy SLO} starts or stops being
+ * breached.
+ * <p>
+ * Probes run one after another on the calling thread once per interval
+ * (fixed rate; ticks missed because an iteration overran are skipped), so the
+ * monitor adds at most one request in flight to the target.
+ */
+public class SyntheticMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticMonitor.class);
+    private static final String LINE = "-".repeat(110);
+    static final String PROBE_RUNS_TOTAL = "monitor_probe_runs_total";
+    static final String ALERTS_TOTAL = "monitor_alerts_total";
+
+    private final String environment;
+    private final List<Probe> probes;
+    private final RequestSpecification baseSpec;
+    private final LeasePool leases;
+    private final Duration interval;
+    private final SloPolicy policy;
+    private final AlertSink alertSink;
+    private final Path output;
+    private final Map<String, ProbeSeries> series = new LinkedHashMap<>();
+    private final Map<String, Set<Alert.Objective>> firing = new LinkedHashMap<>();
+    private final List<Alert> alerts = new CopyOnWriteArrayList<>();
+
+    private SyntheticMonitor(Builder builder) {
+        this.environment = builder.environment;
+        this.probes = List.copyOf(builder.probes);
+        this.baseSpec = builder.baseSpec;
+        this.leases = builder.leases;
+        this.interval = builder.interval;
+        this.policy = builder.policy;
+        this.alertSink = builder.alertSink;
+        this.output = builder.output;
+        long retentionMillis = Math.max(policy.getWindowMillis(), interval.toMillis()) * 2;
+        for (Probe probe : probes) {
+            series.put(probe.getName(), new ProbeSeries(probe.getName(), retentionMillis));
+            firing.put(probe.getName(), EnumSet.noneOf(Alert.Objective.class));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs until {@code duration} has elapsed, or until the thread is
+     * interrupted when {@code duration} is null or zero.
+     */
+    public void run(Duration duration) {
+        long deadline = duration == null || duration.isZero()
+                ? Long.MAX_VALUE : System.nanoTime() + duration.toNanos();
+        long intervalNanos = interval.toNanos();
+        log.info("[MONITOR] Probing {} every {}ms: {} | SLO {}", environment, interval.toMillis(), probes, policy);
+        warmUp();
+
+        try (BufferedWriter writer = openOutput()) {
+            long nextTick = System.nanoTime();
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                runIteration(writer);
+                nextTick += intervalNanos;
+                long now = System.nanoTime();
+                if (now > nextTick) {
+                    long missed = (now - nextTick) / intervalNanos + 1;
+                    nextTick += missed * intervalNanos;
+                    log.warn("[MONITOR] Iteration overran the interval, skipping {} tick(s)", missed);
+                }
+                long sleepNanos = Math.min(nextTick, deadline) - System.nanoTime();
+                if (sleepNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("[MONITOR] Interrupted, stopping");
+        } catch (IOException e) {
+            log.warn("[MONITOR] Could not write samples to {}: {}", output, e.getMessage());
+        }
+    }
+
+    /**
+     * Runs every probe once and evaluates the SLOs.
+     */
+    public void runIteration() {
+        runIteration(null);
+    }
+
+    public Map<String, ProbeSeries> getSeries() {
+        return series;
+    }
+
+    public List<Alert> getAlerts() {
+        return List.copyOf(alerts);
+    }
+
+    /**
+     * Number of SLO breaches that started during the run.
+     */
+    public long getBreachCount() {
+        return alerts.stream().filter(alert -> alert.state == Alert.State.FIRING).count();
+    }
+
+    /**
+     * Logs all-time availability and latency per probe.
+     */
+    public void logSummary() {
+        log.info("\n{}\nSYNTHETIC MONITOR SUMMARY: {}\n{}", LINE, environment, LINE);
+        log.info(String.format("%-20s %8s %8s %10s %10s %10s %10s %10s %8s", "PROBE", "runs", "failed",
+                "avail%", "p50", "p95", "p99", "max", "alerts"));
+        series.forEach((name, probeSeries) -> {
+            LatencyHistogram latency = probeSeries.getLatency();
+            long probeAlerts = alerts.stream()
+                    .filter(alert -> alert.probe.equals(name) && alert.state == Alert.State.FIRING).count();
+            log.info(String.format("%-20s %8d %8d %9.2f%% %8.1fms %8.1fms %8.1fms %8.1fms %8d", name,
+                    probeSeries.getTotal(), probeSeries.getFailures(), probeSeries.getAvailability() * 100,
+                    latency.percentileMillis(50), latency.percentileMillis(95), latency.percentileMillis(99),
+                    latency.getMaxMicros() / 1000.0, probeAlerts));
+        });
+        log.info(LINE);
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void runIteration(BufferedWriter writer) {
+        for (Probe probe : probes) {
+            ProbeSeries.Sample sample = execute(probe);
+            ProbeSeries probeSeries = series.get(probe.getName());
+            probeSeries.record(sample);
+            MetricsRegistry.incrementCounter(PROBE_RUNS_TOTAL, "probe", probe.getName(),
+                    "result", sample.available ? "ok" : "failed");
+            write(writer, probe, sample);
+            evaluate(probe.getName(), probeSeries, sample.timestampMillis);
+        }
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                log.debug("Could not flush monitor samples: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs every probe once without recording it, so class loading and the
+     * first signin do not show up as a latency spike in the series.
+     */
+    private void warmUp() {
+        for (Probe probe : probes) {
+            ProbeSeries.Sample sample = execute(probe);
+            log.debug("[MONITOR] Warm-up {}: status {} in {}ms", probe.getName(), sample.statusCode,
+                    sample.latencyMicros / 1000);
+        }
+    }
+
+    private ProbeSeries.Sample execute(Probe probe) {
+        long timestamp = System.currentTimeMillis();
+        LeasePool.Lease lease = probe.isAuthenticated() ? leases.acquire() : null;
+        long start = System.nanoTime();
+        try {
+            RequestSpecification spec = lease != null ? lease.spec() : baseSpec;
+            start = System.nanoTime();
+            Response response = probe.execute(spec);
+            long latencyMicros = (System.nanoTime() - start) / 1000L;
+            if (lease != null && response.getStatusCode() == 401) {
+                lease.invalidate();
+            }
+            boolean available = probe.check(response);
+            if (!available) {
+                log.warn("[MONITOR] {} failed: status {}", probe.getName(), response.getStatusCode());
+            }
+            return new ProbeSeries.Sample(timestamp, available, response.getStatusCode(), latencyMicros);
+        } catch (RuntimeException e) {
+            log.warn("[MONITOR] {} failed: {}", probe.getName(), e.getMessage());
+            return new ProbeSeries.Sample(timestamp, false, -1, (System.nanoTime() - start) / 1000L);
+        }
+    }
+
+    /**
+     * Sends an alert on each transition between breached and healthy, so a
+     * long outage produces one FIRING and one RESOLVED alert per objective.
+     */
+    private void evaluate(String probe, ProbeSeries probeSeries, long nowMillis) {
+        ProbeSeries.WindowStats stats = probeSeries.window(nowMillis, policy.getWindowMillis());
+        Set<Alert.Objective> breached = policy.breaches(stats);
+        Set<Alert.Objective> active = firing.get(probe);
+        for (Alert.Objective objective : Alert.Objective.values()) {
+            boolean isBreached = breached.contains(objective);
+            if (isBreached == active.contains(objective)) {
+                continue;
+            }
+            Alert.State state = isBreached ? Alert.State.FIRING : Alert.State.RESOLVED;
+            if (isBreached) {
+                active.add(objective);
+            } else {
+                active.remove(objective);
+            }
+            Alert alert = new Alert(environment, probe, objective, state, policy.observed(objective, stats),
+                    policy.threshold(objective), stats.samples, policy.getWindowMillis());
+            alerts.add(alert);
+            MetricsRegistry.incrementCounter(ALERTS_TOTAL, "probe", probe, "objective", objective.name(),
+                    "state", state.name());
+            try {
+                alertSink.send(alert);
+            } catch (RuntimeException e) {
+                log.warn("[MONITOR] Alert sink failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private BufferedWriter openOutput() throws IOException {
+        if (output == null) {
+            return null;
+        }
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        boolean exists = Files.exists(output) && Files.size(output) > 0;
+        BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        if (!exists) {
+            writer.write("timestamp,environment,probe,available,status,latency_ms");
+            writer.newLine();
+        }
+        return writer;
+    }
+
+    private void write(BufferedWriter writer, Probe probe, ProbeSeries.Sample sample) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(String.format("%s,%s,%s,%b,%d,%.3f", Instant.ofEpochMilli(sample.timestampMillis),
+                    environment, probe.getName(), sample.available, sample.statusCode,
+                    sample.latencyMicros / 1000.0));
+            writer.newLine();
+        } catch (IOException e) {
+            log.debug("Could not write monitor sample: {}", e.getMessage());
+        }
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private final List<Probe> probes = new ArrayList<>();
+        private String environment = "default";
+        private RequestSpecification baseSpec;
+        private LeasePool leases;
+        private Duration interval = Duration.ofMinutes(1);
+        private SloPolicy policy;
+        private AlertSink alertSink = new LoggingAlertSink();
+        private Path output;
+
+        private Builder() {
+        }
+
+        public Builder environment(String environment) {
+            this.environment = environment;
+            return this;
+        }
+
+        public Builder probes(List<Probe> probes) {
+            this.probes.addAll(probes);
+            return this;
+        }
+
+        /**
+         * Spec for unauthenticated probes; leased specs are derived from it.
+         */
+        public Builder baseSpec(RequestSpecification baseSpec) {
+            this.baseSpec = baseSpec;
+            return this;
+        }
+
+        public Builder leases(LeasePool leases) {
+            this.leases = leases;
+            return this;
+        }
+
+        public Builder interval(Duration interval) {
+            this.interval = interval;
+            return this;
+        }
+
+        public Builder policy(SloPolicy policy) {
+            this.policy = policy;
+            return this;
+        }
+
+        public Builder alertSink(AlertSink alertSink) {
+            this.alertSink = alertSink;
+            return this;
+        }
+
+        /**
+         * CSV file the samples are appended to, or null for none.
+         */
+        public Builder output(Path output) {
+            this.output = output;
+            return this;
+        }
+
+        public SyntheticMonitor build() {
+            if (probes.isEmpty() || baseSpec == null || policy == null) {
+                throw new IllegalStateException("Probes, a base spec and an SLO policy are required");
+            }
+            if (leases == null && probes.stream().anyMatch(Probe::isAuthenticated)) {
+                throw new IllegalStateException("Authenticated probes require a lease pool");
+            }
+            return new SyntheticMonitor(this);
+        }
+    }
+}
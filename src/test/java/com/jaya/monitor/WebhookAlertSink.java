@@ -0,0 +1,59 @@
+package com.jaya.monitor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * POSTs each alert as a JSON object to a webhook (chat, paging or incident
+ * tooling). Uses the JDK client rather than RestAssured so alert traffic is
+ * not counted as API traffic. Alerts are also logged, so a webhook outage
+ * does not lose them.
+ */
+public class WebhookAlertSink implements AlertSink {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookAlertSink.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final URI url;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    private final LoggingAlertSink fallback = new LoggingAlertSink();
+
+    public WebhookAlertSink(String url) {
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("monitor.alert.webhook.url is required for the webhook sink");
+        }
+        this.url = URI.create(url);
+    }
+
+    @Override
+    public void send(Alert alert) {
+        fallback.send(alert);
+        try {
+            HttpRequest request = HttpRequest.newBuilder(url)
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(alert.toMap())))
+                    .build();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                log.warn("[ALERT] Webhook returned status {}", response.statusCode());
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("[ALERT] Could not serialize alert: {}", e.getMessage());
+        } catch (IOException e) {
+            log.warn("[ALERT] Webhook delivery failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.jaya.profiling;
+
+import com.jaya.config.ConfigManager;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Opt-in Java Flight Recorder session covering the whole suite run
+ * ({@code -Dprofiling.enabled=true}). Uses the JDK "profile" settings plus
+ * {@link RequestEvent}, writes the recording to {@code profiling.output} and
+ * logs a {@link ProfileSummary} when stopped.
+ */
+public final class FlightRecorderSession {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderSession.class);
+
+    private static Recording recording;
+    private static Path output;
+
+    private FlightRecorderSession() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static synchronized void start() {
+        if (!ConfigManager.isProfilingEnabled() || recording != null) {
+            return;
+        }
+        try {
+            output = Paths.get(ConfigManager.getProfilingOutput());
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            Recording newRecording = new Recording(Configuration.getConfiguration("profile"));
+            newRecording.setName("api-automation");
+            newRecording.enable(RequestEvent.class);
+            newRecording.enable("jdk.ExecutionSample")
+                    .withPeriod(Duration.ofMillis(ConfigManager.getProfilingSamplePeriodMillis()));
+            newRecording.setToDisk(true);
+            newRecording.setDestination(output);
+            newRecording.start();
+            recording = newRecording;
+            log.info("JFR recording started, writing to {}", output.toAbsolutePath());
+        } catch (IOException | ParseException | RuntimeException e) {
+            log.warn("Could not start JFR recording: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the recording, writes it to disk and logs the attribution summary.
+     */
+    public static synchronized void stop() {
+        if (recording == null) {
+            return;
+        }
+        try {
+            recording.stop();
+            log.info("JFR recording written to {}", output.toAbsolutePath());
+            ProfileSummary.analyze(output).logSummary();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not analyze JFR recording: {}", e.getMessage());
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public static synchronized boolean isRecording() {
+        return recording != null;
+    }
+}
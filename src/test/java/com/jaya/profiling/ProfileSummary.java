@@ -0,0 +1,239 @@
+package com.jaya.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Attributes CPU samples and sampled allocation bytes from a JFR recording
+ * to the endpoint whose {@link RequestEvent} was open on the sampled thread,
+ * and to the framework component owning the innermost recognisable frame
+ * (RestAssured/Groovy, Allure, the request logger, JSON, ...).
+ */
+public final class ProfileSummary {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileSummary.class);
+    private static final String LINE = "-".repeat(110);
+
+    public static final String OUTSIDE_REQUESTS = "(outside requests)";
+    public static final String OTHER = "Other";
+
+    /** Frame prefixes per component, checked in order for each frame */
+    private static final String[][] COMPONENTS = {
+            { "Request logger", "com.jaya.utils.RequestResponseLogger" },
+            { "Allure", "io.qameta.allure", "org.aspectj" },
+            { "RestAssured/Groovy", "io.restassured", "groovy.", "org.codehaus.groovy", "org.apache.groovy" },
+            { "HttpClient", "org.apache.http" },
+            { "JSON", "com.fasterxml.jackson", "com.google.gson" },
+            { "Logging", "ch.qos.logback", "org.slf4j" },
+            { "TestNG", "org.testng" },
+            { "Framework", "com.jaya" },
+            { "JDK network/TLS", "sun.security.ssl", "sun.nio", "sun.net", "java.net" },
+    };
+
+    /**
+     * CPU and allocation attributed to one endpoint or component.
+     */
+    public static final class Usage {
+        private long requests;
+        private long cpuSamples;
+        private long allocatedBytes;
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getCpuSamples() {
+            return cpuSamples;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    private final Map<String, Usage> byEndpoint = new TreeMap<>();
+    private final Map<String, Usage> byComponent = new LinkedHashMap<>();
+    private long totalCpuSamples;
+    private long totalAllocatedBytes;
+
+    private ProfileSummary() {
+        for (String[] component : COMPONENTS) {
+            byComponent.put(component[0], new Usage());
+        }
+        byComponent.put(OTHER, new Usage());
+    }
+
+    /**
+     * Reads a recording twice: first to index request intervals per thread,
+     * then to attribute samples to them.
+     */
+    public static ProfileSummary analyze(Path recordingFile) throws IOException {
+        ProfileSummary summary = new ProfileSummary();
+        Map<Long, List<Interval>> intervals = new HashMap<>();
+
+        try (RecordingFile file = new RecordingFile(recordingFile)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (RequestEvent.NAME.equals(event.getEventType().getName()) && event.getThread() != null) {
+                    String endpoint = event.getString("method") + " " + event.getString("endpoint");
+                    intervals.computeIfAbsent(event.getThread().getJavaThreadId(), k -> new ArrayList<>())
+                            .add(new Interval(event.getStartTime(), event.getEndTime(), endpoint));
+                    summary.usage(summary.byEndpoint, endpoint).requests++;
+                }
+            }
+        }
+        intervals.values().forEach(Collections::sort);
+
+        try (RecordingFile file = new RecordingFile(recordingFile)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample":
+                        summary.attribute(event, event.getThread("sampledThread"), intervals, 1, 0);
+                        break;
+                    case "jdk.ObjectAllocationSample":
+                        summary.attribute(event, event.getThread(), intervals, 0, event.getLong("weight"));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return summary;
+    }
+
+    public Map<String, Usage> getByEndpoint() {
+        return Collections.unmodifiableMap(byEndpoint);
+    }
+
+    public Map<String, Usage> getByComponent() {
+        return Collections.unmodifiableMap(byComponent);
+    }
+
+    public long getTotalCpuSamples() {
+        return totalCpuSamples;
+    }
+
+    public long getTotalAllocatedBytes() {
+        return totalAllocatedBytes;
+    }
+
+    public void logSummary() {
+        log.info("\n{}\nPROFILE SUMMARY: {} CPU samples, {} MB sampled allocation\n{}", LINE, totalCpuSamples,
+                String.format("%.1f", totalAllocatedBytes / 1048576.0), LINE);
+        log.info(String.format("%-50s %8s %10s %7s %12s %12s", "ENDPOINT", "requests", "cpu", "cpu%", "alloc MB",
+                "KB/request"));
+        byEndpoint.forEach((endpoint, usage) -> log.info(String.format("%-50s %8d %10d %6.1f%% %12.1f %12s",
+                endpoint, usage.requests, usage.cpuSamples, percent(usage.cpuSamples, totalCpuSamples),
+                usage.allocatedBytes / 1048576.0,
+                usage.requests > 0 ? String.format("%.1f", usage.allocatedBytes / 1024.0 / usage.requests) : "-")));
+        log.info(LINE);
+        log.info(String.format("%-50s %8s %10s %7s %12s %7s", "COMPONENT", "", "cpu", "cpu%", "alloc MB", "alloc%"));
+        byComponent.forEach((component, usage) -> log.info(String.format("%-50s %8s %10d %6.1f%% %12.1f %6.1f%%",
+                component, "", usage.cpuSamples, percent(usage.cpuSamples, totalCpuSamples),
+                usage.allocatedBytes / 1048576.0, percent(usage.allocatedBytes, totalAllocatedBytes))));
+        log.info(LINE);
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private void attribute(RecordedEvent event, RecordedThread thread, Map<Long, List<Interval>> intervals,
+                           long cpuSamples, long allocatedBytes) {
+        String endpoint = OUTSIDE_REQUESTS;
+        if (thread != null) {
+            List<Interval> threadIntervals = intervals.get(thread.getJavaThreadId());
+            if (threadIntervals != null) {
+                Interval interval = find(threadIntervals, event.getStartTime());
+                if (interval != null) {
+                    endpoint = interval.endpoint;
+                }
+            }
+        }
+        Usage endpointUsage = usage(byEndpoint, endpoint);
+        Usage componentUsage = byComponent.get(component(event.getStackTrace()));
+        endpointUsage.cpuSamples += cpuSamples;
+        endpointUsage.allocatedBytes += allocatedBytes;
+        componentUsage.cpuSamples += cpuSamples;
+        componentUsage.allocatedBytes += allocatedBytes;
+        totalCpuSamples += cpuSamples;
+        totalAllocatedBytes += allocatedBytes;
+    }
+
+    private Usage usage(Map<String, Usage> map, String key) {
+        return map.computeIfAbsent(key, k -> new Usage());
+    }
+
+    private static Interval find(List<Interval> intervals, Instant time) {
+        int low = 0;
+        int high = intervals.size() - 1;
+        Interval candidate = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Interval interval = intervals.get(mid);
+            if (interval.start.isAfter(time)) {
+                high = mid - 1;
+            } else {
+                candidate = interval;
+                low = mid + 1;
+            }
+        }
+        return candidate != null && !candidate.end.isBefore(time) ? candidate : null;
+    }
+
+    private static String component(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return OTHER;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.getMethod() == null || frame.getMethod().getType() == null) {
+                continue;
+            }
+            String className = frame.getMethod().getType().getName();
+            for (String[] component : COMPONENTS) {
+                for (int i = 1; i < component.length; i++) {
+                    if (className.startsWith(component[i])) {
+                        return component[0];
+                    }
+                }
+            }
+        }
+        return OTHER;
+    }
+
+    private static double percent(long part, long total) {
+        return total > 0 ? part * 100.0 / total : 0;
+    }
+
+    private static final class Interval implements Comparable<Interval> {
+        final Instant start;
+        final Instant end;
+        final String endpoint;
+
+        Interval(Instant start, Instant end, String endpoint) {
+            this.start = start;
+            this.end = end;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public int compareTo(Interval other) {
+            return start.compareTo(other.start);
+        }
+    }
+}
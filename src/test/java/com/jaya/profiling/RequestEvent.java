@@ -0,0 +1,37 @@
+package com.jaya.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one HTTP attempt made through BaseClient. Costs next to
+ * nothing unless a recording with this event enabled is running.
+ */
+@Name(RequestEvent.NAME)
+@Label("API Request")
+@Category({ "Expense API Automation", "HTTP" })
+@Description("An HTTP attempt made by the test framework")
+@StackTrace(false)
+public class RequestEvent extends Event {
+
+    public static final String NAME = "com.jaya.ApiRequest";
+
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Status Code")
+    public int statusCode;
+
+    @Label("Test ID")
+    public String testId;
+
+    @Label("Request ID")
+    public String requestId;
+}
@@ -0,0 +1,189 @@
+package com.jaya.scaling;
+
+import com.jaya.metrics.LatencyHistogram;
+import com.jaya.utils.TestContext;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop measurement of one workload at one concurrency level: that
+ * many threads call it back to back. Throughput is sampled every warm-up
+ * window until two windows in a row agree within the steady-state tolerance
+ * (or the warm-up limit is hit, which the result records), then latency and
+ * throughput are measured over a fixed window. Responses of 400 and above
+ * count as errors.
+ */
+public final class ClosedLoop {
+
+    private static final Logger log = LoggerFactory.getLogger(ClosedLoop.class);
+
+    private static final int WARM_UP = 0;
+    private static final int MEASURE = 1;
+    private static final int DONE = 2;
+
+    private final Duration warmUpWindow;
+    private final Duration maxWarmUp;
+    private final Duration measure;
+    private final double steadyTolerance;
+
+    public ClosedLoop(Duration warmUpWindow, Duration maxWarmUp, Duration measure, double steadyTolerance) {
+        if (warmUpWindow.isZero() || warmUpWindow.isNegative() || measure.isZero() || measure.isNegative()) {
+            throw new IllegalArgumentException("Warm-up window and measurement must be positive");
+        }
+        if (steadyTolerance <= 0) {
+            throw new IllegalArgumentException("Steady-state tolerance must be positive");
+        }
+        this.warmUpWindow = warmUpWindow;
+        this.maxWarmUp = maxWarmUp;
+        this.measure = measure;
+        this.steadyTolerance = steadyTolerance;
+    }
+
+    /**
+     * Told when the measurement window opens and closes, e.g. to measure
+     * other traffic over exactly the same window.
+     */
+    public interface WindowListener {
+        default void opened() {
+        }
+
+        default void closed() {
+        }
+    }
+
+    /**
+     * What one run measured.
+     */
+    public static class Result {
+        public final LatencyHistogram latency;
+        public final int errors;
+        public final double throughput;
+        public final boolean steady;
+        public final double warmUpSeconds;
+
+        Result(LatencyHistogram latency, int errors, double throughput, boolean steady, double warmUpSeconds) {
+            this.latency = latency;
+            this.errors = errors;
+            this.throughput = throughput;
+            this.steady = steady;
+            this.warmUpSeconds = warmUpSeconds;
+        }
+    }
+
+    public Result run(Supplier<Response> workload, int threads) {
+        return run(workload, threads, new WindowListener() { });
+    }
+
+    public Result run(Supplier<Response> workload, int threads, WindowListener listener) {
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder warmUpCompleted = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicInteger phase = new AtomicInteger(WARM_UP);
+
+        Runnable loop = () -> {
+            while (true) {
+                int started = phase.get();
+                if (started == DONE) {
+                    return;
+                }
+                long start = System.nanoTime();
+                boolean failed;
+                try {
+                    failed = workload.get().getStatusCode() >= 400;
+                } catch (RuntimeException e) {
+                    failed = true;
+                }
+                long elapsed = System.nanoTime() - start;
+                if (started == WARM_UP) {
+                    warmUpCompleted.increment();
+                    continue;
+                }
+                // Only requests that started and finished inside the window are measured
+                if (phase.get() != MEASURE) {
+                    return;
+                }
+                latency.recordNanos(elapsed);
+                if (failed) {
+                    errors.increment();
+                }
+            }
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "closed-loop-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        TestContext.Snapshot context = TestContext.capture();
+        for (int i = 0; i < threads; i++) {
+            pool.execute(context.wrap(loop));
+        }
+
+        boolean steady = false;
+        long warmUpStart = System.nanoTime();
+        long measureNanos = 0;
+        try {
+            steady = warmUp(warmUpCompleted);
+            listener.opened();
+            phase.set(MEASURE);
+            long measureStart = System.nanoTime();
+            Thread.sleep(measure.toMillis());
+            phase.set(DONE);
+            measureNanos = System.nanoTime() - measureStart;
+            listener.closed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[SCALING] Interrupted with {} threads running", threads);
+        } finally {
+            phase.set(DONE);
+            pool.shutdown();
+            awaitQuietly(pool);
+        }
+        double warmUpSeconds = (System.nanoTime() - warmUpStart - measureNanos) / 1e9;
+        double throughput = measureNanos > 0 ? latency.getCount() / (measureNanos / 1e9) : 0.0;
+        return new Result(latency, errors.intValue(), throughput, steady, warmUpSeconds);
+    }
+
+    /**
+     * Waits until throughput is steady; false when the warm-up limit was
+     * reached first.
+     */
+    private boolean warmUp(LongAdder completed) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWarmUp.toNanos();
+        double windowSeconds = warmUpWindow.toNanos() / 1e9;
+        long last = completed.sum();
+        double previousRate = -1;
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(warmUpWindow.toMillis());
+            long now = completed.sum();
+            double rate = (now - last) / windowSeconds;
+            last = now;
+            if (previousRate > 0 && Math.abs(rate - previousRate) <= steadyTolerance * previousRate) {
+                return true;
+            }
+            previousRate = rate;
+        }
+        return false;
+    }
+
+    private void awaitQuietly(ExecutorService pool) {
+        try {
+            // In-flight requests finish on their own; a hung one is bounded by the response timeout
+            if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
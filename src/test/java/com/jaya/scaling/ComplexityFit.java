@@ -0,0 +1,167 @@
+package com.jaya.scaling;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Least-squares fit of latency against dataset size. Every candidate
+ * {@code t = a + b * f(n)} is fitted with {@code b >= 0}; the one with the
+ * smallest residual wins, unless the fitted growth across the measured
+ * sizes is too small to matter, which makes it O(1). Independently, the
+ * exponent {@code k} of {@code t = a + b * n^k} is searched for, so an
+ * O(n²) endpoint reads as a number close to 2 whatever its fixed overhead.
+ */
+public final class ComplexityFit {
+
+    public static final String CONSTANT = "O(1)";
+    // Growth below this fraction of the fitted latency at the smallest size is noise
+    private static final double MIN_GROWTH = 0.10;
+    private static final double MAX_EXPONENT = 3.0;
+    private static final double EXPONENT_STEP = 0.01;
+    private static final Map<String, DoubleUnaryOperator> MODELS = new LinkedHashMap<>();
+
+    static {
+        MODELS.put("O(log n)", n -> Math.log(Math.max(1.0, n)));
+        MODELS.put("O(n)", n -> n);
+        MODELS.put("O(n log n)", n -> n * Math.log(Math.max(1.0, n)));
+        MODELS.put("O(n^2)", n -> n * n);
+    }
+
+    public final String model;
+    public final double intercept;
+    public final double slope;
+    // Of the chosen model; 0 for O(1), whose flat line explains no variance
+    public final double rSquared;
+    public final double exponent;
+    public final double growth;
+    public final Map<String, Double> rSquaredByModel;
+
+    private ComplexityFit(String model, double intercept, double slope, double rSquared, double exponent,
+                          double growth, Map<String, Double> rSquaredByModel) {
+        this.model = model;
+        this.intercept = intercept;
+        this.slope = slope;
+        this.rSquared = rSquared;
+        this.exponent = exponent;
+        this.growth = growth;
+        this.rSquaredByModel = Collections.unmodifiableMap(rSquaredByModel);
+    }
+
+    /**
+     * Fits {@code latencies} (ms) against {@code sizes}; null with fewer than
+     * three distinct sizes, where every model fits.
+     */
+    public static ComplexityFit fit(double[] sizes, double[] latencies) {
+        TreeSet<Double> distinct = new TreeSet<>();
+        for (double size : sizes) {
+            distinct.add(size);
+        }
+        if (distinct.size() < 3) {
+            return null;
+        }
+        double min = distinct.first();
+        double max = distinct.last();
+
+        Map<String, Double> rSquaredByModel = new LinkedHashMap<>();
+        String best = null;
+        double[] bestLine = null;
+        double bestRss = Double.MAX_VALUE;
+        for (Map.Entry<String, DoubleUnaryOperator> model : MODELS.entrySet()) {
+            double[] x = apply(model.getValue(), sizes);
+            double[] line = line(x, latencies);
+            double rss = rss(x, latencies, line);
+            rSquaredByModel.put(model.getKey(), rSquared(latencies, rss));
+            if (rss < bestRss) {
+                best = model.getKey();
+                bestLine = line;
+                bestRss = rss;
+            }
+        }
+
+        DoubleUnaryOperator f = MODELS.get(best);
+        double growth = bestLine[1] * (f.applyAsDouble(max) - f.applyAsDouble(min));
+        double base = bestLine[0] + bestLine[1] * f.applyAsDouble(min);
+        if (growth < MIN_GROWTH * Math.abs(base)) {
+            return new ComplexityFit(CONSTANT, mean(latencies), 0.0, 0.0, 0.0, 0.0, rSquaredByModel);
+        }
+        return new ComplexityFit(best, bestLine[0], bestLine[1], rSquared(latencies, bestRss),
+                exponent(sizes, latencies), growth, rSquaredByModel);
+    }
+
+    /**
+     * {@code k} of the best fit {@code t = a + b * n^k}, {@code 0 <= k <= 3}.
+     */
+    private static double exponent(double[] sizes, double[] latencies) {
+        double best = 0.0;
+        double bestRss = Double.MAX_VALUE;
+        for (double k = EXPONENT_STEP; k <= MAX_EXPONENT + 1e-9; k += EXPONENT_STEP) {
+            double power = k;
+            double[] x = apply(n -> Math.pow(Math.max(1.0, n), power), sizes);
+            double[] line = line(x, latencies);
+            double rss = rss(x, latencies, line);
+            if (line[1] > 0 && rss < bestRss) {
+                best = k;
+                bestRss = rss;
+            }
+        }
+        return Math.round(best * 100) / 100.0;
+    }
+
+    private static double[] apply(DoubleUnaryOperator f, double[] sizes) {
+        double[] x = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            x[i] = f.applyAsDouble(sizes[i]);
+        }
+        return x;
+    }
+
+    /**
+     * Intercept and slope of the least-squares line, the slope clamped at 0.
+     */
+    private static double[] line(double[] x, double[] y) {
+        double meanX = mean(x);
+        double meanY = mean(y);
+        double sxy = 0.0;
+        double sxx = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            sxy += (x[i] - meanX) * (y[i] - meanY);
+            sxx += (x[i] - meanX) * (x[i] - meanX);
+        }
+        double slope = sxx > 0 ? Math.max(0.0, sxy / sxx) : 0.0;
+        return new double[] { meanY - slope * meanX, slope };
+    }
+
+    private static double rss(double[] x, double[] y, double[] line) {
+        double rss = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            double residual = y[i] - (line[0] + line[1] * x[i]);
+            rss += residual * residual;
+        }
+        return rss;
+    }
+
+    private static double rSquared(double[] y, double rss) {
+        double meanY = mean(y);
+        double tss = 0.0;
+        for (double value : y) {
+            tss += (value - meanY) * (value - meanY);
+        }
+        return tss > 0 ? 1.0 - rss / tss : 1.0;
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0.0;
+        for (double value : values) {
+            sum += value;
+        }
+        return values.length > 0 ? sum / values.length : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (R^2=%.3f, n^%.2f)", model, rSquared, exponent);
+    }
+}
@@ -0,0 +1,26 @@
+package com.jaya.scaling;
+
+/**
+ * Server-side data an endpoint's cost depends on, sized by a
+ * {@link ScalingSweep} before each row of its grid.
+ */
+public interface Dataset {
+
+    /**
+     * Grows or shrinks the data to {@code size} items through the API and
+     * returns how many there are now, which may differ when seeding requests
+     * failed or the dataset cannot shrink.
+     */
+    int resize(int size);
+
+    /**
+     * Current number of items.
+     */
+    int size();
+
+    /**
+     * Removes what was seeded; called once the sweep is over.
+     */
+    default void clear() {
+    }
+}
@@ -0,0 +1,128 @@
+package com.jaya.scaling;
+
+import com.jaya.clients.ExpenseClient;
+import com.jaya.payloads.ExpensePayload;
+import com.jaya.pojo.Expense;
+import com.jaya.utils.TestContext;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Expenses of the user behind an {@link ExpenseClient}. The i-th expense is
+ * dated {@code i % spanDays} days ago and falls in category
+ * {@code i % categories.size()}, so a date range or category filter selects
+ * a known, constant fraction of the dataset at every size.
+ */
+public final class ExpenseDataset implements Dataset {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseDataset.class);
+    public static final List<String> CATEGORIES = List.of("Food", "Travel", "Rent", "Utilities", "Shopping");
+
+    private final ExpenseClient expenseClient;
+    private final int spanDays;
+    private final int threads;
+    private final LocalDate today = LocalDate.now();
+    // Ids in seeding order; shrinking removes the newest
+    private final List<Long> ids = Collections.synchronizedList(new ArrayList<>());
+
+    public ExpenseDataset(ExpenseClient expenseClient, int spanDays, int threads) {
+        this.expenseClient = expenseClient;
+        this.spanDays = Math.max(1, spanDays);
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public int resize(int size) {
+        int current = ids.size();
+        if (size > current) {
+            List<Callable<Void>> creates = new ArrayList<>();
+            TestContext.Snapshot context = TestContext.capture();
+            for (int i = current; i < size; i++) {
+                int index = i;
+                creates.add(context.wrap(() -> {
+                    create(index);
+                    return null;
+                }));
+            }
+            runAll(creates);
+        } else if (size < current) {
+            List<Long> removed = new ArrayList<>(ids.subList(size, current));
+            ids.subList(size, current).clear();
+            deleteAll(removed);
+        }
+        log.info("[SCALING] Expense dataset resized {} -> {} (asked for {})", current, ids.size(), size);
+        return ids.size();
+    }
+
+    @Override
+    public int size() {
+        return ids.size();
+    }
+
+    @Override
+    public void clear() {
+        List<Long> removed = new ArrayList<>(ids);
+        ids.clear();
+        deleteAll(removed);
+    }
+
+    /**
+     * Start of a date range ending today that covers {@code days} of the
+     * {@code spanDays} the expenses are spread over.
+     */
+    public String startDate(int days) {
+        return today.minusDays(Math.max(0, days - 1)).toString();
+    }
+
+    public String endDate() {
+        return today.toString();
+    }
+
+    private void create(int index) {
+        Expense expense = ExpensePayload.createExpense("Scaling expense " + index, 10.0 + index % 90,
+                CATEGORIES.get(index % CATEGORIES.size()));
+        expense.setDate(today.minusDays(index % spanDays).toString());
+        Response response = expenseClient.createExpense(expense);
+        Object id = response.getStatusCode() < 300 ? response.jsonPath().get("id") : null;
+        if (id == null) {
+            log.warn("[SCALING] Seed expense failed with status {}", response.getStatusCode());
+            return;
+        }
+        ids.add(Long.valueOf(String.valueOf(id)));
+    }
+
+    private void deleteAll(List<Long> removed) {
+        List<Callable<Void>> deletes = new ArrayList<>();
+        TestContext.Snapshot context = TestContext.capture();
+        for (Long id : removed) {
+            deletes.add(context.wrap(() -> {
+                expenseClient.deleteExpense(id);
+                return null;
+            }));
+        }
+        runAll(deletes);
+    }
+
+    private void runAll(List<Callable<Void>> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
+        try {
+            pool.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
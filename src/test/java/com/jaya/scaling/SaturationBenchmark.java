@@ -0,0 +1,270 @@
+package com.jaya.scaling;
+
+import com.jaya.utils.TestContext;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Sweeps the concurrency of one workload to find where its throughput stops
+ * growing, while a fixed number of probe threads call other endpoints the
+ * whole time. Probe latency is measured alone first (the baseline), then over
+ * exactly the measurement window of every concurrency level, which shows
+ * how much the workload's saturation slows down unrelated traffic.
+ */
+public class SaturationBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(SaturationBenchmark.class);
+
+    private final String name;
+    private final Supplier<Response> workload;
+    private final int[] concurrency;
+    private final Map<String, Supplier<Response>> probes;
+    private final int probeThreads;
+    private final double kneeFraction;
+    private final Duration warmUpWindow;
+    private final Duration maxWarmUp;
+    private final Duration measure;
+    private final ClosedLoop loop;
+
+    private SaturationBenchmark(Builder builder) {
+        this.name = builder.name;
+        this.workload = builder.workload;
+        this.concurrency = builder.concurrency;
+        this.probes = builder.probes;
+        this.probeThreads = builder.probeThreads;
+        this.kneeFraction = builder.kneeFraction;
+        this.warmUpWindow = builder.warmUpWindow;
+        this.maxWarmUp = builder.maxWarmUp;
+        this.measure = builder.measure;
+        this.loop = new ClosedLoop(builder.warmUpWindow, builder.maxWarmUp, builder.measure,
+                builder.steadyTolerance);
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public SaturationReport run() {
+        SaturationReport report = new SaturationReport(name, kneeFraction);
+        ProbeLoop probeLoop = probes.isEmpty() ? null : new ProbeLoop();
+        try {
+            if (probeLoop != null) {
+                probeLoop.start();
+                // Let every probe thread get past its first, cold call before measuring
+                probeLoop.warmedUp.await(maxWarmUp.toMillis(), TimeUnit.MILLISECONDS);
+                Thread.sleep(warmUpWindow.toMillis());
+                probeLoop.opened();
+                Thread.sleep(measure.toMillis());
+                probeLoop.closed();
+                report.setBaseline(probeLoop.take());
+            }
+            for (int threads : concurrency) {
+                ClosedLoop.Result result = probeLoop != null
+                        ? loop.run(workload, threads, probeLoop)
+                        : loop.run(workload, threads);
+                Map<String, SaturationReport.Probe> probeStats = probeLoop != null ? probeLoop.take() : Map.of();
+                log.info("[SATURATION] {} c={}: {} req/s, p50 {}ms, p99 {}ms{}", name, threads,
+                        String.format("%.1f", result.throughput),
+                        String.format("%.1f", result.latency.percentileMillis(50)),
+                        String.format("%.1f", result.latency.percentileMillis(99)),
+                        result.steady ? "" : " (not steady)");
+                report.add(new SaturationReport.Level(threads, result, probeStats));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[SATURATION] Interrupted, reporting the levels measured so far");
+        } finally {
+            if (probeLoop != null) {
+                probeLoop.stop();
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Probe threads calling every probe endpoint in turn, recording latency
+     * and errors per endpoint into the open window, if any.
+     */
+    private final class ProbeLoop implements ClosedLoop.WindowListener {
+        private final AtomicReference<Map<String, SaturationReport.Probe>> window = new AtomicReference<>();
+        private final List<Map.Entry<String, Supplier<Response>>> calls = new ArrayList<>(probes.entrySet());
+        private final CountDownLatch warmedUp = new CountDownLatch(probeThreads);
+        private Map<String, SaturationReport.Probe> closedWindow = Map.of();
+        private ExecutorService pool;
+        private volatile boolean running = true;
+
+        void start() {
+            pool = Executors.newFixedThreadPool(probeThreads, runnable -> {
+                Thread thread = new Thread(runnable, "saturation-probe");
+                thread.setDaemon(true);
+                return thread;
+            });
+            TestContext.Snapshot context = TestContext.capture();
+            for (int i = 0; i < probeThreads; i++) {
+                int offset = i;
+                pool.execute(context.wrap(() -> probe(offset)));
+            }
+        }
+
+        private void probe(int offset) {
+            for (int i = offset; running; i++) {
+                Map.Entry<String, Supplier<Response>> call = calls.get(i % calls.size());
+                Map<String, SaturationReport.Probe> started = window.get();
+                long start = System.nanoTime();
+                boolean failed;
+                try {
+                    failed = call.getValue().get().getStatusCode() >= 400;
+                } catch (RuntimeException e) {
+                    log.debug("[SATURATION] Probe {} failed: {}", call.getKey(), e.getMessage());
+                    failed = true;
+                }
+                long elapsed = System.nanoTime() - start;
+                // Only calls that started and finished inside one window are measured
+                if (started != null && window.get() == started) {
+                    started.get(call.getKey()).record(elapsed, failed);
+                }
+                if (i == offset) {
+                    warmedUp.countDown();
+                }
+            }
+        }
+
+        @Override
+        public void opened() {
+            Map<String, SaturationReport.Probe> stats = new LinkedHashMap<>();
+            probes.keySet().forEach(endpoint -> stats.put(endpoint, new SaturationReport.Probe(endpoint)));
+            window.set(stats);
+        }
+
+        @Override
+        public void closed() {
+            Map<String, SaturationReport.Probe> stats = window.getAndSet(null);
+            closedWindow = stats != null ? stats : Map.of();
+        }
+
+        Map<String, SaturationReport.Probe> take() {
+            Map<String, SaturationReport.Probe> taken = closedWindow;
+            closedWindow = Map.of();
+            return taken;
+        }
+
+        void stop() {
+            running = false;
+            window.set(null);
+            pool.shutdown();
+            try {
+                if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                    pool.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private final String name;
+        private Supplier<Response> workload;
+        private int[] concurrency;
+        private final Map<String, Supplier<Response>> probes = new LinkedHashMap<>();
+        private int probeThreads = 2;
+        private double kneeFraction = 0.9;
+        private Duration warmUpWindow = Duration.ofSeconds(1);
+        private Duration maxWarmUp = Duration.ofSeconds(10);
+        private Duration measure = Duration.ofSeconds(5);
+        private double steadyTolerance = 0.10;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder workload(Supplier<Response> workload) {
+            this.workload = workload;
+            return this;
+        }
+
+        /**
+         * Concurrency levels of the workload; run in ascending order.
+         */
+        public Builder concurrency(int... concurrency) {
+            this.concurrency = Arrays.stream(concurrency).sorted().distinct().toArray();
+            return this;
+        }
+
+        /**
+         * Adds an unrelated endpoint whose latency is watched while the
+         * workload runs.
+         */
+        public Builder probe(String endpoint, Supplier<Response> probe) {
+            probes.put(endpoint, probe);
+            return this;
+        }
+
+        public Builder probeThreads(int probeThreads) {
+            this.probeThreads = probeThreads;
+            return this;
+        }
+
+        /**
+         * Share of peak throughput at which the curve counts as saturated;
+         * the knee is the lowest concurrency reaching it.
+         */
+        public Builder kneeFraction(double kneeFraction) {
+            this.kneeFraction = kneeFraction;
+            return this;
+        }
+
+        public Builder warmUpWindow(Duration warmUpWindow) {
+            this.warmUpWindow = warmUpWindow;
+            return this;
+        }
+
+        public Builder maxWarmUp(Duration maxWarmUp) {
+            this.maxWarmUp = maxWarmUp;
+            return this;
+        }
+
+        public Builder measure(Duration measure) {
+            this.measure = measure;
+            return this;
+        }
+
+        public Builder steadyTolerance(double steadyTolerance) {
+            this.steadyTolerance = steadyTolerance;
+            return this;
+        }
+
+        public SaturationBenchmark build() {
+            if (workload == null) {
+                throw new IllegalStateException("A workload is required");
+            }
+            if (concurrency == null || concurrency.length == 0 || concurrency[0] < 1) {
+                throw new IllegalStateException("At least one concurrency level >= 1 is required");
+            }
+            if (!probes.isEmpty() && probeThreads < 1) {
+                throw new IllegalStateException("Probes need at least one thread");
+            }
+            if (kneeFraction <= 0 || kneeFraction > 1) {
+                throw new IllegalStateException("kneeFraction must be in (0, 1]");
+            }
+            return new SaturationBenchmark(this);
+        }
+    }
+}
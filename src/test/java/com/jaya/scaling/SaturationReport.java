@@ -0,0 +1,293 @@
+package com.jaya.scaling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaya.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput curve of one workload against its concurrency, the knee of
+ * that curve, and the latency of unrelated probe endpoints at every level
+ * compared with their latency alone.
+ */
+public class SaturationReport {
+
+    private static final Logger log = LoggerFactory.getLogger(SaturationReport.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String LINE = "-".repeat(120);
+    // Probe p99 this many times its baseline means the workload is hurting everyone else
+    private static final double INTERFERENCE_FACTOR = 2.0;
+
+    /**
+     * Latency and errors of one probe endpoint over one window.
+     */
+    public static class Probe {
+        public final String endpoint;
+        public final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        Probe(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void record(long nanos, boolean failed) {
+            latency.recordNanos(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        public int getErrors() {
+            return errors.intValue();
+        }
+    }
+
+    /**
+     * One concurrency level of the workload.
+     */
+    public static class Level {
+        public final int concurrency;
+        public final ClosedLoop.Result result;
+        public final Map<String, Probe> probes;
+
+        Level(int concurrency, ClosedLoop.Result result, Map<String, Probe> probes) {
+            this.concurrency = concurrency;
+            this.result = result;
+            this.probes = Collections.unmodifiableMap(probes);
+        }
+
+        /**
+         * All probe endpoints together.
+         */
+        public LatencyHistogram probeLatency() {
+            return merged(probes);
+        }
+    }
+
+    public final String name;
+    private final double kneeFraction;
+    private final List<Level> levels = new ArrayList<>();
+    private Map<String, Probe> baseline = Map.of();
+
+    SaturationReport(String name, double kneeFraction) {
+        this.name = name;
+        this.kneeFraction = kneeFraction;
+    }
+
+    void add(Level level) {
+        levels.add(level);
+    }
+
+    void setBaseline(Map<String, Probe> baseline) {
+        this.baseline = Collections.unmodifiableMap(baseline);
+    }
+
+    public List<Level> getLevels() {
+        return Collections.unmodifiableList(levels);
+    }
+
+    /**
+     * Probe latency with the workload idle; empty without probes.
+     */
+    public Map<String, Probe> getBaseline() {
+        return baseline;
+    }
+
+    public int getErrors() {
+        return levels.stream().mapToInt(level -> level.result.errors).sum();
+    }
+
+    /**
+     * The level with the highest throughput; null when nothing was measured.
+     */
+    public Level getPeak() {
+        return levels.stream().max(Comparator.comparingDouble(level -> level.result.throughput)).orElse(null);
+    }
+
+    /**
+     * The lowest concurrency reaching {@code kneeFraction} of peak
+     * throughput: beyond it, more concurrency mostly adds queueing.
+     */
+    public Level getKnee() {
+        Level peak = getPeak();
+        if (peak == null) {
+            return null;
+        }
+        return levels.stream().filter(level -> level.result.throughput >= kneeFraction * peak.result.throughput)
+                .min(Comparator.comparingInt(level -> level.concurrency)).orElse(peak);
+    }
+
+    /**
+     * Little's law estimate of the concurrency the server can absorb before
+     * requests queue: peak throughput × the mean latency of the lowest level.
+     */
+    public double getOptimalConcurrency() {
+        Level peak = getPeak();
+        if (peak == null) {
+            return 0.0;
+        }
+        return peak.result.throughput * levels.get(0).result.latency.getMeanMillis() / 1000.0;
+    }
+
+    private static LatencyHistogram merged(Map<String, Probe> probes) {
+        LatencyHistogram merged = new LatencyHistogram();
+        probes.values().forEach(probe -> merged.merge(probe.latency));
+        return merged;
+    }
+
+    private double interference(Level level) {
+        double base = merged(baseline).percentileMillis(99);
+        return base > 0 ? level.probeLatency().percentileMillis(99) / base : 0.0;
+    }
+
+    // ==================== REPORTING ====================
+
+    public void logReport() {
+        log.info("\n{}\nSATURATION: {}\n{}", LINE, name, LINE);
+        log.info(String.format("%6s %9s %8s %7s %10s %10s %10s %12s %12s %9s %7s", "conc", "req/s", "per-thd",
+                "errors", "p50", "p95", "p99", "probe p50", "probe p99", "vs idle", "steady"));
+        if (!baseline.isEmpty()) {
+            LatencyHistogram idle = merged(baseline);
+            log.info(String.format("%6s %9s %8s %7s %10s %10s %10s %10.1fms %10.1fms %9s %7s", "idle", "-", "-", "-",
+                    "-", "-", "-", idle.percentileMillis(50), idle.percentileMillis(99), "x1.00", "-"));
+        }
+        for (Level level : levels) {
+            ClosedLoop.Result result = level.result;
+            LatencyHistogram probe = level.probeLatency();
+            log.info(String.format("%6d %9.1f %8.2f %7d %8.1fms %8.1fms %8.1fms %12s %12s %9s %7s",
+                    level.concurrency, result.throughput, result.throughput / level.concurrency, result.errors,
+                    result.latency.percentileMillis(50), result.latency.percentileMillis(95),
+                    result.latency.percentileMillis(99),
+                    probe.getCount() > 0 ? String.format("%.1fms", probe.percentileMillis(50)) : "-",
+                    probe.getCount() > 0 ? String.format("%.1fms", probe.percentileMillis(99)) : "-",
+                    baseline.isEmpty() ? "-" : String.format("x%.2f", interference(level)),
+                    result.steady ? "yes" : "no"));
+        }
+        log.info(LINE);
+        logFindings();
+        log.info(LINE);
+    }
+
+    /**
+     * Knee and peak of the throughput curve, what concurrency past the knee
+     * costs, and how much the workload slows the probes down.
+     */
+    private void logFindings() {
+        Level peak = getPeak();
+        Level knee = getKnee();
+        if (peak == null) {
+            return;
+        }
+        log.info(String.format("  Peak: %.1f req/s at c=%d; knee (%.0f%% of peak) at c=%d, p99 %.1fms",
+                peak.result.throughput, peak.concurrency, kneeFraction * 100, knee.concurrency,
+                knee.result.latency.percentileMillis(99)));
+        log.info(String.format("  Little's law: peak throughput x unloaded latency = %.1f requests in flight",
+                getOptimalConcurrency()));
+        Level last = levels.get(levels.size() - 1);
+        if (last != knee && knee.result.throughput > 0) {
+            log.info(String.format("  c=%d -> c=%d: throughput x%.2f, p99 x%.2f", knee.concurrency,
+                    last.concurrency, last.result.throughput / knee.result.throughput,
+                    ratio(last.result.latency.percentileMillis(99), knee.result.latency.percentileMillis(99))));
+        }
+        if (knee == last && levels.size() > 1) {
+            log.warn("  Throughput was still growing at the highest level: the knee may lie beyond c={}",
+                    last.concurrency);
+        }
+
+        if (!baseline.isEmpty()) {
+            log.info(String.format("  Unrelated endpoints at the knee: p99 x%.2f of idle; at c=%d: x%.2f",
+                    interference(knee), last.concurrency, interference(last)));
+            levels.stream().filter(level -> interference(level) >= INTERFERENCE_FACTOR).findFirst()
+                    .ifPresent(level -> log.warn("  From c={} on, unrelated endpoints are {}x slower at p99",
+                            level.concurrency, String.format("%.1f", interference(level))));
+            for (Map.Entry<String, Probe> probe : last.probes.entrySet()) {
+                Probe idle = baseline.get(probe.getKey());
+                log.info(String.format("    %-40s p99 %.1fms idle -> %.1fms at c=%d, %d errors", probe.getKey(),
+                        idle != null ? idle.latency.percentileMillis(99) : 0.0,
+                        probe.getValue().latency.percentileMillis(99), last.concurrency,
+                        probe.getValue().getErrors()));
+            }
+        }
+
+        for (Level level : levels) {
+            if (!level.result.steady) {
+                log.warn("  c={} was measured before throughput settled", level.concurrency);
+            }
+        }
+    }
+
+    private static double ratio(double value, double baseline) {
+        return baseline > 0 ? value / baseline : 0.0;
+    }
+
+    /**
+     * Writes all reports as one JSON document: the curve, knee and probe
+     * latency of every workload.
+     */
+    public static void writeJson(List<SaturationReport> reports, Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        List<Map<String, Object>> benchmarks = new ArrayList<>();
+        for (SaturationReport report : reports) {
+            Map<String, Object> benchmark = new LinkedHashMap<>();
+            benchmark.put("name", report.name);
+            Level peak = report.getPeak();
+            Level knee = report.getKnee();
+            benchmark.put("peakConcurrency", peak != null ? peak.concurrency : null);
+            benchmark.put("peakThroughput", peak != null ? round(peak.result.throughput) : null);
+            benchmark.put("kneeFraction", report.kneeFraction);
+            benchmark.put("kneeConcurrency", knee != null ? knee.concurrency : null);
+            benchmark.put("littleConcurrency", round(report.getOptimalConcurrency()));
+            benchmark.put("baseline", toMap(report.baseline));
+            benchmark.put("levels", report.levels.stream().map(SaturationReport::toMap).collect(Collectors.toList()));
+            benchmarks.add(benchmark);
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), Map.of("benchmarks", benchmarks));
+        log.info("[SATURATION] Wrote {}", output);
+    }
+
+    private static Map<String, Object> toMap(Level level) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("concurrency", level.concurrency);
+        map.put("requests", level.result.latency.getCount());
+        map.put("errors", level.result.errors);
+        map.put("throughput", round(level.result.throughput));
+        map.put("p50Ms", round(level.result.latency.percentileMillis(50)));
+        map.put("p95Ms", round(level.result.latency.percentileMillis(95)));
+        map.put("p99Ms", round(level.result.latency.percentileMillis(99)));
+        map.put("meanMs", round(level.result.latency.getMeanMillis()));
+        map.put("steady", level.result.steady);
+        map.put("probes", toMap(level.probes));
+        return map;
+    }
+
+    private static Map<String, Object> toMap(Map<String, Probe> probes) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Probe probe : probes.values()) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", probe.latency.getCount());
+            stats.put("errors", probe.getErrors());
+            stats.put("p50Ms", round(probe.latency.percentileMillis(50)));
+            stats.put("p99Ms", round(probe.latency.percentileMillis(99)));
+            map.put(probe.endpoint, stats);
+        }
+        return map;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
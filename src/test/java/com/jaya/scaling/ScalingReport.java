@@ -0,0 +1,251 @@
+package com.jaya.scaling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaya.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput and latency of each endpoint per dataset size and concurrency,
+ * with the complexity curve fitted to p50 and p99 against dataset size at
+ * every concurrency level.
+ */
+public class ScalingReport {
+
+    private static final Logger log = LoggerFactory.getLogger(ScalingReport.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String LINE = "-".repeat(120);
+    // Growth faster than n^SUPERLINEAR_EXPONENT is worth a look at the endpoint's queries
+    private static final double SUPERLINEAR_EXPONENT = 1.2;
+    private static final List<Double> FITTED_PERCENTILES = List.of(50.0, 99.0);
+
+    /**
+     * One cell of the grid.
+     */
+    public static class Cell {
+        public final String endpoint;
+        public final int requestedSize;
+        public final int size;
+        public final int concurrency;
+        public final LatencyHistogram latency;
+        public final int errors;
+        public final double throughput;
+        public final boolean steady;
+        public final double warmUpSeconds;
+
+        Cell(String endpoint, int requestedSize, int size, int concurrency, LatencyHistogram latency, int errors,
+             double throughput, boolean steady, double warmUpSeconds) {
+            this.endpoint = endpoint;
+            this.requestedSize = requestedSize;
+            this.size = size;
+            this.concurrency = concurrency;
+            this.latency = latency;
+            this.errors = errors;
+            this.throughput = throughput;
+            this.steady = steady;
+            this.warmUpSeconds = warmUpSeconds;
+        }
+    }
+
+    /**
+     * Complexity of one endpoint's latency percentile at one concurrency
+     * level; {@code fit} is null with fewer than three distinct sizes.
+     */
+    public static class Fit {
+        public final String endpoint;
+        public final int concurrency;
+        public final double percentile;
+        public final ComplexityFit fit;
+
+        Fit(String endpoint, int concurrency, double percentile, ComplexityFit fit) {
+            this.endpoint = endpoint;
+            this.concurrency = concurrency;
+            this.percentile = percentile;
+            this.fit = fit;
+        }
+    }
+
+    public final String name;
+    private final List<Cell> cells = new ArrayList<>();
+
+    ScalingReport(String name) {
+        this.name = name;
+    }
+
+    void add(Cell cell) {
+        cells.add(cell);
+    }
+
+    public List<Cell> getCells() {
+        return Collections.unmodifiableList(cells);
+    }
+
+    public int getErrors() {
+        return cells.stream().mapToInt(cell -> cell.errors).sum();
+    }
+
+    public List<Fit> getFits() {
+        List<Fit> fits = new ArrayList<>();
+        for (String endpoint : endpoints()) {
+            Set<Integer> levels = cells.stream().filter(cell -> cell.endpoint.equals(endpoint))
+                    .map(cell -> cell.concurrency).collect(Collectors.toCollection(LinkedHashSet::new));
+            for (int concurrency : levels) {
+                List<Cell> series = cells.stream()
+                        .filter(cell -> cell.endpoint.equals(endpoint) && cell.concurrency == concurrency
+                                && cell.latency.getCount() > 0)
+                        .collect(Collectors.toList());
+                double[] sizes = series.stream().mapToDouble(cell -> cell.size).toArray();
+                for (double percentile : FITTED_PERCENTILES) {
+                    double[] latencies = series.stream().mapToDouble(cell -> cell.latency.percentileMillis(percentile))
+                            .toArray();
+                    fits.add(new Fit(endpoint, concurrency, percentile, ComplexityFit.fit(sizes, latencies)));
+                }
+            }
+        }
+        return fits;
+    }
+
+    private Set<String> endpoints() {
+        return cells.stream().map(cell -> cell.endpoint).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    // ==================== REPORTING ====================
+
+    public void logReport() {
+        log.info("\n{}\nSCALING: {}\n{}", LINE, name, LINE);
+        log.info(String.format("%-42s %8s %6s %9s %7s %10s %10s %10s %10s %7s", "endpoint", "size", "conc",
+                "req/s", "errors", "p50", "p95", "p99", "mean", "steady"));
+        for (Cell cell : cells) {
+            log.info(String.format("%-42s %8d %6d %9.1f %7d %8.1fms %8.1fms %8.1fms %8.1fms %7s", cell.endpoint,
+                    cell.size, cell.concurrency, cell.throughput, cell.errors, cell.latency.percentileMillis(50),
+                    cell.latency.percentileMillis(95), cell.latency.percentileMillis(99),
+                    cell.latency.getMeanMillis(), cell.steady ? "yes" : "no"));
+        }
+        log.info(LINE);
+        logFindings();
+        log.info(LINE);
+    }
+
+    /**
+     * Fitted complexity per endpoint and concurrency, throughput gained from
+     * concurrency, and cells that never reached a steady state.
+     */
+    private void logFindings() {
+        for (Fit fit : getFits()) {
+            if (fit.fit == null) {
+                log.info("  {} c={} p{}: fewer than three dataset sizes, no fit", fit.endpoint, fit.concurrency,
+                        (int) fit.percentile);
+                continue;
+            }
+            log.info(String.format("  %s c=%d p%d: %s, %+.1fms from smallest to largest dataset", fit.endpoint,
+                    fit.concurrency, (int) fit.percentile, fit.fit, fit.fit.growth));
+            if (fit.fit.exponent >= SUPERLINEAR_EXPONENT) {
+                log.warn("  {} c={} p{} grows like n^{}: superlinear in dataset size", fit.endpoint,
+                        fit.concurrency, (int) fit.percentile, fit.fit.exponent);
+            }
+        }
+
+        for (String endpoint : endpoints()) {
+            Map<Integer, List<Cell>> bySize = cells.stream().filter(cell -> cell.endpoint.equals(endpoint))
+                    .collect(Collectors.groupingBy(cell -> cell.size, LinkedHashMap::new, Collectors.toList()));
+            for (Map.Entry<Integer, List<Cell>> size : bySize.entrySet()) {
+                List<Cell> levels = size.getValue();
+                Cell lowest = levels.get(0);
+                Cell highest = levels.get(levels.size() - 1);
+                if (levels.size() > 1 && lowest.throughput > 0) {
+                    double efficiency = (highest.throughput / lowest.throughput)
+                            / ((double) highest.concurrency / lowest.concurrency);
+                    log.info(String.format("  %s n=%d: throughput x%.2f from c=%d to c=%d (%.0f%% of linear)",
+                            endpoint, size.getKey(), highest.throughput / lowest.throughput, lowest.concurrency,
+                            highest.concurrency, efficiency * 100));
+                }
+            }
+        }
+
+        for (Cell cell : cells) {
+            if (!cell.steady) {
+                log.warn("  {} n={} c={} was measured before throughput settled ({}s of warm-up)", cell.endpoint,
+                        cell.size, cell.concurrency, String.format("%.1f", cell.warmUpSeconds));
+            }
+            if (cell.size != cell.requestedSize) {
+                log.warn("  {} n={} was asked for {} items: seeding fell short", cell.endpoint, cell.size,
+                        cell.requestedSize);
+            }
+        }
+    }
+
+    /**
+     * Writes all reports as one JSON document: every cell of every sweep and
+     * every fit, for comparing runs or plotting scaling curves.
+     */
+    public static void writeJson(List<ScalingReport> reports, Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        List<Map<String, Object>> sweeps = new ArrayList<>();
+        for (ScalingReport report : reports) {
+            Map<String, Object> sweep = new LinkedHashMap<>();
+            sweep.put("name", report.name);
+            sweep.put("cells", report.cells.stream().map(ScalingReport::toMap).collect(Collectors.toList()));
+            sweep.put("fits", report.getFits().stream().map(ScalingReport::toMap).collect(Collectors.toList()));
+            sweeps.add(sweep);
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), Map.of("sweeps", sweeps));
+        log.info("[SCALING] Wrote {}", output);
+    }
+
+    private static Map<String, Object> toMap(Cell cell) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("endpoint", cell.endpoint);
+        map.put("requestedSize", cell.requestedSize);
+        map.put("size", cell.size);
+        map.put("concurrency", cell.concurrency);
+        map.put("requests", cell.latency.getCount());
+        map.put("errors", cell.errors);
+        map.put("throughput", round(cell.throughput));
+        map.put("p50Ms", round(cell.latency.percentileMillis(50)));
+        map.put("p95Ms", round(cell.latency.percentileMillis(95)));
+        map.put("p99Ms", round(cell.latency.percentileMillis(99)));
+        map.put("meanMs", round(cell.latency.getMeanMillis()));
+        map.put("steady", cell.steady);
+        map.put("warmUpSeconds", round(cell.warmUpSeconds));
+        return map;
+    }
+
+    private static Map<String, Object> toMap(Fit fit) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("endpoint", fit.endpoint);
+        map.put("concurrency", fit.concurrency);
+        map.put("percentile", fit.percentile);
+        if (fit.fit != null) {
+            map.put("model", fit.fit.model);
+            map.put("exponent", fit.fit.exponent);
+            map.put("interceptMs", round(fit.fit.intercept));
+            map.put("slopeMs", fit.fit.slope);
+            map.put("rSquared", round(fit.fit.rSquared));
+            map.put("growthMs", round(fit.fit.growth));
+            Map<String, Object> candidates = new LinkedHashMap<>();
+            fit.fit.rSquaredByModel.forEach((model, rSquared) -> candidates.put(model, round(rSquared)));
+            map.put("rSquaredByModel", candidates);
+        } else {
+            map.put("model", null);
+        }
+        return map;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
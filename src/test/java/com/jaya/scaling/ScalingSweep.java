@@ -0,0 +1,167 @@
+package com.jaya.scaling;
+
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Runs endpoint workloads over a grid of dataset size × concurrency. Sizes
+ * are visited in ascending order; for each, the {@link Dataset} is resized
+ * once and every workload is run at every concurrency level.
+ * <p>
+ * Each cell is a {@link ClosedLoop} run at steady state. Before the first
+ * cell, every workload is run once, unmeasured, at the highest concurrency.
+ */
+public class ScalingSweep {
+
+    private static final Logger log = LoggerFactory.getLogger(ScalingSweep.class);
+
+    private final String name;
+    private final Dataset dataset;
+    private final Map<String, Supplier<Response>> workloads;
+    private final int[] sizes;
+    private final int[] concurrency;
+    private final ClosedLoop loop;
+
+    private ScalingSweep(Builder builder) {
+        this.name = builder.name;
+        this.dataset = builder.dataset;
+        this.workloads = builder.workloads;
+        this.sizes = builder.sizes;
+        this.concurrency = builder.concurrency;
+        this.loop = new ClosedLoop(builder.warmUpWindow, builder.maxWarmUp, builder.measure,
+                builder.steadyTolerance);
+    }
+
+    public static Builder builder(String name, Dataset dataset) {
+        return new Builder(name, dataset);
+    }
+
+    public ScalingReport run() {
+        ScalingReport report = new ScalingReport(name);
+        for (int size : sizes) {
+            int actual = dataset.resize(size);
+            if (size == sizes[0]) {
+                // Warm the client, connection pool and server up so the smallest size is not penalized
+                int threads = concurrency[concurrency.length - 1];
+                workloads.values().forEach(workload -> loop.run(workload, threads));
+            }
+            for (Map.Entry<String, Supplier<Response>> workload : workloads.entrySet()) {
+                for (int threads : concurrency) {
+                    ScalingReport.Cell cell = runCell(workload.getKey(), workload.getValue(), size, actual, threads);
+                    log.info("[SCALING] {} n={} c={}: {} req/s, p50 {}ms, p99 {}ms{}", workload.getKey(), actual,
+                            threads, String.format("%.1f", cell.throughput),
+                            String.format("%.1f", cell.latency.percentileMillis(50)),
+                            String.format("%.1f", cell.latency.percentileMillis(99)),
+                            cell.steady ? "" : " (not steady)");
+                    report.add(cell);
+                }
+            }
+        }
+        return report;
+    }
+
+    private ScalingReport.Cell runCell(String endpoint, Supplier<Response> workload, int requestedSize, int size,
+                                       int threads) {
+        ClosedLoop.Result result = loop.run(workload, threads);
+        return new ScalingReport.Cell(endpoint, requestedSize, size, threads, result.latency, result.errors,
+                result.throughput, result.steady, result.warmUpSeconds);
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private final String name;
+        private final Dataset dataset;
+        private final Map<String, Supplier<Response>> workloads = new LinkedHashMap<>();
+        private int[] sizes;
+        private int[] concurrency = { 1 };
+        private Duration warmUpWindow = Duration.ofSeconds(1);
+        private Duration maxWarmUp = Duration.ofSeconds(10);
+        private Duration measure = Duration.ofSeconds(5);
+        private double steadyTolerance = 0.10;
+
+        private Builder(String name, Dataset dataset) {
+            this.name = name;
+            this.dataset = dataset;
+        }
+
+        /**
+         * Adds an endpoint workload, e.g.
+         * {@code workload("GET /api/expense/filter", () -> client.filterExpenses(criteria))}.
+         */
+        public Builder workload(String endpoint, Supplier<Response> workload) {
+            workloads.put(endpoint, workload);
+            return this;
+        }
+
+        /**
+         * Dataset sizes; run in ascending order whatever the order given.
+         */
+        public Builder sizes(int... sizes) {
+            this.sizes = Arrays.stream(sizes).sorted().distinct().toArray();
+            return this;
+        }
+
+        public Builder concurrency(int... concurrency) {
+            this.concurrency = Arrays.stream(concurrency).sorted().distinct().toArray();
+            return this;
+        }
+
+        /**
+         * Throughput sampling window during warm-up.
+         */
+        public Builder warmUpWindow(Duration warmUpWindow) {
+            this.warmUpWindow = warmUpWindow;
+            return this;
+        }
+
+        /**
+         * Longest warm-up before measuring anyway; the cell is then marked
+         * as not steady.
+         */
+        public Builder maxWarmUp(Duration maxWarmUp) {
+            this.maxWarmUp = maxWarmUp;
+            return this;
+        }
+
+        public Builder measure(Duration measure) {
+            this.measure = measure;
+            return this;
+        }
+
+        /**
+         * Largest relative change in throughput between two warm-up windows
+         * that still counts as steady, e.g. 0.1 for 10%.
+         */
+        public Builder steadyTolerance(double steadyTolerance) {
+            this.steadyTolerance = steadyTolerance;
+            return this;
+        }
+
+        public ScalingSweep build() {
+            if (dataset == null || workloads.isEmpty()) {
+                throw new IllegalStateException("A dataset and at least one workload are required");
+            }
+            if (sizes == null || sizes.length == 0 || sizes[0] < 0) {
+                throw new IllegalStateException("At least one dataset size >= 0 is required");
+            }
+            if (concurrency.length == 0 || concurrency[0] < 1) {
+                throw new IllegalStateException("Concurrency levels must be >= 1");
+            }
+            if (warmUpWindow.isZero() || warmUpWindow.isNegative() || measure.isZero() || measure.isNegative()) {
+                throw new IllegalStateException("Warm-up window and measurement must be positive");
+            }
+            if (steadyTolerance <= 0) {
+                throw new IllegalStateException("Steady-state tolerance must be positive");
+            }
+            return new ScalingSweep(this);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.jaya.scaling;
+
+import com.jaya.clients.AuthClient;
+import com.jaya.payloads.AuthPayload;
+import com.jaya.pojo.SignupRequest;
+import com.jaya.utils.TestContext;
+import com.jaya.utils.TestUserCleanupManager;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Users signed up for the sweep, on top of whatever the backend already
+ * holds. Users are only deleted by {@link TestUserCleanupManager} at the end
+ * of the suite, so this dataset grows but never shrinks; sweeps visit sizes
+ * in ascending order for that reason.
+ */
+public final class UserDataset implements Dataset {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDataset.class);
+
+    private final AuthClient authClient;
+    private final int threads;
+    private final AtomicInteger created = new AtomicInteger();
+
+    public UserDataset(AuthClient authClient, int threads) {
+        this.authClient = authClient;
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public int resize(int size) {
+        int current = created.get();
+        if (size < current) {
+            log.warn("[SCALING] User dataset cannot shrink from {} to {}", current, size);
+            return current;
+        }
+        List<Callable<Void>> signups = new ArrayList<>();
+        TestContext.Snapshot context = TestContext.capture();
+        for (int i = current; i < size; i++) {
+            signups.add(context.wrap(() -> {
+                signup();
+                return null;
+            }));
+        }
+        if (!signups.isEmpty()) {
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, signups.size()));
+            try {
+                pool.invokeAll(signups);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        log.info("[SCALING] User dataset resized {} -> {} (asked for {})", current, created.get(), size);
+        return created.get();
+    }
+
+    @Override
+    public int size() {
+        return created.get();
+    }
+
+    private void signup() {
+        SignupRequest request = AuthPayload.createDefaultSignupRequest();
+        Response response = authClient.signup(request);
+        if (response.getStatusCode() != 201) {
+            log.warn("[SCALING] Seed signup failed with status {}", response.getStatusCode());
+            return;
+        }
+        TestUserCleanupManager.registerUserForCleanup(request.getEmail(), request.getPassword());
+        created.incrementAndGet();
+    }
+}
@@ -0,0 +1,168 @@
+package com.jaya.scheduling;
+
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dependency DAG of the test methods of one class. Methods are taken in
+ * priority order (then by name, as TestNG does); each gets an ordering edge
+ * to every earlier method it conflicts with. In a sequential class every
+ * earlier method conflicts.
+ * <p>
+ * Edges are not reduced transitively: when a group filter leaves an
+ * intermediate method out, the remaining methods must still be ordered.
+ */
+final class ClassPlan {
+
+    private final Class<?> testClass;
+    private final boolean parallel;
+    private final List<String> methods = new ArrayList<>();
+    private final Map<String, List<String>> orderingDependencies = new LinkedHashMap<>();
+    private final Map<String, List<String>> declaredDependencies = new HashMap<>();
+    private int ownUserMethods;
+
+    private ClassPlan(Class<?> testClass, boolean parallel) {
+        this.testClass = testClass;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Plans {@code testClass}; its methods only run concurrently when it is
+     * annotated {@link ParallelMethods} and {@code parallelEnabled} is set.
+     */
+    static ClassPlan of(Class<?> testClass, boolean parallelEnabled) {
+        ClassPlan plan = new ClassPlan(testClass,
+                parallelEnabled && testClass.isAnnotationPresent(ParallelMethods.class));
+        List<Method> ordered = new ArrayList<>();
+        for (Method method : testClass.getMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                ordered.add(method);
+            }
+        }
+        ordered.sort(Comparator.comparingInt((Method method) -> method.getAnnotation(Test.class).priority())
+                .thenComparing(Method::getName));
+
+        for (int i = 0; i < ordered.size(); i++) {
+            Method method = ordered.get(i);
+            List<String> dependencies = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                if (!plan.parallel || conflict(ordered.get(j), method)) {
+                    dependencies.add(ordered.get(j).getName());
+                }
+            }
+            plan.methods.add(method.getName());
+            plan.orderingDependencies.put(method.getName(), dependencies);
+            plan.declaredDependencies.put(method.getName(),
+                    Arrays.asList(method.getAnnotation(Test.class).dependsOnMethods()));
+            Resources resources = method.getAnnotation(Resources.class);
+            if (resources != null && resources.ownUser()) {
+                plan.ownUserMethods++;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Whether the two methods name a common resource that at least one of
+     * them mutates.
+     */
+    static boolean conflict(Method first, Method second) {
+        Resources a = first.getAnnotation(Resources.class);
+        Resources b = second.getAnnotation(Resources.class);
+        if (a == null || b == null) {
+            return false;
+        }
+        return overlap(a.mutates(), b.mutates()) || overlap(a.mutates(), b.reads())
+                || overlap(a.reads(), b.mutates());
+    }
+
+    private static boolean overlap(String[] first, String[] second) {
+        Set<String> names = new HashSet<>(Arrays.asList(first));
+        return Arrays.stream(second).anyMatch(names::contains);
+    }
+
+    Class<?> getTestClass() {
+        return testClass;
+    }
+
+    boolean isParallel() {
+        return parallel;
+    }
+
+    int getMethodCount() {
+        return methods.size();
+    }
+
+    int getOwnUserMethods() {
+        return ownUserMethods;
+    }
+
+    /**
+     * Earlier methods that {@code method} must wait for, besides its own
+     * {@code dependsOnMethods}.
+     */
+    List<String> orderingDependencies(String method) {
+        return orderingDependencies.getOrDefault(method, Collections.emptyList());
+    }
+
+    /**
+     * The {@code dependsOnMethods} written on {@code method}, before any
+     * ordering edges were merged in.
+     */
+    List<String> declaredDependencies(String method) {
+        return declaredDependencies.getOrDefault(method, Collections.emptyList());
+    }
+
+    /**
+     * Methods with no dependency of either kind, free to start at once.
+     */
+    int getRootCount() {
+        return (int) methods.stream().filter(method -> orderingDependencies(method).isEmpty()
+                && declaredDependencies.get(method).isEmpty()).count();
+    }
+
+    /**
+     * Methods on the longest dependency chain: the least number of method
+     * durations the class takes with unlimited threads.
+     */
+    int getCriticalPath() {
+        Map<String, Integer> depth = new HashMap<>();
+        int longest = 0;
+        for (String method : methods) {
+            longest = Math.max(longest, depth(method, depth, new HashSet<>()));
+        }
+        return longest;
+    }
+
+    private int depth(String method, Map<String, Integer> depth, Set<String> visiting) {
+        Integer known = depth.get(method);
+        if (known != null) {
+            return known;
+        }
+        if (!visiting.add(method)) {
+            // Cycles are TestNG's to report
+            return 0;
+        }
+        int deepest = 0;
+        List<String> dependencies = new ArrayList<>(orderingDependencies(method));
+        dependencies.addAll(declaredDependencies.getOrDefault(method, Collections.emptyList()));
+        for (String dependency : dependencies) {
+            if (orderingDependencies.containsKey(dependency)) {
+                deepest = Math.max(deepest, depth(dependency, depth, visiting));
+            }
+        }
+        depth.put(method, deepest + 1);
+        return deepest + 1;
+    }
+}
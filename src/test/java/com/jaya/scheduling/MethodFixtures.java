@@ -0,0 +1,59 @@
+package com.jaya.scheduling;
+
+import com.jaya.fixtures.FixtureUser;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
+
+/**
+ * Fixtures owned by a single test method invocation, so methods running
+ * concurrently never share them. The {@link MethodScheduler} opens and closes
+ * the scope around every test method.
+ */
+public final class MethodFixtures {
+
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    private MethodFixtures() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    private static final class Scope {
+        final String method;
+        final boolean ownUserDeclared;
+        FixtureUser ownUser;
+
+        Scope(String method, boolean ownUserDeclared) {
+            this.method = method;
+            this.ownUserDeclared = ownUserDeclared;
+        }
+    }
+
+    static void open(String method, boolean ownUserDeclared) {
+        SCOPE.set(new Scope(method, ownUserDeclared));
+    }
+
+    static void close() {
+        SCOPE.remove();
+    }
+
+    /**
+     * The running method's own user: a copy of the shared {@link Fixtures#USER},
+     * made on first use. Under the scheduler, only methods declaring
+     * {@code @Resources(ownUser = true)} may ask for one, so its view of shared
+     * state stays accurate; without it, every call makes a new copy.
+     */
+    public static FixtureUser ownUser() {
+        Scope scope = SCOPE.get();
+        if (scope == null) {
+            return SharedFixtures.copyOf(Fixtures.USER);
+        }
+        if (!scope.ownUserDeclared) {
+            throw new IllegalStateException(
+                    scope.method + " must declare @Resources(ownUser = true) to get its own user");
+        }
+        if (scope.ownUser == null) {
+            scope.ownUser = SharedFixtures.copyOf(Fixtures.USER);
+        }
+        return scope.ownUser;
+    }
+}
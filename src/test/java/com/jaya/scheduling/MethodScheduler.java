@@ -0,0 +1,121 @@
+package com.jaya.scheduling;
+
+import com.jaya.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAnnotationTransformer;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.annotations.ITestAnnotation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns each test class into a dependency DAG for a suite running with
+ * {@code parallel="methods"}. TestNG's own graph executor then starts every
+ * method whose dependencies are done, so independent methods of a
+ * {@link ParallelMethods} class overlap while other classes keep running one
+ * method at a time in priority order.
+ * <p>
+ * Ordering edges are added to {@code dependsOnMethods} and every method that
+ * gets them is marked {@code alwaysRun}, so a failure only orders the methods
+ * after it and never skips them. A method is skipped only when one of the
+ * {@code dependsOnMethods} written on it did not pass, checked by
+ * {@link #beforeInvocation} against the dependencies saved before the merge.
+ * <p>
+ * Register it in the suite XML; annotation transformers cannot be added
+ * with {@code @Listeners}.
+ */
+public class MethodScheduler implements IAnnotationTransformer, IInvokedMethodListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MethodScheduler.class);
+    private static final Map<Class<?>, ClassPlan> PLANS = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor,
+                          Method testMethod) {
+        if (testMethod == null) {
+            return;
+        }
+        ClassPlan plan = PLANS.computeIfAbsent(testMethod.getDeclaringClass(), MethodScheduler::plan);
+        List<String> ordering = plan.orderingDependencies(testMethod.getName());
+        if (ordering.isEmpty()) {
+            return;
+        }
+        Set<String> dependencies = new LinkedHashSet<>(List.of(annotation.getDependsOnMethods()));
+        dependencies.addAll(ordering);
+        annotation.setDependsOnMethods(dependencies.toArray(new String[0]));
+        // Declared dependencies are enforced in beforeInvocation; TestNG only orders
+        annotation.setAlwaysRun(true);
+        // Ordering edges to methods excluded by a group filter are dropped
+        annotation.setIgnoreMissingDependencies(true);
+    }
+
+    private static ClassPlan plan(Class<?> testClass) {
+        ClassPlan plan = ClassPlan.of(testClass, ConfigManager.isParallelMethodsEnabled());
+        if (plan.isParallel()) {
+            log.info("[SCHEDULER] {}: {} methods, {} start at once, critical path {}, {} with their own user",
+                    testClass.getSimpleName(), plan.getMethodCount(), plan.getRootCount(), plan.getCriticalPath(),
+                    plan.getOwnUserMethods());
+        } else {
+            log.debug("[SCHEDULER] {}: {} methods in sequence", testClass.getSimpleName(), plan.getMethodCount());
+        }
+        return plan;
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            Method javaMethod = method.getTestMethod().getConstructorOrMethod().getMethod();
+            skipOnFailedDependency(javaMethod, testResult.getTestContext());
+            Resources resources = javaMethod.getAnnotation(Resources.class);
+            MethodFixtures.open(javaMethod.getName(), resources != null && resources.ownUser());
+        }
+    }
+
+    /**
+     * Restores TestNG's skip for the dependencies declared on the method:
+     * by the time it runs, each of them has finished or was never scheduled.
+     */
+    private static void skipOnFailedDependency(Method javaMethod, ITestContext context) {
+        ClassPlan plan = PLANS.get(javaMethod.getDeclaringClass());
+        if (plan == null) {
+            return;
+        }
+        for (String dependency : plan.declaredDependencies(javaMethod.getName())) {
+            if (!passed(context.getPassedTests().getAllMethods(), javaMethod, dependency)) {
+                throw new SkipException(javaMethod.getName() + " depends on " + dependency
+                        + ", which did not pass");
+            }
+        }
+    }
+
+    private static boolean passed(Iterable<ITestNGMethod> methods, Method javaMethod, String dependency) {
+        String name = dependency.substring(dependency.lastIndexOf('.') + 1);
+        for (ITestNGMethod method : methods) {
+            if (method.getMethodName().equals(name)
+                    && javaMethod.getDeclaringClass().isAssignableFrom(method.getRealClass())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            MethodFixtures.close();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.jaya.scheduling;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets the test methods of a class run concurrently under the
+ * {@link MethodScheduler}. They are ordered only by their
+ * {@code dependsOnMethods} and by conflicting {@link Resources}; a method
+ * without {@link Resources} is independent of every other method.
+ * <p>
+ * Methods of classes without this annotation keep running one at a time in
+ * priority order.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ParallelMethods {
+}
@@ -0,0 +1,28 @@
+package com.jaya.scheduling;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Shared state a test method of a {@link ParallelMethods} class touches.
+ * Two methods conflict when they name the same resource and at least one of
+ * them mutates it; conflicting methods run in priority order, everything else
+ * may overlap. Resource names are free-form and scoped to the class, e.g.
+ * {@code "user.profile"} for the class's shared user.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Resources {
+
+    String[] reads() default {};
+
+    String[] mutates() default {};
+
+    /**
+     * The method works on a user of its own from {@link MethodFixtures#ownUser}
+     * instead of the class's shared one.
+     */
+    boolean ownUser() default false;
+}
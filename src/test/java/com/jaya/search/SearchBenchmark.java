@@ -0,0 +1,188 @@
+package com.jaya.search;
+
+import com.jaya.metrics.LatencyHistogram;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Measures one search endpoint against a {@link SearchPopulation}: prefix and
+ * substring queries for every cohort plus one matching the whole population
+ * (latency against result-set size), a query matching nothing, and a walk
+ * over increasing page offsets of the whole population.
+ * <p>
+ * After a warm-up, each query is sent once unmeasured (which also counts its
+ * results), then {@code samples} times in a row.
+ */
+public class SearchBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchBenchmark.class);
+
+    /**
+     * A paged search call, e.g. {@code userClient::searchUsers}.
+     */
+    @FunctionalInterface
+    public interface PagedSearch {
+        Response search(String query, int page, int size);
+    }
+
+    private final String endpoint;
+    private final Function<String, Response> search;
+    private final PagedSearch pagedSearch;
+    private final int samples;
+    private final int pageSize;
+    private final int maxPages;
+
+    private SearchBenchmark(Builder builder) {
+        this.endpoint = builder.endpoint;
+        this.search = builder.search;
+        this.pagedSearch = builder.pagedSearch;
+        this.samples = builder.samples;
+        this.pageSize = builder.pageSize;
+        this.maxPages = builder.maxPages;
+    }
+
+    public static Builder builder(String endpoint) {
+        return new Builder(endpoint);
+    }
+
+    public SearchReport run(SearchPopulation population) {
+        SearchReport report = new SearchReport(endpoint);
+        // Warm the client and connection up so the first measured query is not penalized
+        for (int i = 0; i < samples; i++) {
+            try {
+                search.apply(population.noMatchQuery());
+            } catch (RuntimeException e) {
+                log.debug("[SEARCH] Warm-up request failed: {}", e.getMessage());
+            }
+        }
+        for (Map.Entry<String, Integer> cohort : population.getCohorts().entrySet()) {
+            String prefix = population.prefixQuery(cohort.getKey());
+            report.add(measure(SearchReport.PREFIX, prefix, cohort.getValue(), -1, 0, () -> search.apply(prefix)));
+            String substring = population.substringQuery(cohort.getKey());
+            report.add(measure(SearchReport.SUBSTRING, substring, cohort.getValue(), -1, 0,
+                    () -> search.apply(substring)));
+        }
+        String all = population.allQuery();
+        report.add(measure(SearchReport.PREFIX, all, population.getSize(), -1, 0, () -> search.apply(all)));
+        String none = population.noMatchQuery();
+        report.add(measure(SearchReport.NO_MATCH, none, 0, -1, 0, () -> search.apply(none)));
+
+        if (pagedSearch != null) {
+            for (int page = 0; page < maxPages; page++) {
+                int offset = page * pageSize;
+                int expected = Math.max(0, Math.min(pageSize, population.getSize() - offset));
+                int current = page;
+                report.add(measure(SearchReport.PAGE, all, expected, page, offset,
+                        () -> pagedSearch.search(all, current, pageSize)));
+            }
+        }
+        return report;
+    }
+
+    private SearchReport.Row measure(String kind, String query, int expected, int page, int offset,
+                                     Supplier<Response> call) {
+        int returned = -1;
+        int errors = 0;
+        try {
+            returned = resultCount(call.get());
+        } catch (RuntimeException e) {
+            log.debug("[SEARCH] Warm-up of '{}' failed: {}", query, e.getMessage());
+        }
+        LatencyHistogram latency = new LatencyHistogram();
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            try {
+                Response response = call.get();
+                latency.recordNanos(System.nanoTime() - start);
+                if (response.getStatusCode() != 200) {
+                    errors++;
+                }
+            } catch (RuntimeException e) {
+                latency.recordNanos(System.nanoTime() - start);
+                errors++;
+            }
+        }
+        return new SearchReport.Row(kind, query, expected, returned, page, offset, latency, errors);
+    }
+
+    /**
+     * Number of users in a search response: a JSON array, or a page object
+     * with a {@code content} array; -1 when neither.
+     */
+    static int resultCount(Response response) {
+        if (response.getStatusCode() != 200) {
+            return -1;
+        }
+        try {
+            Object body = response.jsonPath().get("$");
+            if (body instanceof List) {
+                return ((List<?>) body).size();
+            }
+            if (body instanceof Map && ((Map<?, ?>) body).get("content") instanceof List) {
+                return ((List<?>) ((Map<?, ?>) body).get("content")).size();
+            }
+        } catch (RuntimeException e) {
+            log.debug("[SEARCH] Unparseable search response: {}", e.getMessage());
+        }
+        return -1;
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private final String endpoint;
+        private Function<String, Response> search;
+        private PagedSearch pagedSearch;
+        private int samples = 20;
+        private int pageSize = 10;
+        private int maxPages = 10;
+
+        private Builder(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public Builder search(Function<String, Response> search) {
+            this.search = search;
+            return this;
+        }
+
+        /**
+         * Enables the page walk.
+         */
+        public Builder pagedSearch(PagedSearch pagedSearch) {
+            this.pagedSearch = pagedSearch;
+            return this;
+        }
+
+        public Builder samples(int samples) {
+            this.samples = samples;
+            return this;
+        }
+
+        public Builder pageSize(int pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        public Builder maxPages(int maxPages) {
+            this.maxPages = maxPages;
+            return this;
+        }
+
+        public SearchBenchmark build() {
+            if (search == null) {
+                throw new IllegalStateException("A search call is required");
+            }
+            if (samples < 1 || pageSize < 1 || maxPages < 0) {
+                throw new IllegalStateException("samples and pageSize must be >= 1, maxPages >= 0");
+            }
+            return new SearchBenchmark(this);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.jaya.search;
+
+import com.jaya.clients.AuthClient;
+import com.jaya.payloads.AuthPayload;
+import com.jaya.pojo.SignupRequest;
+import com.jaya.utils.TestContext;
+import com.jaya.utils.TestUserCleanupManager;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Users seeded for search benchmarks, named so every query's result-set size
+ * is known in advance. All names carry a random run tag; cohort {@code ca}
+ * of run {@code qwxyzk} has:
+ * <ul>
+ * <li>first name {@code sqwxyzkca}, found by the prefix query</li>
+ * <li>last name {@code <4 random letters>mqwxyzkca}, found only by a
+ * substring query</li>
+ * </ul>
+ * Emails carry no tag, so they never match.
+ */
+public final class SearchPopulation {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchPopulation.class);
+    private static final String PREFIX_MARK = "s";
+    private static final String SUBSTRING_MARK = "m";
+
+    private final String tag;
+    private final Map<String, Integer> cohorts;
+
+    private SearchPopulation(String tag, Map<String, Integer> cohorts) {
+        this.tag = tag;
+        this.cohorts = Collections.unmodifiableMap(cohorts);
+    }
+
+    /**
+     * Signs up one cohort per requested size (in parallel) and registers
+     * every user for cleanup. Cohort sizes are what was actually created.
+     */
+    public static SearchPopulation seed(AuthClient authClient, int[] cohortSizes, int threads) {
+        String tag = randomLetters(6);
+        Map<String, AtomicInteger> created = new LinkedHashMap<>();
+        List<Callable<Void>> signups = new ArrayList<>();
+        TestContext.Snapshot context = TestContext.capture();
+        for (int i = 0; i < cohortSizes.length; i++) {
+            String label = "c" + (char) ('a' + i);
+            AtomicInteger count = new AtomicInteger();
+            created.put(label, count);
+            for (int j = 0; j < cohortSizes[i]; j++) {
+                signups.add(context.wrap(() -> {
+                    if (signup(authClient, tag, label)) {
+                        count.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            pool.invokeAll(signups);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<String, Integer> cohorts = new LinkedHashMap<>();
+        created.forEach((label, count) -> cohorts.put(label, count.get()));
+        log.info("[SEARCH] Seeded population {}: {}", tag, cohorts);
+        return new SearchPopulation(tag, cohorts);
+    }
+
+    private static boolean signup(AuthClient authClient, String tag, String label) {
+        SignupRequest request = AuthPayload.createSignupRequest(PREFIX_MARK + tag + label,
+                randomLetters(4) + SUBSTRING_MARK + tag + label,
+                "seed" + UUID.randomUUID().toString().substring(0, 8) + "@example.com", "Test@123", "male");
+        Response response = authClient.signup(request);
+        if (response.getStatusCode() != 201) {
+            log.warn("[SEARCH] Seed signup failed with status {}", response.getStatusCode());
+            return false;
+        }
+        TestUserCleanupManager.registerUserForCleanup(request.getEmail(), request.getPassword());
+        return true;
+    }
+
+    private static String randomLetters(int length) {
+        StringBuilder letters = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            letters.append((char) ('a' + ThreadLocalRandom.current().nextInt(26)));
+        }
+        return letters.toString();
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Cohort label to number of users, in seeding order.
+     */
+    public Map<String, Integer> getCohorts() {
+        return cohorts;
+    }
+
+    public int getSize() {
+        return cohorts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Matches the start of the cohort's first names.
+     */
+    public String prefixQuery(String cohort) {
+        return PREFIX_MARK + tag + cohort;
+    }
+
+    /**
+     * Matches the middle of the cohort's last names only.
+     */
+    public String substringQuery(String cohort) {
+        return SUBSTRING_MARK + tag + cohort;
+    }
+
+    /**
+     * Matches every seeded user.
+     */
+    public String allQuery() {
+        return PREFIX_MARK + tag;
+    }
+
+    /**
+     * Shares the run tag but matches no one.
+     */
+    public String noMatchQuery() {
+        return PREFIX_MARK + tag + "zz";
+    }
+
+    @Override
+    public String toString() {
+        return tag + " " + cohorts;
+    }
+}
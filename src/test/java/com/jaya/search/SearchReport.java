@@ -0,0 +1,185 @@
+package com.jaya.search;
+
+import com.jaya.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Search latency of one endpoint by query kind and result-set size, and by
+ * page offset.
+ */
+public class SearchReport {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchReport.class);
+    private static final String LINE = "-".repeat(120);
+    private static final String CSV_HEADER =
+            "endpoint,kind,query,expected,returned,page,offset,samples,errors,p50_ms,p99_ms,mean_ms";
+    // A deep page or an empty search this much slower than the baseline is worth a look
+    private static final double SLOWDOWN_FACTOR = 2.0;
+
+    static final String PREFIX = "prefix";
+    static final String SUBSTRING = "substring";
+    static final String NO_MATCH = "no match";
+    static final String PAGE = "page";
+
+    /**
+     * Latency of one query (or one page of a query).
+     */
+    public static class Row {
+        public final String kind;
+        public final String query;
+        public final int expected;
+        public final int returned;
+        public final int page;
+        public final int offset;
+        public final LatencyHistogram latency;
+        public final int errors;
+
+        Row(String kind, String query, int expected, int returned, int page, int offset, LatencyHistogram latency,
+            int errors) {
+            this.kind = kind;
+            this.query = query;
+            this.expected = expected;
+            this.returned = returned;
+            this.page = page;
+            this.offset = offset;
+            this.latency = latency;
+            this.errors = errors;
+        }
+    }
+
+    public final String endpoint;
+    private final List<Row> rows = new ArrayList<>();
+
+    SearchReport(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void add(Row row) {
+        rows.add(row);
+    }
+
+    public List<Row> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    public List<Row> getRows(String kind) {
+        return rows.stream().filter(row -> row.kind.equals(kind)).collect(Collectors.toList());
+    }
+
+    public int getErrors() {
+        return rows.stream().mapToInt(row -> row.errors).sum();
+    }
+
+    // ==================== REPORTING ====================
+
+    public void logReport() {
+        log.info("\n{}\nSEARCH LATENCY: {}\n{}", LINE, endpoint, LINE);
+        log.info(String.format("%-10s %-22s %9s %9s %6s %7s %8s %7s %10s %10s %10s", "kind", "query", "expected",
+                "returned", "page", "offset", "samples", "errors", "p50", "p99", "mean"));
+        List<Row> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing((Row row) -> row.kind.equals(PAGE))
+                .thenComparing(row -> row.kind)
+                .thenComparingInt(row -> row.page)
+                .thenComparingInt(row -> row.expected));
+        for (Row row : sorted) {
+            log.info(String.format("%-10s %-22s %9d %9s %6s %7s %8d %7d %8.1fms %8.1fms %8.1fms", row.kind,
+                    row.query, row.expected, row.returned >= 0 ? String.valueOf(row.returned) : "?",
+                    row.page >= 0 ? String.valueOf(row.page) : "-", row.page >= 0 ? String.valueOf(row.offset) : "-",
+                    row.latency.getCount(), row.errors, row.latency.percentileMillis(50),
+                    row.latency.percentileMillis(99), row.latency.getMeanMillis()));
+        }
+        log.info(LINE);
+        logFindings();
+        log.info(LINE);
+    }
+
+    /**
+     * Growth of latency with result-set size and page depth, and results that
+     * did not match what was seeded.
+     */
+    private void logFindings() {
+        for (String kind : List.of(PREFIX, SUBSTRING)) {
+            List<Row> bySize = getRows(kind);
+            bySize.sort(Comparator.comparingInt(row -> row.expected));
+            if (bySize.size() > 1) {
+                Row smallest = bySize.get(0);
+                Row largest = bySize.get(bySize.size() - 1);
+                log.info(String.format("  %s: p50 %.1fms at %d results -> %.1fms at %d results (x%.2f)", kind,
+                        smallest.latency.percentileMillis(50), smallest.expected,
+                        largest.latency.percentileMillis(50), largest.expected, ratio(largest, smallest)));
+            }
+        }
+
+        List<Row> pages = getRows(PAGE);
+        if (pages.size() > 1) {
+            Row first = pages.get(0);
+            Row last = pages.get(pages.size() - 1);
+            log.info(String.format("  paging: p50 %.1fms at offset %d -> %.1fms at offset %d (x%.2f)",
+                    first.latency.percentileMillis(50), first.offset, last.latency.percentileMillis(50), last.offset,
+                    ratio(last, first)));
+            if (ratio(last, first) >= SLOWDOWN_FACTOR) {
+                log.warn("  Deep pages are much slower than the first: offset paging may be scanning skipped rows");
+            }
+            if (pages.stream().allMatch(row -> row.returned == first.returned) && first.returned > first.expected) {
+                log.warn("  Every page returned {} results: page/size parameters appear to be ignored",
+                        first.returned);
+            }
+        }
+
+        List<Row> prefixes = getRows(PREFIX);
+        prefixes.sort(Comparator.comparingInt(row -> row.expected));
+        List<Row> empty = getRows(NO_MATCH);
+        if (!prefixes.isEmpty() && !empty.isEmpty() && ratio(empty.get(0), prefixes.get(0)) >= SLOWDOWN_FACTOR) {
+            log.warn("  Queries without matches are slower than selective ones: possible full scan");
+        }
+
+        for (Row row : rows) {
+            if (!row.kind.equals(PAGE) && row.returned >= 0 && row.returned != row.expected) {
+                log.warn("  {} '{}' returned {} results, {} seeded (search semantics differ or results are capped)",
+                        row.kind, row.query, row.returned, row.expected);
+            }
+        }
+    }
+
+    private static double ratio(Row row, Row baseline) {
+        double base = baseline.latency.percentileMillis(50);
+        return base > 0 ? row.latency.percentileMillis(50) / base : 0.0;
+    }
+
+    /**
+     * Writes the rows of all reports as CSV, one line per query or page, for
+     * plotting latency against result-set size and offset.
+     */
+    public static void writeCsv(List<SearchReport> reports, Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            for (SearchReport report : reports) {
+                for (Row row : report.rows) {
+                    writer.write(String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%d,%d,%d,%d,%.3f,%.3f,%.3f",
+                            report.endpoint, row.kind, row.query, row.expected, row.returned, row.page, row.offset,
+                            row.latency.getCount(), row.errors, row.latency.percentileMillis(50),
+                            row.latency.percentileMillis(99), row.latency.getMeanMillis()));
+                    writer.newLine();
+                }
+            }
+        }
+        log.info("[SEARCH] Wrote {}", output);
+    }
+}
@@ -0,0 +1,377 @@
+package com.jaya.session;
+
+import com.jaya.clients.AuthClient;
+import com.jaya.clients.UserClient;
+import com.jaya.pojo.LoginRequest;
+import com.jaya.utils.TestContext;
+import com.jaya.utils.TokenManager;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reproduces a cohort of tokens expiring at once: signs in many sessions
+ * back to back so their JWT expiry lines up, optionally waits until that
+ * expiry is near, then releases a refresh or a logout for every session at
+ * the same instant. Every logged-out token is then polled on a protected
+ * endpoint until it is rejected, which measures how long a revoked token
+ * stays usable.
+ * <p>
+ * Refresh and logout are sent without retries, so every failure of the
+ * storm is counted; signins that set the cohort up are retried as usual.
+ */
+public class TokenStorm {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenStorm.class);
+
+    private final List<LoginRequest> users;
+    private final int sessions;
+    private final int threads;
+    private final double logoutFraction;
+    private final Duration maxExpiryWait;
+    private final Duration refreshLead;
+    private final Duration revocationTimeout;
+    private final Duration pollInterval;
+    private final Supplier<RequestSpecification> unauthenticated;
+    private final Function<String, RequestSpecification> withToken;
+
+    private TokenStorm(Builder builder) {
+        this.users = List.copyOf(builder.users);
+        this.sessions = builder.sessions;
+        this.threads = builder.threads;
+        this.logoutFraction = builder.logoutFraction;
+        this.maxExpiryWait = builder.maxExpiryWait;
+        this.refreshLead = builder.refreshLead;
+        this.revocationTimeout = builder.revocationTimeout;
+        this.pollInterval = builder.pollInterval;
+        this.unauthenticated = builder.unauthenticated;
+        this.withToken = builder.withToken;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * One signed-in session of the cohort.
+     */
+    private static final class Session {
+        final int index;
+        final String token;
+        // JWT exp claim in epoch seconds, 0 when the token does not carry one
+        final long expiresAt;
+
+        Session(int index, String token) {
+            this.index = index;
+            this.token = token;
+            this.expiresAt = TokenManager.getExpiryEpochSeconds(token);
+        }
+    }
+
+    public TokenStormReport run() {
+        TokenStormReport report = new TokenStormReport(sessions, logoutFraction);
+        ScheduledExecutorService pool = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "token-storm");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Session> cohort = createSessions(pool, report);
+            if (cohort.isEmpty()) {
+                log.warn("[STORM] No session could be created");
+                return report;
+            }
+            alignWithExpiry(cohort, report);
+            storm(cohort, pool, report);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[STORM] Interrupted, reporting what was measured so far");
+        } finally {
+            pool.shutdownNow();
+        }
+        return report;
+    }
+
+    // ==================== COHORT ====================
+
+    private List<Session> createSessions(ExecutorService pool, TokenStormReport report) throws InterruptedException {
+        List<Session> cohort = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch created = new CountDownLatch(sessions);
+        TestContext.Snapshot context = TestContext.capture();
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            int index = i;
+            pool.execute(context.wrap(() -> {
+                long requestStart = System.nanoTime();
+                String token = null;
+                try {
+                    Response response = new AuthClient(unauthenticated.get())
+                            .signin(users.get(index % users.size()));
+                    token = response.getStatusCode() == 200 ? response.jsonPath().getString("jwt") : null;
+                    if (token != null) {
+                        cohort.add(new Session(index, token));
+                    }
+                } catch (RuntimeException e) {
+                    log.debug("[STORM] Signin {} failed: {}", index, e.getMessage());
+                } finally {
+                    report.signin.record(System.nanoTime() - requestStart, token == null);
+                    created.countDown();
+                }
+            }));
+        }
+        created.await();
+        report.setCohort(cohort.size(), (System.nanoTime() - start) / 1e9);
+        log.info("[STORM] {} of {} sessions signed in across {} users in {}s", cohort.size(), sessions,
+                users.size(), String.format("%.1f", report.getCohortSeconds()));
+        cohort.sort((a, b) -> Integer.compare(a.index, b.index));
+        return cohort;
+    }
+
+    /**
+     * Records how tightly the cohort's expiry is lined up and, when the
+     * earliest expiry is close enough, waits until {@code refreshLead}
+     * before it, which is when real clients start refreshing.
+     */
+    private void alignWithExpiry(List<Session> cohort, TokenStormReport report) throws InterruptedException {
+        long earliest = cohort.stream().mapToLong(s -> s.expiresAt).filter(e -> e > 0).min().orElse(0);
+        long latest = cohort.stream().mapToLong(s -> s.expiresAt).filter(e -> e > 0).max().orElse(0);
+        if (earliest == 0) {
+            log.warn("[STORM] Tokens carry no exp claim: firing the storm without waiting for expiry");
+            return;
+        }
+        long fireAtMillis = earliest * 1000 - refreshLead.toMillis();
+        long waitMillis = Math.max(0, fireAtMillis - System.currentTimeMillis());
+        boolean wait = waitMillis <= maxExpiryWait.toMillis();
+        report.setExpiry(latest - earliest, earliest * 1000 - System.currentTimeMillis(), wait);
+        if (wait) {
+            log.info("[STORM] Waiting {}s for the cohort to come within {}s of expiry", waitMillis / 1000,
+                    refreshLead.toSeconds());
+            Thread.sleep(waitMillis);
+        } else {
+            log.info("[STORM] Cohort expires in {}s, beyond the {}s wait limit: firing now as if it had expired",
+                    (earliest * 1000 - System.currentTimeMillis()) / 1000, maxExpiryWait.toSeconds());
+        }
+    }
+
+    // ==================== STORM ====================
+
+    private void storm(List<Session> cohort, ScheduledExecutorService pool, TokenStormReport report)
+            throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(cohort.size());
+        TestContext.Snapshot context = TestContext.capture();
+        for (int i = 0; i < cohort.size(); i++) {
+            Session session = cohort.get(i);
+            // Spreads the logouts evenly through the cohort
+            boolean logout = Math.floor((i + 1) * logoutFraction) > Math.floor(i * logoutFraction);
+            pool.execute(context.wrap(() -> {
+                try {
+                    gate.await();
+                    if (logout) {
+                        logout(session, pool, context, report, done);
+                    } else {
+                        refresh(session, report);
+                        done.countDown();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    done.countDown();
+                }
+            }));
+        }
+        long start = System.nanoTime();
+        gate.countDown();
+        log.info("[STORM] Released {} refreshes and logouts on {} threads", cohort.size(), threads);
+        if (!done.await(revocationTimeout.toMillis() + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS)) {
+            log.warn("[STORM] {} sessions still unfinished", done.getCount());
+        }
+        report.setStormSeconds((System.nanoTime() - start) / 1e9);
+    }
+
+    private void refresh(Session session, TokenStormReport report) {
+        long start = System.nanoTime();
+        String refreshed = null;
+        try {
+            Response response = new AuthClient(withToken.apply(session.token)).refreshTokenNoRetry();
+            refreshed = response.getStatusCode() == 200 ? response.jsonPath().getString("jwt") : null;
+        } catch (RuntimeException e) {
+            log.debug("[STORM] Refresh of session {} failed: {}", session.index, e.getMessage());
+        }
+        report.refresh.record(System.nanoTime() - start, refreshed == null);
+        if (refreshed != null && !accepted(refreshed)) {
+            report.refreshedRejected.increment();
+        }
+    }
+
+    /**
+     * Logs the session out, then polls the protected endpoint with the old
+     * token until it is rejected or the revocation timeout passes. Polls are
+     * scheduled on the storm's pool rather than slept through, so they never
+     * hold back the storm itself.
+     */
+    private void logout(Session session, ScheduledExecutorService pool, TestContext.Snapshot context,
+                        TokenStormReport report, CountDownLatch done) {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            ok = new AuthClient(withToken.apply(session.token)).logoutNoRetry().getStatusCode() < 300;
+        } catch (RuntimeException e) {
+            log.debug("[STORM] Logout of session {} failed: {}", session.index, e.getMessage());
+            ok = false;
+        }
+        long loggedOut = System.nanoTime();
+        report.logout.record(loggedOut - start, !ok);
+        if (!ok) {
+            done.countDown();
+            return;
+        }
+        long deadline = loggedOut + revocationTimeout.toNanos();
+        Runnable poll = new Runnable() {
+            @Override
+            public void run() {
+                if (!accepted(session.token)) {
+                    // Measured to the rejection the client sees, not to when the poll was sent
+                    report.revocationLag.recordNanos(System.nanoTime() - loggedOut);
+                    done.countDown();
+                } else if (System.nanoTime() >= deadline) {
+                    report.stillAccepted.increment();
+                    done.countDown();
+                } else {
+                    pool.schedule(context.wrap(this), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            }
+        };
+        poll.run();
+    }
+
+    /**
+     * Whether the protected endpoint still serves this token; only 401 and
+     * 403 count as rejected, other failures say nothing about revocation.
+     */
+    private boolean accepted(String token) {
+        try {
+            int status = new UserClient(withToken.apply(token)).getUserProfileNoRetry().getStatusCode();
+            return status != 401 && status != 403;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private final List<LoginRequest> users = new ArrayList<>();
+        private int sessions = 1000;
+        private int threads = 64;
+        private double logoutFraction = 0.5;
+        private Duration maxExpiryWait = Duration.ZERO;
+        private Duration refreshLead = Duration.ofSeconds(30);
+        private Duration revocationTimeout = Duration.ofSeconds(10);
+        private Duration pollInterval = Duration.ofMillis(100);
+        private Supplier<RequestSpecification> unauthenticated;
+        private Function<String, RequestSpecification> withToken;
+
+        private Builder() {
+        }
+
+        /**
+         * Accounts the sessions are signed in as, in turn.
+         */
+        public Builder users(List<LoginRequest> users) {
+            this.users.addAll(users);
+            return this;
+        }
+
+        public Builder sessions(int sessions) {
+            this.sessions = sessions;
+            return this;
+        }
+
+        /**
+         * Threads firing the storm: how many requests can be in flight at
+         * once.
+         */
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Share of the sessions that log out instead of refreshing.
+         */
+        public Builder logoutFraction(double logoutFraction) {
+            this.logoutFraction = logoutFraction;
+            return this;
+        }
+
+        /**
+         * Longest wait for the cohort's real expiry; when it lies further
+         * out, the storm fires right away.
+         */
+        public Builder maxExpiryWait(Duration maxExpiryWait) {
+            this.maxExpiryWait = maxExpiryWait;
+            return this;
+        }
+
+        /**
+         * How long before expiry the storm fires when it waits for expiry.
+         */
+        public Builder refreshLead(Duration refreshLead) {
+            this.refreshLead = refreshLead;
+            return this;
+        }
+
+        /**
+         * How long a logged-out token is polled before it counts as still
+         * accepted.
+         */
+        public Builder revocationTimeout(Duration revocationTimeout) {
+            this.revocationTimeout = revocationTimeout;
+            return this;
+        }
+
+        public Builder pollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+            return this;
+        }
+
+        /**
+         * Request specifications without and with a bearer token.
+         */
+        public Builder requests(Supplier<RequestSpecification> unauthenticated,
+                                Function<String, RequestSpecification> withToken) {
+            this.unauthenticated = unauthenticated;
+            this.withToken = withToken;
+            return this;
+        }
+
+        public TokenStorm build() {
+            if (users.isEmpty()) {
+                throw new IllegalStateException("At least one user is required");
+            }
+            if (unauthenticated == null || withToken == null) {
+                throw new IllegalStateException("Request specifications are required");
+            }
+            if (sessions < 1 || threads < 1) {
+                throw new IllegalStateException("sessions and threads must be at least 1");
+            }
+            if (logoutFraction < 0 || logoutFraction > 1) {
+                throw new IllegalStateException("logoutFraction must be in [0, 1]");
+            }
+            return new TokenStorm(this);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.jaya.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaya.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What one {@link TokenStorm} measured: signin of the cohort, the refresh
+ * and logout storm, and how long logged-out tokens kept being accepted.
+ */
+public class TokenStormReport {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenStormReport.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String LINE = "-".repeat(120);
+
+    /**
+     * Latency and failures of one kind of request.
+     */
+    public static class Outcome {
+        public final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+
+        void record(long nanos, boolean failed) {
+            latency.recordNanos(nanos);
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public double getFailureRate() {
+            long count = latency.getCount();
+            return count == 0 ? 0.0 : (double) getFailures() / count;
+        }
+    }
+
+    public final int sessions;
+    public final double logoutFraction;
+    public final Outcome signin = new Outcome();
+    public final Outcome refresh = new Outcome();
+    public final Outcome logout = new Outcome();
+    // From a logout's response to the first rejection of its token received by the client
+    public final LatencyHistogram revocationLag = new LatencyHistogram();
+    final LongAdder refreshedRejected = new LongAdder();
+    final LongAdder stillAccepted = new LongAdder();
+    private int cohort;
+    private double cohortSeconds;
+    private long expirySpreadSeconds = -1;
+    private long millisToExpiry = -1;
+    private boolean waitedForExpiry;
+    private double stormSeconds;
+
+    TokenStormReport(int sessions, double logoutFraction) {
+        this.sessions = sessions;
+        this.logoutFraction = logoutFraction;
+    }
+
+    void setCohort(int cohort, double cohortSeconds) {
+        this.cohort = cohort;
+        this.cohortSeconds = cohortSeconds;
+    }
+
+    void setExpiry(long expirySpreadSeconds, long millisToExpiry, boolean waitedForExpiry) {
+        this.expirySpreadSeconds = expirySpreadSeconds;
+        this.millisToExpiry = millisToExpiry;
+        this.waitedForExpiry = waitedForExpiry;
+    }
+
+    void setStormSeconds(double stormSeconds) {
+        this.stormSeconds = stormSeconds;
+    }
+
+    /**
+     * Sessions that were signed in and took part in the storm.
+     */
+    public int getCohort() {
+        return cohort;
+    }
+
+    public double getCohortSeconds() {
+        return cohortSeconds;
+    }
+
+    /**
+     * Seconds between the earliest and the latest expiry of the cohort; -1
+     * when the tokens carry no exp claim.
+     */
+    public long getExpirySpreadSeconds() {
+        return expirySpreadSeconds;
+    }
+
+    /**
+     * Whether the storm waited for the cohort's real expiry rather than
+     * firing before it.
+     */
+    public boolean isWaitedForExpiry() {
+        return waitedForExpiry;
+    }
+
+    public double getStormSeconds() {
+        return stormSeconds;
+    }
+
+    /**
+     * Refreshed tokens the protected endpoint did not accept.
+     */
+    public long getRefreshedRejected() {
+        return refreshedRejected.sum();
+    }
+
+    /**
+     * Logged-out tokens still accepted when the revocation timeout ran out.
+     */
+    public long getStillAccepted() {
+        return stillAccepted.sum();
+    }
+
+    // ==================== REPORTING ====================
+
+    public void logReport() {
+        log.info("\n{}\nTOKEN STORM: {} sessions, {}% logging out\n{}", LINE, cohort,
+                String.format("%.0f", logoutFraction * 100), LINE);
+        if (expirySpreadSeconds >= 0) {
+            log.info(String.format("  Cohort signed in over %.1fs; expiry spread %ds, %s", cohortSeconds,
+                    expirySpreadSeconds, waitedForExpiry
+                            ? "storm fired at expiry"
+                            : String.format("storm fired %ds before expiry", millisToExpiry / 1000)));
+        } else {
+            log.info(String.format("  Cohort signed in over %.1fs; tokens carry no exp claim", cohortSeconds));
+        }
+        log.info(String.format("%-20s %8s %9s %9s %9s %9s %9s %9s", "", "count", "failed", "mean", "p50", "p95",
+                "p99", "max"));
+        logRow("signin (setup)", signin);
+        logRow("refresh", refresh);
+        logRow("logout", logout);
+        LatencyHistogram lag = revocationLag;
+        log.info(String.format("%-20s %8d %9d %7.1fms %7.1fms %7.1fms %7.1fms %7.1fms", "revocation lag",
+                lag.getCount(), getStillAccepted(), lag.getMeanMillis(), lag.percentileMillis(50),
+                lag.percentileMillis(95), lag.percentileMillis(99), lag.getMaxMicros() / 1000.0));
+        log.info(LINE);
+        long requests = refresh.latency.getCount() + logout.latency.getCount();
+        log.info(String.format("  Storm: %d refreshes and logouts in %.1fs (%.1f req/s)", requests, stormSeconds,
+                stormSeconds > 0 ? requests / stormSeconds : 0.0));
+        if (getRefreshedRejected() > 0) {
+            log.warn("  {} refreshed tokens were rejected on the profile endpoint", getRefreshedRejected());
+        }
+        if (getStillAccepted() > 0) {
+            log.warn("  {} of {} logged-out tokens were still accepted when polling stopped", getStillAccepted(),
+                    logout.latency.getCount() - logout.getFailures());
+        }
+        log.info(LINE);
+    }
+
+    private static void logRow(String name, Outcome outcome) {
+        LatencyHistogram latency = outcome.latency;
+        log.info(String.format("%-20s %8d %9d %7.1fms %7.1fms %7.1fms %7.1fms %7.1fms", name, latency.getCount(),
+                outcome.getFailures(), latency.getMeanMillis(), latency.percentileMillis(50),
+                latency.percentileMillis(95), latency.percentileMillis(99), latency.getMaxMicros() / 1000.0));
+    }
+
+    public void writeJson(Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("sessions", sessions);
+        document.put("cohort", cohort);
+        document.put("cohortSeconds", round(cohortSeconds));
+        document.put("expirySpreadSeconds", expirySpreadSeconds >= 0 ? expirySpreadSeconds : null);
+        document.put("waitedForExpiry", waitedForExpiry);
+        document.put("stormSeconds", round(stormSeconds));
+        document.put("signin", toMap(signin));
+        document.put("refresh", toMap(refresh));
+        document.put("refreshedRejected", getRefreshedRejected());
+        document.put("logout", toMap(logout));
+        Map<String, Object> revocation = new LinkedHashMap<>();
+        revocation.put("revoked", revocationLag.getCount());
+        revocation.put("stillAccepted", getStillAccepted());
+        revocation.put("p50Ms", round(revocationLag.percentileMillis(50)));
+        revocation.put("p99Ms", round(revocationLag.percentileMillis(99)));
+        revocation.put("maxMs", round(revocationLag.getMaxMicros() / 1000.0));
+        document.put("revocation", revocation);
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), document);
+        log.info("[STORM] Wrote {}", output);
+    }
+
+    private static Map<String, Object> toMap(Outcome outcome) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("requests", outcome.latency.getCount());
+        map.put("failures", outcome.getFailures());
+        map.put("p50Ms", round(outcome.latency.percentileMillis(50)));
+        map.put("p95Ms", round(outcome.latency.percentileMillis(95)));
+        map.put("p99Ms", round(outcome.latency.percentileMillis(99)));
+        map.put("maxMs", round(outcome.latency.getMaxMicros() / 1000.0));
+        return map;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,88 @@
+package com.jaya.social;
+
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Measures the friendship list and pending-request endpoints of every
+ * member of a {@link SocialGraph}, one member at a time, and groups latency
+ * by the member's degree: accepted friendships for the list, unanswered
+ * requests for pending. Each member gets one discarded warm-up call per
+ * endpoint before its samples.
+ */
+public class FanOutBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(FanOutBenchmark.class);
+
+    private final int samples;
+
+    private FanOutBenchmark(Builder builder) {
+        this.samples = builder.samples;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public FanOutReport run(SocialGraph graph) {
+        FanOutReport report = new FanOutReport(graph);
+        measure(graph, report.list, SocialGraph.Member::getFriends, member -> member.client.getFriends());
+        measure(graph, report.pending, SocialGraph.Member::getPending,
+                member -> member.client.getPendingRequests());
+        return report;
+    }
+
+    private void measure(SocialGraph graph, FanOutReport.Series series, ToIntFunction<SocialGraph.Member> degree,
+                         Function<SocialGraph.Member, Response> call) {
+        for (SocialGraph.Member member : graph.getMembers()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            int memberDegree = degree.applyAsInt(member);
+            series.addUser(memberDegree);
+            for (int i = 0; i <= samples; i++) {
+                long start = System.nanoTime();
+                boolean failed;
+                try {
+                    failed = call.apply(member).getStatusCode() >= 400;
+                } catch (RuntimeException e) {
+                    log.debug("[FRIENDSHIP] {} for user {} failed: {}", series.endpoint, member.id, e.getMessage());
+                    failed = true;
+                }
+                if (i > 0) {
+                    series.record(memberDegree, System.nanoTime() - start, failed);
+                }
+            }
+        }
+        log.info("[FRIENDSHIP] {} {}: {} users measured, {} errors", graph.shape, series.endpoint,
+                graph.getMembers().size(), series.getErrors());
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private int samples = 5;
+
+        private Builder() {
+        }
+
+        /**
+         * Measured calls per member and endpoint.
+         */
+        public Builder samples(int samples) {
+            this.samples = samples;
+            return this;
+        }
+
+        public FanOutBenchmark build() {
+            if (samples < 1) {
+                throw new IllegalStateException("At least one sample is required");
+            }
+            return new FanOutBenchmark(this);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.jaya.social;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jaya.constants.Endpoints;
+import com.jaya.metrics.LatencyHistogram;
+import com.jaya.scaling.ComplexityFit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Friendship list and pending latency of one {@link SocialGraph} grouped by
+ * degree, the complexity curve fitted to them, and the throughput of the
+ * concurrent requests and accepts that built the graph.
+ */
+public class FanOutReport {
+
+    private static final Logger log = LoggerFactory.getLogger(FanOutReport.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String LINE = "-".repeat(120);
+    // Growth faster than degree^SUPERLINEAR_EXPONENT is worth a look at the endpoint's queries
+    private static final double SUPERLINEAR_EXPONENT = 1.2;
+
+    /**
+     * Latency of one endpoint by the degree of the calling user.
+     */
+    public static class Series {
+        public final String endpoint;
+        private final TreeMap<Integer, LatencyHistogram> byDegree = new TreeMap<>();
+        private final Map<Integer, Integer> users = new TreeMap<>();
+        private final LongAdder errors = new LongAdder();
+
+        Series(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void addUser(int degree) {
+            users.merge(degree, 1, Integer::sum);
+        }
+
+        void record(int degree, long nanos, boolean failed) {
+            byDegree.computeIfAbsent(degree, d -> new LatencyHistogram()).recordNanos(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        /**
+         * Latency per degree, in ascending degree.
+         */
+        public Map<Integer, LatencyHistogram> getByDegree() {
+            return Collections.unmodifiableMap(byDegree);
+        }
+
+        /**
+         * Complexity of the given percentile against degree; null with fewer
+         * than three distinct degrees, e.g. for a uniform graph.
+         */
+        public ComplexityFit getFit(double percentile) {
+            double[] degrees = new double[byDegree.size()];
+            double[] latencies = new double[byDegree.size()];
+            int i = 0;
+            for (Map.Entry<Integer, LatencyHistogram> entry : byDegree.entrySet()) {
+                degrees[i] = entry.getKey();
+                latencies[i++] = entry.getValue().percentileMillis(percentile);
+            }
+            return ComplexityFit.fit(degrees, latencies);
+        }
+    }
+
+    public final SocialGraph graph;
+    public final Series list = new Series("GET " + Endpoints.FRIENDSHIP.LIST);
+    public final Series pending = new Series("GET " + Endpoints.FRIENDSHIP.PENDING);
+
+    FanOutReport(SocialGraph graph) {
+        this.graph = graph;
+    }
+
+    public long getErrors() {
+        return list.getErrors() + pending.getErrors();
+    }
+
+    // ==================== REPORTING ====================
+
+    public void logReport() {
+        log.info("\n{}\nFAN-OUT: {}\n{}", LINE, graph, LINE);
+        log.info(String.format("%-40s %8s %8s %10s %10s %10s", "generation", "calls", "errors", "p50", "p99",
+                "per second"));
+        for (SocialGraph.Phase phase : List.of(graph.requests, graph.accepts)) {
+            log.info(String.format("%-40s %8d %8d %8.1fms %8.1fms %10.1f", "concurrent " + phase.name,
+                    phase.latency.getCount(), phase.getErrors(), phase.latency.percentileMillis(50),
+                    phase.latency.percentileMillis(99), phase.getThroughput()));
+        }
+        for (Series series : List.of(list, pending)) {
+            log.info(LINE);
+            log.info(String.format("%-40s %8s %8s %10s %10s %10s", series.endpoint, "degree", "users", "calls",
+                    "p50", "p99"));
+            for (Map.Entry<Integer, LatencyHistogram> entry : series.byDegree.entrySet()) {
+                LatencyHistogram latency = entry.getValue();
+                log.info(String.format("%-40s %8d %8d %10d %8.1fms %8.1fms", "", entry.getKey(),
+                        series.users.getOrDefault(entry.getKey(), 0), latency.getCount(),
+                        latency.percentileMillis(50), latency.percentileMillis(99)));
+            }
+        }
+        log.info(LINE);
+        logFindings();
+        log.info(LINE);
+    }
+
+    /**
+     * Fitted complexity against degree, and how much slower the
+     * highest-degree users are than the lowest.
+     */
+    private void logFindings() {
+        for (Series series : List.of(list, pending)) {
+            if (series.byDegree.isEmpty()) {
+                continue;
+            }
+            for (double percentile : new double[] { 50, 99 }) {
+                ComplexityFit fit = series.getFit(percentile);
+                if (fit == null) {
+                    log.info("  {} p{}: fewer than three distinct degrees, no fit", series.endpoint,
+                            (int) percentile);
+                    continue;
+                }
+                log.info(String.format("  %s p%d: %s, %+.1fms from lowest to highest degree", series.endpoint,
+                        (int) percentile, fit, fit.growth));
+                if (fit.exponent >= SUPERLINEAR_EXPONENT) {
+                    log.warn("  {} p{} grows like degree^{}: superlinear in the number of friendships",
+                            series.endpoint, (int) percentile, fit.exponent);
+                }
+            }
+            double lowest = series.byDegree.firstEntry().getValue().percentileMillis(50);
+            double highest = series.byDegree.lastEntry().getValue().percentileMillis(50);
+            if (series.byDegree.size() > 1 && lowest > 0) {
+                log.info(String.format("  %s p50 at degree %d is x%.2f of degree %d", series.endpoint,
+                        series.byDegree.lastKey(), highest / lowest, series.byDegree.firstKey()));
+            }
+        }
+    }
+
+    /**
+     * Writes all reports as one JSON document: graph shape, generation
+     * throughput, latency by degree and the fits.
+     */
+    public static void writeJson(List<FanOutReport> reports, Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        List<Map<String, Object>> graphs = new ArrayList<>();
+        for (FanOutReport report : reports) {
+            SocialGraph graph = report.graph;
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("shape", graph.shape.name());
+            map.put("users", graph.getMembers().size());
+            map.put("plannedEdges", graph.getPlannedEdges());
+            map.put("friendships", graph.getFriendships());
+            map.put("pendingRequests", graph.getPendingRequests());
+            map.put("meanDegree", round(graph.getMeanDegree()));
+            map.put("maxDegree", graph.getMaxDegree());
+            map.put("request", toMap(graph.requests));
+            map.put("accept", toMap(graph.accepts));
+            map.put("list", toMap(report.list));
+            map.put("pending", toMap(report.pending));
+            graphs.add(map);
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), Map.of("graphs", graphs));
+        log.info("[FRIENDSHIP] Wrote {}", output);
+    }
+
+    private static Map<String, Object> toMap(SocialGraph.Phase phase) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("calls", phase.latency.getCount());
+        map.put("errors", phase.getErrors());
+        map.put("p50Ms", round(phase.latency.percentileMillis(50)));
+        map.put("p99Ms", round(phase.latency.percentileMillis(99)));
+        map.put("throughput", round(phase.getThroughput()));
+        return map;
+    }
+
+    private static Map<String, Object> toMap(Series series) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("endpoint", series.endpoint);
+        map.put("errors", series.getErrors());
+        List<Map<String, Object>> degrees = new ArrayList<>();
+        for (Map.Entry<Integer, LatencyHistogram> entry : series.byDegree.entrySet()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("degree", entry.getKey());
+            row.put("users", series.users.getOrDefault(entry.getKey(), 0));
+            row.put("calls", entry.getValue().getCount());
+            row.put("p50Ms", round(entry.getValue().percentileMillis(50)));
+            row.put("p99Ms", round(entry.getValue().percentileMillis(99)));
+            degrees.add(row);
+        }
+        map.put("degrees", degrees);
+        for (double percentile : new double[] { 50, 99 }) {
+            ComplexityFit fit = series.getFit(percentile);
+            if (fit != null) {
+                Map<String, Object> fitMap = new LinkedHashMap<>();
+                fitMap.put("model", fit.model);
+                fitMap.put("rSquared", round(fit.rSquared));
+                fitMap.put("exponent", fit.exponent);
+                fitMap.put("growthMs", round(fit.growth));
+                map.put("p" + (int) percentile + "Fit", fitMap);
+            }
+        }
+        return map;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,433 @@
+package com.jaya.social;
+
+import com.jaya.clients.AuthClient;
+import com.jaya.clients.FriendshipClient;
+import com.jaya.metrics.LatencyHistogram;
+import com.jaya.payloads.AuthPayload;
+import com.jaya.pojo.SignupRequest;
+import com.jaya.utils.TestContext;
+import com.jaya.utils.TestUserCleanupManager;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A friendship graph over freshly signed-up users with a controlled degree
+ * distribution. Target degrees are drawn first (all equal, or power-law so a
+ * few hubs hold most of the edges), then paired up at random (configuration
+ * model, dropping self-loops and duplicates). Every edge is sent as a friend
+ * request from one side, all concurrently; then the other side accepts,
+ * again all concurrently, except for a share left pending.
+ * <p>
+ * Users are deleted with the rest of the suite's users, friendships with
+ * them.
+ */
+public final class SocialGraph {
+
+    private static final Logger log = LoggerFactory.getLogger(SocialGraph.class);
+
+    public enum Shape {
+        UNIFORM, POWER_LAW
+    }
+
+    /**
+     * One user of the graph and what the generator made of it.
+     */
+    public static final class Member {
+        public final int index;
+        public final long id;
+        final FriendshipClient client;
+        private final AtomicInteger friends = new AtomicInteger();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        Member(int index, long id, FriendshipClient client) {
+            this.index = index;
+            this.id = id;
+            this.client = client;
+        }
+
+        /**
+         * Accepted friendships.
+         */
+        public int getFriends() {
+            return friends.get();
+        }
+
+        /**
+         * Requests received and left unanswered.
+         */
+        public int getPending() {
+            return pending.get();
+        }
+    }
+
+    /**
+     * Latency, errors and throughput of one concurrent phase of generation.
+     */
+    public static final class Phase {
+        public final String name;
+        public final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private double seconds;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        /**
+         * Successful calls per second of the whole phase.
+         */
+        public double getThroughput() {
+            return seconds > 0 ? (latency.getCount() - getErrors()) / seconds : 0.0;
+        }
+    }
+
+    private static final class Edge {
+        final Member requester;
+        final Member recipient;
+        final boolean accept;
+        volatile Long friendshipId;
+
+        Edge(Member requester, Member recipient, boolean accept) {
+            this.requester = requester;
+            this.recipient = recipient;
+            this.accept = accept;
+        }
+    }
+
+    public final Shape shape;
+    public final Phase requests = new Phase("request");
+    public final Phase accepts = new Phase("accept");
+    private final List<Member> members;
+    private final int plannedEdges;
+
+    private SocialGraph(Shape shape, List<Member> members, int plannedEdges) {
+        this.shape = shape;
+        this.members = Collections.unmodifiableList(members);
+        this.plannedEdges = plannedEdges;
+    }
+
+    public static Builder builder(Shape shape) {
+        return new Builder(shape);
+    }
+
+    public List<Member> getMembers() {
+        return members;
+    }
+
+    /**
+     * Edges the degree sequence asked for, before any request failed.
+     */
+    public int getPlannedEdges() {
+        return plannedEdges;
+    }
+
+    public int getFriendships() {
+        return members.stream().mapToInt(Member::getFriends).sum() / 2;
+    }
+
+    public int getPendingRequests() {
+        return members.stream().mapToInt(Member::getPending).sum();
+    }
+
+    public int getMaxDegree() {
+        return members.stream().mapToInt(Member::getFriends).max().orElse(0);
+    }
+
+    public double getMeanDegree() {
+        return members.stream().mapToInt(Member::getFriends).average().orElse(0.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s graph: %d users, %d friendships, %d pending, degree mean %.1f / max %d", shape,
+                members.size(), getFriendships(), getPendingRequests(), getMeanDegree(), getMaxDegree());
+    }
+
+    // ==================== DEGREE SEQUENCE ====================
+
+    /**
+     * Target degree of every user: {@code degree} for all with
+     * {@link Shape#UNIFORM}; for {@link Shape#POWER_LAW}, a discrete Pareto
+     * draw with minimum {@code degree} and tail exponent {@code exponent},
+     * capped at {@code maxDegree}.
+     */
+    static int[] degrees(Shape shape, int users, int degree, double exponent, int maxDegree, Random random) {
+        int cap = Math.min(maxDegree, users - 1);
+        int[] degrees = new int[users];
+        for (int i = 0; i < users; i++) {
+            double draw = shape == Shape.UNIFORM
+                    ? degree
+                    : degree * Math.pow(1.0 - random.nextDouble(), -1.0 / (exponent - 1.0));
+            degrees[i] = (int) Math.min(cap, Math.floor(draw));
+        }
+        return degrees;
+    }
+
+    /**
+     * Pairs up degree stubs at random, without self-loops or duplicates, so
+     * realised degrees can end up slightly below their targets.
+     */
+    static List<int[]> pair(int[] degrees, Random random) {
+        List<Integer> stubs = new ArrayList<>();
+        for (int user = 0; user < degrees.length; user++) {
+            for (int i = 0; i < degrees[user]; i++) {
+                stubs.add(user);
+            }
+        }
+        Collections.shuffle(stubs, random);
+        Set<Long> seen = new HashSet<>();
+        List<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i + 1 < stubs.size(); i += 2) {
+            int a = Math.min(stubs.get(i), stubs.get(i + 1));
+            int b = Math.max(stubs.get(i), stubs.get(i + 1));
+            if (a != b && seen.add((long) a * degrees.length + b)) {
+                pairs.add(new int[] { a, b });
+            }
+        }
+        return pairs;
+    }
+
+    // ==================== GENERATION ====================
+
+    private static List<Member> signup(int users, AuthClient authClient,
+                                       Function<String, RequestSpecification> withToken, ExecutorService pool)
+            throws InterruptedException {
+        // Sorted by id, so members get stable indices and the same seed pairs up the same positions
+        Map<Long, FriendshipClient> clients = new ConcurrentSkipListMap<>();
+        List<Callable<Void>> signups = new ArrayList<>();
+        TestContext.Snapshot context = TestContext.capture();
+        for (int i = 0; i < users; i++) {
+            signups.add(context.wrap(() -> {
+                SignupRequest request = AuthPayload.createDefaultSignupRequest();
+                Response response = authClient.signup(request);
+                if (response.getStatusCode() != 201) {
+                    log.warn("[FRIENDSHIP] Signup failed with status {}", response.getStatusCode());
+                    return null;
+                }
+                String token = response.jsonPath().getString("jwt");
+                Response user = new AuthClient(withToken.apply(token)).getUserByEmail(request.getEmail());
+                Long id = user.getStatusCode() == 200 ? user.jsonPath().getLong("id") : null;
+                TestUserCleanupManager.registerUserForCleanup(id, request.getEmail(), request.getPassword(), token);
+                if (id != null) {
+                    clients.put(id, new FriendshipClient(withToken.apply(token)));
+                }
+                return null;
+            }));
+        }
+        pool.invokeAll(signups);
+        List<Member> members = new ArrayList<>();
+        clients.forEach((id, client) -> members.add(new Member(members.size(), id, client)));
+        return members;
+    }
+
+    /**
+     * Runs one call per edge on the pool and records latency, errors and
+     * the wall time of the whole phase.
+     */
+    private static void run(Phase phase, List<Edge> edges, Predicate<Edge> call, ExecutorService pool)
+            throws InterruptedException {
+        List<Callable<Void>> calls = new ArrayList<>();
+        TestContext.Snapshot context = TestContext.capture();
+        for (Edge edge : edges) {
+            calls.add(context.wrap(() -> {
+                long start = System.nanoTime();
+                boolean ok;
+                try {
+                    ok = call.test(edge);
+                } catch (RuntimeException e) {
+                    log.debug("[FRIENDSHIP] {} {} -> {} failed: {}", phase.name, edge.requester.id,
+                            edge.recipient.id, e.getMessage());
+                    ok = false;
+                }
+                phase.latency.recordNanos(System.nanoTime() - start);
+                if (!ok) {
+                    phase.errors.increment();
+                }
+                return null;
+            }));
+        }
+        long start = System.nanoTime();
+        pool.invokeAll(calls);
+        phase.seconds = (System.nanoTime() - start) / 1e9;
+        log.info("[FRIENDSHIP] {}: {} calls, {} errors, {}/s", phase.name, calls.size(), phase.getErrors(),
+                String.format("%.1f", phase.getThroughput()));
+    }
+
+    private static boolean request(Edge edge) {
+        Response response = edge.requester.client.sendRequest(edge.recipient.id);
+        Number id = response.getStatusCode() < 300 ? response.jsonPath().get("id") : null;
+        if (id == null) {
+            return false;
+        }
+        edge.friendshipId = id.longValue();
+        edge.recipient.pending.incrementAndGet();
+        return true;
+    }
+
+    private static boolean accept(Edge edge) {
+        if (edge.recipient.client.acceptRequest(edge.friendshipId).getStatusCode() >= 300) {
+            return false;
+        }
+        edge.recipient.pending.decrementAndGet();
+        edge.recipient.friends.incrementAndGet();
+        edge.requester.friends.incrementAndGet();
+        return true;
+    }
+
+    // ==================== BUILDER ====================
+
+    public static final class Builder {
+        private final Shape shape;
+        private int users = 60;
+        private int degree = 4;
+        private double exponent = 2.2;
+        private int maxDegree = 40;
+        private double pendingFraction = 0.2;
+        private int threads = 8;
+        private long seed = 42;
+        private AuthClient authClient;
+        private Function<String, RequestSpecification> withToken;
+
+        private Builder(Shape shape) {
+            this.shape = shape;
+        }
+
+        public Builder users(int users) {
+            this.users = users;
+            return this;
+        }
+
+        /**
+         * Every user's degree for {@link Shape#UNIFORM}; the minimum degree
+         * for {@link Shape#POWER_LAW}.
+         */
+        public Builder degree(int degree) {
+            this.degree = degree;
+            return this;
+        }
+
+        /**
+         * Tail exponent of the power law; smaller means bigger hubs.
+         */
+        public Builder exponent(double exponent) {
+            this.exponent = exponent;
+            return this;
+        }
+
+        public Builder maxDegree(int maxDegree) {
+            this.maxDegree = maxDegree;
+            return this;
+        }
+
+        /**
+         * Share of friend requests left unanswered.
+         */
+        public Builder pendingFraction(double pendingFraction) {
+            this.pendingFraction = pendingFraction;
+            return this;
+        }
+
+        /**
+         * Concurrent signups, requests and accepts.
+         */
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Signs members up with {@code authClient}; their own calls use the
+         * specification {@code withToken} builds for their token.
+         */
+        public Builder requests(AuthClient authClient, Function<String, RequestSpecification> withToken) {
+            this.authClient = authClient;
+            this.withToken = withToken;
+            return this;
+        }
+
+        /**
+         * Signs the users up and sends and accepts every friend request.
+         */
+        public SocialGraph generate() {
+            if (authClient == null || withToken == null) {
+                throw new IllegalStateException("Clients are required");
+            }
+            if (users < 2 || degree < 1 || maxDegree < degree) {
+                throw new IllegalStateException("At least two users and 1 <= degree <= maxDegree are required");
+            }
+            if (shape == Shape.POWER_LAW && exponent <= 1) {
+                throw new IllegalStateException("A power-law exponent must be above 1");
+            }
+            if (pendingFraction < 0 || pendingFraction > 1) {
+                throw new IllegalStateException("pendingFraction must be in [0, 1]");
+            }
+            return generate(new Random(seed));
+        }
+
+        private SocialGraph generate(Random random) {
+            ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+                Thread thread = new Thread(runnable, "social-graph");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Member> members = signup(users, authClient, withToken, pool);
+                List<int[]> pairs = members.size() < 2
+                        ? List.of()
+                        : pair(degrees(shape, members.size(), degree, exponent, maxDegree, random), random);
+                List<Edge> edges = new ArrayList<>();
+                for (int[] pair : pairs) {
+                    boolean forward = random.nextBoolean();
+                    Member a = members.get(pair[0]);
+                    Member b = members.get(pair[1]);
+                    edges.add(new Edge(forward ? a : b, forward ? b : a, random.nextDouble() >= pendingFraction));
+                }
+                SocialGraph graph = new SocialGraph(shape, members, edges.size());
+                log.info("[FRIENDSHIP] {} graph: {} users, {} edges planned", shape, members.size(), edges.size());
+
+                run(graph.requests, edges, SocialGraph::request, pool);
+                List<Edge> toAccept = new ArrayList<>();
+                for (Edge edge : edges) {
+                    if (edge.accept && edge.friendshipId != null) {
+                        toAccept.add(edge);
+                    }
+                }
+                run(graph.accepts, toAccept, SocialGraph::accept, pool);
+                log.info("[FRIENDSHIP] {}", graph);
+                return graph;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while generating the " + shape + " graph", e);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+}
@@ -2,11 +2,9 @@ package com.jaya.tests;
 
 import com.jaya.base.BaseTest;
 import com.jaya.clients.AdminClient;
-import com.jaya.clients.AuthClient;
-import com.jaya.payloads.AuthPayload;
-import com.jaya.pojo.SignupRequest;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
 import com.jaya.utils.ResponseValidator;
-import com.jaya.utils.TestUserCleanupManager;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.testng.Assert;
@@ -18,28 +16,11 @@ import org.testng.annotations.Test;
 public class AdminTest extends BaseTest {
 
     private AdminClient adminClient;
-    private AuthClient authClient;
-    private String testUserEmail;
-    private String testUserPassword = "Test@123";
-    private String testUserToken;
 
     @BeforeClass
     public void setupClient() {
         super.setup();
-        authClient = new AuthClient(getUnauthenticatedRequest());
-        createTestUser();
-        adminClient = new AdminClient(cloneBaseSpec().addHeader("Authorization", "Bearer " + testUserToken).build());
-    }
-
-    private void createTestUser() {
-        SignupRequest signupRequest = AuthPayload.createDefaultSignupRequest();
-        testUserEmail = signupRequest.getEmail();
-
-        Response signupResponse = authClient.signup(signupRequest);
-        if (signupResponse.getStatusCode() == 201) {
-            testUserToken = signupResponse.jsonPath().getString("jwt");
-            TestUserCleanupManager.registerUserForCleanup(testUserEmail, testUserPassword);
-        }
+        adminClient = new AdminClient(getRequestWithToken(SharedFixtures.get(Fixtures.USER).token));
     }
 
     @Test(priority = 1)
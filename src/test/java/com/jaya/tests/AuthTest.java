@@ -5,6 +5,8 @@ import com.jaya.clients.AuthClient;
 import com.jaya.payloads.AuthPayload;
 import com.jaya.pojo.LoginRequest;
 import com.jaya.pojo.SignupRequest;
+import com.jaya.scheduling.ParallelMethods;
+import com.jaya.scheduling.Resources;
 import com.jaya.utils.ResponseValidator;
 import com.jaya.utils.TestUserCleanupManager;
 import io.qameta.allure.*;
@@ -17,12 +19,16 @@ import java.util.Map;
 
 @Epic("Authentication Management")
 @Feature("Auth Operations")
+@ParallelMethods
 public class AuthTest extends BaseTest {
 
+    // The user signed up by testSignup_Success, whose password testResetPassword_Success changes
+    private static final String TEST_USER = "auth.testUser";
+
     private AuthClient authClient;
-    private String testUserEmail;
-    private String testUserPassword = "Test@123";
-    private Long testUserId;
+    private volatile String testUserEmail;
+    private volatile String testUserPassword = "Test@123";
+    private volatile Long testUserId;
 
     @BeforeClass
     public void setupClient() {
@@ -31,6 +37,7 @@ public class AuthTest extends BaseTest {
     }
 
     @Test(priority = 1)
+    @Resources(mutates = TEST_USER)
     @Story("User Signup")
     @Description("Verify that a new user can successfully register")
     @Severity(SeverityLevel.CRITICAL)
@@ -58,6 +65,7 @@ public class AuthTest extends BaseTest {
     }
 
     @Test(priority = 2)
+    @Resources(reads = TEST_USER)
     @Story("User Signup")
     @Description("Verify that signup fails with duplicate email")
     @Severity(SeverityLevel.NORMAL)
@@ -117,6 +125,7 @@ public class AuthTest extends BaseTest {
     }
 
     @Test(priority = 5, dependsOnMethods = "testSignup_Success")
+    @Resources(reads = TEST_USER)
     @Story("User Signin")
     @Description("Verify that user can login with valid credentials")
     @Severity(SeverityLevel.CRITICAL)
@@ -139,6 +148,7 @@ public class AuthTest extends BaseTest {
     }
 
     @Test(priority = 6)
+    @Resources(reads = TEST_USER)
     @Story("User Signin")
     @Description("Verify that login fails with invalid password")
     @Severity(SeverityLevel.CRITICAL)
@@ -189,6 +199,7 @@ public class AuthTest extends BaseTest {
     }
 
     @Test(priority = 9, dependsOnMethods = "testSignin_Success")
+    @Resources(reads = TEST_USER)
     @Story("Token Management")
     @Description("Verify that authentication token can be refreshed")
     @Severity(SeverityLevel.NORMAL)
@@ -252,6 +263,7 @@ public class AuthTest extends BaseTest {
     }
 
     @Test(priority = 12, dependsOnMethods = "testSignup_Success")
+    @Resources(reads = TEST_USER)
     @Story("Email Validation")
     @Description("Verify email availability check for existing email")
     @Severity(SeverityLevel.NORMAL)
@@ -269,6 +281,7 @@ public class AuthTest extends BaseTest {
     }
 
     @Test(priority = 13, dependsOnMethods = "testSignup_Success")
+    @Resources(reads = TEST_USER)
     @Story("User Retrieval")
     @Description("Verify getting user by email")
     @Severity(SeverityLevel.NORMAL)
@@ -298,6 +311,7 @@ public class AuthTest extends BaseTest {
     }
 
     @Test(priority = 15, dependsOnMethods = "testGetUserByEmail_Success")
+    @Resources(reads = TEST_USER)
     @Story("User Retrieval")
     @Description("Verify getting user by ID")
     @Severity(SeverityLevel.NORMAL)
@@ -359,6 +373,7 @@ public class AuthTest extends BaseTest {
     }
 
     @Test(priority = 20)
+    @Resources(reads = TEST_USER)
     @Story("Password Reset")
     @Description("Verify OTP verification fails with invalid OTP")
     @Severity(SeverityLevel.NORMAL)
@@ -416,6 +431,7 @@ public class AuthTest extends BaseTest {
     }
 
     @Test(priority = 23, dependsOnMethods = "testGetUserByEmail_Success")
+    @Resources(reads = TEST_USER)
     @Story("User Retrieval")
     @Description("Verify getting user by ID using alternate endpoint")
     @Severity(SeverityLevel.NORMAL)
@@ -444,6 +460,7 @@ public class AuthTest extends BaseTest {
     }
 
     @Test(priority = 25, dependsOnMethods = "testSignup_Success")
+    @Resources(mutates = TEST_USER)
     @Story("Password Reset")
     @Description("Verify password reset with valid email and new password")
     @Severity(SeverityLevel.CRITICAL)
@@ -1,13 +1,12 @@
 package com.jaya.tests;
 
 import com.jaya.base.BaseTest;
-import com.jaya.clients.AuthClient;
 import com.jaya.clients.DashboardPreferenceClient;
-import com.jaya.payloads.AuthPayload;
+import com.jaya.fixtures.FixtureUser;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
 import com.jaya.payloads.DashboardPreferencePayload;
-import com.jaya.pojo.SignupRequest;
 import com.jaya.utils.ResponseValidator;
-import com.jaya.utils.TestUserCleanupManager;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.testng.Assert;
@@ -19,29 +18,13 @@ import org.testng.annotations.Test;
 public class DashboardPreferenceTest extends BaseTest {
 
     private DashboardPreferenceClient dashboardClient;
-    private AuthClient authClient;
-    private String testUserEmail;
-    private String testUserPassword = "Test@123";
-    private String testUserToken;
 
     @BeforeClass
     public void setupClient() {
         super.setup();
-        authClient = new AuthClient(getUnauthenticatedRequest());
-        createTestUser();
-        dashboardClient = new DashboardPreferenceClient(
-                cloneBaseSpec().addHeader("Authorization", "Bearer " + testUserToken).build());
-    }
-
-    private void createTestUser() {
-        SignupRequest signupRequest = AuthPayload.createDefaultSignupRequest();
-        testUserEmail = signupRequest.getEmail();
-
-        Response signupResponse = authClient.signup(signupRequest);
-        if (signupResponse.getStatusCode() == 201) {
-            testUserToken = signupResponse.jsonPath().getString("jwt");
-            TestUserCleanupManager.registerUserForCleanup(testUserEmail, testUserPassword);
-        }
+        // Saving and resetting change the user's preferences, so this class works on its own copy
+        FixtureUser testUser = SharedFixtures.copyOf(Fixtures.USER);
+        dashboardClient = new DashboardPreferenceClient(getRequestWithToken(testUser.token));
     }
 
     @Test(priority = 1)
@@ -0,0 +1,56 @@
+package com.jaya.tests;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.HealthClient;
+import com.jaya.constants.TestGroups;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+@Epic("Operations")
+@Feature("Actuator Endpoints")
+public class HealthTest extends BaseTest {
+
+    private HealthClient healthClient;
+
+    @BeforeClass
+    public void setupClient() {
+        super.setup();
+        healthClient = new HealthClient(getUnauthenticatedRequest());
+    }
+
+    @Test(priority = 1, groups = { TestGroups.SMOKE })
+    @Story("Health")
+    @Description("Verify the health endpoint reports UP")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testHealthIsUp() {
+        Response response = healthClient.getHealth();
+        if (response.getStatusCode() == 401 || response.getStatusCode() == 403 || response.getStatusCode() == 404) {
+            throw new SkipException("Health endpoint not exposed: status " + response.getStatusCode());
+        }
+
+        Assert.assertEquals(response.getStatusCode(), 200, "Health endpoint should return 200");
+        Assert.assertEquals(response.jsonPath().getString("status"), "UP", "Health status should be UP");
+    }
+
+    @Test(priority = 2)
+    @Story("Metrics")
+    @Description("Verify the metrics endpoint lists the metrics used by the actuator scraper")
+    @Severity(SeverityLevel.MINOR)
+    public void testMetricsEndpointListsNames() {
+        Response response = new HealthClient(getAuthenticatedRequest()).getMetricNames();
+        if (response.getStatusCode() == 401 || response.getStatusCode() == 403 || response.getStatusCode() == 404) {
+            throw new SkipException("Metrics endpoint not exposed: status " + response.getStatusCode());
+        }
+
+        Assert.assertEquals(response.getStatusCode(), 200, "Metrics endpoint should return 200");
+        List<String> names = response.jsonPath().getList("names");
+        Assert.assertNotNull(names, "Metric names should be present");
+        Assert.assertTrue(names.contains("jvm.memory.used"), "jvm.memory.used should be exposed");
+    }
+}
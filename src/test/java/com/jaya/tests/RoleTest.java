@@ -1,15 +1,15 @@
 package com.jaya.tests;
 
 import com.jaya.base.BaseTest;
-import com.jaya.clients.AuthClient;
 import com.jaya.clients.RoleClient;
-import com.jaya.payloads.AuthPayload;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
 import com.jaya.payloads.RolePayload;
 import com.jaya.pojo.RoleRequest;
-import com.jaya.pojo.SignupRequest;
+import com.jaya.scheduling.ParallelMethods;
+import com.jaya.scheduling.Resources;
 import com.jaya.utils.JsonSchemaValidatorUtil;
 import com.jaya.utils.ResponseValidator;
-import com.jaya.utils.TestUserCleanupManager;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.testng.Assert;
@@ -18,34 +18,23 @@ import org.testng.annotations.Test;
 
 @Epic("Role Management")
 @Feature("Role Operations")
+@ParallelMethods
 public class RoleTest extends BaseTest {
 
+    // Role catalogue: only changed if a create, update or delete is unexpectedly allowed
+    private static final String ROLES = "roles";
+
     private RoleClient roleClient;
-    private AuthClient authClient;
-    private String testUserEmail;
-    private String testUserPassword = "Test@123";
-    private String testUserToken;
 
     @BeforeClass
     public void setupClient() {
         super.setup();
-        authClient = new AuthClient(getUnauthenticatedRequest());
-        createTestUser();
-        roleClient = new RoleClient(cloneBaseSpec().addHeader("Authorization", "Bearer " + testUserToken).build());
-    }
-
-    private void createTestUser() {
-        SignupRequest signupRequest = AuthPayload.createDefaultSignupRequest();
-        testUserEmail = signupRequest.getEmail();
-
-        Response signupResponse = authClient.signup(signupRequest);
-        if (signupResponse.getStatusCode() == 201) {
-            testUserToken = signupResponse.jsonPath().getString("jwt");
-            TestUserCleanupManager.registerUserForCleanup(testUserEmail, testUserPassword);
-        }
+        // Role reads need a token, not a user of their own
+        roleClient = new RoleClient(getRequestWithToken(SharedFixtures.get(Fixtures.USER).token));
     }
 
     @Test(priority = 1)
+    @Resources(mutates = ROLES)
     @Story("Role Creation")
     @Description("Verify creating role requires ADMIN role")
     @Severity(SeverityLevel.CRITICAL)
@@ -74,6 +63,7 @@ public class RoleTest extends BaseTest {
     }
 
     @Test(priority = 3)
+    @Resources(reads = ROLES)
     @Story("Role Retrieval")
     @Description("Verify getting all roles requires ADMIN role")
     @Severity(SeverityLevel.NORMAL)
@@ -98,6 +88,7 @@ public class RoleTest extends BaseTest {
     }
 
     @Test(priority = 5)
+    @Resources(reads = ROLES)
     @Story("Role Retrieval")
     @Description("Verify getting role by ID requires ADMIN role")
     @Severity(SeverityLevel.NORMAL)
@@ -110,6 +101,7 @@ public class RoleTest extends BaseTest {
     }
 
     @Test(priority = 6)
+    @Resources(reads = ROLES)
     @Story("Role Retrieval")
     @Description("Verify getting role by name requires ADMIN role")
     @Severity(SeverityLevel.NORMAL)
@@ -146,6 +138,7 @@ public class RoleTest extends BaseTest {
     }
 
     @Test(priority = 9)
+    @Resources(mutates = ROLES)
     @Story("Role Update")
     @Description("Verify updating role requires ADMIN role")
     @Severity(SeverityLevel.NORMAL)
@@ -160,6 +153,7 @@ public class RoleTest extends BaseTest {
     }
 
     @Test(priority = 10)
+    @Resources(mutates = ROLES)
     @Story("Role Deletion")
     @Description("Verify deleting role requires ADMIN role")
     @Severity(SeverityLevel.CRITICAL)
@@ -172,6 +166,7 @@ public class RoleTest extends BaseTest {
     }
 
     @Test(priority = 11)
+    @Resources(mutates = ROLES)
     @Story("Role Validation")
     @Description("Verify creating role with invalid data")
     @Severity(SeverityLevel.NORMAL)
@@ -186,6 +181,7 @@ public class RoleTest extends BaseTest {
     }
 
     @Test(priority = 12)
+    @Resources(mutates = ROLES)
     @Story("Role Validation")
     @Description("Verify creating role with empty name")
     @Severity(SeverityLevel.MINOR)
@@ -202,6 +198,7 @@ public class RoleTest extends BaseTest {
     // ==================== SCHEMA VALIDATION TESTS ====================
 
     @Test(priority = 13)
+    @Resources(reads = ROLES)
     @Story("Schema Validation")
     @Description("Verify role by ID response matches JSON schema when accessible")
     @Severity(SeverityLevel.NORMAL)
@@ -218,6 +215,7 @@ public class RoleTest extends BaseTest {
     }
 
     @Test(priority = 14)
+    @Resources(reads = ROLES)
     @Story("Schema Validation")
     @Description("Verify all roles response matches JSON schema when accessible")
     @Severity(SeverityLevel.NORMAL)
@@ -234,6 +232,7 @@ public class RoleTest extends BaseTest {
     }
 
     @Test(priority = 15)
+    @Resources(reads = ROLES)
     @Story("Schema Validation")
     @Description("Verify role by name response matches JSON schema when accessible")
     @Severity(SeverityLevel.NORMAL)
@@ -3,10 +3,13 @@ package com.jaya.tests;
 import com.jaya.base.BaseTest;
 import com.jaya.clients.AuthClient;
 import com.jaya.clients.UserClient;
-import com.jaya.payloads.AuthPayload;
+import com.jaya.fixtures.FixtureUser;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
 import com.jaya.payloads.UserPayload;
-import com.jaya.pojo.SignupRequest;
 import com.jaya.pojo.UserUpdateRequest;
+import com.jaya.scheduling.ParallelMethods;
+import com.jaya.scheduling.Resources;
 import com.jaya.utils.JsonSchemaValidatorUtil;
 import com.jaya.utils.ResponseValidator;
 import com.jaya.utils.TestUserCleanupManager;
@@ -18,47 +21,34 @@ import org.testng.annotations.Test;
 
 @Epic("User Management")
 @Feature("User Operations")
+@ParallelMethods
 public class UserTest extends BaseTest {
 
+    // State of the class's own user that concurrent methods must not change under each other
+    private static final String PROFILE = "user.profile";
+    private static final String ROLES = "user.roles";
+
     private UserClient userClient;
+    private UserClient profileClient;
     private AuthClient authClient;
     private String testUserEmail;
-    private String testUserPassword = "Test@123";
     private Long testUserId;
-    private String testUserToken;
+    private Long profileUserId;
 
     @BeforeClass
     public void setupClient() {
         super.setup(); // Ensure parent setup runs first
-
-        // Create a test user for authentication
         authClient = new AuthClient(getUnauthenticatedRequest());
-        createTestUser();
-
-        // Initialize authenticated user client using a CLONED spec to avoid mutating
-        // the shared static spec
-        userClient = new UserClient(cloneBaseSpec().addHeader("Authorization", "Bearer " + testUserToken).build());
-    }
 
-    private void createTestUser() {
-        // Create user
-        SignupRequest signupRequest = AuthPayload.createDefaultSignupRequest();
-        testUserEmail = signupRequest.getEmail();
-
-        Response signupResponse = authClient.signup(signupRequest);
-        if (signupResponse.getStatusCode() == 201) {
-            testUserToken = signupResponse.jsonPath().getString("jwt");
-
-            // Get user details
-            Response userResponse = authClient.getUserByEmail(testUserEmail);
-            if (userResponse.getStatusCode() == 200) {
-                testUserId = userResponse.jsonPath().getLong("id");
-            }
+        // Reads use the suite's shared user; updates go to a copy owned by this class
+        FixtureUser testUser = SharedFixtures.get(Fixtures.USER);
+        testUserEmail = testUser.email;
+        testUserId = testUser.id;
+        userClient = new UserClient(getRequestWithToken(testUser.token));
 
-            // Register user for cleanup with userId and token (in case password gets
-            // changed during tests)
-            TestUserCleanupManager.registerUserForCleanup(testUserId, testUserEmail, testUserPassword, testUserToken);
-        }
+        FixtureUser profileUser = SharedFixtures.copyOf(Fixtures.USER);
+        profileUserId = profileUser.id;
+        profileClient = new UserClient(getRequestWithToken(profileUser.token));
     }
 
     @Test(priority = 1)
@@ -195,6 +185,7 @@ public class UserTest extends BaseTest {
     }
 
     @Test(priority = 10)
+    @Resources(mutates = PROFILE)
     @Story("User Update")
     @Description("Verify updating user profile with valid data")
     @Severity(SeverityLevel.CRITICAL)
@@ -203,7 +194,7 @@ public class UserTest extends BaseTest {
         UserUpdateRequest updateRequest = UserPayload.createDefaultUpdateRequest();
 
         // Act
-        Response response = userClient.updateUser(updateRequest);
+        Response response = profileClient.updateUser(updateRequest);
 
         // Assert
         ResponseValidator.validateStatusCode(response, 200);
@@ -216,6 +207,7 @@ public class UserTest extends BaseTest {
     }
 
     @Test(priority = 11)
+    @Resources(mutates = PROFILE)
     @Story("User Update")
     @Description("Verify updating only full name")
     @Severity(SeverityLevel.NORMAL)
@@ -224,7 +216,7 @@ public class UserTest extends BaseTest {
         UserUpdateRequest updateRequest = UserPayload.createNameOnlyUpdateRequest("New Name Only");
 
         // Act
-        Response response = userClient.updateUser(updateRequest);
+        Response response = profileClient.updateUser(updateRequest);
 
         // Assert
         ResponseValidator.validateStatusCode(response, 200);
@@ -232,6 +224,7 @@ public class UserTest extends BaseTest {
     }
 
     @Test(priority = 12)
+    @Resources(mutates = PROFILE)
     @Story("User Update")
     @Description("Verify updating only mobile number")
     @Severity(SeverityLevel.NORMAL)
@@ -240,7 +233,7 @@ public class UserTest extends BaseTest {
         UserUpdateRequest updateRequest = UserPayload.createMobileOnlyUpdateRequest("8888777766");
 
         // Act
-        Response response = userClient.updateUser(updateRequest);
+        Response response = profileClient.updateUser(updateRequest);
 
         // Assert
         ResponseValidator.validateStatusCode(response, 200);
@@ -248,18 +241,26 @@ public class UserTest extends BaseTest {
     }
 
     @Test(priority = 13)
+    @Resources(ownUser = true)
     @Story("User Update")
     @Description("Verify updating user with password change")
     @Severity(SeverityLevel.CRITICAL)
     public void testUpdateUser_WithPasswordChange() {
         // Arrange
+        String newPassword = "NewPassword@123";
         UserUpdateRequest updateRequest = UserPayload.createUpdateRequestWithPassword(
                 "Updated Name",
                 "9999888877",
-                "NewPassword@123");
-
-        // Act
-        Response response = userClient.updateUser(updateRequest);
+                newPassword);
+
+        // Act - on a user of its own, so the shared user's password never changes
+        FixtureUser user = ownUser();
+        UserClient ownUserClient = new UserClient(getRequestWithToken(user.token));
+        Response response = ownUserClient.updateUser(updateRequest);
+        if (response.getStatusCode() == 200) {
+            // Cleanup must sign in with the new password, also after a crash
+            TestUserCleanupManager.updateUserPassword(user.email, newPassword);
+        }
 
         // Assert
         ResponseValidator.validateStatusCode(response, 200);
@@ -284,6 +285,7 @@ public class UserTest extends BaseTest {
     }
 
     @Test(priority = 15)
+    @Resources(mutates = PROFILE)
     @Story("User Update")
     @Description("Verify update with invalid data")
     @Severity(SeverityLevel.NORMAL)
@@ -292,7 +294,7 @@ public class UserTest extends BaseTest {
         UserUpdateRequest invalidRequest = UserPayload.createInvalidUpdateRequest();
 
         // Act
-        Response response = userClient.updateUser(invalidRequest);
+        Response response = profileClient.updateUser(invalidRequest);
 
         // Assert
         int statusCode = response.getStatusCode();
@@ -301,31 +303,22 @@ public class UserTest extends BaseTest {
     }
 
     @Test(priority = 16)
+    @Resources(ownUser = true)
     @Story("User Deletion")
     @Description("Verify deleting own account")
     @Severity(SeverityLevel.CRITICAL)
     public void testDeleteUser_OwnAccount() {
-        SignupRequest newUser = AuthPayload.createDefaultSignupRequest();
-        Response signupResponse = authClient.signup(newUser);
-
-        Assert.assertEquals(signupResponse.getStatusCode(), 201,
-                "Signup should succeed for deletion test");
-
-        String newToken = signupResponse.jsonPath().getString("jwt");
-        Response userResponse = authClient.getUserByEmail(newUser.getEmail());
-        Long newUserId = userResponse.jsonPath().getLong("id");
-
-        UserClient newUserClient = new UserClient(
-                cloneBaseSpec().addHeader("Authorization", "Bearer " + newToken).build());
+        FixtureUser newUser = ownUser();
+        UserClient newUserClient = new UserClient(getRequestWithToken(newUser.token));
 
-        Response deleteResponse = newUserClient.deleteUser(newUserId);
+        Response deleteResponse = newUserClient.deleteUser(newUser.id);
 
         int statusCode = deleteResponse.getStatusCode();
         Assert.assertTrue(statusCode == 200 || statusCode == 204 || statusCode == 403,
                 "Status code should be 200, 204 for successful deletion or 403 if not allowed. Got: " + statusCode);
 
         if (statusCode == 200 || statusCode == 204) {
-            Response verifyResponse = authClient.getUserByEmail(newUser.getEmail());
+            Response verifyResponse = authClient.getUserByEmail(newUser.email);
             ResponseValidator.validateStatusCode(verifyResponse, 404);
         }
     }
@@ -359,12 +352,13 @@ public class UserTest extends BaseTest {
     }
 
     @Test(priority = 19)
+    @Resources(mutates = ROLES)
     @Story("Role Management")
     @Description("Verify adding role to user requires admin access")
     @Severity(SeverityLevel.NORMAL)
     public void testAddRoleToUser_WithoutAdminRole() {
         // Act
-        Response response = userClient.addRoleToUser(testUserId, 2L);
+        Response response = profileClient.addRoleToUser(profileUserId, 2L);
 
         // Assert - Should fail without admin role
         int statusCode = response.getStatusCode();
@@ -373,12 +367,13 @@ public class UserTest extends BaseTest {
     }
 
     @Test(priority = 20)
+    @Resources(mutates = ROLES)
     @Story("Role Management")
     @Description("Verify removing role from user requires admin access")
     @Severity(SeverityLevel.NORMAL)
     public void testRemoveRoleFromUser_WithoutAdminRole() {
         // Act
-        Response response = userClient.removeRoleFromUser(testUserId, 2L);
+        Response response = profileClient.removeRoleFromUser(profileUserId, 2L);
 
         // Assert - Should fail without admin role
         int statusCode = response.getStatusCode();
@@ -387,6 +382,7 @@ public class UserTest extends BaseTest {
     }
 
     @Test(priority = 21)
+    @Resources(mutates = PROFILE)
     @Story("Boundary Conditions")
     @Description("Verify update with maximum field lengths")
     @Severity(SeverityLevel.MINOR)
@@ -395,7 +391,7 @@ public class UserTest extends BaseTest {
         UserUpdateRequest boundaryRequest = UserPayload.createBoundaryUpdateRequest();
 
         // Act
-        Response response = userClient.updateUser(boundaryRequest);
+        Response response = profileClient.updateUser(boundaryRequest);
 
         // Assert
         int statusCode = response.getStatusCode();
@@ -434,13 +430,14 @@ public class UserTest extends BaseTest {
     }
 
     @Test(priority = 24)
+    @Resources(ownUser = true)
     @Story("Mode Switching")
     @Description("Verify switching user mode to USER")
     @Severity(SeverityLevel.NORMAL)
     public void testSwitchUserMode_ToUser() {
         // Using no-retry method since we may get 500 if user doesn't have required
         // roles
-        Response response = userClient.switchUserModeNoRetry("USER");
+        Response response = new UserClient(getRequestWithToken(ownUser().token)).switchUserModeNoRetry("USER");
 
         int statusCode = response.getStatusCode();
         // Accept 200 for success, 400/403/500 for various error conditions
@@ -457,12 +454,13 @@ public class UserTest extends BaseTest {
     }
 
     @Test(priority = 25)
+    @Resources(ownUser = true)
     @Story("Mode Switching")
     @Description("Verify switching user mode to ADMIN requires ADMIN role")
     @Severity(SeverityLevel.NORMAL)
     public void testSwitchUserMode_ToAdmin() {
         // Using no-retry method since we may get 500 if user doesn't have ADMIN role
-        Response response = userClient.switchUserModeNoRetry("ADMIN");
+        Response response = new UserClient(getRequestWithToken(ownUser().token)).switchUserModeNoRetry("ADMIN");
 
         int statusCode = response.getStatusCode();
         Assert.assertTrue(statusCode == 200 || statusCode == 400 || statusCode == 403 || statusCode == 500,
@@ -476,7 +474,7 @@ public class UserTest extends BaseTest {
     @Severity(SeverityLevel.NORMAL)
     public void testSwitchUserMode_InvalidMode() {
         // Using no-retry method since we expect 400 for invalid mode
-        Response response = userClient.switchUserModeNoRetry("INVALID_MODE");
+        Response response = profileClient.switchUserModeNoRetry("INVALID_MODE");
 
         int statusCode = response.getStatusCode();
         // Backend validates mode: "Invalid mode. Must be USER or ADMIN" returns 400
@@ -0,0 +1,57 @@
+package com.jaya.tests.monitor;
+
+import com.jaya.base.BaseTest;
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.TestGroups;
+import com.jaya.monitor.AlertSink;
+import com.jaya.monitor.LeasePool;
+import com.jaya.monitor.MonitorProbes;
+import com.jaya.monitor.SloPolicy;
+import com.jaya.monitor.SyntheticMonitor;
+import io.qameta.allure.*;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Epic("Operations")
+@Feature("Synthetic Monitoring")
+public class SyntheticMonitorTest extends BaseTest {
+
+    @Test(groups = { TestGroups.MONITOR })
+    @Story("Scheduled Probes")
+    @Description("Probe the environment on a schedule with leased users and alert on SLO breaches")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testMonitorEnvironment() {
+        // Lean spec: no Allure attachments or request logging on every probe
+        RequestSpecification baseSpec = new RequestSpecBuilder()
+                .setBaseUri(getBaseUrl())
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .build();
+        int leaseUsers = ConfigManager.getMonitorLeaseUsers();
+        LeasePool leases = leaseUsers > 0
+                ? LeasePool.ofNewUsers(baseSpec, leaseUsers)
+                : LeasePool.ofAccount(baseSpec, ConfigManager.getUsername(), ConfigManager.getPassword());
+
+        SyntheticMonitor monitor = SyntheticMonitor.builder()
+                .environment(getEnvironment())
+                .probes(MonitorProbes.named(ConfigManager.getMonitorProbes()))
+                .baseSpec(baseSpec)
+                .leases(leases)
+                .interval(Duration.ofSeconds(ConfigManager.getMonitorIntervalSeconds()))
+                .policy(SloPolicy.fromConfig())
+                .alertSink(AlertSink.fromConfig())
+                .output(Paths.get(ConfigManager.getMonitorOutput()))
+                .build();
+
+        monitor.run(Duration.ofMinutes(ConfigManager.getMonitorDurationMinutes()));
+        monitor.logSummary();
+
+        Assert.assertEquals(monitor.getBreachCount(), 0L, "SLO breaches during the run: " + monitor.getAlerts());
+    }
+}
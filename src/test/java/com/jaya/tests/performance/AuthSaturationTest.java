@@ -0,0 +1,140 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.AuthClient;
+import com.jaya.clients.DashboardPreferenceClient;
+import com.jaya.clients.ExpenseClient;
+import com.jaya.clients.UserClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.Endpoints;
+import com.jaya.constants.TestGroups;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
+import com.jaya.payloads.AuthPayload;
+import com.jaya.pojo.LoginRequest;
+import com.jaya.pojo.SignupRequest;
+import com.jaya.scaling.SaturationBenchmark;
+import com.jaya.scaling.SaturationReport;
+import com.jaya.utils.TestUserCleanupManager;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Epic("Performance")
+@Feature("Authentication Saturation")
+public class AuthSaturationTest extends BaseTest {
+
+    private static final String SIGNIN = "signin";
+    private static final String SIGNUP = "signup";
+
+    private String testUserToken;
+    private final List<LoginRequest> signinUsers = new ArrayList<>();
+
+    @BeforeClass
+    public void setupUsers() {
+        super.setup();
+        // The probes only read, so they share the fixture user
+        testUserToken = SharedFixtures.get(Fixtures.USER).token;
+        // Users of their own for the signin cohort, signed in over and over
+        AuthClient authClient = new AuthClient(getUnauthenticatedRequest());
+        for (int i = 0; i < ConfigManager.getSaturationSigninUsers(); i++) {
+            SignupRequest signupRequest = AuthPayload.createDefaultSignupRequest();
+            Response signupResponse = authClient.signup(signupRequest);
+            if (signupResponse.getStatusCode() != 201) {
+                continue;
+            }
+            TestUserCleanupManager.registerUserForCleanup(signupRequest.getEmail(), signupRequest.getPassword());
+            signinUsers.add(AuthPayload.createLoginRequest(signupRequest.getEmail(), signupRequest.getPassword()));
+        }
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Signin and Signup Throughput")
+    @Description("Sweeps the concurrency of signin and signup to find the knee of their throughput curve, while "
+            + "probe threads measure how auth saturation slows down unrelated endpoints")
+    @Severity(SeverityLevel.NORMAL)
+    public void testAuthThroughputKneeAndInterference() throws IOException {
+        if (signinUsers.isEmpty()) {
+            throw new SkipException("Test users could not be created");
+        }
+        AuthClient authClient = new AuthClient(getUnauthenticatedRequest());
+        UserClient userClient = new UserClient(getRequestWithToken(testUserToken));
+        ExpenseClient expenseClient = new ExpenseClient(getRequestWithToken(testUserToken));
+        DashboardPreferenceClient preferenceClient = new DashboardPreferenceClient(getRequestWithToken(testUserToken));
+
+        List<SaturationReport> reports = new ArrayList<>();
+        for (String operation : ConfigManager.getSaturationOperations()) {
+            Supplier<Response> workload;
+            String endpoint;
+            if (SIGNIN.equals(operation)) {
+                workload = signin(authClient);
+                endpoint = Endpoints.AUTH.SIGNIN;
+            } else if (SIGNUP.equals(operation)) {
+                workload = signup(authClient);
+                endpoint = Endpoints.AUTH.SIGNUP;
+            } else {
+                log.warn("[SATURATION] Unknown operation '{}', expected {} or {}", operation, SIGNIN, SIGNUP);
+                continue;
+            }
+            reports.add(SaturationBenchmark.builder("POST " + endpoint)
+                    .workload(workload)
+                    .concurrency(ConfigManager.getSaturationConcurrency())
+                    .probe("GET " + Endpoints.USER.PROFILE, userClient::getUserProfile)
+                    .probe("GET " + Endpoints.EXPENSE.BASE, expenseClient::getAllExpenses)
+                    .probe("GET " + Endpoints.DASHBOARD_PREFERENCE.GET, preferenceClient::getDashboardPreference)
+                    .probeThreads(ConfigManager.getSaturationProbeThreads())
+                    .kneeFraction(ConfigManager.getSaturationKneeFraction())
+                    .warmUpWindow(Duration.ofSeconds(ConfigManager.getScalingWarmUpWindowSeconds()))
+                    .maxWarmUp(Duration.ofSeconds(ConfigManager.getScalingMaxWarmUpSeconds()))
+                    .measure(Duration.ofSeconds(ConfigManager.getScalingMeasureSeconds()))
+                    .steadyTolerance(ConfigManager.getScalingSteadyTolerance())
+                    .build()
+                    .run());
+        }
+        if (reports.isEmpty()) {
+            throw new SkipException("No operation configured in saturation.operations");
+        }
+
+        reports.forEach(SaturationReport::logReport);
+        SaturationReport.writeJson(reports, Paths.get(ConfigManager.getSaturationOutput()));
+
+        for (SaturationReport report : reports) {
+            // Past the knee, rejections are what saturation looks like; below it they are failures
+            SaturationReport.Level knee = report.getKnee();
+            Assert.assertNotNull(knee, "Nothing was measured for " + report.name);
+            report.getLevels().stream().filter(level -> level.concurrency <= knee.concurrency)
+                    .forEach(level -> Assert.assertEquals(level.result.errors, 0,
+                            report.name + " failed below its knee at c=" + level.concurrency));
+        }
+    }
+
+    private Supplier<Response> signin(AuthClient authClient) {
+        AtomicInteger next = new AtomicInteger();
+        return () -> authClient.signin(signinUsers.get(Math.floorMod(next.getAndIncrement(), signinUsers.size())));
+    }
+
+    /**
+     * Every call creates a user; all of them are deleted with the suite's users.
+     */
+    private Supplier<Response> signup(AuthClient authClient) {
+        return () -> {
+            SignupRequest signupRequest = AuthPayload.createDefaultSignupRequest();
+            Response response = authClient.signup(signupRequest);
+            if (response.getStatusCode() == 201) {
+                TestUserCleanupManager.registerUserForCleanup(signupRequest.getEmail(), signupRequest.getPassword());
+            }
+            return response;
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.DashboardPreferenceClient;
+import com.jaya.clients.ExpenseClient;
+import com.jaya.clients.UserClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.TestGroups;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
+import com.jaya.load.CapacityFinder;
+import com.jaya.load.CapacityReport;
+import com.jaya.load.Scenario;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
+
+@Epic("Performance")
+@Feature("Capacity")
+public class CapacityFinderTest extends BaseTest {
+
+    private String testUserToken;
+
+    @BeforeClass
+    public void setupUser() {
+        super.setup();
+        testUserToken = SharedFixtures.get(Fixtures.USER).token;
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Sustainable Arrival Rate")
+    @Description("Raises the arrival rate of a read journey until its p99 or error rate breaks the SLO, reporting "
+            + "the highest passing rate and never mistaking a saturated load generator for the server's limit")
+    @Severity(SeverityLevel.NORMAL)
+    public void testFindSustainableArrivalRate() throws IOException {
+        CapacityReport report = CapacityFinder.builder()
+                .scenario(readJourney())
+                .search(CapacityFinder.Search.valueOf(ConfigManager.getCapacitySearch().toUpperCase(Locale.ROOT)))
+                .startRate(ConfigManager.getCapacityStartRate())
+                .stepRate(ConfigManager.getCapacityStepRate())
+                .maxRate(ConfigManager.getCapacityMaxRate())
+                .resolution(ConfigManager.getCapacityResolution())
+                .window(Duration.ofSeconds(ConfigManager.getCapacityWindowSeconds()))
+                .maxWindows(ConfigManager.getCapacityMaxWindows())
+                .steadyTolerance(ConfigManager.getCapacitySteadyTolerance())
+                .sloP99Millis(ConfigManager.getCapacitySloP99Millis())
+                .sloErrorRate(ConfigManager.getCapacitySloErrorRate())
+                .maxThreads(ConfigManager.getCapacityMaxThreads())
+                .maxArrivalLagMillis(ConfigManager.getCapacityGeneratorMaxLagMillis())
+                .maxClientCpu(ConfigManager.getCapacityGeneratorMaxCpu())
+                .build()
+                .run();
+
+        report.logReport();
+        report.writeJson(Paths.get(ConfigManager.getCapacityOutput()));
+
+        Assert.assertFalse(report.getSteps().isEmpty(), "No arrival rate was probed");
+        Assert.assertNotNull(report.getCapacity(), String.format("Not even %.1f virtual users/s met the SLOs",
+                ConfigManager.getCapacityStartRate()));
+    }
+
+    /**
+     * Profile, expense list and dashboard preference as the test user, so
+     * every arrival measures reads only and creates nothing to clean up.
+     */
+    private Scenario readJourney() {
+        UserClient userClient = new UserClient(getRequestWithToken(testUserToken));
+        ExpenseClient expenseClient = new ExpenseClient(getRequestWithToken(testUserToken));
+        DashboardPreferenceClient preferenceClient = new DashboardPreferenceClient(getRequestWithToken(testUserToken));
+        return Scenario.named("read-journey")
+                .step("fetch profile", vu -> userClient.getUserProfile())
+                .step("list expenses", vu -> expenseClient.getAllExpenses()).expect(200, 404)
+                .step("get dashboard preferences", vu -> preferenceClient.getDashboardPreference()).expect(200, 404)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.AuthClient;
+import com.jaya.clients.DashboardPreferenceClient;
+import com.jaya.clients.RoleClient;
+import com.jaya.clients.UserClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.consistency.ConflictHarness;
+import com.jaya.consistency.ConflictRunResult;
+import com.jaya.consistency.MutableResource;
+import com.jaya.constants.TestGroups;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
+import com.jaya.payloads.RolePayload;
+import com.jaya.pojo.LoginRequest;
+import com.jaya.pojo.RoleRequest;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Epic("Performance")
+@Feature("Concurrent Mutation Consistency")
+public class ConcurrentMutationTest extends BaseTest {
+
+    private AuthClient authClient;
+    private String testUserToken;
+    private RoleClient adminRoleClient;
+    private Integer testRoleId;
+
+    @BeforeClass
+    public void setupClient() {
+        super.setup();
+        authClient = new AuthClient(getUnauthenticatedRequest());
+        // A copy of its own: the writers change its profile and preferences
+        testUserToken = SharedFixtures.copyOf(Fixtures.USER).token;
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteTestRole() {
+        if (adminRoleClient != null && testRoleId != null) {
+            adminRoleClient.deleteRole(testRoleId);
+        }
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("User Update")
+    @Description("Concurrent PUT /api/user writers and profile readers keep a linearizable history")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testConcurrentUserUpdates_NoLostUpdates() {
+        UserClient userClient = new UserClient(getRequestWithToken(testUserToken));
+
+        assertConsistent(newHarness(MutableResource.userProfile(userClient)).sweep(concurrencyLevels()));
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Dashboard Preferences")
+    @Description("Concurrent dashboard preference saves and reads keep a linearizable history")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testConcurrentDashboardPreferenceSaves_NoLostUpdates() {
+        DashboardPreferenceClient dashboardClient = new DashboardPreferenceClient(getRequestWithToken(testUserToken));
+
+        assertConsistent(newHarness(MutableResource.dashboardPreference(dashboardClient))
+                .sweep(concurrencyLevels()));
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Role Update")
+    @Description("Concurrent role updates and reads keep a linearizable history (requires ADMIN)")
+    @Severity(SeverityLevel.NORMAL)
+    public void testConcurrentRoleUpdates_NoLostUpdates() {
+        Response loginResponse = authClient.signin(
+                new LoginRequest(ConfigManager.getAdminUsername(), ConfigManager.getAdminPassword()));
+        if (loginResponse.getStatusCode() != 200) {
+            throw new SkipException("Admin login failed with status " + loginResponse.getStatusCode());
+        }
+        adminRoleClient = new RoleClient(getRequestWithToken(loginResponse.jsonPath().getString("jwt")));
+
+        RoleRequest roleRequest = RolePayload.createDefaultRoleRequest();
+        Response createResponse = adminRoleClient.createRole(roleRequest);
+        if (createResponse.getStatusCode() != 200 && createResponse.getStatusCode() != 201) {
+            throw new SkipException("Could not create role: status " + createResponse.getStatusCode());
+        }
+        testRoleId = createResponse.jsonPath().getInt("id");
+
+        assertConsistent(newHarness(MutableResource.roleDescription(adminRoleClient, testRoleId,
+                roleRequest.getName())).sweep(concurrencyLevels()));
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private ConflictHarness newHarness(MutableResource resource) {
+        return new ConflictHarness(resource, ConfigManager.getConflictWritesPerWriter());
+    }
+
+    private int[] concurrencyLevels() {
+        return ConfigManager.getPerfConcurrencyLevels();
+    }
+
+    private void assertConsistent(List<ConflictRunResult> results) {
+        List<String> failures = results.stream()
+                .filter(result -> !result.isConsistent())
+                .map(result -> result + "\n  first: " + result.report.violations.get(0))
+                .collect(Collectors.toList());
+        Assert.assertTrue(failures.isEmpty(), "Consistency violations detected:\n" + String.join("\n", failures));
+    }
+}
@@ -0,0 +1,85 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.DashboardPreferenceClient;
+import com.jaya.clients.RoleClient;
+import com.jaya.clients.UserClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.Endpoints;
+import com.jaya.constants.TestGroups;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
+import com.jaya.http.ConditionalCache;
+import com.jaya.metrics.LatencyHistogram;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Epic("Performance")
+@Feature("Conditional Requests")
+public class ConditionalGetTest extends BaseTest {
+
+    private static final String LINE = "-".repeat(110);
+
+    private String testUserToken;
+
+    @BeforeClass
+    public void setupClient() {
+        super.setup();
+        testUserToken = SharedFixtures.get(Fixtures.USER).token;
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Validator Cache")
+    @Description("Repeated reads of roles, profile and dashboard preferences with and without conditional GETs")
+    @Severity(SeverityLevel.NORMAL)
+    public void testConditionalReadsOfReadHeavyEndpoints() {
+        UserClient userClient = new UserClient(getRequestWithToken(testUserToken));
+        RoleClient roleClient = new RoleClient(getRequestWithToken(testUserToken));
+        DashboardPreferenceClient dashboardClient = new DashboardPreferenceClient(getRequestWithToken(testUserToken));
+        Map<String, Supplier<Response>> reads = new LinkedHashMap<>();
+        reads.put("GET " + Endpoints.ROLE.ALL, roleClient::getAllRoles);
+        reads.put("GET " + Endpoints.USER.PROFILE, userClient::getUserProfile);
+        reads.put("GET " + Endpoints.DASHBOARD_PREFERENCE.GET, dashboardClient::getDashboardPreference);
+
+        int count = ConfigManager.getConditionalGetReadsPerEndpoint();
+        Map<String, LatencyHistogram> plain = new LinkedHashMap<>();
+        Map<String, LatencyHistogram> conditional = new LinkedHashMap<>();
+        ConditionalCache.reset();
+        try {
+            ConditionalCache.setEnabledOverride(false);
+            reads.forEach((name, read) -> plain.put(name, readRepeatedly(name, read, count)));
+            ConditionalCache.setEnabledOverride(true);
+            reads.forEach((name, read) -> conditional.put(name, readRepeatedly(name, read, count)));
+        } finally {
+            ConditionalCache.setEnabledOverride(null);
+        }
+
+        log.info("\n{}\nCONDITIONAL GET: {} reads per endpoint (p50 / p95)\n{}", LINE, count, LINE);
+        log.info(String.format("%-40s %20s %20s", "ENDPOINT", "plain", "conditional"));
+        reads.keySet().forEach(name -> log.info(String.format("%-40s %8.1f / %7.1fms %8.1f / %7.1fms", name,
+                plain.get(name).percentileMillis(50), plain.get(name).percentileMillis(95),
+                conditional.get(name).percentileMillis(50), conditional.get(name).percentileMillis(95))));
+        log.info(LINE);
+        ConditionalCache.logSummary();
+    }
+
+    private LatencyHistogram readRepeatedly(String name, Supplier<Response> read, int count) {
+        LatencyHistogram latency = new LatencyHistogram();
+        for (int i = 0; i < count; i++) {
+            long start = System.nanoTime();
+            Response response = read.get();
+            latency.recordNanos(System.nanoTime() - start);
+            // A 304 must never reach the caller: it is answered from the cached body
+            Assert.assertNotEquals(response.getStatusCode(), 304, name + " leaked a 304 to the caller");
+            Assert.assertTrue(response.getStatusCode() < 500, name + " failed with " + response.getStatusCode());
+        }
+        return latency;
+    }
+}
@@ -0,0 +1,43 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.TestGroups;
+import com.jaya.load.DistributedLoadRunner;
+import com.jaya.load.LoadPlan;
+import com.jaya.load.LoadReport;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Performance")
+@Feature("Distributed Load Generation")
+public class DistributedLoadTest extends BaseTest {
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Controller and Worker Processes")
+    @Description("Split the journey mix over load.workers worker JVMs and merge their latency into one report")
+    @Severity(SeverityLevel.NORMAL)
+    public void testJourneyMixAcrossWorkerProcesses() {
+        LoadPlan plan = new LoadPlan()
+                .scenario("new-user-onboarding", 1)
+                .scenario("returning-user-browse", 3)
+                .thinkTimeMillis(ConfigManager.getLoadThinkTimeMillis())
+                .virtualUsers(ConfigManager.getLoadVirtualUsers())
+                .arrivalRate(ConfigManager.getLoadArrivalRate())
+                .iterationsPerUser(ConfigManager.getLoadIterationsPerUser())
+                .rampUpSeconds(ConfigManager.getLoadRampUpSeconds())
+                .maxThreads(ConfigManager.getLoadMaxThreads());
+        if (ConfigManager.getLoadArrivalRate() > 0) {
+            plan.durationSeconds(ConfigManager.getLoadDurationSeconds());
+        }
+
+        LoadReport report = DistributedLoadRunner.builder().plan(plan).build().run();
+        report.logSummary("Distributed journey mix");
+
+        Assert.assertTrue(report.getTotalSteps() > 0, "No journey steps were executed");
+        Assert.assertTrue(report.getStepErrorRate() <= ConfigManager.getLoadMaxErrorRate(),
+                String.format("Step error rate %.2f%% exceeds %.2f%%", report.getStepErrorRate() * 100,
+                        ConfigManager.getLoadMaxErrorRate() * 100));
+    }
+}
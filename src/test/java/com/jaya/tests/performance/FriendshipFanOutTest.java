@@ -0,0 +1,93 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.AuthClient;
+import com.jaya.clients.FriendshipClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.Endpoints;
+import com.jaya.constants.TestGroups;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
+import com.jaya.social.FanOutBenchmark;
+import com.jaya.social.FanOutReport;
+import com.jaya.social.SocialGraph;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Epic("Performance")
+@Feature("Friendship Fan-Out")
+public class FriendshipFanOutTest extends BaseTest {
+
+    private String testUserToken;
+
+    @BeforeClass
+    public void setupUser() {
+        super.setup();
+        testUserToken = SharedFixtures.get(Fixtures.USER).token;
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Latency by Degree")
+    @Description("Builds uniform and power-law friendship graphs with concurrent requests and accepts, then "
+            + "measures friend list and pending-request latency against each user's degree")
+    @Severity(SeverityLevel.NORMAL)
+    public void testListAndPendingLatencyByDegree() throws IOException {
+        if (new FriendshipClient(getRequestWithToken(testUserToken)).getFriends().getStatusCode() == 404) {
+            throw new SkipException(Endpoints.FRIENDSHIP.LIST + " is not available");
+        }
+
+        List<FanOutReport> reports = new ArrayList<>();
+        FanOutBenchmark benchmark = FanOutBenchmark.builder()
+                .samples(ConfigManager.getFriendshipSamples())
+                .build();
+        for (String name : ConfigManager.getFriendshipGraphShapes()) {
+            SocialGraph.Shape shape;
+            try {
+                shape = SocialGraph.Shape.valueOf(name.toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                log.warn("[FRIENDSHIP] Unknown graph shape '{}', expected uniform or power-law", name);
+                continue;
+            }
+            SocialGraph graph = SocialGraph.builder(shape)
+                    .users(ConfigManager.getFriendshipGraphUsers())
+                    .degree(ConfigManager.getFriendshipGraphDegree())
+                    .exponent(ConfigManager.getFriendshipGraphExponent())
+                    .maxDegree(ConfigManager.getFriendshipGraphMaxDegree())
+                    .pendingFraction(ConfigManager.getFriendshipGraphPendingFraction())
+                    .threads(ConfigManager.getFriendshipGraphThreads())
+                    .seed(ConfigManager.getFriendshipGraphSeed())
+                    .requests(new AuthClient(getUnauthenticatedRequest()), this::getRequestWithToken)
+                    .generate();
+            if (graph.getPlannedEdges() > 0 && graph.requests.getErrors() == graph.requests.latency.getCount()) {
+                throw new SkipException("Every friend request failed; " + Endpoints.FRIENDSHIP.REQUEST
+                        + " does not accept {\"recipientId\": id}");
+            }
+            reports.add(benchmark.run(graph));
+        }
+        if (reports.isEmpty()) {
+            throw new SkipException("No graph shape configured in friendship.graph.shapes");
+        }
+
+        reports.forEach(FanOutReport::logReport);
+        FanOutReport.writeJson(reports, Paths.get(ConfigManager.getFriendshipOutput()));
+
+        for (FanOutReport report : reports) {
+            SocialGraph graph = report.graph;
+            Assert.assertEquals(graph.requests.getErrors(), 0, "Friend requests failed in the " + graph.shape
+                    + " graph");
+            Assert.assertEquals(graph.accepts.getErrors(), 0, "Friend accepts failed in the " + graph.shape
+                    + " graph");
+            Assert.assertEquals(report.getErrors(), 0, "List or pending requests failed in the " + graph.shape
+                    + " graph");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.ExpenseClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.TestGroups;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
+import com.jaya.http.IdempotencyTracker;
+import com.jaya.payloads.ExpensePayload;
+import com.jaya.pojo.Expense;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Epic("Performance")
+@Feature("Idempotent Writes")
+public class IdempotencyKeyTest extends BaseTest {
+
+    private String testUserToken;
+
+    @BeforeClass
+    public void setupClient() {
+        super.setup();
+        // A copy of its own: the test creates data under this user
+        testUserToken = SharedFixtures.copyOf(Fixtures.USER).token;
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Replayed Keys")
+    @Description("Replays expense creation with the same idempotency key, as a client would after losing a "
+            + "committed response, and counts the duplicates the server created")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testReplayedKeyDoesNotCreateDuplicates() {
+        ExpenseClient expenseClient = new ExpenseClient(getRequestWithToken(testUserToken));
+        int replays = ConfigManager.getIdempotencyReplays();
+        List<String> createdIds = new ArrayList<>();
+        IdempotencyTracker.reset();
+        IdempotencyTracker.setEnabledOverride(true);
+        try {
+            for (int i = 0; i < replays; i++) {
+                String key = IdempotencyTracker.newKey();
+                Expense expense = ExpensePayload.createDefaultExpense();
+                Response first = IdempotencyTracker.withKey(key, () -> expenseClient.createExpense(expense));
+                if (first.getStatusCode() >= 300) {
+                    throw new SkipException("Expense creation is not available: status " + first.getStatusCode());
+                }
+                Object id = first.jsonPath().get("id");
+                if (id != null) {
+                    createdIds.add(String.valueOf(id));
+                }
+                Response replay = IdempotencyTracker.withKey(key, () -> expenseClient.createExpense(expense));
+                Assert.assertTrue(replay.getStatusCode() < 500, "Replay failed with " + replay.getStatusCode());
+            }
+        } finally {
+            IdempotencyTracker.setEnabledOverride(null);
+            // Reconcile: delete what was created, including the duplicates the replays produced
+            IdempotencyTracker.getDuplicates().forEach(duplicate -> createdIds.add(duplicate.duplicateId));
+            deleteExpenses(expenseClient, createdIds);
+        }
+
+        List<IdempotencyTracker.Duplicate> duplicates = IdempotencyTracker.getDuplicates();
+        IdempotencyTracker.logSummary();
+        String header = ConfigManager.getIdempotencyHeader();
+        String result = String.format("%d of %d replays created a duplicate", duplicates.size(), replays);
+        Allure.addAttachment("Idempotency Replays", "text/plain", result + "\n" + duplicates);
+        if (!ConfigManager.isIdempotencySupported()) {
+            // Measured, not asserted: the backend does not declare support for the header
+            log.info("[IDEMPOTENCY] {} (http.idempotency.supported=false, {} not asserted)", result, header);
+            return;
+        }
+        Assert.assertTrue(duplicates.isEmpty(), "Server ignored the " + header + " header: " + duplicates);
+    }
+
+    /**
+     * Deletes what the test created without letting a failed delete hide
+     * the test's own outcome.
+     */
+    private void deleteExpenses(ExpenseClient expenseClient, List<String> ids) {
+        for (String id : ids) {
+            try {
+                expenseClient.deleteExpense(Long.valueOf(id));
+            } catch (RuntimeException e) {
+                log.warn("Could not delete expense {}: {}", id, e.getMessage());
+            }
+        }
+    }
+}
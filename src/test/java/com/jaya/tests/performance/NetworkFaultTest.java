@@ -0,0 +1,181 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.ExpenseClient;
+import com.jaya.clients.UserClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.TestGroups;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
+import com.jaya.fault.FaultProfile;
+import com.jaya.fault.FaultProxy;
+import com.jaya.metrics.LatencyHistogram;
+import com.jaya.metrics.MetricsRegistry;
+import com.jaya.utils.TestContext;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Epic("Performance")
+@Feature("Network Fault Tolerance")
+public class NetworkFaultTest extends BaseTest {
+
+    private static final String LINE = "-".repeat(130);
+
+    private String testUserToken;
+
+    @BeforeClass
+    public void setupClient() {
+        super.setup();
+        testUserToken = SharedFixtures.get(Fixtures.USER).token;
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Fault Profiles")
+    @Description("Throughput, tail latency, retries and errors of profile and expense reads under each fault profile")
+    @Severity(SeverityLevel.NORMAL)
+    public void testDegradationUnderFaultProfiles() {
+        List<SweepResult> results = new ArrayList<>();
+        for (String profileName : ConfigManager.getFaultSweepProfiles()) {
+            results.add(runProfile(FaultProfile.load(profileName)));
+        }
+        logReport(results);
+
+        for (SweepResult result : results) {
+            if (result.profile.equals(FaultProfile.NONE.getName())) {
+                Assert.assertEquals(result.failed, 0, "Requests failed through the pass-through proxy: " + result);
+            }
+            // Every failure the client sees must trace back to a fault the proxy injected
+            Assert.assertTrue(result.failed <= result.resets + result.halfOpens,
+                    "More failures than injected faults: " + result);
+        }
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    /**
+     * Runs the read workload through a fresh proxy with the given profile.
+     */
+    private SweepResult runProfile(FaultProfile profile) {
+        int users = ConfigManager.getFaultSweepUsers();
+        int requestsPerUser = ConfigManager.getFaultSweepRequestsPerUser();
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLong failed = new AtomicLong();
+        long retriesBefore = MetricsRegistry.getCounterTotal(MetricsRegistry.RETRIES_TOTAL);
+
+        try (FaultProxy proxy = FaultProxy.start(ConfigManager.getTargetBaseUrl(), profile, 0,
+                ConfigManager.getFaultProxySeed())) {
+            RequestSpecification spec = cloneBaseSpec()
+                    .setBaseUri(proxy.getBaseUrl())
+                    .addHeader("Authorization", "Bearer " + testUserToken)
+                    .build();
+            UserClient userClient = new UserClient(spec);
+            ExpenseClient expenseClient = new ExpenseClient(spec);
+            List<Supplier<Response>> reads = List.of(userClient::getUserProfile, expenseClient::getAllExpenses);
+
+            TestContext.Snapshot context = TestContext.capture();
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int user = 0; user < users; user++) {
+                workers.add(context.wrap(() -> {
+                    for (int i = 0; i < requestsPerUser; i++) {
+                        long start = System.nanoTime();
+                        try {
+                            Response response = reads.get(i % reads.size()).get();
+                            if (response.getStatusCode() >= 500) {
+                                failed.incrementAndGet();
+                            }
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                        }
+                        latency.recordNanos(System.nanoTime() - start);
+                    }
+                    return null;
+                }));
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(users);
+            long start = System.nanoTime();
+            try {
+                pool.invokeAll(workers);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                pool.shutdownNow();
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            FaultProxy.Stats stats = proxy.getStats();
+            return new SweepResult(profile.getName(), latency, failed.get(),
+                    MetricsRegistry.getCounterTotal(MetricsRegistry.RETRIES_TOTAL) - retriesBefore,
+                    elapsedSeconds, stats.resets.get(), stats.halfOpens.get());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start fault proxy: " + e.getMessage(), e);
+        }
+    }
+
+    private void logReport(List<SweepResult> results) {
+        log.info("\n{}\nNETWORK FAULT SWEEP ({} users x {} requests, timeouts {}ms/{}ms, {} attempts)\n{}", LINE, ConfigManager.getFaultSweepUsers(), ConfigManager.getFaultSweepRequestsPerUser(),
+                ConfigManager.getConnectionTimeout(), ConfigManager.getResponseTimeout(),
+                ConfigManager.getRetryCount(), LINE);
+        log.info(String.format("%-16s %8s %8s %8s %10s %10s %10s %10s %10s %8s %8s %9s", "profile", "requests",
+                "failed", "err%", "req/s", "p50", "p95", "p99", "max", "retries", "resets", "halfOpen"));
+        for (SweepResult result : results) {
+            log.info(String.format("%-16s %8d %8d %7.2f%% %10.1f %8.1fms %8.1fms %8.1fms %8.1fms %8d %8d %9d",
+                    result.profile, result.latency.getCount(), result.failed, result.getErrorRate() * 100,
+                    result.getThroughput(), result.latency.percentileMillis(50), result.latency.percentileMillis(95),
+                    result.latency.percentileMillis(99), result.latency.getMaxMicros() / 1000.0, result.retries,
+                    result.resets, result.halfOpens));
+        }
+        log.info(LINE);
+    }
+
+    /**
+     * Client-side view of one profile run; latency includes retries and
+     * back-off, as the calling test experiences it.
+     */
+    private static final class SweepResult {
+        final String profile;
+        final LatencyHistogram latency;
+        final long failed;
+        final long retries;
+        final double elapsedSeconds;
+        final long resets;
+        final long halfOpens;
+
+        SweepResult(String profile, LatencyHistogram latency, long failed, long retries, double elapsedSeconds,
+                    long resets, long halfOpens) {
+            this.profile = profile;
+            this.latency = latency;
+            this.failed = failed;
+            this.retries = retries;
+            this.elapsedSeconds = elapsedSeconds;
+            this.resets = resets;
+            this.halfOpens = halfOpens;
+        }
+
+        double getErrorRate() {
+            return latency.getCount() > 0 ? (double) failed / latency.getCount() : 0.0;
+        }
+
+        double getThroughput() {
+            return elapsedSeconds > 0 ? latency.getCount() / elapsedSeconds : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s requests=%d failed=%d retries=%d resets=%d halfOpen=%d", profile,
+                    latency.getCount(), failed, retries, resets, halfOpens);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.AdminClient;
+import com.jaya.clients.AnalyticsClient;
+import com.jaya.clients.AuthClient;
+import com.jaya.clients.ExpenseClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.Endpoints;
+import com.jaya.constants.TestGroups;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
+import com.jaya.payloads.AuthPayload;
+import com.jaya.scaling.Dataset;
+import com.jaya.scaling.ExpenseDataset;
+import com.jaya.scaling.ScalingReport;
+import com.jaya.scaling.ScalingSweep;
+import com.jaya.scaling.UserDataset;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Epic("Performance")
+@Feature("Scaling Curves")
+public class ScalingSweepTest extends BaseTest {
+
+    // Expenses of the last 30 days: a fixed share of a dataset spread over scaling.expense.span.days
+    private static final int DATE_RANGE_DAYS = 30;
+
+    private String testUserToken;
+
+    @BeforeClass
+    public void setupClient() {
+        super.setup();
+        // A copy of its own: the test creates data under this user
+        testUserToken = SharedFixtures.copyOf(Fixtures.USER).token;
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Dataset Size and Concurrency")
+    @Description("Latency and throughput of expense, analytics and admin endpoints over a grid of dataset size "
+            + "and concurrency, with the complexity curve fitted against dataset size")
+    @Severity(SeverityLevel.NORMAL)
+    public void testEndpointScalingWithDatasetSize() throws IOException {
+        List<ScalingReport> reports = new ArrayList<>();
+
+        ExpenseClient expenseClient = new ExpenseClient(getRequestWithToken(testUserToken));
+        ExpenseDataset expenses = new ExpenseDataset(expenseClient, ConfigManager.getScalingExpenseSpanDays(),
+                ConfigManager.getScalingSeedThreads());
+        AnalyticsClient analyticsClient = new AnalyticsClient(getRequestWithToken(testUserToken));
+        Map<String, Supplier<Response>> expenseWorkloads = new LinkedHashMap<>();
+        Map<String, Object> filter = Map.of("category", ExpenseDataset.CATEGORIES.get(0));
+        expenseWorkloads.put("GET " + Endpoints.EXPENSE.FILTER, () -> expenseClient.filterExpenses(filter));
+        String startDate = expenses.startDate(DATE_RANGE_DAYS);
+        String endDate = expenses.endDate();
+        expenseWorkloads.put("GET " + Endpoints.EXPENSE.BY_DATE_RANGE,
+                () -> expenseClient.getExpensesByDateRange(startDate, endDate));
+        expenseWorkloads.put("GET " + Endpoints.ANALYTICS.DASHBOARD, analyticsClient::getDashboard);
+        expenseWorkloads.put("GET " + Endpoints.ANALYTICS.EXPENSE_TRENDS, analyticsClient::getExpenseTrends);
+        expenseWorkloads.put("GET " + Endpoints.ANALYTICS.CATEGORY_BREAKDOWN, analyticsClient::getCategoryBreakdown);
+        expenseWorkloads.put("GET " + Endpoints.ANALYTICS.MONTHLY_SUMMARY, analyticsClient::getMonthlySummary);
+        expenseWorkloads.put("GET " + Endpoints.ANALYTICS.YEARLY_SUMMARY, analyticsClient::getYearlySummary);
+        expenseWorkloads.put("GET " + Endpoints.ANALYTICS.COMPARISON, analyticsClient::getComparison);
+        try {
+            ScalingReport report = sweep("expenses", expenses, expenseWorkloads);
+            if (report != null) {
+                reports.add(report);
+            }
+        } finally {
+            expenses.clear();
+        }
+
+        String adminToken = signinAdmin();
+        if (adminToken == null) {
+            log.warn("[SCALING] Admin account could not sign in, skipping {}", Endpoints.ADMIN.USERS);
+        } else {
+            AdminClient adminClient = new AdminClient(getRequestWithToken(adminToken));
+            ScalingReport report = sweep("users",
+                    new UserDataset(new AuthClient(getUnauthenticatedRequest()), ConfigManager.getScalingSeedThreads()),
+                    Map.of("GET " + Endpoints.ADMIN.USERS, adminClient::getAllUsers));
+            if (report != null) {
+                reports.add(report);
+            }
+        }
+
+        if (reports.isEmpty()) {
+            throw new SkipException("None of the swept endpoints is available");
+        }
+        reports.forEach(ScalingReport::logReport);
+        ScalingReport.writeJson(reports, Paths.get(ConfigManager.getScalingOutput()));
+
+        for (ScalingReport report : reports) {
+            Assert.assertEquals(report.getErrors(), 0, "Requests failed during the " + report.name + " sweep");
+        }
+    }
+
+    /**
+     * Sweeps the workloads that answer successfully on an empty dataset;
+     * null when none does.
+     */
+    private ScalingReport sweep(String name, Dataset dataset, Map<String, Supplier<Response>> workloads) {
+        ScalingSweep.Builder builder = ScalingSweep.builder(name, dataset)
+                .sizes(ConfigManager.getScalingSizes())
+                .concurrency(ConfigManager.getScalingConcurrency())
+                .warmUpWindow(Duration.ofSeconds(ConfigManager.getScalingWarmUpWindowSeconds()))
+                .maxWarmUp(Duration.ofSeconds(ConfigManager.getScalingMaxWarmUpSeconds()))
+                .measure(Duration.ofSeconds(ConfigManager.getScalingMeasureSeconds()))
+                .steadyTolerance(ConfigManager.getScalingSteadyTolerance());
+        boolean any = false;
+        for (Map.Entry<String, Supplier<Response>> workload : workloads.entrySet()) {
+            int status = workload.getValue().get().getStatusCode();
+            if (status >= 400) {
+                log.warn("[SCALING] {} answered {}, leaving it out of the sweep", workload.getKey(), status);
+                continue;
+            }
+            builder.workload(workload.getKey(), workload.getValue());
+            any = true;
+        }
+        return any ? builder.build().run() : null;
+    }
+
+    private String signinAdmin() {
+        AuthClient authClient = new AuthClient(getUnauthenticatedRequest());
+        Response response = authClient.signin(AuthPayload.createLoginRequest(ConfigManager.getAdminUsername(),
+                ConfigManager.getAdminPassword()));
+        return response.getStatusCode() == 200 ? response.jsonPath().getString("jwt") : null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.AuthClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.TestGroups;
+import com.jaya.payloads.AuthPayload;
+import com.jaya.pojo.LoginRequest;
+import com.jaya.pojo.SignupRequest;
+import com.jaya.session.TokenStorm;
+import com.jaya.session.TokenStormReport;
+import com.jaya.utils.TestUserCleanupManager;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Epic("Performance")
+@Feature("Token Refresh Storm")
+public class TokenStormTest extends BaseTest {
+
+    private final List<LoginRequest> stormUsers = new ArrayList<>();
+
+    @BeforeClass
+    public void setupUsers() {
+        super.setup();
+        // Users of their own rather than SharedFixtures: the storm logs their sessions out
+        AuthClient authClient = new AuthClient(getUnauthenticatedRequest());
+        for (int i = 0; i < ConfigManager.getStormUsers(); i++) {
+            SignupRequest signupRequest = AuthPayload.createDefaultSignupRequest();
+            Response signupResponse = authClient.signup(signupRequest);
+            if (signupResponse.getStatusCode() == 201) {
+                TestUserCleanupManager.registerUserForCleanup(signupRequest.getEmail(), signupRequest.getPassword());
+                stormUsers.add(AuthPayload.createLoginRequest(signupRequest.getEmail(), signupRequest.getPassword()));
+            }
+        }
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Cohort Expiry")
+    @Description("Signs in a cohort of sessions whose tokens expire together, fires their refreshes and logouts at "
+            + "once, and measures refresh latency, failures and how long logged-out tokens stay usable")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testRefreshAndLogoutStorm() throws IOException {
+        if (stormUsers.isEmpty()) {
+            throw new SkipException("Test users could not be created");
+        }
+        TokenStormReport report = TokenStorm.builder()
+                .users(stormUsers)
+                .sessions(ConfigManager.getStormSessions())
+                .threads(ConfigManager.getStormThreads())
+                .logoutFraction(ConfigManager.getStormLogoutFraction())
+                .maxExpiryWait(Duration.ofSeconds(ConfigManager.getStormExpiryMaxWaitSeconds()))
+                .refreshLead(Duration.ofSeconds(ConfigManager.getStormRefreshLeadSeconds()))
+                .revocationTimeout(Duration.ofMillis(ConfigManager.getStormRevocationTimeoutMillis()))
+                .pollInterval(Duration.ofMillis(ConfigManager.getStormRevocationPollMillis()))
+                .requests(this::getUnauthenticatedRequest, this::getRequestWithToken)
+                .build()
+                .run();
+
+        report.logReport();
+        report.writeJson(Paths.get(ConfigManager.getStormOutput()));
+
+        if (report.getCohort() == 0) {
+            throw new SkipException("No session could be signed in");
+        }
+        double maxErrorRate = ConfigManager.getStormMaxErrorRate();
+        Assert.assertTrue(report.refresh.getFailureRate() <= maxErrorRate, String.format(
+                "Refresh failure rate %.2f%% exceeds %.2f%%", report.refresh.getFailureRate() * 100,
+                maxErrorRate * 100));
+        Assert.assertTrue(report.logout.getFailureRate() <= maxErrorRate, String.format(
+                "Logout failure rate %.2f%% exceeds %.2f%%", report.logout.getFailureRate() * 100,
+                maxErrorRate * 100));
+        Assert.assertEquals(report.getRefreshedRejected(), 0, "Refreshed tokens were rejected");
+        if (ConfigManager.isStormRevocationExpected()) {
+            Assert.assertEquals(report.getStillAccepted(), 0, String.format(
+                    "Logged-out tokens still accepted on the profile endpoint after %dms",
+                    ConfigManager.getStormRevocationTimeoutMillis()));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.AuthClient;
+import com.jaya.clients.FriendshipClient;
+import com.jaya.clients.UserClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.Endpoints;
+import com.jaya.constants.TestGroups;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
+import com.jaya.search.SearchBenchmark;
+import com.jaya.search.SearchPopulation;
+import com.jaya.search.SearchReport;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+@Epic("Performance")
+@Feature("User Search")
+public class UserSearchBenchmarkTest extends BaseTest {
+
+    private String testUserToken;
+    private SearchPopulation population;
+
+    @BeforeClass
+    public void setupPopulation() {
+        super.setup();
+        testUserToken = SharedFixtures.get(Fixtures.USER).token;
+        population = SearchPopulation.seed(new AuthClient(getUnauthenticatedRequest()),
+                ConfigManager.getSearchCohortSizes(), ConfigManager.getSearchSeedThreads());
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Selectivity and Page Depth")
+    @Description("Search latency against result-set size, query kind and page offset over a seeded population")
+    @Severity(SeverityLevel.NORMAL)
+    public void testSearchLatencyBySelectivityAndPageDepth() throws IOException {
+        if (population.getSize() == 0) {
+            throw new SkipException("Search population could not be seeded");
+        }
+        UserClient userClient = new UserClient(getRequestWithToken(testUserToken));
+        FriendshipClient friendshipClient = new FriendshipClient(getRequestWithToken(testUserToken));
+
+        List<SearchReport> reports = new ArrayList<>();
+        reports.add(benchmark("GET " + Endpoints.USER.SEARCH)
+                .search(userClient::searchUsers)
+                .pagedSearch(userClient::searchUsers)
+                .build()
+                .run(population));
+        if (friendshipClient.searchUsers(population.allQuery()).getStatusCode() == 404) {
+            log.warn("[SEARCH] {} is not available, skipping it", Endpoints.FRIENDSHIP.SEARCH_USERS);
+        } else {
+            reports.add(benchmark("GET " + Endpoints.FRIENDSHIP.SEARCH_USERS)
+                    .search(friendshipClient::searchUsers)
+                    .pagedSearch(friendshipClient::searchUsers)
+                    .build()
+                    .run(population));
+        }
+
+        reports.forEach(SearchReport::logReport);
+        SearchReport.writeCsv(reports, Paths.get(ConfigManager.getSearchOutput()));
+
+        for (SearchReport report : reports) {
+            Assert.assertEquals(report.getErrors(), 0, "Search requests failed on " + report.endpoint);
+        }
+    }
+
+    private SearchBenchmark.Builder benchmark(String endpoint) {
+        return SearchBenchmark.builder(endpoint)
+                .samples(ConfigManager.getSearchSamples())
+                .pageSize(ConfigManager.getSearchPageSize())
+                .maxPages(ConfigManager.getSearchMaxPages());
+    }
+}
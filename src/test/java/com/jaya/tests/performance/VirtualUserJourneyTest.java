@@ -0,0 +1,76 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.HealthClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.constants.Endpoints;
+import com.jaya.constants.TestGroups;
+import com.jaya.load.Journeys;
+import com.jaya.load.LoadReport;
+import com.jaya.load.LoadRunner;
+import com.jaya.load.ThinkTime;
+import com.jaya.metrics.ActuatorScraper;
+import com.jaya.metrics.LatencyCorrelator;
+import com.jaya.metrics.LatencyTimeline;
+import com.jaya.metrics.MetricsRegistry;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+@Epic("Performance")
+@Feature("Virtual User Journeys")
+public class VirtualUserJourneyTest extends BaseTest {
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Weighted Journey Mix")
+    @Description("Run onboarding and browsing journeys concurrently and report per-step and per-journey latency")
+    @Severity(SeverityLevel.NORMAL)
+    public void testWeightedJourneyMix() {
+        ThinkTime thinkTime = ThinkTime.exponential(ConfigManager.getLoadThinkTimeMillis());
+
+        boolean scrape = ConfigManager.isActuatorScrapeEnabled();
+        long intervalMillis = ConfigManager.getActuatorScrapeIntervalSeconds() * 1000L;
+        LatencyTimeline timeline = new LatencyTimeline(intervalMillis, 720,
+                endpoint -> !endpoint.startsWith(Endpoints.HEALTH.BASE));
+        ActuatorScraper scraper = new ActuatorScraper(new HealthClient(getAuthenticatedRequest()), intervalMillis);
+        if (scrape) {
+            MetricsRegistry.addLatencyListener(timeline);
+            scraper.start();
+        }
+
+        LoadReport report;
+        try {
+            report = runJourneyMix(thinkTime);
+        } finally {
+            if (scrape) {
+                scraper.stop();
+                MetricsRegistry.removeLatencyListener(timeline);
+            }
+        }
+
+        report.logSummary("Weighted journey mix");
+        if (scrape) {
+            LatencyCorrelator.correlate(timeline, scraper.getSamples(), ConfigManager.getActuatorCorrelationFactor())
+                    .logReport("Weighted journey mix");
+        }
+
+        Assert.assertTrue(report.getTotalSteps() > 0, "No journey steps were executed");
+        Assert.assertTrue(report.getStepErrorRate() <= ConfigManager.getLoadMaxErrorRate(),
+                String.format("Step error rate %.2f%% exceeds %.2f%%", report.getStepErrorRate() * 100,
+                        ConfigManager.getLoadMaxErrorRate() * 100));
+    }
+
+    private LoadReport runJourneyMix(ThinkTime thinkTime) {
+        return LoadRunner.builder()
+                .scenario(Journeys.newUserOnboarding(1, thinkTime, 3))
+                .scenario(Journeys.returningUserBrowse(3, thinkTime))
+                .virtualUsers(ConfigManager.getLoadVirtualUsers())
+                .iterationsPerUser(ConfigManager.getLoadIterationsPerUser())
+                .rampUp(Duration.ofSeconds(ConfigManager.getLoadRampUpSeconds()))
+                .maxThreads(ConfigManager.getLoadMaxThreads())
+                .build()
+                .run();
+    }
+}
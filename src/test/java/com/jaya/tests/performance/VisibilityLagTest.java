@@ -0,0 +1,204 @@
+package com.jaya.tests.performance;
+
+import com.jaya.base.BaseTest;
+import com.jaya.clients.AuthClient;
+import com.jaya.clients.DashboardPreferenceClient;
+import com.jaya.clients.RoleClient;
+import com.jaya.clients.UserClient;
+import com.jaya.config.ConfigManager;
+import com.jaya.consistency.VisibilityProbe;
+import com.jaya.consistency.VisibilityReport;
+import com.jaya.constants.TestGroups;
+import com.jaya.fixtures.FixtureUser;
+import com.jaya.fixtures.Fixtures;
+import com.jaya.fixtures.SharedFixtures;
+import com.jaya.load.Journeys;
+import com.jaya.load.LoadRunner;
+import com.jaya.load.ThinkTime;
+import com.jaya.payloads.RolePayload;
+import com.jaya.pojo.LoginRequest;
+import com.jaya.pojo.RoleRequest;
+import com.jaya.pojo.UserUpdateRequest;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Epic("Performance")
+@Feature("Write-to-Visibility Lag")
+public class VisibilityLagTest extends BaseTest {
+
+    private AuthClient authClient;
+    private String testUserEmail;
+    private String testUserToken;
+    private Long testUserId;
+    private UserClient adminUserClient;
+    private RoleClient adminRoleClient;
+    private Integer testRoleId;
+
+    @BeforeClass
+    public void setupClient() {
+        super.setup();
+        authClient = new AuthClient(getUnauthenticatedRequest());
+        // A copy of its own: the test writes the user's profile, roles and preferences
+        FixtureUser user = SharedFixtures.copyOf(Fixtures.USER);
+        testUserId = user.id;
+        testUserEmail = user.email;
+        testUserToken = user.token;
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteTestRole() {
+        if (adminRoleClient != null && testRoleId != null) {
+            if (testUserId != null) {
+                adminUserClient.removeRoleFromUser(testUserId, testRoleId.longValue());
+            }
+            adminRoleClient.deleteRole(testRoleId);
+        }
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("User Update")
+    @Description("PUT /api/user becomes visible on GET /api/user/profile and GET /auth/email")
+    @Severity(SeverityLevel.NORMAL)
+    public void testUserUpdateVisibility() {
+        UserClient userClient = new UserClient(getRequestWithToken(testUserToken));
+        AuthClient userAuthClient = new AuthClient(getRequestWithToken(testUserToken));
+
+        VisibilityProbe probe = VisibilityProbe.builder("PUT /api/user")
+                .write((trial, marker) -> userClient.updateUser(new UserUpdateRequest(marker, null)))
+                .reader("GET /api/user/profile", userClient::getUserProfile)
+                .reader("GET /auth/email", () -> userAuthClient.getUserByEmail(testUserEmail))
+                .build();
+
+        assertVisible(sweep(probe));
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Dashboard Preferences")
+    @Description("Saved dashboard preferences become visible on GET")
+    @Severity(SeverityLevel.NORMAL)
+    public void testDashboardPreferenceVisibility() {
+        DashboardPreferenceClient dashboardClient = new DashboardPreferenceClient(getRequestWithToken(testUserToken));
+
+        VisibilityProbe probe = VisibilityProbe.builder("POST /api/user/dashboard-preferences")
+                .write((trial, marker) -> dashboardClient.saveDashboardPreference(
+                        "{\"widgets\":[],\"theme\":\"" + marker + "\"}"))
+                .reader("GET /api/user/dashboard-preferences", dashboardClient::getDashboardPreference)
+                .build();
+
+        assertVisible(sweep(probe));
+    }
+
+    @Test(groups = { TestGroups.PERFORMANCE })
+    @Story("Role Assignment")
+    @Description("Role assignments and removals become visible in the user's roles (requires ADMIN)")
+    @Severity(SeverityLevel.NORMAL)
+    public void testRoleAssignmentVisibility() {
+        if (testUserId == null) {
+            throw new SkipException("Test user id could not be resolved");
+        }
+        Response loginResponse = authClient.signin(
+                new LoginRequest(ConfigManager.getAdminUsername(), ConfigManager.getAdminPassword()));
+        if (loginResponse.getStatusCode() != 200) {
+            throw new SkipException("Admin login failed with status " + loginResponse.getStatusCode());
+        }
+        String adminToken = loginResponse.jsonPath().getString("jwt");
+        adminRoleClient = new RoleClient(getRequestWithToken(adminToken));
+        adminUserClient = new UserClient(getRequestWithToken(adminToken));
+
+        RoleRequest roleRequest = RolePayload.createDefaultRoleRequest();
+        Response createResponse = adminRoleClient.createRole(roleRequest);
+        if (createResponse.getStatusCode() != 200 && createResponse.getStatusCode() != 201) {
+            throw new SkipException("Could not create role: status " + createResponse.getStatusCode());
+        }
+        testRoleId = createResponse.jsonPath().getInt("id");
+        long roleId = testRoleId;
+        String roleName = roleRequest.getName();
+
+        // Even trials assign the role and odd trials remove it, so every write flips what readers see
+        UserClient userClient = new UserClient(getRequestWithToken(testUserToken));
+        AuthClient userAuthClient = new AuthClient(getRequestWithToken(testUserToken));
+        VisibilityProbe.Check roleState = (response, trial, marker) ->
+                hasRole(response, roleName) == (trial % 2 == 0);
+
+        VisibilityProbe probe = VisibilityProbe.builder("POST/DELETE /api/user/{userId}/roles/{roleId}")
+                .write((trial, marker) -> trial % 2 == 0
+                        ? adminUserClient.addRoleToUser(testUserId, roleId)
+                        : adminUserClient.removeRoleFromUser(testUserId, roleId))
+                .reader("GET /api/user/profile", userClient::getUserProfile, roleState)
+                .reader("GET /auth/email", () -> userAuthClient.getUserByEmail(testUserEmail), roleState)
+                .build();
+
+        assertVisible(sweep(probe));
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    /**
+     * Runs the probe once per configured background load level.
+     */
+    private List<VisibilityReport> sweep(VisibilityProbe probe) {
+        List<VisibilityReport> reports = new ArrayList<>();
+        for (int backgroundUsers : ConfigManager.getVisibilityBackgroundUsers()) {
+            LoadRunner.Background background = backgroundUsers > 0 ? startBackgroundLoad(backgroundUsers) : null;
+            try {
+                reports.add(probe.run(ConfigManager.getVisibilityTrials(),
+                        Duration.ofMillis(ConfigManager.getVisibilityTimeoutMillis()),
+                        ConfigManager.getVisibilityPollIntervalMillis(), backgroundUsers));
+            } finally {
+                if (background != null) {
+                    background.stop().logSummary("Background load (" + backgroundUsers + " VUs)");
+                }
+            }
+        }
+        VisibilityReport.logReport(reports);
+        return reports;
+    }
+
+    /**
+     * Starts open-ended journey load and returns once all virtual users are running.
+     */
+    private LoadRunner.Background startBackgroundLoad(int virtualUsers) {
+        ThinkTime thinkTime = ThinkTime.exponential(ConfigManager.getLoadThinkTimeMillis());
+        Duration rampUp = Duration.ofSeconds(ConfigManager.getLoadRampUpSeconds());
+        LoadRunner.Background background = LoadRunner.builder()
+                .scenario(Journeys.newUserOnboarding(1, thinkTime, 3))
+                .scenario(Journeys.returningUserBrowse(3, thinkTime))
+                .virtualUsers(virtualUsers)
+                .iterationsPerUser(0)
+                .duration(Duration.ofHours(1))
+                .rampUp(rampUp)
+                .maxThreads(ConfigManager.getLoadMaxThreads())
+                .build()
+                .start();
+        try {
+            Thread.sleep(rampUp.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return background;
+    }
+
+    private static boolean hasRole(Response response, String roleName) {
+        List<String> roles = response.jsonPath().getList("roles", String.class);
+        return roles != null && roles.contains(roleName);
+    }
+
+    private void assertVisible(List<VisibilityReport> reports) {
+        for (VisibilityReport report : reports) {
+            if (report.getWriteErrors() == report.getTrials()) {
+                throw new SkipException("Every write failed for " + report.getWrite());
+            }
+            Assert.assertEquals(report.getTotalTimeouts(), 0, String.format(
+                    "Writes not visible within %dms: %s", ConfigManager.getVisibilityTimeoutMillis(), report));
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.jaya.utils;
+
+import com.jaya.utils.TestUserCleanupManager.TestUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Append-only record of the users a run registered for cleanup, one file per
+ * run ({@code journal-<pid>-<millis>.log}). The owning run holds an exclusive
+ * lock on its file; the OS releases it when the JVM dies, so a journal that
+ * can be locked by someone else belongs to a run that never reached cleanup.
+ * <p>
+ * Each record is a single tab-separated line written with one append; lines
+ * reach the OS page cache immediately, which survives a JVM crash (no fsync,
+ * to keep registration cheap). Journals record the base URL they were written
+ * against and are only reclaimed by runs against the same backend.
+ */
+final class CleanupJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(CleanupJournal.class);
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final String NO_ID = "-";
+
+    static final String BASE_URL = "BASE_URL";
+    static final String REGISTER = "REGISTER";
+    static final String PASSWORD = "PASSWORD";
+    static final String ID = "ID";
+    static final String ATTEMPTS = "ATTEMPTS";
+    static final String REMOVED = "REMOVED";
+
+    private final Path file;
+    private final FileChannel channel;
+    private final FileLock lock;
+
+    private CleanupJournal(Path file, FileChannel channel, FileLock lock) {
+        this.file = file;
+        this.channel = channel;
+        this.lock = lock;
+    }
+
+    /**
+     * Creates and locks a new journal for this run in the given directory.
+     */
+    static CleanupJournal create(Path directory, String baseUrl) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(PREFIX + ProcessHandle.current().pid() + "-" + System.currentTimeMillis()
+                + SUFFIX);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        try {
+            FileLock lock = channel.lock();
+            CleanupJournal journal = new CleanupJournal(file, channel, lock);
+            journal.append("# run started " + Instant.now());
+            journal.append(BASE_URL, baseUrl);
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    // ==================== RECORDS ====================
+
+    void register(TestUser user) {
+        append(REGISTER, user.getEmail(), user.getUserId() != null ? user.getUserId().toString() : NO_ID,
+                user.getPassword());
+    }
+
+    void password(String email, String password) {
+        append(PASSWORD, email, password);
+    }
+
+    void userId(String email, Long userId) {
+        append(ID, email, userId.toString());
+    }
+
+    void attempts(String email, int attempts) {
+        append(ATTEMPTS, email, Integer.toString(attempts));
+    }
+
+    void removed(String email) {
+        append(REMOVED, email);
+    }
+
+    /**
+     * Releases the lock and closes the journal, deleting the file when every
+     * registered user has been accounted for.
+     */
+    synchronized void close(boolean delete) {
+        try {
+            lock.release();
+            channel.close();
+            if (delete) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.debug("Could not close cleanup journal {}: {}", file, e.getMessage());
+        }
+    }
+
+    // ==================== REPLAY ====================
+
+    /**
+     * Hands the outstanding users of every abandoned journal in the directory
+     * to {@code adopter}, then deletes that journal. Journals still locked by a
+     * live run (including parallel runs sharing the directory) or written
+     * against another base URL are skipped. The adopter is expected to
+     * re-journal the users before returning, so a crash during reaping loses
+     * nothing.
+     */
+    static void reclaim(Path directory, Path ownFile, String baseUrl, Consumer<Collection<TestUser>> adopter) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> journals = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(journals::add);
+        } catch (IOException e) {
+            log.warn("Could not list cleanup journals in {}: {}", directory, e.getMessage());
+            return;
+        }
+        for (Path journal : journals) {
+            if (journal.equals(ownFile)) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                FileLock lock = tryLock(channel);
+                if (lock == null) {
+                    continue;
+                }
+                // Another reaper may have claimed and deleted it between our open and lock
+                if (!Files.exists(journal)) {
+                    continue;
+                }
+                String journalBaseUrl = readBaseUrl(journal);
+                if (journalBaseUrl != null && !journalBaseUrl.equals(baseUrl)) {
+                    log.debug("Skipping cleanup journal {} for {}", journal.getFileName(), journalBaseUrl);
+                    continue;
+                }
+                Collection<TestUser> users = replay(journal);
+                if (!users.isEmpty()) {
+                    log.info("[CLEANUP] Reclaiming {} user(s) from abandoned journal {}", users.size(),
+                            journal.getFileName());
+                    adopter.accept(users);
+                }
+                Files.delete(journal);
+            } catch (IOException e) {
+                log.warn("Could not reclaim cleanup journal {}: {}", journal, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Folds a journal into the users it registered and never removed.
+     */
+    static Collection<TestUser> replay(Path journal) throws IOException {
+        Map<String, TestUser> users = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t", -1);
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = unescape(fields[i]);
+            }
+            // A torn final line from a crash mid-write has too few fields and is skipped
+            switch (fields[0]) {
+                case REGISTER:
+                    if (fields.length == 4) {
+                        Long userId = NO_ID.equals(fields[2]) ? null : parseId(fields[2]);
+                        users.put(fields[1], new TestUser(userId, fields[1], fields[3], null));
+                    }
+                    break;
+                case PASSWORD:
+                    if (fields.length == 3 && users.containsKey(fields[1])) {
+                        users.get(fields[1]).setPassword(fields[2]);
+                    }
+                    break;
+                case ID:
+                    if (fields.length == 3 && users.containsKey(fields[1])) {
+                        TestUser user = users.get(fields[1]);
+                        TestUser withId = new TestUser(parseId(fields[2]), user.getEmail(), user.getPassword(),
+                                null);
+                        withId.rejectedAttempts = user.rejectedAttempts;
+                        users.put(fields[1], withId);
+                    }
+                    break;
+                case ATTEMPTS:
+                    if (fields.length == 3 && users.containsKey(fields[1])) {
+                        Long attempts = parseId(fields[2]);
+                        users.get(fields[1]).rejectedAttempts = attempts != null ? attempts.intValue() : 0;
+                    }
+                    break;
+                case BASE_URL:
+                    break;
+                case REMOVED:
+                    if (fields.length == 2) {
+                        users.remove(fields[1]);
+                    }
+                    break;
+                default:
+                    log.debug("Skipping unknown cleanup journal record in {}: {}", journal.getFileName(), line);
+            }
+        }
+        return users.values();
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    private static String readBaseUrl(Path journal) throws IOException {
+        for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+            if (line.startsWith(BASE_URL + "\t")) {
+                return unescape(line.substring(BASE_URL.length() + 1));
+            }
+        }
+        return null;
+    }
+
+    private void append(String... fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append('\t');
+            }
+            line.append(i == 0 ? fields[i] : escape(fields[i]));
+        }
+        line.append('\n');
+        ByteBuffer buffer = ByteBuffer.wrap(line.toString().getBytes(StandardCharsets.UTF_8));
+        synchronized (this) {
+            if (!channel.isOpen()) {
+                return;
+            }
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                log.warn("Could not write cleanup journal {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                sb.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -1,17 +1,29 @@
 package com.jaya.utils;
 
+import com.jaya.http.RequestTiming;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Thread-safe test context for tracking test execution state and correlation.
  * Provides MDC integration for structured logging with test correlation IDs.
+ * <p>
+ * Work handed to executors or CompletableFutures keeps the test's identity
+ * via {@link #capture()}: the snapshot is bound to the worker thread only for
+ * the duration of the task, so pooled threads never retain a test's state.
  */
 public final class TestContext {
 
@@ -22,9 +34,21 @@ public final class TestContext {
     public static final String MDC_TEST_NAME = "testName";
     public static final String MDC_TEST_CLASS = "testClass";
     public static final String MDC_REQUEST_ID = "requestId";
+    public static final String MDC_TRACE_ID = "traceId";
+    public static final String MDC_SPAN_ID = "spanId";
 
-    // Thread-local storage for test context
-    private static final ThreadLocal<TestContextData> CONTEXT = ThreadLocal.withInitial(TestContextData::new);
+    // W3C trace context header sent with every request
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    // Thread-local storage for test context; unset on threads outside a test
+    private static final ThreadLocal<TestContextData> CONTEXT = new ThreadLocal<>();
+
+    // Read-only stand-in for threads without a test context, so they never populate the thread-local
+    // or the MDC; only its request counter is written
+    private static final TestContextData DETACHED = new TestContextData();
+
+    // Most recent request timings kept per test
+    private static final int MAX_TIMINGS_PER_TEST = 200;
 
     // Global test statistics
     private static final Map<String, TestStats> TEST_STATS = new ConcurrentHashMap<>();
@@ -39,17 +63,17 @@ public final class TestContext {
      * Initializes context for a new test execution.
      */
     public static void startTest(String testClass, String testName) {
-        TestContextData data = CONTEXT.get();
-        data.testId = generateTestId();
+        TestContextData data = new TestContextData();
+        data.testId = data.traceId.substring(0, 8).toUpperCase();
         data.testClass = testClass;
         data.testName = testName;
-        data.startTime = System.currentTimeMillis();
-        data.requestCount = 0;
+        CONTEXT.set(data);
 
         // Set MDC for structured logging
         MDC.put(MDC_TEST_ID, data.testId);
         MDC.put(MDC_TEST_NAME, testName);
         MDC.put(MDC_TEST_CLASS, testClass);
+        MDC.put(MDC_TRACE_ID, data.traceId);
 
         log.debug("[TEST-START] {} - Test ID: {}", getFullTestName(), data.testId);
     }
@@ -58,17 +82,18 @@ public final class TestContext {
      * Completes the current test execution context.
      */
     public static void endTest(boolean passed, String failureReason) {
-        TestContextData data = CONTEXT.get();
+        TestContextData data = current();
         long duration = System.currentTimeMillis() - data.startTime;
+        int requestCount = data.requestCount.get();
 
         // Record statistics
         String fullName = getFullTestName();
         TEST_STATS.put(fullName, new TestStats(
-                data.testId, fullName, duration, data.requestCount, passed, failureReason));
+                data.testId, fullName, duration, requestCount, passed, failureReason));
 
         String status = passed ? "[PASS]" : "[FAIL]";
         log.debug("[TEST-END] {} - {} | Duration: {}ms | API Calls: {}",
-                fullName, status, duration, data.requestCount);
+                fullName, status, duration, requestCount);
 
         if (!passed && failureReason != null) {
             log.debug("[TEST-END] Failure: {}", failureReason);
@@ -79,6 +104,8 @@ public final class TestContext {
         MDC.remove(MDC_TEST_NAME);
         MDC.remove(MDC_TEST_CLASS);
         MDC.remove(MDC_REQUEST_ID);
+        MDC.remove(MDC_TRACE_ID);
+        MDC.remove(MDC_SPAN_ID);
 
         CONTEXT.remove();
     }
@@ -86,48 +113,114 @@ public final class TestContext {
     // ==================== REQUEST TRACKING ====================
 
     /**
-     * Registers a new API request and returns a correlation ID.
+     * Registers a new API request and returns a correlation ID. Numbering is
+     * shared by every thread carrying the same test context. Threads without
+     * a context get an "INIT" id and leave the MDC untouched, so pooled
+     * threads keep no per-thread state.
      */
     public static String registerRequest() {
         TestContextData data = CONTEXT.get();
-        data.requestCount++;
-
-        String requestId = String.format("%s-R%03d",
-                Optional.ofNullable(data.testId).orElse("INIT"),
-                data.requestCount);
+        if (data == null) {
+            return requestId(null, DETACHED.requestCount.incrementAndGet());
+        }
+        int number = data.requestCount.incrementAndGet();
+        String requestId = requestId(data.testId, number);
 
         data.currentRequestId = requestId;
         MDC.put(MDC_REQUEST_ID, requestId);
+        MDC.put(MDC_SPAN_ID, spanId(data.traceId, number));
 
         return requestId;
     }
 
+    /**
+     * Returns the W3C traceparent for the request last registered on this
+     * thread: the trace id is shared by the whole test (its first 8 hex digits
+     * are the test id) and the parent span id encodes the request number, so
+     * "ABCD1234-R003" maps to span "abcd123400000003". Threads without a
+     * context get the span of the latest detached request.
+     */
+    public static String getTraceparent() {
+        TestContextData data = current();
+        String spanId = data != DETACHED ? MDC.get(MDC_SPAN_ID) : null;
+        if (spanId == null) {
+            spanId = spanId(data.traceId, data.requestCount.get());
+        }
+        return "00-" + data.traceId + "-" + spanId + "-01";
+    }
+
     /**
      * Gets the current request ID.
      */
     public static String getCurrentRequestId() {
-        return CONTEXT.get().currentRequestId;
+        return current().currentRequestId;
     }
 
     /**
      * Gets the current test ID.
      */
     public static String getCurrentTestId() {
-        return CONTEXT.get().testId;
+        return current().testId;
+    }
+
+    /**
+     * Stores the phase timing of a completed request next to its request ID.
+     * Only the most recent timings of each test are kept.
+     */
+    public static void recordTiming(RequestTiming timing) {
+        TestContextData data = CONTEXT.get();
+        if (data == null) {
+            return;
+        }
+        timing.setRequestId(MDC.get(MDC_REQUEST_ID));
+        synchronized (data.timings) {
+            if (data.timings.size() == MAX_TIMINGS_PER_TEST) {
+                data.timings.pollFirst();
+            }
+            data.timings.addLast(timing);
+        }
+    }
+
+    /**
+     * Gets the recorded request timings of the current test, oldest first.
+     */
+    public static List<RequestTiming> getRequestTimings() {
+        TestContextData data = current();
+        synchronized (data.timings) {
+            return new ArrayList<>(data.timings);
+        }
+    }
+
+    // ==================== CONTEXT PROPAGATION ====================
+
+    /**
+     * Captures the calling thread's test context and MDC so they can be
+     * restored around tasks run on other threads.
+     */
+    public static Snapshot capture() {
+        return new Snapshot(CONTEXT.get(), MDC.getCopyOfContextMap());
+    }
+
+    /**
+     * Wraps an executor so every submitted task runs in the submitter's
+     * context, e.g. {@code CompletableFuture.supplyAsync(task, TestContext.propagating(pool))}.
+     */
+    public static Executor propagating(Executor executor) {
+        return task -> executor.execute(capture().wrap(task));
     }
 
     // ==================== CONTEXT ACCESSORS ====================
 
     public static String getTestClass() {
-        return CONTEXT.get().testClass;
+        return current().testClass;
     }
 
     public static String getTestName() {
-        return CONTEXT.get().testName;
+        return current().testName;
     }
 
     public static String getFullTestName() {
-        TestContextData data = CONTEXT.get();
+        TestContextData data = current();
         if (data.testClass == null && data.testName == null) {
             return "Unknown";
         }
@@ -136,20 +229,27 @@ public final class TestContext {
     }
 
     public static long getElapsedTime() {
-        return System.currentTimeMillis() - CONTEXT.get().startTime;
+        return System.currentTimeMillis() - current().startTime;
     }
 
     public static int getRequestCount() {
-        return CONTEXT.get().requestCount;
+        return current().requestCount.get();
     }
 
     // ==================== CUSTOM DATA ====================
 
     /**
-     * Stores custom data in the current test context.
+     * Stores custom data in the current test context. Ignored on threads
+     * without a context, which must not get a thread-local entry.
      */
     public static void set(String key, Object value) {
-        CONTEXT.get().customData.put(key, value);
+        TestContextData data = CONTEXT.get();
+        if (data == null) {
+            log.debug("No test context on thread {}, dropping custom data '{}'", Thread.currentThread().getName(),
+                    key);
+            return;
+        }
+        data.customData.put(key, value);
     }
 
     /**
@@ -157,7 +257,7 @@ public final class TestContext {
      */
     @SuppressWarnings("unchecked")
     public static <T> T get(String key) {
-        return (T) CONTEXT.get().customData.get(key);
+        return (T) current().customData.get(key);
     }
 
     /**
@@ -165,7 +265,7 @@ public final class TestContext {
      */
     @SuppressWarnings("unchecked")
     public static <T> T get(String key, T defaultValue) {
-        Object value = CONTEXT.get().customData.get(key);
+        Object value = current().customData.get(key);
         return value != null ? (T) value : defaultValue;
     }
 
@@ -230,20 +330,125 @@ public final class TestContext {
 
     // ==================== PRIVATE HELPERS ====================
 
-    private static String generateTestId() {
-        return UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    private static TestContextData current() {
+        TestContextData data = CONTEXT.get();
+        return data != null ? data : DETACHED;
+    }
+
+    private static String generateTraceId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    private static String spanId(String traceId, int number) {
+        String hex = Integer.toHexString(number);
+        StringBuilder sb = new StringBuilder(16).append(traceId, 0, 8);
+        for (int i = hex.length(); i < 8; i++) {
+            sb.append('0');
+        }
+        return sb.append(hex).toString();
+    }
+
+    /**
+     * Builds "TESTID-R001" without going through String.format.
+     */
+    private static String requestId(String testId, int number) {
+        StringBuilder sb = new StringBuilder(24).append(testId != null ? testId : "INIT").append("-R");
+        if (number < 100) {
+            sb.append('0');
+        }
+        if (number < 10) {
+            sb.append('0');
+        }
+        return sb.append(number).toString();
     }
 
     // ==================== INNER CLASSES ====================
 
     private static class TestContextData {
-        String testId;
-        String testClass;
-        String testName;
-        String currentRequestId;
-        long startTime = System.currentTimeMillis();
-        int requestCount;
-        Map<String, Object> customData = new ConcurrentHashMap<>();
+        final String traceId = generateTraceId();
+        volatile String testId;
+        volatile String testClass;
+        volatile String testName;
+        volatile String currentRequestId;
+        final long startTime = System.currentTimeMillis();
+        final AtomicInteger requestCount = new AtomicInteger();
+        final Map<String, Object> customData = new ConcurrentHashMap<>();
+        final Deque<RequestTiming> timings = new ArrayDeque<>();
+    }
+
+    /**
+     * A captured test context. Running a task through a snapshot binds the
+     * context and MDC to the current thread and restores whatever was there
+     * before when the task completes.
+     */
+    public static final class Snapshot {
+        private final TestContextData data;
+        private final Map<String, String> mdc;
+
+        private Snapshot(TestContextData data, Map<String, String> mdc) {
+            this.data = data;
+            this.mdc = mdc;
+        }
+
+        public String getTestId() {
+            return data != null ? data.testId : null;
+        }
+
+        public void run(Runnable task) {
+            TestContextData previousData = CONTEXT.get();
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            bind(data, mdc);
+            try {
+                task.run();
+            } finally {
+                bind(previousData, previousMdc);
+            }
+        }
+
+        public <T> T call(Callable<T> task) throws Exception {
+            TestContextData previousData = CONTEXT.get();
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            bind(data, mdc);
+            try {
+                return task.call();
+            } finally {
+                bind(previousData, previousMdc);
+            }
+        }
+
+        public Runnable wrap(Runnable task) {
+            return () -> run(task);
+        }
+
+        public <T> Callable<T> wrap(Callable<T> task) {
+            return () -> call(task);
+        }
+
+        public <T> Supplier<T> wrapSupplier(Supplier<T> task) {
+            return () -> {
+                TestContextData previousData = CONTEXT.get();
+                Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+                bind(data, mdc);
+                try {
+                    return task.get();
+                } finally {
+                    bind(previousData, previousMdc);
+                }
+            };
+        }
+
+        private static void bind(TestContextData data, Map<String, String> mdc) {
+            if (data != null) {
+                CONTEXT.set(data);
+            } else {
+                CONTEXT.remove();
+            }
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            } else {
+                MDC.clear();
+            }
+        }
     }
 
     public static class TestStats {
@@ -1,5 +1,9 @@
 package com.jaya.utils;
 
+import com.jaya.http.ConditionalCache;
+import com.jaya.http.IdempotencyTracker;
+import com.jaya.http.RequestTiming;
+import com.jaya.metrics.PhaseBreakdown;
 import io.qameta.allure.Allure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +16,7 @@ import java.io.StringWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -25,10 +30,12 @@ public class TestListener implements ITestListener {
     private static final String DOUBLE_LINE = "================================================================================";
     private static final String SINGLE_LINE = "--------------------------------------------------------------------------------";
     private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final int TIMINGS_IN_FAILURE_LOG = 10;
 
     @Override
     public void onStart(ITestContext context) {
         TestContext.clearStats();
+        PhaseBreakdown.reset();
 
         log.info("\n{}", DOUBLE_LINE);
         log.info("  TEST SUITE STARTED: {}", context.getName());
@@ -74,6 +81,9 @@ public class TestListener implements ITestListener {
 
         // Print test context statistics
         TestContext.printTestSummary();
+        PhaseBreakdown.logSummary();
+        ConditionalCache.logSummary();
+        IdempotencyTracker.logSummary();
     }
 
     @Override
@@ -126,6 +136,7 @@ public class TestListener implements ITestListener {
         log.error("  Duration     : {} ms", duration);
         log.error("  API Calls    : {}", apiCalls);
         log.error("{}", SINGLE_LINE);
+        logRequestTimings();
 
         if (throwable != null) {
             log.error("  FAILURE DETAILS:");
@@ -281,6 +292,24 @@ public class TestListener implements ITestListener {
         return message.length() > 200 ? message.substring(0, 200) + "..." : message;
     }
 
+    /**
+     * Logs the phase breakdown of the test's last requests and attaches all of
+     * them to the Allure report.
+     */
+    private void logRequestTimings() {
+        List<RequestTiming> timings = TestContext.getRequestTimings();
+        if (timings.isEmpty()) {
+            return;
+        }
+        log.error("  REQUEST TIMINGS (ms, last {}):", Math.min(timings.size(), TIMINGS_IN_FAILURE_LOG));
+        timings.stream()
+                .skip(Math.max(0, timings.size() - TIMINGS_IN_FAILURE_LOG))
+                .forEach(timing -> log.error("    {}", timing));
+        log.error("{}", SINGLE_LINE);
+        Allure.addAttachment("Request Timings", "text/plain",
+                timings.stream().map(RequestTiming::toString).collect(Collectors.joining("\n")));
+    }
+
     private void attachStackTrace(Throwable throwable) {
         StringWriter sw = new StringWriter();
         throwable.printStackTrace(new PrintWriter(sw));
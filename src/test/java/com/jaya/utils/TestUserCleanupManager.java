@@ -12,18 +12,34 @@ import io.restassured.specification.RequestSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of users created by tests, deleted at the end of the suite.
+ * Users are indexed by email and, once known, by id; every change is also
+ * written to a per-run {@link CleanupJournal} so users left behind by a run
+ * that crashed or was killed are reaped by the next run.
+ */
 public class TestUserCleanupManager {
 
     private static final Logger log = LoggerFactory.getLogger(TestUserCleanupManager.class);
-    private static final List<TestUser> createdUsers = new CopyOnWriteArrayList<>();
+    private static final Map<String, TestUser> usersByEmail = new ConcurrentHashMap<>();
+    private static final Map<Long, TestUser> usersById = new ConcurrentHashMap<>();
     private static final String SEPARATOR = "=".repeat(60);
     private static final String LINE = "-".repeat(60);
 
+    private static volatile CleanupJournal journal;
+    private static boolean journalUnavailable;
+
+    // REJECTED: signin refused the known credentials, so the account may still exist
+    private enum Outcome { DELETED, GONE, REJECTED, FAILED }
+
     private static boolean isLoggingEnabled() {
         return ConfigManager.isCleanupLoggingEnabled();
     }
@@ -41,10 +57,12 @@ public class TestUserCleanupManager {
     }
 
     public static class TestUser {
-        private final Long userId;
+        private volatile Long userId;
         private final String email;
-        private String password;
-        private String token;
+        private volatile String password;
+        private volatile String token;
+        // Runs whose reaper was refused signin for this user; journaled so the count survives crashes
+        volatile int rejectedAttempts;
 
         public TestUser(Long userId, String email, String password, String token) {
             this.userId = userId;
@@ -85,57 +103,120 @@ public class TestUserCleanupManager {
 
     @Step("Register user for cleanup: {email}")
     public static void registerUserForCleanup(Long userId, String email, String password, String token) {
-        createdUsers.add(new TestUser(userId, email, password, token));
-        logInfo("[CLEANUP] Registered: {} (Total: {})", email, createdUsers.size());
+        register(new TestUser(userId, email, password, token));
+        logInfo("[CLEANUP] Registered: {} (Total: {})", email, usersByEmail.size());
     }
 
     @Step("Register user for cleanup: {email}")
     public static void registerUserForCleanup(String email, String password) {
-        createdUsers.add(new TestUser(null, email, password, null));
-        logInfo("[CLEANUP] Registered: {} (Total: {})", email, createdUsers.size());
+        registerUserForCleanup(null, email, password, null);
     }
 
     @Step("Update password for registered user: {email}")
     public static void updateUserPassword(String email, String newPassword) {
-        createdUsers.stream()
-                .filter(user -> user.getEmail().equals(email))
-                .findFirst()
-                .ifPresent(user -> {
-                    user.setPassword(newPassword);
-                    user.setToken(null);
-                    logInfo("[CLEANUP] Updated password for: {}", email);
-                });
+        TestUser user = usersByEmail.get(email);
+        if (user != null) {
+            user.setPassword(newPassword);
+            user.setToken(null);
+            CleanupJournal current = journal();
+            if (current != null) {
+                current.password(email, newPassword);
+            }
+            logInfo("[CLEANUP] Updated password for: {}", email);
+        }
+    }
+
+    public static TestUser getRegisteredUser(String email) {
+        return usersByEmail.get(email);
+    }
+
+    public static TestUser getRegisteredUserById(Long userId) {
+        return usersById.get(userId);
     }
 
     public static List<TestUser> getRegisteredUsers() {
-        return Collections.unmodifiableList(new ArrayList<>(createdUsers));
+        return Collections.unmodifiableList(new ArrayList<>(usersByEmail.values()));
     }
 
     public static int getRegisteredUserCount() {
-        return createdUsers.size();
+        return usersByEmail.size();
+    }
+
+    /**
+     * Deletes users registered by earlier runs that never reached cleanup.
+     * Users that cannot be deleted now stay registered with this run and are
+     * retried by {@link #cleanupAllUsers()}. A user whose journaled password
+     * is refused by 'cleanup.journal.max.attempts' runs in a row is dropped
+     * from the journal with a warning, as it needs deleting by hand.
+     */
+    @Step("Reap users orphaned by earlier runs")
+    public static void reapOrphanedUsers() {
+        if (!ConfigManager.isCleanupJournalEnabled()) {
+            return;
+        }
+        CleanupJournal current = journal();
+        List<TestUser> orphans = new ArrayList<>();
+        CleanupJournal.reclaim(Paths.get(ConfigManager.getCleanupJournalDirectory()),
+                current != null ? current.getFile() : null, ConfigManager.getTargetBaseUrl(),
+                users -> users.forEach(user -> {
+                    register(user);
+                    orphans.add(user);
+                }));
+        if (orphans.isEmpty()) {
+            return;
+        }
+
+        RequestSpecification baseSpec = createBaseSpec();
+        AuthClient authClient = new AuthClient(baseSpec);
+        int reaped = 0;
+        int maxAttempts = ConfigManager.getCleanupJournalMaxAttempts();
+        for (TestUser user : orphans) {
+            Outcome outcome = deleteUser(user, authClient, baseSpec);
+            if (outcome == Outcome.DELETED || outcome == Outcome.GONE) {
+                unregister(user);
+                reaped++;
+            } else if (outcome == Outcome.REJECTED) {
+                recordRejectedAttempt(user);
+                if (user.rejectedAttempts >= maxAttempts) {
+                    log.warn("[CLEANUP] Giving up on {} after {} runs refused its journaled password; delete it "
+                            + "manually", user.getEmail(), user.rejectedAttempts);
+                    unregister(user);
+                }
+            }
+        }
+        log.info("[CLEANUP] Reaped {} of {} user(s) orphaned by earlier runs", reaped, orphans.size());
     }
 
     @Step("Cleanup all test users")
     public static void cleanupAllUsers() {
         logInfo("\n{}\nTEST USER CLEANUP STARTING\n{}", SEPARATOR, SEPARATOR);
 
-        if (createdUsers.isEmpty()) {
+        if (usersByEmail.isEmpty()) {
             logInfo("No test users to cleanup\n{}\n", SEPARATOR);
+            closeJournal();
             return;
         }
 
-        logInfo("Total users to cleanup: {}\n{}", createdUsers.size(), LINE);
+        int total = usersByEmail.size();
+        logInfo("Total users to cleanup: {}\n{}", total, LINE);
 
         RequestSpecification baseSpec = createBaseSpec();
         AuthClient authClient = new AuthClient(baseSpec);
 
         int successCount = 0;
+        int goneCount = 0;
         int failCount = 0;
 
-        for (TestUser user : createdUsers) {
-            if (deleteUser(user, authClient, baseSpec)) {
+        for (TestUser user : usersByEmail.values()) {
+            Outcome outcome = deleteUser(user, authClient, baseSpec);
+            if (outcome == Outcome.DELETED) {
                 successCount++;
+                unregister(user);
                 logInfo("[SUCCESS] Deleted: {}", user.getEmail());
+            } else if (outcome == Outcome.GONE) {
+                goneCount++;
+                unregister(user);
+                logInfo("[GONE] Already deleted: {}", user.getEmail());
             } else {
                 failCount++;
                 logWarn("[FAILED] Could not delete: {}", user.getEmail());
@@ -143,16 +224,113 @@ public class TestUserCleanupManager {
         }
 
         logInfo("{}\nCLEANUP SUMMARY", LINE);
-        logInfo("  Total: {}, Deleted: {}, Failed: {}\n{}\n", createdUsers.size(), successCount, failCount, SEPARATOR);
+        logInfo("  Total: {}, Deleted: {}, Already gone: {}, Failed: {}\n{}\n", total, successCount, goneCount,
+                failCount, SEPARATOR);
 
-        createdUsers.clear();
+        // Failed users stay in the journal for the next run to retry
+        if (failCount > 0) {
+            log.warn("[CLEANUP] {} user(s) left in the cleanup journal for the next run", failCount);
+        }
+        closeJournal();
+        usersByEmail.clear();
+        usersById.clear();
     }
 
     public static void clearRegisteredUsers() {
-        createdUsers.clear();
+        CleanupJournal current = journal();
+        for (TestUser user : usersByEmail.values()) {
+            if (current != null) {
+                current.removed(user.getEmail());
+            }
+        }
+        usersByEmail.clear();
+        usersById.clear();
+    }
+
+    // ==================== PRIVATE HELPERS ====================
+
+    /**
+     * Adds or merges a user; a re-registration keeps the id already known.
+     */
+    private static void register(TestUser user) {
+        TestUser registered = usersByEmail.merge(user.getEmail(), user, (existing, added) -> {
+            if (added.getUserId() == null) {
+                added.userId = existing.getUserId();
+            }
+            return added;
+        });
+        if (registered.getUserId() != null) {
+            usersById.put(registered.getUserId(), registered);
+        }
+        CleanupJournal current = journal();
+        if (current != null) {
+            current.register(registered);
+            if (registered.rejectedAttempts > 0) {
+                current.attempts(registered.getEmail(), registered.rejectedAttempts);
+            }
+        }
+    }
+
+    private static void recordRejectedAttempt(TestUser user) {
+        user.rejectedAttempts++;
+        CleanupJournal current = journal();
+        if (current != null) {
+            current.attempts(user.getEmail(), user.rejectedAttempts);
+        }
+    }
+
+    private static void unregister(TestUser user) {
+        usersByEmail.remove(user.getEmail(), user);
+        if (user.getUserId() != null) {
+            usersById.remove(user.getUserId(), user);
+        }
+        CleanupJournal current = journal();
+        if (current != null) {
+            current.removed(user.getEmail());
+        }
+    }
+
+    private static void recordUserId(TestUser user, Long userId) {
+        user.userId = userId;
+        usersById.put(userId, user);
+        CleanupJournal current = journal();
+        if (current != null) {
+            current.userId(user.getEmail(), userId);
+        }
     }
 
-    private static boolean deleteUser(TestUser user, AuthClient authClient, RequestSpecification baseSpec) {
+    /**
+     * Opens this run's journal on first use; returns null when journaling is
+     * disabled or the directory is not writable.
+     */
+    private static CleanupJournal journal() {
+        CleanupJournal current = journal;
+        if (current != null || !ConfigManager.isCleanupJournalEnabled()) {
+            return current;
+        }
+        synchronized (TestUserCleanupManager.class) {
+            if (journal == null && !journalUnavailable) {
+                try {
+                    journal = CleanupJournal.create(Paths.get(ConfigManager.getCleanupJournalDirectory()),
+                            ConfigManager.getTargetBaseUrl());
+                    log.debug("[CLEANUP] Journaling to {}", journal.getFile());
+                } catch (IOException e) {
+                    journalUnavailable = true;
+                    log.warn("[CLEANUP] Cleanup journal disabled: {}", e.getMessage());
+                }
+            }
+            return journal;
+        }
+    }
+
+    private static synchronized void closeJournal() {
+        if (journal != null) {
+            journal.close(usersByEmail.isEmpty());
+            journal = null;
+        }
+    }
+
+    private static Outcome deleteUser(TestUser user, AuthClient authClient, RequestSpecification baseSpec) {
         try {
             String token = user.getToken();
             Long userId = user.getUserId();
@@ -161,7 +339,7 @@ public class TestUserCleanupManager {
                 Response loginResponse = authClient.signin(new LoginRequest(user.getEmail(), user.getPassword()));
                 if (loginResponse.getStatusCode() != 200) {
                     log.debug("Login failed for {}. Status: {}", user.getEmail(), loginResponse.getStatusCode());
-                    return false;
+                    return signinOutcome(loginResponse.getStatusCode());
                 }
                 token = loginResponse.jsonPath().getString("jwt");
             }
@@ -174,23 +352,40 @@ public class TestUserCleanupManager {
                 if (profileResponse.getStatusCode() != 200) {
                     log.debug("Could not get profile for {}. Status: {}", user.getEmail(),
                             profileResponse.getStatusCode());
-                    return false;
+                    return profileResponse.getStatusCode() == 404 ? Outcome.GONE : Outcome.FAILED;
                 }
                 userId = profileResponse.jsonPath().getLong("id");
+                recordUserId(user, userId);
             }
 
             Response deleteResponse = userClient.deleteUser(userId);
-            return deleteResponse.getStatusCode() == 200 || deleteResponse.getStatusCode() == 204;
+            int status = deleteResponse.getStatusCode();
+            if (status == 200 || status == 204) {
+                return Outcome.DELETED;
+            }
+            return status == 404 ? Outcome.GONE : Outcome.FAILED;
 
         } catch (Exception e) {
             log.debug("Exception deleting {}: {}", user.getEmail(), e.getMessage());
-            return false;
+            return Outcome.FAILED;
+        }
+    }
+
+    /**
+     * Only a 404 proves the account is gone. A 401/403 may just as well mean
+     * its password was changed without {@link #updateUserPassword}, so the
+     * user stays journaled.
+     */
+    private static Outcome signinOutcome(int status) {
+        if (status == 404) {
+            return Outcome.GONE;
         }
+        return status == 401 || status == 403 ? Outcome.REJECTED : Outcome.FAILED;
     }
 
     private static RequestSpecification createBaseSpec() {
         return new RequestSpecBuilder()
-                .setBaseUri(ConfigManager.getBaseUrl())
+                .setBaseUri(ConfigManager.getTargetBaseUrl())
                 .setContentType(ContentType.JSON)
                 .setAccept(ContentType.JSON)
                 .build();
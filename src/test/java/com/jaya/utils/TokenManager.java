@@ -1,13 +1,18 @@
 package com.jaya.utils;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jaya.config.ConfigManager;
+import com.jaya.metrics.MetricsRegistry;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.concurrent.locks.ReentrantLock;
 
 public final class TokenManager {
@@ -16,6 +21,7 @@ public final class TokenManager {
     private static final int TOKEN_VALIDITY_MINUTES = 30;
     private static final int TOKEN_BUFFER_MINUTES = 2;
     private static final ReentrantLock tokenLock = new ReentrantLock();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     private static volatile String cachedToken;
     private static volatile LocalDateTime tokenExpiryTime;
@@ -72,6 +78,23 @@ public final class TokenManager {
         return tokenExpiryTime;
     }
 
+    /**
+     * The exp claim of a JWT in epoch seconds; 0 when it cannot be read.
+     */
+    public static long getExpiryEpochSeconds(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return 0;
+        }
+        try {
+            JsonNode claims = MAPPER.readTree(new String(Base64.getUrlDecoder().decode(parts[1]),
+                    StandardCharsets.UTF_8));
+            return claims.path("exp").asLong(0);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
     private static boolean isTokenExpired() {
         if (cachedToken == null || tokenExpiryTime == null) {
             return true;
@@ -91,9 +114,12 @@ public final class TokenManager {
         }
 
         try {
+            String requestId = TestContext.registerRequest();
+            log.debug("[{}] Token refresh POST /auth/signin", requestId);
             Response response = RestAssured.given()
                     .baseUri(ConfigManager.getBaseUrl())
                     .contentType("application/json")
+                    .header(TestContext.TRACEPARENT_HEADER, TestContext.getTraceparent())
                     .body(buildLoginPayload(username, password))
                     .when()
                     .post("/auth/signin")
@@ -114,9 +140,11 @@ public final class TokenManager {
                 throw new RuntimeException("JWT token not found in login response");
             }
 
+            MetricsRegistry.recordTokenRefresh(true);
             log.info("Token refreshed successfully. Valid until: {}", tokenExpiryTime);
 
         } catch (Exception e) {
+            MetricsRegistry.recordTokenRefresh(false);
             log.error("Failed to refresh authentication token", e);
             throw new RuntimeException("Failed to refresh authentication token: " + e.getMessage(), e);
         }